@@ -11,4 +11,11 @@ public class AverageRepository {
             return average;
         });
     }
+
+    CompletionStage<Integer> saveAll(double[] averages) {
+        return CompletableFuture.supplyAsync(() -> {
+            System.out.println("saving " + averages.length + " averages");
+            return averages.length;
+        });
+    }
 }
@@ -0,0 +1,144 @@
+package com.baeldung.akkastreams;
+
+import akka.stream.Attributes;
+import akka.stream.FlowShape;
+import akka.stream.Inlet;
+import akka.stream.Outlet;
+import akka.stream.stage.AbstractInHandler;
+import akka.stream.stage.AbstractOutHandler;
+import akka.stream.stage.GraphStage;
+import akka.stream.stage.GraphStageLogic;
+import akka.util.ByteString;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses batches of semicolon separated lines straight from their bytes and emits the averages of
+ * consecutive pairs of numbers as one primitive array per batch. A line is parsed like
+ * {@code line.split(";")} followed by {@link Integer#parseInt(String)} in {@link DataImporter}: empty
+ * fields, a sign without digits and numbers outside of the int range fail the stream with a
+ * {@link NumberFormatException}, and so does a blank line, which split turns into one empty field.
+ * Trailing separators are ignored, so a line of separators only, like {@code ;;;}, has no fields.
+ * A number left over at the end of a batch is paired with the first number of the next one, and
+ * emitted alone when the stream completes.
+ */
+public class PairAveragingStage extends GraphStage<FlowShape<List<ByteString>, double[]>> {
+
+    private final Inlet<List<ByteString>> in = Inlet.create("PairAveragingStage.in");
+    private final Outlet<double[]> out = Outlet.create("PairAveragingStage.out");
+    private final FlowShape<List<ByteString>, double[]> shape = FlowShape.of(in, out);
+
+    @Override
+    public FlowShape<List<ByteString>, double[]> shape() {
+        return shape;
+    }
+
+    @Override
+    public GraphStageLogic createLogic(Attributes inheritedAttributes) {
+        return new GraphStageLogic(shape) {
+
+            private double[] averages = new double[256];
+            private int averagesCount;
+            private boolean hasLeftover;
+            private int leftover;
+
+            {
+                setHandler(in, new AbstractInHandler() {
+                    @Override
+                    public void onPush() {
+                        averagesCount = 0;
+                        for (ByteString line : grab(in)) {
+                            parseLine(line);
+                        }
+                        if (averagesCount > 0) {
+                            push(out, Arrays.copyOf(averages, averagesCount));
+                        } else {
+                            pull(in);
+                        }
+                    }
+
+                    @Override
+                    public void onUpstreamFinish() {
+                        if (hasLeftover) {
+                            emit(out, new double[] { leftover });
+                        }
+                        complete(out);
+                    }
+                });
+
+                setHandler(out, new AbstractOutHandler() {
+                    @Override
+                    public void onPull() {
+                        pull(in);
+                    }
+                });
+            }
+
+            private void parseLine(ByteString line) {
+                int end = line.length();
+                if (end > 0 && line.apply(end - 1) == '\r') {
+                    end--;
+                }
+                if (end == 0) {
+                    throw new NumberFormatException("Empty line");
+                }
+                // like String.split, trailing separators don't start empty fields
+                while (end > 0 && line.apply(end - 1) == ';') {
+                    end--;
+                }
+                if (end == 0) {
+                    return;
+                }
+                int fieldStart = 0;
+                for (int i = 0; i <= end; i++) {
+                    if (i == end || line.apply(i) == ';') {
+                        accept(parseField(line, fieldStart, i));
+                        fieldStart = i + 1;
+                    }
+                }
+            }
+
+            /**
+             * Parses a field the way {@link Integer#parseInt(String)} does, without creating a string.
+             */
+            private int parseField(ByteString line, int start, int end) {
+                if (start == end) {
+                    throw new NumberFormatException("Empty field in line " + line.utf8String());
+                }
+                byte first = line.apply(start);
+                boolean negative = first == '-';
+                int i = negative || first == '+' ? start + 1 : start;
+                if (i == end) {
+                    throw new NumberFormatException("Sign without digits in line " + line.utf8String());
+                }
+                long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+                long value = 0;
+                for (; i < end; i++) {
+                    byte b = line.apply(i);
+                    if (b < '0' || b > '9') {
+                        throw new NumberFormatException("Unexpected character '" + (char) b + "' in line " + line.utf8String());
+                    }
+                    value = value * 10 + (b - '0');
+                    if (value > limit) {
+                        throw new NumberFormatException("Number out of int range in line " + line.utf8String());
+                    }
+                }
+                return (int) (negative ? -value : value);
+            }
+
+            private void accept(int value) {
+                if (!hasLeftover) {
+                    leftover = value;
+                    hasLeftover = true;
+                    return;
+                }
+                if (averagesCount == averages.length) {
+                    averages = Arrays.copyOf(averages, averagesCount * 2);
+                }
+                averages[averagesCount++] = (leftover + (double) value) / 2;
+                hasLeftover = false;
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.baeldung.akkastreams;
+
+import akka.Done;
+import akka.NotUsed;
+import akka.actor.ActorSystem;
+import akka.stream.ActorMaterializer;
+import akka.stream.javadsl.FileIO;
+import akka.stream.javadsl.Flow;
+import akka.stream.javadsl.Framing;
+import akka.stream.javadsl.FramingTruncation;
+import akka.stream.javadsl.Keep;
+import akka.stream.javadsl.Sink;
+import akka.util.ByteString;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Variant of {@link DataImporter} for large files: lines are framed from the file bytes, parsed without
+ * boxing and averaged inline in batches, and the averages of a batch are stored with a single write.
+ */
+public class StreamingDataImporter {
+
+    private static final ByteString LINE_DELIMITER = ByteString.fromString("\n");
+    private static final int MAXIMUM_LINE_LENGTH = 64 * 1024;
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+    private final ActorSystem actorSystem;
+    private final AverageRepository averageRepository;
+    private final int linesPerBatch;
+
+    public StreamingDataImporter(ActorSystem actorSystem, int linesPerBatch) {
+        this(actorSystem, new AverageRepository(), linesPerBatch);
+    }
+
+    StreamingDataImporter(ActorSystem actorSystem, AverageRepository averageRepository, int linesPerBatch) {
+        this.actorSystem = actorSystem;
+        this.averageRepository = averageRepository;
+        this.linesPerBatch = linesPerBatch;
+    }
+
+    Flow<ByteString, double[], NotUsed> calculateAverages() {
+        return Flow.of(ByteString.class)
+            .via(Framing.delimiter(LINE_DELIMITER, MAXIMUM_LINE_LENGTH, FramingTruncation.ALLOW))
+            .grouped(linesPerBatch)
+            .via(new PairAveragingStage());
+    }
+
+    private Sink<double[], CompletionStage<Done>> storeAverages() {
+        return Flow.<double[]> create()
+            .mapAsync(1, averageRepository::saveAll)
+            .toMat(Sink.ignore(), Keep.right());
+    }
+
+    CompletionStage<Done> calculateAverageForFile(Path file) {
+        return FileIO.fromPath(file, READ_CHUNK_SIZE)
+            .via(calculateAverages())
+            .runWith(storeAverages(), ActorMaterializer.create(actorSystem));
+    }
+}
@@ -0,0 +1,91 @@
+package com.baeldung.akkastreams;
+
+import akka.actor.ActorSystem;
+import akka.stream.ActorMaterializer;
+import akka.stream.javadsl.FileIO;
+import akka.stream.javadsl.Framing;
+import akka.stream.javadsl.FramingTruncation;
+import akka.stream.javadsl.Sink;
+import akka.util.ByteString;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.io.BufferedWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lines per second and bytes allocated per line of the String based {@link DataImporter}
+ * flow with the {@link StreamingDataImporter}, both reading the same generated file.
+ */
+public class DataImporterBenchmarkManualTest {
+    private static final int LINES = 100_000;
+    private static final int FIELDS_PER_LINE = 8;
+
+    private static final ActorSystem actorSystem = ActorSystem.create();
+
+    @AfterClass
+    public static void tearDown() {
+        actorSystem.terminate();
+    }
+
+    @Test
+    public void givenLargeFile_whenImportingWithBothFlows_thenReportThroughputAndAllocation() throws Exception {
+        Path file = generateFile();
+
+        measure("DataImporter", () -> FileIO.fromPath(file)
+                .via(Framing.delimiter(ByteString.fromString("\n"), 1024, FramingTruncation.ALLOW))
+                .map(ByteString::utf8String)
+                .via(new DataImporter(actorSystem).calculateAverage())
+                .runWith(Sink.ignore(), ActorMaterializer.create(actorSystem))
+                .toCompletableFuture()
+                .get(10, TimeUnit.MINUTES));
+
+        measure("StreamingDataImporter", () -> FileIO.fromPath(file)
+                .via(new StreamingDataImporter(actorSystem, 1024).calculateAverages())
+                .runWith(Sink.ignore(), ActorMaterializer.create(actorSystem))
+                .toCompletableFuture()
+                .get(10, TimeUnit.MINUTES));
+
+        Files.delete(file);
+    }
+
+    private static void measure(String name, Callable<?> importer) throws Exception {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        importer.call();
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        System.out.printf("%s: %.0f lines/s, ~%d bytes allocated per line%n", name, LINES * 1e9 / elapsed, allocated / LINES);
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(allocated, 0);
+        }
+        return total;
+    }
+
+    private static Path generateFile() throws Exception {
+        Path file = Files.createTempFile("averages-benchmark", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (int line = 0; line < LINES; line++) {
+                for (int field = 0; field < FIELDS_PER_LINE; field++) {
+                    if (field > 0) {
+                        writer.write(';');
+                    }
+                    writer.write(Integer.toString((line * 31 + field) % 1000));
+                }
+                writer.write('\n');
+            }
+        }
+        return file;
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.baeldung.akkastreams;
+
+import akka.NotUsed;
+import akka.actor.ActorSystem;
+import akka.stream.ActorMaterializer;
+import akka.stream.javadsl.Flow;
+import akka.stream.javadsl.Sink;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StreamingDataImporterUnitTest {
+    private static final ActorSystem actorSystem = ActorSystem.create();
+
+    @AfterClass
+    public static void tearDown() {
+        actorSystem.terminate();
+    }
+
+    @Test
+    public void givenLinesSplitAcrossChunks_whenCalculateAverages_thenPairsAreAveragedAcrossLines() throws Exception {
+        //given
+        Flow<ByteString, double[], NotUsed> tested = new StreamingDataImporter(actorSystem, 2).calculateAverages();
+        List<ByteString> chunks = Arrays.asList(ByteString.fromString("1;9;1"), ByteString.fromString("1;0\n-4;"), ByteString.fromString("6;7\r\n3;8\n2;4"));
+
+        //when
+        List<double[]> batches = Source.from(chunks)
+                .via(tested)
+                .runWith(Sink.seq(), ActorMaterializer.create(actorSystem))
+                .toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+
+        //then
+        assertEquals(3, batches.size());
+        assertArrayEquals(new double[] { 5d, 5.5, 1d }, batches.get(0), 0);
+        assertArrayEquals(new double[] { 5d, 5d }, batches.get(1), 0);
+        assertArrayEquals(new double[] { 4d }, batches.get(2), 0);
+    }
+
+    @Test
+    public void givenIntBoundaries_whenCalculateAverages_thenTheyAreParsed() throws Exception {
+        assertArrayEquals(new double[] { -0.5, 0d }, averages("2147483647;-2147483648\n+1;-1;\n"), 0);
+    }
+
+    @Test
+    public void givenEmptyField_whenCalculateAverages_thenNumberFormatExceptionIsThrown() throws Exception {
+        assertParsingFails("1;;2\n");
+        assertParsingFails(";1\n");
+    }
+
+    @Test
+    public void givenBlankLine_whenCalculateAverages_thenNumberFormatExceptionIsThrown() throws Exception {
+        assertParsingFails("1;2\n\n3;4\n");
+        assertParsingFails("1;2\n\r\n3;4\n");
+    }
+
+    @Test
+    public void givenLineOfSeparatorsOnly_whenCalculateAverages_thenItHasNoFields() throws Exception {
+        assertArrayEquals(new double[] { 1.5, 3.5 }, averages("1;2\n;;;\n3;4\n"), 0);
+    }
+
+    @Test
+    public void givenSignWithoutDigits_whenCalculateAverages_thenNumberFormatExceptionIsThrown() throws Exception {
+        assertParsingFails("1;-\n");
+        assertParsingFails("+;1\n");
+    }
+
+    @Test
+    public void givenNumberOutOfIntRange_whenCalculateAverages_thenNumberFormatExceptionIsThrown() throws Exception {
+        assertParsingFails("2147483648;1\n");
+        assertParsingFails("-2147483649;1\n");
+        assertParsingFails("99999999999999999999;1\n");
+    }
+
+    @Test
+    public void givenFile_whenCalculateAverageForFile_thenAveragesAreSavedInBatches() throws Exception {
+        //given
+        Path file = Files.createTempFile("averages", ".csv");
+        Files.write(file, "10;90\n110;10\n1;3\n5;7\n9\n".getBytes(StandardCharsets.UTF_8));
+        CountingRepository repository = new CountingRepository();
+        StreamingDataImporter dataImporter = new StreamingDataImporter(actorSystem, repository, 2);
+
+        //when
+        dataImporter.calculateAverageForFile(file)
+                .toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+
+        //then
+        assertEquals(5, repository.averages.get());
+        assertEquals(3, repository.writes.get());
+        Files.delete(file);
+    }
+
+    private static double[] averages(String content) throws Exception {
+        return Source.single(ByteString.fromString(content))
+                .via(new StreamingDataImporter(actorSystem, 10).calculateAverages())
+                .runWith(Sink.head(), ActorMaterializer.create(actorSystem))
+                .toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    private static void assertParsingFails(String content) throws Exception {
+        try {
+            averages(content);
+            fail("Expected " + content + " to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NumberFormatException);
+        }
+    }
+
+    private static class CountingRepository extends AverageRepository {
+        private final AtomicInteger averages = new AtomicInteger();
+        private final AtomicInteger writes = new AtomicInteger();
+
+        @Override
+        CompletionStage<Integer> saveAll(double[] batch) {
+            writes.incrementAndGet();
+            averages.addAndGet(batch.length);
+            return CompletableFuture.completedFuture(batch.length);
+        }
+    }
+
+}
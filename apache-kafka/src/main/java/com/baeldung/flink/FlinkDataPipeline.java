@@ -1,8 +1,12 @@
 package com.baeldung.flink;
 
 import com.baeldung.flink.model.Backup;
+import com.baeldung.flink.model.BackupSegment;
 import com.baeldung.flink.model.InputMessage;
 import com.baeldung.flink.operator.BackupAggregator;
+import com.baeldung.flink.operator.BackupSegmentWindowFunction;
+import com.baeldung.flink.operator.CompressingBackupAggregator;
+import com.baeldung.flink.operator.InputMessageRecipientSelector;
 import com.baeldung.flink.operator.InputMessageTimestampAssigner;
 import com.baeldung.flink.operator.WordsCapitalizer;
 import org.apache.flink.streaming.api.TimeCharacteristic;
@@ -63,6 +67,42 @@ public class FlinkDataPipeline {
         environment.execute();
     }
 
+    public static void createKeyedBackup() throws Exception {
+        String inputTopic = "flink_input";
+        String outputTopic = "flink_output";
+        String consumerGroup = "baeldung";
+        String kafkaAddress = "localhost:9092";
+
+        StreamExecutionEnvironment environment = StreamExecutionEnvironment.getExecutionEnvironment();
+
+        environment.setStreamTimeCharacteristic(TimeCharacteristic.EventTime);
+
+        FlinkKafkaConsumer011<InputMessage> flinkKafkaConsumer = createInputMessageConsumer(inputTopic, kafkaAddress, consumerGroup);
+        flinkKafkaConsumer.setStartFromEarliest();
+
+        flinkKafkaConsumer.assignTimestampsAndWatermarks(new InputMessageTimestampAssigner());
+        FlinkKafkaProducer011<BackupSegment> flinkKafkaProducer = createBackupSegmentProducer(outputTopic, kafkaAddress);
+
+        DataStream<InputMessage> inputMessagesStream = environment.addSource(flinkKafkaConsumer);
+
+        keyedBackupSegments(inputMessagesStream, Time.hours(24), Time.hours(1)).addSink(flinkKafkaProducer);
+
+        environment.execute();
+    }
+
+    /**
+     * Splits every backup period into sub-windows per recipient and compresses the messages of a sub-window
+     * as they arrive, so only the compressed data of the open sub-windows is kept in state.
+     */
+    public static DataStream<BackupSegment> keyedBackupSegments(DataStream<InputMessage> inputMessagesStream, Time backupPeriod, Time segmentLength) {
+        if (backupPeriod.toMilliseconds() % segmentLength.toMilliseconds() != 0) {
+            throw new IllegalArgumentException("Segment length has to divide the backup period evenly");
+        }
+        return inputMessagesStream.keyBy(new InputMessageRecipientSelector())
+            .timeWindow(segmentLength)
+            .aggregate(new CompressingBackupAggregator(), new BackupSegmentWindowFunction(backupPeriod));
+    }
+
     public static void main(String[] args) throws Exception {
         createBackup();
     }
@@ -1,6 +1,8 @@
 package com.baeldung.flink.connector;
 
 import com.baeldung.flink.model.Backup;
+import com.baeldung.flink.model.BackupSegment;
+import com.baeldung.flink.schema.BackupSegmentSerializationSchema;
 import com.baeldung.flink.schema.BackupSerializationSchema;
 import org.apache.flink.api.common.serialization.SimpleStringSchema;
 import org.apache.flink.streaming.connectors.kafka.FlinkKafkaProducer011;
@@ -14,4 +16,8 @@ public class Producers {
     public static FlinkKafkaProducer011<Backup> createBackupProducer(String topic, String kafkaAddress) {
         return new FlinkKafkaProducer011<Backup>(kafkaAddress, topic, new BackupSerializationSchema());
     }
+
+    public static FlinkKafkaProducer011<BackupSegment> createBackupSegmentProducer(String topic, String kafkaAddress) {
+        return new FlinkKafkaProducer011<BackupSegment>(kafkaAddress, topic, new BackupSegmentSerializationSchema());
+    }
 }
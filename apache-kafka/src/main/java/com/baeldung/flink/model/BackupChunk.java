@@ -0,0 +1,163 @@
+package com.baeldung.flink.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Incrementally built, compressed part of a backup. Serialized messages are staged in a pending
+ * buffer and compressed into a separate gzip member whenever that buffer reaches the block size,
+ * so the chunk only ever holds compressed data plus at most one block of raw bytes.
+ * <p>
+ * The pending buffer grows with the messages instead of being allocated at the block size and is
+ * dropped once compressed, so the many chunks of keys with few messages stay small. The chunk is a
+ * Flink POJO with only primitive and byte array fields, so Flink serializes it with its
+ * {@code PojoSerializer} instead of Kryo. With the RocksDB state backend the whole chunk is
+ * serialized on every {@link #add}, the block size bounds the raw part of it.
+ */
+public class BackupChunk {
+
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private static final int INITIAL_PENDING_SIZE = 256;
+
+    private int blockSize;
+    private byte[] compressed = new byte[0];
+    private int compressedLength;
+    private byte[] pending = new byte[0];
+    private int pendingLength;
+    private long messageCount;
+
+    public BackupChunk() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public BackupChunk(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    public void add(byte[] serializedMessage) {
+        int lineLength = serializedMessage.length + 1;
+        if (pendingLength + lineLength > blockSize) {
+            compressPending();
+        }
+        if (lineLength > blockSize) {
+            appendCompressed(compress(appendNewLine(serializedMessage), lineLength));
+        } else {
+            ensurePendingCapacity(pendingLength + lineLength);
+            System.arraycopy(serializedMessage, 0, pending, pendingLength, serializedMessage.length);
+            pendingLength += serializedMessage.length;
+            pending[pendingLength++] = '\n';
+        }
+        messageCount++;
+    }
+
+    public BackupChunk merge(BackupChunk other) {
+        compressPending();
+        other.compressPending();
+        appendCompressed(Arrays.copyOf(other.compressed, other.compressedLength));
+        messageCount += other.messageCount;
+        return this;
+    }
+
+    /**
+     * Returns the chunk as one gzip stream of newline separated messages, made of concatenated gzip members.
+     */
+    public byte[] toCompressedBytes() {
+        compressPending();
+        return Arrays.copyOf(compressed, compressedLength);
+    }
+
+    public int compressedSize() {
+        return compressedLength;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    public byte[] getCompressed() {
+        return compressed;
+    }
+
+    public void setCompressed(byte[] compressed) {
+        this.compressed = compressed;
+    }
+
+    public int getCompressedLength() {
+        return compressedLength;
+    }
+
+    public void setCompressedLength(int compressedLength) {
+        this.compressedLength = compressedLength;
+    }
+
+    public byte[] getPending() {
+        return pending;
+    }
+
+    public void setPending(byte[] pending) {
+        this.pending = pending;
+    }
+
+    public int getPendingLength() {
+        return pendingLength;
+    }
+
+    public void setPendingLength(int pendingLength) {
+        this.pendingLength = pendingLength;
+    }
+
+    public long getMessageCount() {
+        return messageCount;
+    }
+
+    public void setMessageCount(long messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    private void ensurePendingCapacity(int capacity) {
+        if (capacity > pending.length) {
+            int grown = Math.max(pending.length * 2, INITIAL_PENDING_SIZE);
+            pending = Arrays.copyOf(pending, Math.min(Math.max(grown, capacity), blockSize));
+        }
+    }
+
+    private void compressPending() {
+        if (pendingLength > 0) {
+            appendCompressed(compress(pending, pendingLength));
+            pending = new byte[0];
+            pendingLength = 0;
+        }
+    }
+
+    private void appendCompressed(byte[] block) {
+        if (compressedLength + block.length > compressed.length) {
+            compressed = Arrays.copyOf(compressed, Math.max(compressed.length * 2, compressedLength + block.length));
+        }
+        System.arraycopy(block, 0, compressed, compressedLength, block.length);
+        compressedLength += block.length;
+    }
+
+    private static byte[] appendNewLine(byte[] serializedMessage) {
+        byte[] line = Arrays.copyOf(serializedMessage, serializedMessage.length + 1);
+        line[serializedMessage.length] = '\n';
+        return line;
+    }
+
+    private static byte[] compress(byte[] data, int length) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(length / 4, 64));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(data, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,65 @@
+package com.baeldung.flink.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One compressed part of a keyed backup. A backup period is split into consecutive segments
+ * that are emitted as soon as their sub-window closes, instead of one {@link Backup} per period.
+ */
+public class BackupSegment {
+
+    @JsonProperty("key")
+    String key;
+    @JsonProperty("backupPeriodStart")
+    LocalDateTime backupPeriodStart;
+    @JsonProperty("segmentStart")
+    LocalDateTime segmentStart;
+    @JsonProperty("segmentEnd")
+    LocalDateTime segmentEnd;
+    @JsonProperty("messageCount")
+    long messageCount;
+    @JsonProperty("compressedMessages")
+    byte[] compressedMessages;
+    @JsonProperty("uuid")
+    UUID uuid;
+
+    public BackupSegment() {
+    }
+
+    public BackupSegment(String key, LocalDateTime backupPeriodStart, LocalDateTime segmentStart, LocalDateTime segmentEnd, long messageCount, byte[] compressedMessages) {
+        this.key = key;
+        this.backupPeriodStart = backupPeriodStart;
+        this.segmentStart = segmentStart;
+        this.segmentEnd = segmentEnd;
+        this.messageCount = messageCount;
+        this.compressedMessages = compressedMessages;
+        this.uuid = UUID.randomUUID();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public LocalDateTime getBackupPeriodStart() {
+        return backupPeriodStart;
+    }
+
+    public LocalDateTime getSegmentStart() {
+        return segmentStart;
+    }
+
+    public LocalDateTime getSegmentEnd() {
+        return segmentEnd;
+    }
+
+    public long getMessageCount() {
+        return messageCount;
+    }
+
+    public byte[] getCompressedMessages() {
+        return compressedMessages;
+    }
+}
@@ -0,0 +1,38 @@
+package com.baeldung.flink.operator;
+
+import com.baeldung.flink.model.BackupChunk;
+import com.baeldung.flink.model.BackupSegment;
+import org.apache.flink.streaming.api.functions.windowing.ProcessWindowFunction;
+import org.apache.flink.streaming.api.windowing.time.Time;
+import org.apache.flink.streaming.api.windowing.windows.TimeWindow;
+import org.apache.flink.util.Collector;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Turns the pre-aggregated chunk of a sub-window into a {@link BackupSegment} of the backup period
+ * the sub-window belongs to. The sub-window size has to divide the backup period evenly.
+ */
+public class BackupSegmentWindowFunction extends ProcessWindowFunction<BackupChunk, BackupSegment, String, TimeWindow> {
+
+    private final long backupPeriodMillis;
+
+    public BackupSegmentWindowFunction(Time backupPeriod) {
+        this.backupPeriodMillis = backupPeriod.toMilliseconds();
+    }
+
+    @Override
+    public void process(String key, Context context, Iterable<BackupChunk> chunks, Collector<BackupSegment> out) {
+        TimeWindow window = context.window();
+        long backupPeriodStart = TimeWindow.getWindowStartWithOffset(window.getStart(), 0, backupPeriodMillis);
+        for (BackupChunk chunk : chunks) {
+            out.collect(new BackupSegment(key, toLocalDateTime(backupPeriodStart), toLocalDateTime(window.getStart()), toLocalDateTime(window.getEnd()), chunk.getMessageCount(), chunk.toCompressedBytes()));
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
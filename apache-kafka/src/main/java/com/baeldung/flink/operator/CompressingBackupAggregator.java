@@ -0,0 +1,40 @@
+package com.baeldung.flink.operator;
+
+import com.baeldung.flink.model.BackupChunk;
+import com.baeldung.flink.model.InputMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.flink.api.common.functions.AggregateFunction;
+
+import java.io.UncheckedIOException;
+
+public class CompressingBackupAggregator implements AggregateFunction<InputMessage, BackupChunk, BackupChunk> {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Override
+    public BackupChunk createAccumulator() {
+        return new BackupChunk();
+    }
+
+    @Override
+    public BackupChunk add(InputMessage inputMessage, BackupChunk chunk) {
+        try {
+            chunk.add(objectMapper.writeValueAsBytes(inputMessage));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunk;
+    }
+
+    @Override
+    public BackupChunk getResult(BackupChunk chunk) {
+        return chunk;
+    }
+
+    @Override
+    public BackupChunk merge(BackupChunk chunk, BackupChunk otherChunk) {
+        return chunk.merge(otherChunk);
+    }
+}
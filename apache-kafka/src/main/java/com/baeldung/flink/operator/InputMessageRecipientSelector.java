@@ -0,0 +1,12 @@
+package com.baeldung.flink.operator;
+
+import com.baeldung.flink.model.InputMessage;
+import org.apache.flink.api.java.functions.KeySelector;
+
+public class InputMessageRecipientSelector implements KeySelector<InputMessage, String> {
+
+    @Override
+    public String getKey(InputMessage inputMessage) {
+        return inputMessage.getRecipient();
+    }
+}
@@ -0,0 +1,25 @@
+package com.baeldung.flink.schema;
+
+import com.baeldung.flink.model.BackupSegment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.flink.api.common.serialization.SerializationSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class BackupSegmentSerializationSchema implements SerializationSchema<BackupSegment> {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private static final Logger logger = LoggerFactory.getLogger(BackupSegmentSerializationSchema.class);
+
+    @Override
+    public byte[] serialize(BackupSegment backupSegment) {
+        try {
+            return objectMapper.writeValueAsBytes(backupSegment);
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            logger.error("Failed to parse JSON", e);
+        }
+        return new byte[0];
+    }
+}
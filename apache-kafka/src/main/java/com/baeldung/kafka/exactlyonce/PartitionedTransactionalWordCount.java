@@ -0,0 +1,246 @@
+package com.baeldung.kafka.exactlyonce;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.AuthorizationException;
+import org.apache.kafka.common.errors.OutOfOrderSequenceException;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static java.util.Collections.singleton;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.GROUP_ID_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.ISOLATION_LEVEL_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.BATCH_SIZE_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.LINGER_MS_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.TRANSACTIONAL_ID_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG;
+
+/**
+ * Exactly-once word count that processes every assigned input partition in parallel.
+ * Each partition gets its own transactional producer, so the counts of a partition and
+ * its consumed offsets are committed atomically and independently of the other partitions.
+ */
+public class PartitionedTransactionalWordCount implements ConsumerRebalanceListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedTransactionalWordCount.class);
+
+    private static final String CONSUMER_GROUP_ID = "my-group-id";
+    private static final String OUTPUT_TOPIC = "output";
+    private static final String INPUT_TOPIC = "input";
+
+    private static final int MAX_POLL_RECORDS = 5_000;
+    private static final int BATCH_SIZE = 64 * 1024;
+    private static final int LINGER_MS = 20;
+
+    private final Consumer<String, String> consumer;
+    private final Function<TopicPartition, Producer<String, String>> producerFactory;
+    private final ExecutorService executor;
+    private final String outputTopic;
+    private final Map<TopicPartition, Producer<String, String>> producers = new ConcurrentHashMap<>();
+
+    public PartitionedTransactionalWordCount(Consumer<String, String> consumer, Function<TopicPartition, Producer<String, String>> producerFactory, ExecutorService executor, String outputTopic) {
+        this.consumer = consumer;
+        this.producerFactory = producerFactory;
+        this.executor = executor;
+        this.outputTopic = outputTopic;
+    }
+
+    public static void main(String[] args) {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime()
+            .availableProcessors());
+        PartitionedTransactionalWordCount wordCount = new PartitionedTransactionalWordCount(createKafkaConsumer(MAX_POLL_RECORDS),
+            partition -> createKafkaProducer(partition, BATCH_SIZE, LINGER_MS), executor, OUTPUT_TOPIC);
+
+        Runtime.getRuntime()
+            .addShutdownHook(new Thread(wordCount::stop));
+
+        wordCount.start(INPUT_TOPIC);
+        executor.shutdown();
+    }
+
+    public void start(String inputTopic) {
+        try {
+            consumer.subscribe(singleton(inputTopic), this);
+            while (true) {
+                ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(1000));
+                if (!records.isEmpty()) {
+                    process(records);
+                }
+            }
+        } catch (WakeupException e) {
+            logger.info("Shutting down...");
+        } finally {
+            closeProducers(new ArrayList<>(producers.keySet()));
+            consumer.close();
+        }
+    }
+
+    public void stop() {
+        consumer.wakeup();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+        partitions.forEach(this::producerFor);
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        closeProducers(partitions);
+    }
+
+    void process(ConsumerRecords<String, String> records) {
+        ConsumerGroupMetadata groupMetadata = consumer.groupMetadata();
+
+        List<TopicPartition> partitions = new ArrayList<>(records.partitions());
+        List<Future<Boolean>> results = new ArrayList<>(partitions.size());
+        for (TopicPartition partition : partitions) {
+            List<ConsumerRecord<String, String>> partitionRecords = records.records(partition);
+            Producer<String, String> producer = producerFor(partition);
+            results.add(executor.submit(() -> countInTransaction(producer, partition, partitionRecords, groupMetadata)));
+        }
+
+        for (int i = 0; i < partitions.size(); i++) {
+            TopicPartition partition = partitions.get(i);
+            if (!awaitCommit(results.get(i))) {
+                consumer.seek(partition, records.records(partition)
+                    .get(0)
+                    .offset());
+            }
+        }
+    }
+
+    private boolean countInTransaction(Producer<String, String> producer, TopicPartition partition, List<ConsumerRecord<String, String>> records, ConsumerGroupMetadata groupMetadata) {
+        WordCountAccumulator accumulator = new WordCountAccumulator(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            accumulator.addLine(record.value());
+        }
+
+        long nextOffset = records.get(records.size() - 1)
+            .offset() + 1;
+
+        try {
+            producer.beginTransaction();
+            accumulator.forEach((word, count) -> producer.send(new ProducerRecord<>(outputTopic, word, Integer.toString(count))));
+            producer.sendOffsetsToTransaction(Collections.singletonMap(partition, new OffsetAndMetadata(nextOffset)), groupMetadata);
+            producer.commitTransaction();
+            return true;
+        } catch (ProducerFencedException | OutOfOrderSequenceException | AuthorizationException e) {
+            // fatal, the producer can't abort or start another transaction
+            logger.warn("Recreating the producer of {} after a fatal error", partition, e);
+            discardProducer(partition, producer);
+            return false;
+        } catch (KafkaException e) {
+            logger.warn("Aborting word count transaction for {}", partition, e);
+            try {
+                producer.abortTransaction();
+            } catch (KafkaException abortFailure) {
+                logger.warn("Recreating the producer of {} as the transaction couldn't be aborted", partition, abortFailure);
+                discardProducer(partition, producer);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Closes a broken producer, the next records of the partition get a new one from
+     * {@link #producerFor}, whose {@code initTransactions()} aborts whatever the old one left open.
+     */
+    private void discardProducer(TopicPartition partition, Producer<String, String> producer) {
+        producers.remove(partition, producer);
+        try {
+            producer.close(Duration.ZERO);
+        } catch (KafkaException e) {
+            logger.warn("Failed to close the producer of {}", partition, e);
+        }
+    }
+
+    private boolean awaitCommit(Future<Boolean> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+            throw new WakeupException();
+        } catch (ExecutionException e) {
+            logger.error("Word count task failed", e.getCause());
+            return false;
+        }
+    }
+
+    private Producer<String, String> producerFor(TopicPartition partition) {
+        return producers.computeIfAbsent(partition, p -> {
+            Producer<String, String> producer = producerFactory.apply(p);
+            producer.initTransactions();
+            return producer;
+        });
+    }
+
+    private void closeProducers(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            Producer<String, String> producer = producers.remove(partition);
+            if (producer != null) {
+                producer.close();
+            }
+        }
+    }
+
+    static KafkaConsumer<String, String> createKafkaConsumer(int maxPollRecords) {
+        Properties props = new Properties();
+        props.put(BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        props.put(GROUP_ID_CONFIG, CONSUMER_GROUP_ID);
+        props.put(ENABLE_AUTO_COMMIT_CONFIG, "false");
+        props.put(ISOLATION_LEVEL_CONFIG, "read_committed");
+        props.put(MAX_POLL_RECORDS_CONFIG, Integer.toString(maxPollRecords));
+        props.put(KEY_DESERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringDeserializer");
+        props.put(VALUE_DESERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringDeserializer");
+
+        return new KafkaConsumer<>(props);
+    }
+
+    static KafkaProducer<String, String> createKafkaProducer(TopicPartition partition, int batchSize, int lingerMs) {
+        Properties props = new Properties();
+        props.put(BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        props.put(ENABLE_IDEMPOTENCE_CONFIG, "true");
+        props.put(TRANSACTIONAL_ID_CONFIG, "word-count-" + partition.topic() + "-" + partition.partition());
+        props.put(BATCH_SIZE_CONFIG, Integer.toString(batchSize));
+        props.put(LINGER_MS_CONFIG, Integer.toString(lingerMs));
+        props.put(KEY_SERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringSerializer");
+        props.put(VALUE_SERIALIZER_CLASS_CONFIG, "org.apache.kafka.common.serialization.StringSerializer");
+
+        return new KafkaProducer<>(props);
+    }
+}
@@ -0,0 +1,143 @@
+package com.baeldung.kafka.exactlyonce;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Counts space separated words into an open addressing table of primitive counters,
+ * so that neither the line split nor the per word count allocates boxed values.
+ * Instances are not thread-safe, use one per partition.
+ */
+public class WordCountAccumulator {
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private String[] words;
+    private int[] counts;
+    private int size;
+
+    public WordCountAccumulator() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public WordCountAccumulator(int expectedWords) {
+        int capacity = capacityFor(expectedWords);
+        this.words = new String[capacity];
+        this.counts = new int[capacity];
+    }
+
+    /**
+     * The smallest power of two that keeps the table at most half full with the expected words,
+     * computed in long so that large expectations are clamped to the largest table instead of overflowing.
+     */
+    static int capacityFor(int expectedWords) {
+        long slots = Math.max(expectedWords, 2) * 2L;
+        return (int) Math.min(Long.highestOneBit(slots - 1) << 1, MAX_CAPACITY);
+    }
+
+    public void addLine(String line) {
+        if (line == null) {
+            return;
+        }
+        int start = 0;
+        int length = line.length();
+        while (start < length) {
+            int end = line.indexOf(' ', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                add(line, start, end);
+            }
+            start = end + 1;
+        }
+    }
+
+    public int count(String word) {
+        int slot = slotOf(word, 0, word.length(), words);
+        return words[slot] == null ? 0 : counts[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(ObjIntConsumer<String> action) {
+        for (int i = 0; i < words.length; i++) {
+            if (words[i] != null) {
+                action.accept(words[i], counts[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(words, null);
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+    private void add(String line, int start, int end) {
+        int slot = slotOf(line, start, end, words);
+        if (words[slot] == null) {
+            if ((size + 1) * 2L > words.length) {
+                resize();
+                slot = slotOf(line, start, end, words);
+            }
+            words[slot] = start == 0 && end == line.length() ? line : line.substring(start, end);
+            size++;
+        }
+        counts[slot]++;
+    }
+
+    private void resize() {
+        if (words.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot count more than " + MAX_CAPACITY / 2 + " distinct words");
+        }
+        String[] oldWords = words;
+        int[] oldCounts = counts;
+        words = new String[oldWords.length * 2];
+        counts = new int[oldCounts.length * 2];
+        for (int i = 0; i < oldWords.length; i++) {
+            String word = oldWords[i];
+            if (word != null) {
+                int slot = slotOf(word, 0, word.length(), words);
+                words[slot] = word;
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int slotOf(CharSequence text, int start, int end, String[] table) {
+        int mask = table.length - 1;
+        int slot = spread(hash(text, start, end)) & mask;
+        while (table[slot] != null && !matches(table[slot], text, start, end)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(CharSequence text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        return h;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String word, CharSequence text, int start, int end) {
+        if (word.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,103 @@
+package com.baeldung.flink;
+
+import com.baeldung.flink.model.BackupSegment;
+import com.baeldung.flink.model.InputMessage;
+import com.baeldung.flink.operator.InputMessageTimestampAssigner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.flink.streaming.api.TimeCharacteristic;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.functions.sink.SinkFunction;
+import org.apache.flink.streaming.api.windowing.time.Time;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KeyedBackupIntegrationTest {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2021, 6, 1, 0, 0);
+
+    private ObjectMapper mapper;
+
+    @Before
+    public void setup() {
+        mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        SegmentCollectingSink.segments.clear();
+    }
+
+    @Test
+    public void givenMessagesForSeveralRecipients_whenKeyedBackupIsCreated_thenSegmentsArePerRecipientAndSubWindow() throws Exception {
+        InputMessage first = new InputMessage("Me", "Alice", DAY_START.plusMinutes(10), "First");
+        InputMessage second = new InputMessage("Me", "Bob", DAY_START.plusMinutes(20), "Second");
+        InputMessage third = new InputMessage("Me", "Alice", DAY_START.plusMinutes(30), "Third");
+        InputMessage fourth = new InputMessage("Me", "Alice", DAY_START.plusHours(5), "Fourth");
+        InputMessage fifth = new InputMessage("Me", "Alice", DAY_START.plusHours(25), "Fifth");
+
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.setStreamTimeCharacteristic(TimeCharacteristic.EventTime);
+        env.setParallelism(2);
+        FlinkDataPipeline.keyedBackupSegments(env.fromCollection(Arrays.asList(first, second, third, fourth, fifth))
+            .assignTimestampsAndWatermarks(new InputMessageTimestampAssigner()), Time.hours(24), Time.hours(1))
+            .addSink(new SegmentCollectingSink());
+
+        env.execute();
+
+        List<BackupSegment> segments = new ArrayList<>(SegmentCollectingSink.segments);
+        segments.sort(Comparator.comparing(BackupSegment::getKey)
+            .thenComparing(BackupSegment::getSegmentStart));
+
+        assertEquals(4, segments.size());
+        assertSegment(segments.get(0), "Alice", DAY_START, DAY_START, Arrays.asList(first, third));
+        assertSegment(segments.get(1), "Alice", DAY_START, DAY_START.plusHours(5), Collections.singletonList(fourth));
+        assertSegment(segments.get(2), "Alice", DAY_START.plusHours(24), DAY_START.plusHours(25), Collections.singletonList(fifth));
+        assertSegment(segments.get(3), "Bob", DAY_START, DAY_START, Collections.singletonList(second));
+    }
+
+    private void assertSegment(BackupSegment segment, String key, LocalDateTime periodStart, LocalDateTime segmentStart, List<InputMessage> messages) throws IOException {
+        assertEquals(key, segment.getKey());
+        assertEquals(periodStart, segment.getBackupPeriodStart());
+        assertEquals(segmentStart, segment.getSegmentStart());
+        assertEquals(segmentStart.plusHours(1), segment.getSegmentEnd());
+        assertEquals(messages.size(), segment.getMessageCount());
+        assertEquals(messages, decompress(segment.getCompressedMessages()));
+    }
+
+    private List<InputMessage> decompress(byte[] compressed) throws IOException {
+        assertTrue(compressed.length > 0);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(compressed)), StandardCharsets.UTF_8))) {
+            List<String> lines = reader.lines()
+                .collect(Collectors.toList());
+            List<InputMessage> messages = new ArrayList<>();
+            for (String line : lines) {
+                messages.add(mapper.readValue(line, InputMessage.class));
+            }
+            return messages;
+        }
+    }
+
+    private static class SegmentCollectingSink implements SinkFunction<BackupSegment> {
+
+        public static final List<BackupSegment> segments = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void invoke(BackupSegment value, Context context) {
+            segments.add(value);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.baeldung.flink;
+
+import com.baeldung.flink.model.BackupSegment;
+import com.baeldung.flink.model.InputMessage;
+import com.baeldung.flink.operator.InputMessageTimestampAssigner;
+import org.apache.flink.streaming.api.TimeCharacteristic;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.functions.sink.SinkFunction;
+import org.apache.flink.streaming.api.functions.source.SourceFunction;
+import org.apache.flink.streaming.api.windowing.time.Time;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Backs up {@code -Dflink.backup.messages} generated messages, 1,000,000 by default, for 100
+ * recipients and reports the messages per second of the keyed backup pipeline.
+ */
+public class KeyedBackupThroughputManualTest {
+
+    private static final int MESSAGES = Integer.getInteger("flink.backup.messages", 1_000_000);
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2021, 6, 1, 0, 0);
+
+    @Test
+    public void givenHighVolumeStream_whenKeyedBackupIsCreated_thenThroughputIsReported() throws Exception {
+        CountingSink.messages.set(0);
+
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.setStreamTimeCharacteristic(TimeCharacteristic.EventTime);
+        FlinkDataPipeline.keyedBackupSegments(env.addSource(new GeneratingSource(MESSAGES))
+            .assignTimestampsAndWatermarks(new InputMessageTimestampAssigner()), Time.hours(24), Time.hours(1))
+            .addSink(new CountingSink());
+
+        long start = System.nanoTime();
+        env.execute();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long backedUp = CountingSink.messages.get();
+        System.out.printf("Backed up %d messages in %d ms (%d messages/s)%n", backedUp, elapsedMillis, backedUp * 1000 / Math.max(elapsedMillis, 1));
+        assertEquals(MESSAGES, backedUp);
+    }
+
+    private static class GeneratingSource implements SourceFunction<InputMessage> {
+
+        private final int messages;
+        private volatile boolean running = true;
+
+        GeneratingSource(int messages) {
+            this.messages = messages;
+        }
+
+        @Override
+        public void run(SourceContext<InputMessage> context) {
+            for (int i = 0; i < messages && running; i++) {
+                context.collect(new InputMessage("Me", "User" + (i % 100), DAY_START.plusSeconds(i / 10), "Generated message " + i));
+            }
+        }
+
+        @Override
+        public void cancel() {
+            running = false;
+        }
+    }
+
+    private static class CountingSink implements SinkFunction<BackupSegment> {
+
+        static final AtomicLong messages = new AtomicLong();
+
+        @Override
+        public void invoke(BackupSegment value, Context context) {
+            messages.addAndGet(value.getMessageCount());
+        }
+    }
+}
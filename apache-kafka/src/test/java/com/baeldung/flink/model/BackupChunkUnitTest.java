@@ -0,0 +1,106 @@
+package com.baeldung.flink.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.typeutils.GenericTypeInfo;
+import org.apache.flink.api.java.typeutils.PojoTypeInfo;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BackupChunkUnitTest {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2021, 6, 1, 0, 0);
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    public void givenChunkLargerThanOneBlock_whenCompressed_thenAllMessagesCanBeRead() throws IOException {
+        BackupChunk chunk = new BackupChunk(128);
+        List<InputMessage> messages = addMessages(chunk, 100);
+
+        assertEquals(100, chunk.getMessageCount());
+        assertEquals(messages, decompress(chunk.toCompressedBytes()));
+    }
+
+    @Test
+    public void givenTwoChunks_whenMerged_thenMessagesOfBothCanBeRead() throws IOException {
+        BackupChunk chunk = new BackupChunk(128);
+        List<InputMessage> messages = addMessages(chunk, 10);
+        BackupChunk other = new BackupChunk(128);
+        messages.addAll(addMessages(other, 5));
+
+        chunk.merge(other);
+
+        assertEquals(15, chunk.getMessageCount());
+        assertEquals(messages, decompress(chunk.toCompressedBytes()));
+    }
+
+    @Test
+    public void givenFewMessages_whenAdded_thenPendingBufferIsNotSizedToTheBlock() throws IOException {
+        BackupChunk chunk = new BackupChunk();
+        addMessages(chunk, 1);
+
+        assertTrue(chunk.getPending().length < BackupChunk.DEFAULT_BLOCK_SIZE / 16);
+    }
+
+    @Test
+    public void whenTypeIsExtracted_thenChunkIsSerializedAsPojoWithoutKryo() throws IOException {
+        TypeInformation<BackupChunk> type = TypeInformation.of(BackupChunk.class);
+
+        assertTrue(type instanceof PojoTypeInfo);
+        PojoTypeInfo<BackupChunk> pojoType = (PojoTypeInfo<BackupChunk>) type;
+        for (int i = 0; i < pojoType.getArity(); i++) {
+            assertFalse(pojoType.getPojoFieldAt(i)
+                .getTypeInformation() instanceof GenericTypeInfo);
+        }
+
+        BackupChunk chunk = new BackupChunk(128);
+        List<InputMessage> messages = addMessages(chunk, 20);
+        TypeSerializer<BackupChunk> serializer = type.createSerializer(new ExecutionConfig());
+        DataOutputSerializer out = new DataOutputSerializer(1024);
+        serializer.serialize(chunk, out);
+        BackupChunk copy = serializer.deserialize(new DataInputDeserializer(out.getCopyOfBuffer()));
+
+        assertEquals(messages, decompress(copy.toCompressedBytes()));
+    }
+
+    private List<InputMessage> addMessages(BackupChunk chunk, int count) throws IOException {
+        List<InputMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            InputMessage message = new InputMessage("Me", "User", DAY_START.plusMinutes(i), "Message " + i);
+            messages.add(message);
+            chunk.add(mapper.writeValueAsBytes(message));
+        }
+        return messages;
+    }
+
+    private List<InputMessage> decompress(byte[] compressed) throws IOException {
+        assertTrue(compressed.length > 0);
+        List<InputMessage> messages = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(compressed)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                messages.add(mapper.readValue(line, InputMessage.class));
+            }
+        }
+        return messages;
+    }
+}
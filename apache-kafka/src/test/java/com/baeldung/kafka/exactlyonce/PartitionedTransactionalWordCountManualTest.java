@@ -0,0 +1,105 @@
+package com.baeldung.kafka.exactlyonce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Rough throughput comparison of the single partition, boxed word count and the
+ * partition-parallel one, both driven by MockConsumer and MockProducer.
+ */
+class PartitionedTransactionalWordCountManualTest {
+
+    private static final String INPUT_TOPIC = "input";
+    private static final int PARTITIONS = 8;
+    private static final int RECORDS_PER_PARTITION = 50_000;
+    private static final int WORDS_PER_RECORD = 20;
+    private static final int VOCABULARY = 5_000;
+
+    @Test
+    void whenCountingWords_thenReportThroughputOfBothApproaches() {
+        List<ConsumerRecord<String, String>> records = generateRecords();
+
+        long start = System.nanoTime();
+        Map<String, Integer> boxedCounts = records.stream()
+            .flatMap(record -> Stream.of(record.value()
+                .split(" ")))
+            .map(word -> Tuple.of(word, 1))
+            .collect(Collectors.toMap(Tuple::getKey, Tuple::getValue, (v1, v2) -> v1 + v2));
+        report("Tuple based count, one thread", records.size(), System.nanoTime() - start);
+
+        for (int threads : new int[] { 1, PARTITIONS }) {
+            MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+            List<MockProducer<String, String>> producers = new ArrayList<>();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            PartitionedTransactionalWordCount wordCount = new PartitionedTransactionalWordCount(consumer, partition -> {
+                MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+                producers.add(producer);
+                return producer;
+            }, executor, "output");
+
+            List<TopicPartition> partitions = partitions();
+            Map<TopicPartition, Long> startOffsets = new HashMap<>();
+            partitions.forEach(partition -> startOffsets.put(partition, 0L));
+            consumer.updateBeginningOffsets(startOffsets);
+            consumer.schedulePollTask(() -> {
+                consumer.rebalance(partitions);
+                records.forEach(consumer::addRecord);
+            });
+            consumer.schedulePollTask(wordCount::stop);
+
+            start = System.nanoTime();
+            wordCount.start(INPUT_TOPIC);
+            report("Partitioned count, " + threads + " thread(s)", records.size(), System.nanoTime() - start);
+
+            executor.shutdown();
+            assertThat(producers).hasSize(PARTITIONS);
+        }
+
+        assertThat(boxedCounts).hasSize(VOCABULARY);
+    }
+
+    private static List<ConsumerRecord<String, String>> generateRecords() {
+        List<ConsumerRecord<String, String>> records = new ArrayList<>(PARTITIONS * RECORDS_PER_PARTITION);
+        int word = 0;
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            for (int offset = 0; offset < RECORDS_PER_PARTITION; offset++) {
+                StringBuilder line = new StringBuilder();
+                for (int i = 0; i < WORDS_PER_RECORD; i++) {
+                    line.append("word")
+                        .append(word++ % VOCABULARY)
+                        .append(' ');
+                }
+                records.add(new ConsumerRecord<>(INPUT_TOPIC, partition, offset, null, line.toString()));
+            }
+        }
+        return records;
+    }
+
+    private static List<TopicPartition> partitions() {
+        List<TopicPartition> partitions = new ArrayList<>();
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            partitions.add(new TopicPartition(INPUT_TOPIC, partition));
+        }
+        return partitions;
+    }
+
+    private static void report(String name, int records, long nanos) {
+        System.out.printf("%s: %d records in %d ms (%.0f records/s)%n", name, records, nanos / 1_000_000, records * 1e9 / nanos);
+    }
+}
@@ -0,0 +1,190 @@
+package com.baeldung.kafka.exactlyonce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PartitionedTransactionalWordCountUnitTest {
+
+    private static final String INPUT_TOPIC = "input";
+    private static final String OUTPUT_TOPIC = "output";
+
+    private static final TopicPartition PARTITION_0 = new TopicPartition(INPUT_TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(INPUT_TOPIC, 1);
+
+    private MockConsumer<String, String> consumer;
+    private Map<TopicPartition, MockProducer<String, String>> producers;
+    private ExecutorService executor;
+    private PartitionedTransactionalWordCount wordCount;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        producers = new HashMap<>();
+        executor = Executors.newFixedThreadPool(2);
+        wordCount = new PartitionedTransactionalWordCount(consumer, partition -> producers.computeIfAbsent(partition,
+            p -> new MockProducer<>(true, new StringSerializer(), new StringSerializer())), executor, OUTPUT_TOPIC);
+
+        Map<TopicPartition, Long> startOffsets = new HashMap<>();
+        startOffsets.put(PARTITION_0, 0L);
+        startOffsets.put(PARTITION_1, 0L);
+        consumer.updateBeginningOffsets(startOffsets);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void whenRecordsArriveOnSeveralPartitions_thenEachPartitionIsCommittedInItsOwnTransaction() {
+        // GIVEN
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(Arrays.asList(PARTITION_0, PARTITION_1));
+            consumer.addRecord(record(PARTITION_0, 0, "a b a"));
+            consumer.addRecord(record(PARTITION_0, 1, "b c"));
+            consumer.addRecord(record(PARTITION_1, 0, "x y x"));
+        });
+        consumer.schedulePollTask(() -> wordCount.stop());
+
+        // WHEN
+        wordCount.start(INPUT_TOPIC);
+
+        // THEN
+        MockProducer<String, String> producer0 = producers.get(PARTITION_0);
+        assertThat(producer0.commitCount()).isEqualTo(1);
+        assertThat(countsOf(producer0)).containsOnly(entry("a", "2"), entry("b", "2"), entry("c", "1"));
+        assertThat(committedOffset(producer0, PARTITION_0)).isEqualTo(2);
+
+        MockProducer<String, String> producer1 = producers.get(PARTITION_1);
+        assertThat(producer1.commitCount()).isEqualTo(1);
+        assertThat(countsOf(producer1)).containsOnly(entry("x", "2"), entry("y", "1"));
+        assertThat(committedOffset(producer1, PARTITION_1)).isEqualTo(1);
+
+        assertThat(producer0.closed()).isTrue();
+        assertThat(producer1.closed()).isTrue();
+        assertThat(consumer.closed()).isTrue();
+    }
+
+    @Test
+    void whenTransactionFails_thenPartitionIsRewoundForReprocessing() {
+        // GIVEN
+        MockProducer<String, String> failingProducer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        failingProducer.commitTransactionException = new KafkaException("commit failed");
+        producers.put(PARTITION_0, failingProducer);
+
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(Arrays.asList(PARTITION_0));
+            consumer.addRecord(record(PARTITION_0, 0, "a b"));
+        });
+        AtomicLong positionAfterAbort = new AtomicLong(-1);
+        consumer.schedulePollTask(() -> {
+            positionAfterAbort.set(consumer.position(PARTITION_0));
+            wordCount.stop();
+        });
+
+        // WHEN
+        wordCount.start(INPUT_TOPIC);
+
+        // THEN
+        assertThat(failingProducer.transactionAborted()).isTrue();
+        assertThat(failingProducer.commitCount()).isZero();
+        assertThat(positionAfterAbort.get()).isZero();
+    }
+
+    @Test
+    void whenProducerIsFenced_thenItIsClosedAndReplacedForTheNextRecords() {
+        // GIVEN
+        MockProducer<String, String> fencedProducer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        fencedProducer.beginTransactionException = new ProducerFencedException("fenced");
+        MockProducer<String, String> replacement = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        Iterator<MockProducer<String, String>> created = Arrays.asList(fencedProducer, replacement)
+            .iterator();
+        wordCount = new PartitionedTransactionalWordCount(consumer, partition -> created.next(), executor, OUTPUT_TOPIC);
+
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(Arrays.asList(PARTITION_0));
+            consumer.addRecord(record(PARTITION_0, 0, "a b"));
+        });
+        consumer.schedulePollTask(() -> consumer.addRecord(record(PARTITION_0, 0, "a b")));
+        consumer.schedulePollTask(() -> wordCount.stop());
+
+        // WHEN
+        wordCount.start(INPUT_TOPIC);
+
+        // THEN
+        assertThat(fencedProducer.closed()).isTrue();
+        assertThat(fencedProducer.commitCount()).isZero();
+        assertThat(replacement.commitCount()).isEqualTo(1);
+        assertThat(countsOf(replacement)).containsOnly(entry("a", "1"), entry("b", "1"));
+    }
+
+    @Test
+    void whenAbortFails_thenProducerIsClosedAndReplaced() {
+        // GIVEN
+        MockProducer<String, String> brokenProducer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        brokenProducer.commitTransactionException = new KafkaException("commit failed");
+        brokenProducer.abortTransactionException = new KafkaException("abort failed");
+        MockProducer<String, String> replacement = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        Iterator<MockProducer<String, String>> created = Arrays.asList(brokenProducer, replacement)
+            .iterator();
+        wordCount = new PartitionedTransactionalWordCount(consumer, partition -> created.next(), executor, OUTPUT_TOPIC);
+
+        consumer.schedulePollTask(() -> {
+            consumer.rebalance(Arrays.asList(PARTITION_0));
+            consumer.addRecord(record(PARTITION_0, 0, "a b"));
+        });
+        consumer.schedulePollTask(() -> consumer.addRecord(record(PARTITION_0, 0, "a b")));
+        consumer.schedulePollTask(() -> wordCount.stop());
+
+        // WHEN
+        wordCount.start(INPUT_TOPIC);
+
+        // THEN
+        assertThat(brokenProducer.closed()).isTrue();
+        assertThat(replacement.commitCount()).isEqualTo(1);
+    }
+
+    private static Map<String, String> countsOf(MockProducer<String, String> producer) {
+        Map<String, String> counts = new HashMap<>();
+        for (ProducerRecord<String, String> record : producer.history()) {
+            counts.put(record.key(), record.value());
+        }
+        return counts;
+    }
+
+    private static long committedOffset(MockProducer<String, String> producer, TopicPartition partition) {
+        OffsetAndMetadata offset = producer.consumerGroupOffsetsHistory()
+            .get(0)
+            .values()
+            .iterator()
+            .next()
+            .get(partition);
+        return offset.offset();
+    }
+
+    private static ConsumerRecord<String, String> record(TopicPartition partition, long offset, String value) {
+        return new ConsumerRecord<>(partition.topic(), partition.partition(), offset, null, value);
+    }
+}
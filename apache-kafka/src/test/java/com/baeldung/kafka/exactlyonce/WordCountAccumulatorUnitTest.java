@@ -0,0 +1,60 @@
+package com.baeldung.kafka.exactlyonce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class WordCountAccumulatorUnitTest {
+
+    @Test
+    void whenAddingLines_thenWordsAreCountedAcrossLines() {
+        WordCountAccumulator accumulator = new WordCountAccumulator(2);
+
+        accumulator.addLine("Put any space separated data here for count");
+        accumulator.addLine("  count   every word  ");
+
+        assertThat(accumulator.count("count")).isEqualTo(2);
+        assertThat(accumulator.count("every")).isEqualTo(1);
+        assertThat(accumulator.count("missing")).isZero();
+        assertThat(accumulator.size()).isEqualTo(10);
+    }
+
+    @Test
+    void whenAddingManyDistinctWords_thenTableGrowsWithoutLosingCounts() {
+        WordCountAccumulator accumulator = new WordCountAccumulator();
+        for (int i = 0; i < 10_000; i++) {
+            accumulator.addLine("word" + i + " word" + (i % 10));
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        accumulator.forEach(counts::put);
+
+        assertThat(counts).hasSize(10_000);
+        assertThat(counts.get("word3")).isEqualTo(1001);
+        assertThat(counts.get("word9999")).isEqualTo(1);
+    }
+
+    @Test
+    void whenSizingForExpectedWords_thenCapacityIsClampedInsteadOfOverflowing() {
+        assertThat(WordCountAccumulator.capacityFor(0)).isEqualTo(4);
+        assertThat(WordCountAccumulator.capacityFor(64)).isEqualTo(128);
+        assertThat(WordCountAccumulator.capacityFor(65)).isEqualTo(256);
+        assertThat(WordCountAccumulator.capacityFor(1 << 29)).isEqualTo(1 << 30);
+        assertThat(WordCountAccumulator.capacityFor((1 << 29) + 1)).isEqualTo(1 << 30);
+        assertThat(WordCountAccumulator.capacityFor(Integer.MAX_VALUE)).isEqualTo(1 << 30);
+    }
+
+    @Test
+    void whenCleared_thenNoWordsRemain() {
+        WordCountAccumulator accumulator = new WordCountAccumulator();
+        accumulator.addLine("a b c");
+
+        accumulator.clear();
+
+        assertThat(accumulator.size()).isZero();
+        assertThat(accumulator.count("a")).isZero();
+    }
+}
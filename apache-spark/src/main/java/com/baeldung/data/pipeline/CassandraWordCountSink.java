@@ -0,0 +1,35 @@
+package com.baeldung.data.pipeline;
+
+import static com.datastax.spark.connector.japi.CassandraJavaUtil.javaFunctions;
+import static com.datastax.spark.connector.japi.CassandraJavaUtil.mapToRow;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaRDD;
+
+/**
+ * Writes word counts with the connector's executor side writer, which groups the rows of each partition
+ * into batches of {@code spark.cassandra.output.batch.size.rows}.
+ */
+public class CassandraWordCountSink implements WordCountSink {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String keyspace;
+    private final String table;
+
+    public CassandraWordCountSink(String keyspace, String table) {
+        this.keyspace = keyspace;
+        this.table = table;
+    }
+
+    public static SparkConf configureBatching(SparkConf sparkConf, int rowsPerBatch, int concurrentWrites) {
+        return sparkConf.set("spark.cassandra.output.batch.size.rows", String.valueOf(rowsPerBatch))
+            .set("spark.cassandra.output.concurrent.writes", String.valueOf(concurrentWrites));
+    }
+
+    @Override
+    public void save(JavaRDD<Word> words) {
+        javaFunctions(words).writerBuilder(keyspace, table, mapToRow(Word.class))
+            .saveToCassandra();
+    }
+}
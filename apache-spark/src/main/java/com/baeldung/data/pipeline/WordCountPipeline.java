@@ -0,0 +1,44 @@
+package com.baeldung.data.pipeline;
+
+import java.util.Arrays;
+
+import org.apache.spark.api.java.Optional;
+import org.apache.spark.api.java.function.Function2;
+import org.apache.spark.streaming.State;
+import org.apache.spark.streaming.StateSpec;
+import org.apache.spark.streaming.api.java.JavaDStream;
+import org.apache.spark.streaming.api.java.JavaPairDStream;
+
+import scala.Tuple2;
+
+/**
+ * Word counting steps shared by {@link WordCountingApp} and {@link WordCountingAppWithCheckpoint}.
+ */
+public class WordCountPipeline {
+
+    private WordCountPipeline() {
+    }
+
+    public static JavaPairDStream<String, Integer> countWords(JavaDStream<String> lines) {
+        return lines.flatMap(x -> Arrays.asList(x.split("\\s+"))
+            .iterator())
+            .mapToPair(s -> new Tuple2<>(s, 1))
+            .reduceByKey((Function2<Integer, Integer, Integer>) (i1, i2) -> i1 + i2);
+    }
+
+    /**
+     * Keeps the running total of every word in Spark state. Only the words seen in a micro-batch are emitted,
+     * with their updated totals. Requires a checkpoint directory on the streaming context.
+     */
+    public static JavaDStream<Word> runningTotals(JavaPairDStream<String, Integer> wordCounts) {
+        return wordCounts.mapWithState(StateSpec.function((String word, Optional<Integer> count, State<Integer> state) -> {
+            int sum = count.orElse(0) + (state.exists() ? state.get() : 0);
+            state.update(sum);
+            return new Word(word, sum);
+        }));
+    }
+
+    public static void saveTo(JavaDStream<Word> words, WordCountSink sink) {
+        words.foreachRDD(sink::save);
+    }
+}
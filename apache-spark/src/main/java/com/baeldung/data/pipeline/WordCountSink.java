@@ -0,0 +1,14 @@
+package com.baeldung.data.pipeline;
+
+import java.io.Serializable;
+
+import org.apache.spark.api.java.JavaRDD;
+
+/**
+ * Stores the word counts of a micro-batch. Implementations are expected to write from the executors,
+ * partition by partition, rather than collecting the counts to the driver.
+ */
+public interface WordCountSink extends Serializable {
+
+    void save(JavaRDD<Word> words);
+}
@@ -1,12 +1,8 @@
 package com.baeldung.data.pipeline;
 
-import static com.datastax.spark.connector.japi.CassandraJavaUtil.javaFunctions;
-import static com.datastax.spark.connector.japi.CassandraJavaUtil.mapToRow;
-
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -14,7 +10,6 @@ import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.spark.SparkConf;
-import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.streaming.Durations;
 import org.apache.spark.streaming.api.java.JavaDStream;
 import org.apache.spark.streaming.api.java.JavaInputDStream;
@@ -48,31 +43,24 @@ public class WordCountingApp {
         sparkConf.setMaster("local[2]");
         sparkConf.setAppName("WordCountingApp");
         sparkConf.set("spark.cassandra.connection.host", "127.0.0.1");
+        CassandraWordCountSink.configureBatching(sparkConf, 500, 5);
 
         JavaStreamingContext streamingContext = new JavaStreamingContext(sparkConf, Durations.seconds(1));
 
+        // mapWithState keeps the running totals in Spark state, which is checkpointed
+        streamingContext.checkpoint("./.checkpoint-word-counting-app");
+
         JavaInputDStream<ConsumerRecord<String, String>> messages = KafkaUtils.createDirectStream(streamingContext, LocationStrategies.PreferConsistent(), ConsumerStrategies.<String, String> Subscribe(topics, kafkaParams));
 
         JavaPairDStream<String, String> results = messages.mapToPair(record -> new Tuple2<>(record.key(), record.value()));
 
         JavaDStream<String> lines = results.map(tuple2 -> tuple2._2());
 
-        JavaDStream<String> words = lines.flatMap(x -> Arrays.asList(x.split("\\s+"))
-            .iterator());
-
-        JavaPairDStream<String, Integer> wordCounts = words.mapToPair(s -> new Tuple2<>(s, 1))
-            .reduceByKey((i1, i2) -> i1 + i2);
-
-        wordCounts.foreachRDD(javaRdd -> {
-            Map<String, Integer> wordCountMap = javaRdd.collectAsMap();
-            for (String key : wordCountMap.keySet()) {
-                List<Word> wordList = Arrays.asList(new Word(key, wordCountMap.get(key)));
-                JavaRDD<Word> rdd = streamingContext.sparkContext()
-                    .parallelize(wordList);
-                javaFunctions(rdd).writerBuilder("vocabulary", "words", mapToRow(Word.class))
-                    .saveToCassandra();
-            }
-        });
+        JavaPairDStream<String, Integer> wordCounts = WordCountPipeline.countWords(lines);
+
+        JavaDStream<Word> cumulativeWordCounts = WordCountPipeline.runningTotals(wordCounts);
+
+        WordCountPipeline.saveTo(cumulativeWordCounts, new CassandraWordCountSink("vocabulary", "words"));
 
         streamingContext.start();
         streamingContext.awaitTermination();
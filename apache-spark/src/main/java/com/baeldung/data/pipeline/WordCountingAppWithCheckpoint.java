@@ -1,12 +1,8 @@
 package com.baeldung.data.pipeline;
 
-import static com.datastax.spark.connector.japi.CassandraJavaUtil.javaFunctions;
-import static com.datastax.spark.connector.japi.CassandraJavaUtil.mapToRow;
-
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -14,14 +10,10 @@ import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.spark.SparkConf;
-import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
-import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.streaming.Durations;
-import org.apache.spark.streaming.StateSpec;
 import org.apache.spark.streaming.api.java.JavaDStream;
 import org.apache.spark.streaming.api.java.JavaInputDStream;
-import org.apache.spark.streaming.api.java.JavaMapWithStateDStream;
 import org.apache.spark.streaming.api.java.JavaPairDStream;
 import org.apache.spark.streaming.api.java.JavaStreamingContext;
 import org.apache.spark.streaming.kafka010.ConsumerStrategies;
@@ -55,6 +47,7 @@ public class WordCountingAppWithCheckpoint {
         sparkConf.setMaster("local[2]");
         sparkConf.setAppName("WordCountingAppWithCheckpoint");
         sparkConf.set("spark.cassandra.connection.host", "127.0.0.1");
+        CassandraWordCountSink.configureBatching(sparkConf, 500, 5);
 
         JavaStreamingContext streamingContext = new JavaStreamingContext(sparkConf, Durations.seconds(1));
 
@@ -68,28 +61,11 @@ public class WordCountingAppWithCheckpoint {
 
         JavaDStream<String> lines = results.map(tuple2 -> tuple2._2());
 
-        JavaDStream<String> words = lines.flatMap(x -> Arrays.asList(x.split("\\s+"))
-            .iterator());
-
-        JavaPairDStream<String, Integer> wordCounts = words.mapToPair(s -> new Tuple2<>(s, 1))
-            .reduceByKey((Function2<Integer, Integer, Integer>) (i1, i2) -> i1 + i2);
-
-        JavaMapWithStateDStream<String, Integer, Integer, Tuple2<String, Integer>> cumulativeWordCounts = wordCounts.mapWithState(StateSpec.function((word, one, state) -> {
-            int sum = one.orElse(0) + (state.exists() ? state.get() : 0);
-            Tuple2<String, Integer> output = new Tuple2<>(word, sum);
-            state.update(sum);
-            return output;
-        }));
-
-        cumulativeWordCounts.foreachRDD(javaRdd -> {
-            List<Tuple2<String, Integer>> wordCountList = javaRdd.collect();
-            for (Tuple2<String, Integer> tuple : wordCountList) {
-                List<Word> wordList = Arrays.asList(new Word(tuple._1, tuple._2));
-                JavaRDD<Word> rdd = sparkContext.parallelize(wordList);
-                javaFunctions(rdd).writerBuilder("vocabulary", "words", mapToRow(Word.class))
-                    .saveToCassandra();
-            }
-        });
+        JavaPairDStream<String, Integer> wordCounts = WordCountPipeline.countWords(lines);
+
+        JavaDStream<Word> cumulativeWordCounts = WordCountPipeline.runningTotals(wordCounts);
+
+        WordCountPipeline.saveTo(cumulativeWordCounts, new CassandraWordCountSink("vocabulary", "words"));
 
         streamingContext.start();
         streamingContext.awaitTermination();
@@ -16,6 +16,10 @@ import org.apache.spark.sql.functions;
 public class CustomerDataAggregationPipeline {
     private static final SparkSession SPARK_SESSION = SparkDriver.getSparkSession();
 
+    static final String AMAZON_DATA = "data/customerData.csv";
+    static final String EBAY_DATA = "data/customerData.json";
+    private static final String STAGING_DIR = "data/staging";
+
     private final Properties dbProperties;
 
     public CustomerDataAggregationPipeline(Properties properties) {
@@ -30,14 +34,19 @@ public class CustomerDataAggregationPipeline {
         dbProps.setProperty("user", "postgres");
         dbProps.setProperty("password", "postgres");
 
-        new CustomerDataAggregationPipeline(dbProps).run();
+        CustomerDataAggregationPipeline pipeline = new CustomerDataAggregationPipeline(dbProps);
+        if (args.length > 0 && "--incremental".equals(args[0])) {
+            pipeline.runIncremental(new CustomerDataStaging(SPARK_SESSION, STAGING_DIR));
+        } else {
+            pipeline.run();
+        }
     }
 
     public void run() {
-        Dataset<Row> ebayDFRaw = ingestCustomerDataFromEbay();
+        Dataset<Row> ebayDFRaw = ingestCustomerDataFromEbay(EBAY_DATA);
         Dataset<Row> ebayDf = normalizeCustomerDataFromEbay(ebayDFRaw);
 
-        Dataset<Row> amazonDFRaw = ingestCustomerDataFromAmazon();
+        Dataset<Row> amazonDFRaw = ingestCustomerDataFromAmazon(AMAZON_DATA);
         Dataset<Row> amazonDf = normalizeCustomerDataFromAmazon(amazonDFRaw);
 
         Dataset<Row> combineDataframes = combineDataframes(ebayDf, amazonDf);
@@ -47,27 +56,40 @@ public class CustomerDataAggregationPipeline {
         exportData(rowDataset);
     }
 
-    private static Dataset<Row> ingestCustomerDataFromAmazon() {
+    /**
+     * Converts only the raw files that were not staged by an earlier run, then aggregates
+     * from the year partitioned Parquet staging table instead of re-parsing CSV and JSON.
+     */
+    public void runIncremental(CustomerDataStaging staging) {
+        staging.ingest(AMAZON_DATA, EBAY_DATA);
+
+        Dataset<Row> rowDataset = aggregateYearlySalesByGender(staging.customers());
+
+        exportData(rowDataset);
+    }
+
+    static Dataset<Row> ingestCustomerDataFromAmazon(String... paths) {
         return SPARK_SESSION.read()
             .format("csv")
             .option("header", "true")
             .schema(SchemaFactory.customerSchema())
             .option("dateFormat", "m/d/YYYY")
-            .load("data/customerData.csv");
+            .load(paths);
     }
 
-    private static Dataset<Row> ingestCustomerDataFromEbay() {
+    static Dataset<Row> ingestCustomerDataFromEbay(String... paths) {
         return SPARK_SESSION.read()
             .format("org.apache.spark.sql.execution.datasources.json.JsonFileFormat")
             .option("multiline", true)
-            .load("data/customerData.json");
+            .schema(SchemaFactory.ebayCustomerSchema())
+            .load(paths);
     }
 
-    private static Dataset<Row> combineDataframes(Dataset<Row> df1, Dataset<Row> df2) {
+    static Dataset<Row> combineDataframes(Dataset<Row> df1, Dataset<Row> df2) {
         return df1.unionByName(df2);
     }
 
-    private static Dataset<Row> normalizeCustomerDataFromEbay(Dataset<Row> rawDataset) {
+    static Dataset<Row> normalizeCustomerDataFromEbay(Dataset<Row> rawDataset) {
         Dataset<Row> transformedDF = rawDataset.withColumn("id", concat(rawDataset.col("zoneId"), lit("-"), rawDataset.col("customerId")))
             .drop(column("customerId"))
             .withColumn("source", lit("ebay"))
@@ -86,7 +108,7 @@ public class CustomerDataAggregationPipeline {
         return transformedDF;
     }
 
-    private static Dataset<Row> normalizeCustomerDataFromAmazon(Dataset<Row> rawDataset) {
+    static Dataset<Row> normalizeCustomerDataFromAmazon(Dataset<Row> rawDataset) {
 
         Dataset<Row> transformedDF = rawDataset.withColumn("id", concat(rawDataset.col("zoneId"), lit("-"), rawDataset.col("id")))
             .withColumn("source", lit("amazon"))
@@ -104,7 +126,7 @@ public class CustomerDataAggregationPipeline {
         return transformedDF;
     }
 
-    private static Dataset<Row> aggregateYearlySalesByGender(Dataset<Row> dataset) {
+    static Dataset<Row> aggregateYearlySalesByGender(Dataset<Row> dataset) {
 
         Dataset<Row> aggDF = dataset.groupBy(column("year"), column("source"), column("gender"))
             .sum("transaction_amount")
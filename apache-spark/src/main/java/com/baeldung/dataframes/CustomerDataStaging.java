@@ -0,0 +1,160 @@
+package com.baeldung.dataframes;
+
+import static com.baeldung.dataframes.CustomerDataAggregationPipeline.combineDataframes;
+import static com.baeldung.dataframes.CustomerDataAggregationPipeline.ingestCustomerDataFromAmazon;
+import static com.baeldung.dataframes.CustomerDataAggregationPipeline.ingestCustomerDataFromEbay;
+import static com.baeldung.dataframes.CustomerDataAggregationPipeline.normalizeCustomerDataFromAmazon;
+import static com.baeldung.dataframes.CustomerDataAggregationPipeline.normalizeCustomerDataFromEbay;
+import static org.apache.spark.sql.functions.col;
+import static org.apache.spark.sql.functions.input_file_name;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Encoders;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SaveMode;
+import org.apache.spark.sql.SparkSession;
+
+/**
+ * Parquet staging table for the raw customer data. Every raw CSV and JSON file is parsed once,
+ * normalized and appended to a table partitioned by year, so later runs only convert files that
+ * arrived since. Each row records the file it came from in its {@value #INPUT_FILE} column, so the
+ * staged files are known from the same append that staged their rows and a run that fails midway
+ * doesn't leave files recorded without their rows, or rows without their files.
+ * <p>
+ * Rows are clustered by year and gender when written, so a year filter skips whole partition
+ * directories and a gender filter lets Parquet skip files and row groups by their statistics.
+ */
+public class CustomerDataStaging {
+
+    private static final String CUSTOMERS_TABLE = "customers";
+    private static final String INPUT_FILE = "input_file";
+
+    private final SparkSession spark;
+    private final Path customersPath;
+
+    public CustomerDataStaging(SparkSession spark, String stagingDir) {
+        this.spark = spark;
+        this.customersPath = new Path(stagingDir, CUSTOMERS_TABLE);
+    }
+
+    /**
+     * Stages the files matching the given Amazon CSV and eBay JSON paths, which may be files,
+     * directories or globs, skipping the files staged by earlier calls.
+     *
+     * @return the number of newly staged files
+     */
+    public int ingest(String amazonData, String ebayData) {
+        Set<String> ingested = ingestedFiles();
+        List<String> newAmazonFiles = newFiles(amazonData, ingested);
+        List<String> newEbayFiles = newFiles(ebayData, ingested);
+
+        Dataset<Row> staged = null;
+        if (!newAmazonFiles.isEmpty()) {
+            staged = toStagingColumns(normalizeCustomerDataFromAmazon(ingestCustomerDataFromAmazon(newAmazonFiles.toArray(new String[0]))));
+        }
+        if (!newEbayFiles.isEmpty()) {
+            Dataset<Row> ebay = toStagingColumns(normalizeCustomerDataFromEbay(ingestCustomerDataFromEbay(newEbayFiles.toArray(new String[0]))));
+            staged = staged == null ? ebay : combineDataframes(staged, ebay);
+        }
+        if (staged == null) {
+            return 0;
+        }
+
+        staged.repartition(col("year"), col("gender"))
+            .write()
+            .mode(SaveMode.Append)
+            .partitionBy("year")
+            .parquet(customersPath.toString());
+        return newAmazonFiles.size() + newEbayFiles.size();
+    }
+
+    public Dataset<Row> customers() {
+        return spark.read()
+            .parquet(customersPath.toString());
+    }
+
+    /**
+     * Reads only the staged rows of one year and gender. The year is resolved from the partition
+     * directories and the gender is pushed down to the Parquet reader.
+     */
+    public Dataset<Row> customers(int year, String gender) {
+        return customers().where(col("year").equalTo(year)
+            .and(col("gender").equalTo(gender)));
+    }
+
+    /**
+     * Fixes the column order and types, since files staged by separate runs must share one schema.
+     * The input file has to be taken before the rows are shuffled for the write.
+     */
+    private static Dataset<Row> toStagingColumns(Dataset<Row> normalized) {
+        return normalized.select(col("id").cast("string"), col("source"), col("firstName"), col("lastName"), col("city"), col("gender"), col("transaction_amount").cast("long"),
+            input_file_name().as(INPUT_FILE), col("year").cast("int"));
+    }
+
+    /**
+     * Reads the distinct input files of the staged rows, only the one column has to be scanned.
+     * Spark reports them as URIs, they are converted to the form the file listing returns.
+     */
+    private Set<String> ingestedFiles() {
+        Set<String> files = new HashSet<>();
+        if (!exists(customersPath)) {
+            return files;
+        }
+        for (String file : customers().select(INPUT_FILE)
+            .distinct()
+            .as(Encoders.STRING())
+            .collectAsList()) {
+            files.add(new Path(URI.create(file)).toString());
+        }
+        return files;
+    }
+
+    private List<String> newFiles(String pattern, Set<String> ingested) {
+        List<String> files = new ArrayList<>();
+        try {
+            Path path = new Path(pattern);
+            FileSystem fs = path.getFileSystem(spark.sparkContext()
+                .hadoopConfiguration());
+            FileStatus[] matches = fs.globStatus(path);
+            if (matches == null) {
+                return files;
+            }
+            for (FileStatus match : matches) {
+                FileStatus[] candidates = match.isDirectory() ? fs.listStatus(match.getPath()) : new FileStatus[] { match };
+                for (FileStatus candidate : candidates) {
+                    String file = candidate.getPath()
+                        .toString();
+                    String name = candidate.getPath()
+                        .getName();
+                    if (candidate.isFile() && !name.startsWith("_") && !name.startsWith(".") && !ingested.contains(file)) {
+                        files.add(file);
+                    }
+                }
+            }
+            return files;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list " + pattern, e);
+        }
+    }
+
+    private boolean exists(Path path) {
+        try {
+            return path.getFileSystem(spark.sparkContext()
+                .hadoopConfiguration())
+                .exists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not access " + path, e);
+        }
+    }
+}
@@ -28,4 +28,28 @@ public class SchemaFactory {
             DataTypes.createStructField("transaction_amount", DataTypes.IntegerType, true)
         });
     }
+
+    /**
+     * The schema Spark infers for the multiline eBay JSON, declared up front so that reading it
+     * doesn't take an extra pass over the files.
+     */
+    public static StructType ebayCustomerSchema() {
+        StructType contact = DataTypes.createStructType(new StructField[] {
+            DataTypes.createStructField("address2", DataTypes.StringType, true),
+            DataTypes.createStructField("county", DataTypes.StringType, true),
+            DataTypes.createStructField("customer_city", DataTypes.StringType, true),
+            DataTypes.createStructField("phone_number", DataTypes.StringType, true),
+            DataTypes.createStructField("street_Address", DataTypes.StringType, true),
+            DataTypes.createStructField("zipcode", DataTypes.StringType, true)
+        });
+        return DataTypes.createStructType(new StructField[] {
+            DataTypes.createStructField("contact", contact, true),
+            DataTypes.createStructField("customerId", DataTypes.LongType, true),
+            DataTypes.createStructField("gender", DataTypes.StringType, true),
+            DataTypes.createStructField("name", DataTypes.StringType, true),
+            DataTypes.createStructField("transaction_amount", DataTypes.LongType, true),
+            DataTypes.createStructField("transaction_date", DataTypes.StringType, true),
+            DataTypes.createStructField("zoneId", DataTypes.StringType, true)
+        });
+    }
 }
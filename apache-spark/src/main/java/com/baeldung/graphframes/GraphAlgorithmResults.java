@@ -0,0 +1,62 @@
+package com.baeldung.graphframes;
+
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.storage.StorageLevel;
+import org.graphframes.GraphFrame;
+
+/**
+ * Runs PageRank and connected components at most once per graph and keeps their results persisted,
+ * so any number of queries on them reuse the results instead of rerunning the iterative algorithms.
+ */
+public class GraphAlgorithmResults {
+
+    private final GraphFrame graph;
+    private final StorageLevel storageLevel;
+
+    private Dataset<Row> pageRanks;
+    private Dataset<Row> components;
+
+    public GraphAlgorithmResults(GraphFrame graph, StorageLevel storageLevel) {
+        this.graph = graph;
+        this.storageLevel = storageLevel;
+    }
+
+    /**
+     * The vertices of the graph with their {@code pagerank} column.
+     */
+    public synchronized Dataset<Row> pageRanks() {
+        if (pageRanks == null) {
+            pageRanks = graph.pageRank()
+                .maxIter(20)
+                .resetProbability(0.15)
+                .run()
+                .vertices()
+                .persist(storageLevel);
+        }
+        return pageRanks;
+    }
+
+    /**
+     * The vertices of the graph with their {@code component} column.
+     */
+    public synchronized Dataset<Row> connectedComponents() {
+        if (components == null) {
+            components = graph.connectedComponents()
+                .run()
+                .persist(storageLevel);
+        }
+        return components;
+    }
+
+    public synchronized void unpersist() {
+        if (pageRanks != null) {
+            pageRanks.unpersist();
+            pageRanks = null;
+        }
+        if (components != null) {
+            components.unpersist();
+            components = null;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.baeldung.graphframes;
 
+import static org.apache.spark.sql.functions.col;
+
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.spark.api.java.function.VoidFunction;
 import org.apache.spark.graphx.Edge;
 import org.apache.spark.graphx.Graph;
 import org.apache.spark.graphx.VertexRDD;
+import org.apache.spark.storage.StorageLevel;
 import org.graphframes.GraphFrame;
 import scala.Tuple2;
 
@@ -19,7 +22,7 @@ public class GraphExperiments {
     public static void main(String[] args) throws IOException {
         Logger.getLogger("org").setLevel(Level.OFF);
         GraphLoader loader = new GraphLoader();
-        GraphFrame graph = loader.getGraphFrameUserRelationship();
+        GraphFrame graph = args.length == 2 ? loader.loadGraphFrame(args[0], args[1]) : loader.getGraphFrameUserRelationship();
 
         GraphExperiments experiments = new GraphExperiments();
         experiments.doGraphFrameOperations(graph);
@@ -41,12 +44,17 @@ public class GraphExperiments {
     }
 
     private void doGraphFrameAlgorithms(GraphFrame graph) {
+        GraphAlgorithmResults results = new GraphAlgorithmResults(graph, StorageLevel.MEMORY_AND_DISK_SER());
 
-        graph.pageRank().maxIter(20).resetProbability(0.15).run().vertices().show();
+        results.pageRanks().show();
+        results.pageRanks().orderBy(col("pagerank").desc()).limit(3).show();
 
-        graph.connectedComponents().run().show();
+        results.connectedComponents().show();
+        results.connectedComponents().groupBy("component").count().show();
 
         graph.triangleCount().run().show();
+
+        results.unpersist();
     }
 
 }
@@ -1,10 +1,13 @@
 package com.baeldung.graphframes;
 
-import org.apache.spark.SparkConf;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SparkSession;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.StructField;
+import org.apache.spark.sql.types.StructType;
+import org.apache.spark.storage.StorageLevel;
 import org.graphframes.GraphFrame;
 
 import java.io.IOException;
@@ -13,24 +16,63 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Builds graph frames on a single Spark session, which is reused by every graph the loader creates.
+ * Large graphs are read from vertex and edge CSV files, so the executors parse them in parallel
+ * instead of the driver building them from in-memory lists.
+ */
 public class GraphLoader {
 
-    public JavaSparkContext getSparkContext() throws IOException {
-        Path temp = Files.createTempDirectory("sparkGraphFrames");
-        SparkConf sparkConf = new SparkConf().setAppName("SparkGraphX").setMaster("local[*]");
-        JavaSparkContext javaSparkContext = new JavaSparkContext(sparkConf);
-        javaSparkContext.setCheckpointDir(temp.toString());
-        return javaSparkContext;
+    private static final StructType USER_SCHEMA = DataTypes.createStructType(new StructField[] {
+        DataTypes.createStructField("id", DataTypes.StringType, false),
+        DataTypes.createStructField("name", DataTypes.StringType, true)
+    });
+
+    private static final StructType RELATIONSHIP_SCHEMA = DataTypes.createStructType(new StructField[] {
+        DataTypes.createStructField("src", DataTypes.StringType, false),
+        DataTypes.createStructField("dst", DataTypes.StringType, false),
+        DataTypes.createStructField("type", DataTypes.StringType, true)
+    });
+
+    private final SparkSession session;
+
+    public GraphLoader() throws IOException {
+        this(createSession());
+    }
+
+    /**
+     * The session must have a checkpoint directory, connected components checkpoints between iterations.
+     */
+    public GraphLoader(SparkSession session) {
+        this.session = session;
     }
 
-    public GraphFrame getGraphFrameUserRelationship() throws IOException {
+    private static SparkSession createSession() throws IOException {
         Path temp = Files.createTempDirectory("sparkGraphFrames");
         SparkSession session = SparkSession.builder()
             .appName("SparkGraphFrameSample")
             .config("spark.sql.warehouse.dir", temp.toString())
-            .sparkContext(getSparkContext().sc())
             .master("local[*]")
             .getOrCreate();
+        if (session.sparkContext()
+            .getCheckpointDir()
+            .isEmpty()) {
+            session.sparkContext()
+                .setCheckpointDir(temp.resolve("checkpoints")
+                    .toString());
+        }
+        return session;
+    }
+
+    public SparkSession getSparkSession() {
+        return session;
+    }
+
+    public JavaSparkContext getSparkContext() {
+        return JavaSparkContext.fromSparkContext(session.sparkContext());
+    }
+
+    public GraphFrame getGraphFrameUserRelationship() {
         List<User> users = loadUsers();
 
         Dataset<Row> userDataset = session.createDataFrame(users, User.class);
@@ -43,6 +85,30 @@ public class GraphLoader {
         return graphFrame;
     }
 
+    /**
+     * Reads a graph from CSV files with a header, {@code id,name} for the vertices and
+     * {@code src,dst,type} for the edges. Both may be directories or globs of many files.
+     * The vertices and edges are persisted with the given storage level, so the algorithms
+     * run on the graph don't re-read the files on every iteration.
+     */
+    public GraphFrame loadGraphFrame(String verticesPath, String edgesPath, StorageLevel storageLevel) {
+        Dataset<Row> vertices = readCsv(verticesPath, USER_SCHEMA).persist(storageLevel);
+        Dataset<Row> edges = readCsv(edgesPath, RELATIONSHIP_SCHEMA).persist(storageLevel);
+
+        return new GraphFrame(vertices, edges);
+    }
+
+    public GraphFrame loadGraphFrame(String verticesPath, String edgesPath) {
+        return loadGraphFrame(verticesPath, edgesPath, StorageLevel.MEMORY_AND_DISK_SER());
+    }
+
+    private Dataset<Row> readCsv(String path, StructType schema) {
+        return session.read()
+            .option("header", "true")
+            .schema(schema)
+            .csv(path);
+    }
+
     public List<Relationship> getRelations() {
         List<Relationship> relationships = new ArrayList<>();
         relationships.add(new Relationship("Friend", "1", "2"));
@@ -0,0 +1,60 @@
+package com.baeldung.data.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.spark.api.java.JavaRDD;
+
+/**
+ * Local stand-in for {@link CassandraWordCountSink}. Like the connector it writes each partition in batches
+ * from the executor, into a static map shared by the local executors and the test.
+ */
+class InMemoryWordCountSink implements WordCountSink {
+
+    private static final long serialVersionUID = 1L;
+
+    static final Map<String, Integer> table = new ConcurrentHashMap<>();
+    static final AtomicLong batches = new AtomicLong();
+    static final AtomicLong rows = new AtomicLong();
+
+    private final int rowsPerBatch;
+
+    InMemoryWordCountSink(int rowsPerBatch) {
+        this.rowsPerBatch = rowsPerBatch;
+    }
+
+    static void clear() {
+        table.clear();
+        batches.set(0);
+        rows.set(0);
+    }
+
+    @Override
+    public void save(JavaRDD<Word> words) {
+        int batchSize = rowsPerBatch;
+        words.foreachPartition(partition -> {
+            List<Word> batch = new ArrayList<>(batchSize);
+            while (partition.hasNext()) {
+                batch.add(partition.next());
+                if (batch.size() == batchSize) {
+                    write(batch);
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        });
+    }
+
+    private static void write(List<Word> batch) {
+        for (Word word : batch) {
+            table.put(word.getWord(), word.getCount());
+        }
+        batches.incrementAndGet();
+        rows.addAndGet(batch.size());
+        batch.clear();
+    }
+}
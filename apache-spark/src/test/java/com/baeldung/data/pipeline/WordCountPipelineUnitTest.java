@@ -0,0 +1,62 @@
+package com.baeldung.data.pipeline;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Queue;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.streaming.Durations;
+import org.apache.spark.streaming.api.java.JavaDStream;
+import org.apache.spark.streaming.api.java.JavaStreamingContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WordCountPipelineUnitTest {
+
+    private JavaStreamingContext streamingContext;
+
+    @Before
+    public void init() throws Exception {
+        SparkConf conf = new SparkConf().setAppName("WordCountPipelineUnitTest")
+            .setMaster("local[2]")
+            .set("spark.driver.allowMultipleContexts", "true");
+        streamingContext = new JavaStreamingContext(conf, Durations.milliseconds(500));
+        streamingContext.checkpoint(Files.createTempDirectory("word-count-checkpoint")
+            .toString());
+        InMemoryWordCountSink.clear();
+    }
+
+    @After
+    public void cleanup() {
+        streamingContext.stop(true, false);
+    }
+
+    @Test
+    public void whenLinesArriveInSeveralBatches_thenRunningTotalsAreWrittenFromTheExecutors() throws Exception {
+        Queue<JavaRDD<String>> batches = new LinkedList<>();
+        batches.add(streamingContext.sparkContext()
+            .parallelize(Arrays.asList("a b a", "c"), 2));
+        batches.add(streamingContext.sparkContext()
+            .parallelize(Arrays.asList("a d", "d d"), 2));
+        JavaDStream<String> lines = streamingContext.queueStream(batches, true);
+
+        WordCountPipeline.saveTo(WordCountPipeline.runningTotals(WordCountPipeline.countWords(lines)), new InMemoryWordCountSink(2));
+
+        streamingContext.start();
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (InMemoryWordCountSink.table.getOrDefault("d", 0) < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertEquals(Integer.valueOf(3), InMemoryWordCountSink.table.get("a"));
+        assertEquals(Integer.valueOf(1), InMemoryWordCountSink.table.get("b"));
+        assertEquals(Integer.valueOf(1), InMemoryWordCountSink.table.get("c"));
+        assertEquals(Integer.valueOf(3), InMemoryWordCountSink.table.get("d"));
+        assertEquals(5, InMemoryWordCountSink.rows.get());
+    }
+}
@@ -0,0 +1,88 @@
+package com.baeldung.data.pipeline;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import scala.Tuple2;
+
+/**
+ * Compares the previous driver side write path, one job per distinct word, with writing a micro-batch
+ * of word counts from the executors through a {@link WordCountSink}, on local[*].
+ */
+public class WordCountSinkBenchmarkManualTest {
+
+    private static final int LINES = 200_000;
+    private static final int WORDS_PER_LINE = 10;
+    private static final int VOCABULARY = 2_000;
+    private static final int ROUNDS = 3;
+
+    private static JavaSparkContext sc;
+
+    @BeforeClass
+    public static void init() {
+        SparkConf conf = new SparkConf().setAppName("WordCountSinkBenchmark")
+            .setMaster("local[*]")
+            .set("spark.driver.allowMultipleContexts", "true");
+        sc = new JavaSparkContext(conf);
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        sc.close();
+    }
+
+    @Test
+    public void whenWritingWordCounts_thenReportThroughputOfBothWritePaths() {
+        List<String> lines = new ArrayList<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            StringBuilder line = new StringBuilder();
+            for (int w = 0; w < WORDS_PER_LINE; w++) {
+                line.append("word")
+                    .append((i * WORDS_PER_LINE + w) % VOCABULARY)
+                    .append(' ');
+            }
+            lines.add(line.toString());
+        }
+        JavaRDD<String> batch = sc.parallelize(lines, 8)
+            .cache();
+        batch.count();
+
+        WordCountSink sink = new InMemoryWordCountSink(500);
+        for (int round = 0; round < ROUNDS; round++) {
+            InMemoryWordCountSink.clear();
+            long start = System.nanoTime();
+            Map<String, Integer> wordCountMap = countWords(batch).collectAsMap();
+            for (String key : wordCountMap.keySet()) {
+                sink.save(sc.parallelize(Arrays.asList(new Word(key, wordCountMap.get(key)))));
+            }
+            report("driver side, one job per word", System.nanoTime() - start);
+
+            InMemoryWordCountSink.clear();
+            start = System.nanoTime();
+            sink.save(countWords(batch).map(tuple -> new Word(tuple._1, tuple._2)));
+            report("executor side, batched per partition", System.nanoTime() - start);
+        }
+    }
+
+    private static JavaPairRDD<String, Integer> countWords(JavaRDD<String> lines) {
+        return lines.flatMap(x -> Arrays.asList(x.split("\\s+"))
+            .iterator())
+            .mapToPair(s -> new Tuple2<>(s, 1))
+            .reduceByKey((i1, i2) -> i1 + i2);
+    }
+
+    private static void report(String name, long nanos) {
+        long words = (long) LINES * WORDS_PER_LINE;
+        System.out.printf("%s: %d ms, %.0f words/s, %d rows in %d write batches%n", name, nanos / 1_000_000, words * 1e9 / nanos, InMemoryWordCountSink.rows.get(), InMemoryWordCountSink.batches.get());
+    }
+}
@@ -0,0 +1,113 @@
+package com.baeldung.dataframes;
+
+import static org.apache.spark.sql.functions.col;
+import static org.apache.spark.sql.functions.lit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.apache.spark.sql.Column;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.SparkSession;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Compares re-parsing the raw CSV and multiline JSON on every run with aggregating from the
+ * Parquet staging table, on a synthetic dataset of -Drows customers (default 4 million).
+ */
+class CustomerDataStagingBenchmarkManualTest {
+
+    private static final int ROWS = Integer.getInteger("rows", 4_000_000);
+    private static final int FILES_PER_SOURCE = 8;
+    private static final String[] GENDERS = { "Female", "Male" };
+
+    @TempDir
+    static Path workDir;
+
+    private static SparkSession spark;
+    private static String amazonData;
+    private static String ebayData;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        spark = SparkSession.builder()
+            .appName("Customer staging benchmark")
+            .master("local[*]")
+            .getOrCreate();
+
+        Path amazonDir = Files.createDirectories(workDir.resolve("amazon"));
+        Path ebayDir = Files.createDirectories(workDir.resolve("ebay"));
+        Random random = new Random(42);
+        int rowsPerFile = ROWS / 2 / FILES_PER_SOURCE;
+        for (int file = 0; file < FILES_PER_SOURCE; file++) {
+            writeCsv(amazonDir.resolve("customers-" + file + ".csv"), file * rowsPerFile, rowsPerFile, random);
+            writeJson(ebayDir.resolve("customers-" + file + ".json"), file * rowsPerFile, rowsPerFile, random);
+        }
+        amazonData = amazonDir.toString();
+        ebayData = ebayDir.toString();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        spark.stop();
+    }
+
+    @Test
+    void givenSyntheticCustomers_whenAggregating_thenReportRawAndStagedTimings() {
+        time("raw CSV and JSON, yearly sales by gender", () -> aggregateRaw(lit(true)).collectAsList());
+        time("raw CSV and JSON, 2019 female customers", () -> aggregateRaw(col("year").equalTo(2019)
+            .and(col("gender").equalTo("Female"))).collectAsList());
+
+        CustomerDataStaging staging = new CustomerDataStaging(spark, workDir.resolve("staging")
+            .toString());
+        time("initial staging", () -> staging.ingest(amazonData, ebayData));
+        time("incremental staging, no new files", () -> staging.ingest(amazonData, ebayData));
+
+        time("staged Parquet, yearly sales by gender", () -> CustomerDataAggregationPipeline.aggregateYearlySalesByGender(staging.customers())
+            .collectAsList());
+        time("staged Parquet, 2019 female customers", () -> CustomerDataAggregationPipeline.aggregateYearlySalesByGender(staging.customers(2019, "Female"))
+            .collectAsList());
+    }
+
+    private static Dataset<Row> aggregateRaw(Column condition) {
+        Dataset<Row> ebay = CustomerDataAggregationPipeline.normalizeCustomerDataFromEbay(CustomerDataAggregationPipeline.ingestCustomerDataFromEbay(ebayData));
+        Dataset<Row> amazon = CustomerDataAggregationPipeline.normalizeCustomerDataFromAmazon(CustomerDataAggregationPipeline.ingestCustomerDataFromAmazon(amazonData));
+        return CustomerDataAggregationPipeline.aggregateYearlySalesByGender(CustomerDataAggregationPipeline.combineDataframes(ebay, amazon)
+            .where(condition));
+    }
+
+    private static void time(String name, Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        System.out.printf("%s: %d ms%n", name, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void writeCsv(Path file, int firstId, int rows, Random random) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("id,zoneId,FIRST_NAME,MIDDLE_NAME,LAST_NAME,CITY,gender,transaction_date,transaction_amount\n");
+            for (int id = firstId; id < firstId + rows; id++) {
+                writer.write(id + ",EU" + (id % 50) + ",First" + id + ",M,Last" + id + ",City" + (id % 100) + "," + GENDERS[random.nextInt(2)] + "," + (1 + random.nextInt(28)) + "/"
+                    + (1 + random.nextInt(12)) + "/" + (2015 + random.nextInt(8)) + "," + random.nextInt(20_000) + "\n");
+            }
+        }
+    }
+
+    private static void writeJson(Path file, int firstId, int rows, Random random) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("[\n");
+            for (int id = firstId; id < firstId + rows; id++) {
+                writer.write("  {\n    \"zoneId\": \"LONDON\",\n    \"customerId\": " + id + ",\n    \"gender\": \"" + GENDERS[random.nextInt(2)] + "\",\n    \"name\": \"first" + id + " last" + id
+                    + "\",\n    \"contact\": {\n      \"zipcode\": \"MK1110\",\n      \"customer_city\": \"City" + (id % 100) + "\"\n    },\n    \"transaction_date\": \"" + (2015 + random.nextInt(8))
+                    + "-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10) + "\",\n    \"transaction_amount\": " + random.nextInt(20_000) + "\n  }" + (id < firstId + rows - 1 ? "," : "") + "\n");
+            }
+            writer.write("]\n");
+        }
+    }
+}
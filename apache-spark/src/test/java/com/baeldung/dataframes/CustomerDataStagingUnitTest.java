@@ -0,0 +1,73 @@
+package com.baeldung.dataframes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Encoders;
+import org.apache.spark.sql.Row;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CustomerDataStagingUnitTest {
+
+    @TempDir
+    Path stagingDir;
+
+    @Test
+    void givenRawFiles_whenIngestedTwice_thenStagesEachFileOnce() {
+        CustomerDataStaging staging = new CustomerDataStaging(SparkDriver.getSparkSession(), stagingDir.toString());
+
+        assertEquals(2, staging.ingest(CustomerDataAggregationPipeline.AMAZON_DATA, CustomerDataAggregationPipeline.EBAY_DATA));
+        long stagedRows = staging.customers()
+            .count();
+
+        assertEquals(0, staging.ingest(CustomerDataAggregationPipeline.AMAZON_DATA, CustomerDataAggregationPipeline.EBAY_DATA));
+        assertEquals(stagedRows, staging.customers()
+            .count());
+    }
+
+    @Test
+    void givenStagedData_whenReadingInputFiles_thenEachRowRecordsItsRawFile() {
+        CustomerDataStaging staging = new CustomerDataStaging(SparkDriver.getSparkSession(), stagingDir.toString());
+        staging.ingest(CustomerDataAggregationPipeline.AMAZON_DATA, CustomerDataAggregationPipeline.EBAY_DATA);
+
+        List<String> inputFiles = staging.customers()
+            .select("input_file")
+            .distinct()
+            .as(Encoders.STRING())
+            .collectAsList();
+
+        assertEquals(2, inputFiles.size());
+        assertTrue(inputFiles.stream()
+            .allMatch(file -> file.endsWith(".csv") || file.endsWith(".json")), inputFiles.toString());
+        assertFalse(stagingDir.resolve("_ingested_files")
+            .toFile()
+            .exists());
+    }
+
+    @Test
+    void givenStagedData_whenFilteringByYearAndGender_thenPrunesTheScan() {
+        CustomerDataStaging staging = new CustomerDataStaging(SparkDriver.getSparkSession(), stagingDir.toString());
+        staging.ingest(CustomerDataAggregationPipeline.AMAZON_DATA, CustomerDataAggregationPipeline.EBAY_DATA);
+
+        Dataset<Row> customers = staging.customers(2021, "Female");
+        List<Row> rows = customers.collectAsList();
+
+        assertTrue(rows.size() > 0);
+        rows.forEach(row -> {
+            assertEquals(2021, row.<Integer> getAs("year")
+                .intValue());
+            assertEquals("Female", row.getAs("gender"));
+        });
+        String plan = customers.queryExecution()
+            .executedPlan()
+            .toString();
+        assertTrue(plan.contains("PartitionFilters: [isnotnull(year"), plan);
+        assertTrue(plan.contains("EqualTo(gender,Female)"), plan);
+    }
+}
@@ -0,0 +1,104 @@
+package com.baeldung.graphframes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.storage.StorageLevel;
+import org.graphframes.GraphFrame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GraphAlgorithmResultsUnitTest {
+
+    @TempDir
+    Path graphDir;
+
+    private GraphFrame graph;
+    private GraphAlgorithmResults results;
+
+    /**
+     * Two components: 1, 2 and 4 follow 3, which follows 1 back, and 5 follows 6.
+     */
+    @BeforeEach
+    void loadGraph() throws IOException {
+        Path vertices = Files.write(graphDir.resolve("vertices.csv"), Arrays.asList("id,name", "1,John", "2,Martin", "3,Peter", "4,Alicia", "5,Maria", "6,Jose"));
+        Path edges = Files.write(graphDir.resolve("edges.csv"), Arrays.asList("src,dst,type", "1,3,Following", "2,3,Following", "4,3,Following", "3,1,Friend", "5,6,Friend"));
+
+        graph = new GraphLoader().loadGraphFrame(vertices.toString(), edges.toString(), StorageLevel.MEMORY_ONLY());
+        results = new GraphAlgorithmResults(graph, StorageLevel.MEMORY_ONLY());
+    }
+
+    @AfterEach
+    void unpersist() {
+        results.unpersist();
+        graph.vertices()
+            .unpersist();
+        graph.edges()
+            .unpersist();
+    }
+
+    @Test
+    void givenCsvGraph_whenLoaded_thenHasAllVerticesAndEdges() {
+        assertEquals(6, graph.vertices()
+            .count());
+        assertEquals(5, graph.edges()
+            .count());
+        assertEquals(StorageLevel.MEMORY_ONLY(), graph.edges()
+            .storageLevel());
+    }
+
+    @Test
+    void givenGraph_whenRankingPages_thenMostFollowedVertexRanksHighest() {
+        Map<String, Double> ranks = new HashMap<>();
+        for (Row row : results.pageRanks()
+            .collectAsList()) {
+            ranks.put(row.getAs("id"), row.getAs("pagerank"));
+        }
+
+        assertEquals(6, ranks.size());
+        assertTrue(ranks.get("3") > ranks.get("1"), ranks.toString());
+        assertTrue(ranks.get("1") > ranks.get("2"), ranks.toString());
+        assertTrue(ranks.get("6") > ranks.get("5"), ranks.toString());
+        assertEquals(ranks.get("2"), ranks.get("4"), 1e-9);
+    }
+
+    @Test
+    void givenGraph_whenFindingConnectedComponents_thenSeparatesTheTwoGroups() {
+        Map<String, Long> components = new HashMap<>();
+        for (Row row : results.connectedComponents()
+            .collectAsList()) {
+            components.put(row.getAs("id"), row.getAs("component"));
+        }
+
+        assertEquals(6, components.size());
+        assertEquals(components.get("1"), components.get("2"));
+        assertEquals(components.get("1"), components.get("3"));
+        assertEquals(components.get("1"), components.get("4"));
+        assertEquals(components.get("5"), components.get("6"));
+        assertNotEquals(components.get("1"), components.get("5"));
+    }
+
+    @Test
+    void givenComputedResults_whenQueriedAgain_thenReusesThePersistedResults() {
+        Dataset<Row> pageRanks = results.pageRanks();
+        Dataset<Row> components = results.connectedComponents();
+
+        assertSame(pageRanks, results.pageRanks());
+        assertSame(components, results.connectedComponents());
+        assertEquals(StorageLevel.MEMORY_ONLY(), pageRanks.storageLevel());
+        assertEquals(StorageLevel.MEMORY_ONLY(), components.storageLevel());
+    }
+}
@@ -0,0 +1,149 @@
+package com.baeldung.graphframes;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.storage.StorageLevel;
+import org.graphframes.GraphFrame;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Times loading graphs of growing size, up to -DmaxEdges edges (default 10 million), on local[*],
+ * and running repeated PageRank and connected components queries with and without cached results.
+ */
+class GraphLoaderBenchmarkManualTest {
+
+    private static final int MAX_EDGES = Integer.getInteger("maxEdges", 10_000_000);
+    private static final int EDGES_PER_VERTEX = 10;
+    private static final int EDGE_FILES = 8;
+    private static final int DRIVER_SIDE_LIMIT = 1_000_000;
+
+    @TempDir
+    static Path workDir;
+
+    private static GraphLoader loader;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        loader = new GraphLoader();
+    }
+
+    @Test
+    void givenGraphsUpToMaxEdges_whenLoadingAndQuerying_thenReportTimings() throws IOException {
+        for (int edges = 100_000; edges <= MAX_EDGES; edges *= 10) {
+            benchmark(edges);
+        }
+    }
+
+    private void benchmark(int edges) throws IOException {
+        int vertices = edges / EDGES_PER_VERTEX;
+        Path graphDir = writeGraph(edges, vertices);
+
+        if (edges <= DRIVER_SIDE_LIMIT) {
+            time(edges, "driver side createDataFrame", () -> createOnDriver(edges, vertices).edges()
+                .count());
+        }
+
+        GraphFrame graph = loader.loadGraphFrame(graphDir.resolve("vertices")
+            .toString(),
+            graphDir.resolve("edges")
+                .toString(),
+            StorageLevel.MEMORY_AND_DISK_SER());
+        time(edges, "parallel CSV load and persist", () -> graph.edges()
+            .count());
+
+        time(edges, "uncached PageRank, two queries", () -> {
+            topRanked(graph.pageRank()
+                .maxIter(20)
+                .resetProbability(0.15)
+                .run()
+                .vertices());
+            graph.pageRank()
+                .maxIter(20)
+                .resetProbability(0.15)
+                .run()
+                .vertices()
+                .count();
+        });
+
+        GraphAlgorithmResults results = new GraphAlgorithmResults(graph, StorageLevel.MEMORY_AND_DISK_SER());
+        time(edges, "cached PageRank, two queries", () -> {
+            topRanked(results.pageRanks());
+            results.pageRanks()
+                .count();
+        });
+        time(edges, "cached connected components, two queries", () -> {
+            results.connectedComponents()
+                .groupBy("component")
+                .count()
+                .count();
+            results.connectedComponents()
+                .filter("id = '1'")
+                .count();
+        });
+
+        results.unpersist();
+        graph.unpersist();
+    }
+
+    private static List<Row> topRanked(Dataset<Row> pageRanks) {
+        return pageRanks.orderBy(pageRanks.col("pagerank")
+            .desc())
+            .limit(10)
+            .collectAsList();
+    }
+
+    private static GraphFrame createOnDriver(int edges, int vertices) {
+        List<User> users = new ArrayList<>(vertices);
+        for (int id = 0; id < vertices; id++) {
+            users.add(new User(id, "user" + id));
+        }
+        List<Relationship> relationships = new ArrayList<>(edges);
+        Random random = new Random(42);
+        for (int i = 0; i < edges; i++) {
+            relationships.add(new Relationship("Friend", Integer.toString(random.nextInt(vertices)), Integer.toString(random.nextInt(vertices))));
+        }
+        return new GraphFrame(loader.getSparkSession()
+            .createDataFrame(users, User.class),
+            loader.getSparkSession()
+                .createDataFrame(relationships, Relationship.class));
+    }
+
+    private static Path writeGraph(int edges, int vertices) throws IOException {
+        Path graphDir = workDir.resolve("graph-" + edges);
+        Path verticesDir = Files.createDirectories(graphDir.resolve("vertices"));
+        Path edgesDir = Files.createDirectories(graphDir.resolve("edges"));
+
+        try (BufferedWriter writer = Files.newBufferedWriter(verticesDir.resolve("vertices.csv"))) {
+            writer.write("id,name\n");
+            for (int id = 0; id < vertices; id++) {
+                writer.write(id + ",user" + id + "\n");
+            }
+        }
+        Random random = new Random(42);
+        for (int file = 0; file < EDGE_FILES; file++) {
+            try (BufferedWriter writer = Files.newBufferedWriter(edgesDir.resolve("edges-" + file + ".csv"))) {
+                writer.write("src,dst,type\n");
+                for (int i = 0; i < edges / EDGE_FILES; i++) {
+                    writer.write(random.nextInt(vertices) + "," + random.nextInt(vertices) + ",Friend\n");
+                }
+            }
+        }
+        return graphDir;
+    }
+
+    private static void time(int edges, String name, Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        System.out.printf("%,d edges, %s: %d ms%n", edges, name, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,158 @@
+package com.baeldung.filetomap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Loads a UTF-8 file of {@code key:value} lines into a map.
+ * <p>
+ * The file is split into chunks that end at line boundaries. Each chunk is memory-mapped and parsed
+ * into its own map on the common fork/join pool, looking for the separators in the raw bytes so only
+ * keys and values are decoded. The chunk maps are then merged in file order, which keeps the first or
+ * the last value of a duplicate key just like a sequential read.
+ */
+class MappedFileLoader {
+
+    private static final int MIN_CHUNK_SIZE = 1024 * 1024;
+    private static final int MAX_CHUNK_SIZE = 1024 * 1024 * 1024;
+
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte SEPARATOR = ':';
+
+    private MappedFileLoader() {
+    }
+
+    /**
+     * Splits the file into one chunk per thread of the common pool, so each thread builds a single map.
+     */
+    static Map<String, String> load(Path file, FileToHashMap.DupKeyOption dupKeyOption) throws IOException {
+        long perThread = Files.size(file) / ForkJoinPool.getCommonPoolParallelism() + 1;
+        return load(file, dupKeyOption, (int) Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, perThread)));
+    }
+
+    /**
+     * @param chunkSize the approximate number of bytes parsed by one task, a chunk is extended to the end of its last line
+     */
+    static Map<String, String> load(Path file, FileToHashMap.DupKeyOption dupKeyOption, int chunkSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<long[]> chunks = split(channel, chunkSize);
+            List<Map<String, String>> chunkMaps = chunks.parallelStream()
+                .map(chunk -> parse(channel, chunk[0], chunk[1], dupKeyOption))
+                .collect(Collectors.toList());
+            return merge(chunkMaps, dupKeyOption);
+        }
+    }
+
+    /**
+     * Returns the start and end offsets of the chunks, every chunk but the last ends right after a new line.
+     */
+    private static List<long[]> split(FileChannel channel, int chunkSize) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + chunkSize, size);
+            while (end < size) {
+                probe.clear();
+                int read = channel.read(probe, end);
+                int newLine = indexOf(probe, read, NEW_LINE);
+                if (newLine >= 0) {
+                    end += newLine + 1;
+                    break;
+                }
+                end += read;
+            }
+            chunks.add(new long[] { start, Math.min(end, size) });
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static int indexOf(ByteBuffer buffer, int length, byte value) {
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Map<String, String> parse(FileChannel channel, long start, long end, FileToHashMap.DupKeyOption dupKeyOption) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not map bytes " + start + " to " + end, e);
+        }
+
+        Map<String, String> map = new HashMap<>();
+        byte[] line = new byte[256];
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            int separator = -1;
+            byte b;
+            while (lineEnd < limit && (b = buffer.get(lineEnd)) != NEW_LINE) {
+                if (separator < 0 && b == SEPARATOR) {
+                    separator = lineEnd;
+                }
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == CARRIAGE_RETURN) {
+                lineEnd--;
+            }
+            if (separator >= 0 && separator < lineEnd) {
+                int length = lineEnd - lineStart;
+                if (length > line.length) {
+                    line = new byte[Math.max(length, line.length * 2)];
+                }
+                buffer.position(lineStart);
+                buffer.get(line, 0, length);
+                int keyLength = separator - lineStart;
+                String key = new String(line, 0, keyLength, StandardCharsets.UTF_8);
+                String value = new String(line, keyLength + 1, length - keyLength - 1, StandardCharsets.UTF_8);
+                if (FileToHashMap.DupKeyOption.OVERWRITE == dupKeyOption) {
+                    map.put(key, value);
+                } else {
+                    map.putIfAbsent(key, value);
+                }
+            }
+            lineStart = next;
+        }
+        return map;
+    }
+
+    /**
+     * Merges into the map of the first chunk, the entries of the later chunks replace or yield to it.
+     */
+    private static Map<String, String> merge(List<Map<String, String>> chunkMaps, FileToHashMap.DupKeyOption dupKeyOption) {
+        if (chunkMaps.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<String, String> map = chunkMaps.get(0);
+        for (Map<String, String> chunkMap : chunkMaps.subList(1, chunkMaps.size())) {
+            if (FileToHashMap.DupKeyOption.OVERWRITE == dupKeyOption) {
+                map.putAll(chunkMap);
+            } else {
+                chunkMap.forEach(map::putIfAbsent);
+            }
+        }
+        return map;
+    }
+}
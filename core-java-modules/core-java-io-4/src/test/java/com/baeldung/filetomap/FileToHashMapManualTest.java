@@ -0,0 +1,77 @@
+package com.baeldung.filetomap;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reports the load time of every {@link FileToHashMap} method on a generated file of -DsizeMb megabytes
+ * (default 512), with one key in ten repeated. Run with a heap large enough for two copies of the map.
+ */
+public class FileToHashMapManualTest {
+
+    private static final long SIZE_BYTES = Long.getLong("sizeMb", 512) * 1024 * 1024;
+    private static final int RUNS = 3;
+
+    private static Path file;
+    private static int expectedSize;
+
+    @BeforeClass
+    public static void writeFile() throws IOException {
+        file = Files.createTempFile("filetomap", ".txt");
+        Random random = new Random(42);
+        long bytes = 0;
+        int lines = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (bytes < SIZE_BYTES) {
+                int key = random.nextInt(10) == 0 && lines > 0 ? random.nextInt(lines) : lines++;
+                String line = "key-" + key + ":value " + random.nextLong() + "\n";
+                writer.write(line);
+                bytes += line.length();
+            }
+        }
+        expectedSize = lines;
+    }
+
+    @AfterClass
+    public static void deleteFile() throws IOException {
+        Files.delete(file);
+    }
+
+    @Test
+    public void givenLargeFile_whenLoadingWithEveryMethod_thenReportLoadTime() {
+        String path = file.toString();
+        for (FileToHashMap.DupKeyOption option : FileToHashMap.DupKeyOption.values()) {
+            Map<String, String> sequential = measure("byBufferedReader " + option, () -> FileToHashMap.byBufferedReader(path, option));
+            measure("byStream " + option, () -> FileToHashMap.byStream(path, option));
+            Map<String, String> mapped = measure("byMemoryMappedChunks " + option, () -> FileToHashMap.byMemoryMappedChunks(path, option));
+
+            assertThat(sequential).hasSize(expectedSize);
+            assertThat(mapped).isEqualTo(sequential);
+        }
+    }
+
+    private static Map<String, String> measure(String name, Supplier<Map<String, String>> load) {
+        Map<String, String> map = null;
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            map = null;
+            long start = System.nanoTime();
+            map = load.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%s: %,d entries in %d ms%n", name, map.size(), best / 1_000_000);
+        return map;
+    }
+}
@@ -3,9 +3,14 @@ package com.baeldung.filetomap;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -58,6 +63,41 @@ public class FileToHashMapUnitTest {
         assertThat(mapDiscard).isEqualTo(EXPECTED_MAP_DISCARD);
     }
 
+    @Test
+    public void givenInputFile_whenInvokeByMemoryMappedChunks_shouldGetExpectedMap() {
+        Map<String, String> mapOverwrite = FileToHashMap.byMemoryMappedChunks(filePath, FileToHashMap.DupKeyOption.OVERWRITE);
+        Map<String, String> mapDiscard = FileToHashMap.byMemoryMappedChunks(filePath, FileToHashMap.DupKeyOption.DISCARD);
+        assertThat(mapOverwrite).isEqualTo(EXPECTED_MAP_OVERWRITE);
+        assertThat(mapDiscard).isEqualTo(EXPECTED_MAP_DISCARD);
+    }
+
+    @Test
+    public void givenTinyChunks_whenLoadingMemoryMapped_shouldKeepFileOrderOfDuplicateKeys() throws IOException {
+        for (int chunkSize = 1; chunkSize < 64; chunkSize++) {
+            assertThat(MappedFileLoader.load(Paths.get(filePath), FileToHashMap.DupKeyOption.OVERWRITE, chunkSize)).isEqualTo(EXPECTED_MAP_OVERWRITE);
+            assertThat(MappedFileLoader.load(Paths.get(filePath), FileToHashMap.DupKeyOption.DISCARD, chunkSize)).isEqualTo(EXPECTED_MAP_DISCARD);
+        }
+    }
+
+    @Test
+    public void givenWindowsLineEndingsAndMultiByteCharacters_whenLoadingMemoryMapped_shouldMatchBufferedReader() throws IOException {
+        Path file = Files.createTempFile("filetomap", ".txt");
+        try {
+            Files.write(file, "cast:Éowyn\r\nno separator\r\ncast:Frodo Beutlin\r\n:empty key\r\nempty value:\r\nsong:Ｍinas Tirith".getBytes(StandardCharsets.UTF_8));
+
+            Map<String, String> expected = new HashMap<>();
+            expected.put("cast", "Frodo Beutlin");
+            expected.put("", "empty key");
+            expected.put("empty value", "");
+            expected.put("song", "Ｍinas Tirith");
+            for (int chunkSize = 1; chunkSize < 32; chunkSize++) {
+                assertThat(MappedFileLoader.load(file, FileToHashMap.DupKeyOption.OVERWRITE, chunkSize)).isEqualTo(expected);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     @Test
     public void givenInputFile_whenInvokeAggregateByKeys_shouldGetExpectedMap() {
         Map<String, List<String>> mapAgg = FileToHashMap.aggregateByKeys(filePath);
@@ -0,0 +1,141 @@
+package com.baeldung.streams.parallel;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Runs {@link ParallelCostModel} and prints, for every source, per-element cost and pool size, the element
+ * count from which the parallel stream is faster than the sequential one. The crossovers are also written
+ * as CSV to the file named by {@code -DcrossoverFile} (default {@code parallel-crossover.csv}), which
+ * {@link ParallelStreamAdvisor#load} reads. JMH command line options such as {@code -p size=1000,100000}
+ * narrow the sweep.
+ */
+public class CrossoverTable {
+
+    public static final int NEVER = -1;
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder().parent(new CommandLineOptions(args))
+          .include(ParallelCostModel.class.getSimpleName())
+          .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        List<Measurement> measurements = new ArrayList<>();
+        for (RunResult result : results) {
+            measurements.add(new Measurement(StreamSource.valueOf(result.getParams()
+              .getParam("source")), Integer.parseInt(result.getParams()
+              .getParam("cost")), Integer.parseInt(result.getParams()
+              .getParam("parallelism")), Integer.parseInt(result.getParams()
+              .getParam("size")), result.getPrimaryResult()
+              .getScore()));
+        }
+        List<String> crossovers = crossovers(measurements);
+
+        System.out.println(format(crossovers));
+        Path file = Paths.get(System.getProperty("crossoverFile", "parallel-crossover.csv"));
+        Files.write(file, crossovers);
+        System.out.println("Crossovers written to " + file.toAbsolutePath());
+    }
+
+    /**
+     * Returns one {@code source,cost,parallelism,size} line per measured parallel configuration, where size is
+     * the smallest measured element count from which the parallel stream is faster at every larger count,
+     * or {@link #NEVER}.
+     */
+    static List<String> crossovers(List<Measurement> measurements) {
+        Map<String, NavigableMap<Integer, Double>> timesByConfiguration = new TreeMap<>();
+        for (Measurement measurement : measurements) {
+            timesByConfiguration.computeIfAbsent(measurement.source + "," + measurement.cost + "," + measurement.parallelism, key -> new TreeMap<>())
+              .put(measurement.size, measurement.time);
+        }
+
+        List<String> crossovers = new ArrayList<>();
+        for (Measurement measurement : measurements) {
+            if (measurement.parallelism == 0) {
+                continue;
+            }
+            String configuration = measurement.source + "," + measurement.cost + "," + measurement.parallelism;
+            NavigableMap<Integer, Double> sequential = timesByConfiguration.get(measurement.source + "," + measurement.cost + ",0");
+            NavigableMap<Integer, Double> parallel = timesByConfiguration.remove(configuration);
+            if (sequential != null && parallel != null) {
+                crossovers.add(configuration + "," + crossover(sequential, parallel));
+            }
+        }
+        return crossovers;
+    }
+
+    private static long crossover(NavigableMap<Integer, Double> sequential, NavigableMap<Integer, Double> parallel) {
+        long crossover = NEVER;
+        for (Map.Entry<Integer, Double> entry : parallel.descendingMap()
+          .entrySet()) {
+            Double sequentialTime = sequential.get(entry.getKey());
+            if (sequentialTime == null) {
+                continue;
+            }
+            if (entry.getValue() >= sequentialTime) {
+                break;
+            }
+            crossover = entry.getKey();
+        }
+        return crossover;
+    }
+
+    static String format(List<String> crossovers) {
+        TreeSet<Integer> parallelisms = new TreeSet<>();
+        Map<String, Map<Integer, String>> rows = new TreeMap<>();
+        for (String line : crossovers) {
+            String[] fields = line.split(",");
+            int parallelism = Integer.parseInt(fields[2]);
+            parallelisms.add(parallelism);
+            rows.computeIfAbsent(String.format("%-20s %6s", fields[0], fields[1]), row -> new TreeMap<>())
+              .put(parallelism, Long.parseLong(fields[3]) == NEVER ? "never" : fields[3]);
+        }
+
+        StringBuilder table = new StringBuilder(String.format("%-20s %6s |", "source", "cost"));
+        for (int parallelism : parallelisms) {
+            table.append(String.format(" %10s", "p=" + parallelism));
+        }
+        rows.forEach((row, cells) -> {
+            table.append(System.lineSeparator())
+              .append(row)
+              .append(" |");
+            for (int parallelism : parallelisms) {
+                table.append(String.format(" %10s", Objects.toString(cells.get(parallelism), "-")));
+            }
+        });
+        return table.toString();
+    }
+
+    static class Measurement {
+
+        private final StreamSource source;
+        private final int cost;
+        private final int parallelism;
+        private final int size;
+        private final double time;
+
+        Measurement(StreamSource source, int cost, int parallelism, int size, double time) {
+            this.source = source;
+            this.cost = cost;
+            this.parallelism = parallelism;
+            this.size = size;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.baeldung.streams.parallel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Sweeps the element count, the work per element, the stream source and the pool size to find where
+ * {@code .parallel()} starts to pay off. A parallelism of 0 runs the stream sequentially on the caller,
+ * the parallel runs are submitted to a fork/join pool of the given size. {@link CrossoverTable} runs
+ * the sweep and summarizes it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParallelCostModel {
+
+    @Param({ "100", "1000", "10000", "100000", "1000000" })
+    public int size;
+
+    @Param({ "1", "10", "100" })
+    public int cost;
+
+    @Param({ "ARRAY_LIST", "LINKED_LIST", "INT_ARRAY", "FILE_LINES", "CUSTOM_SPLITERATOR" })
+    public StreamSource source;
+
+    @Param({ "0", "2", "4", "8" })
+    public int parallelism;
+
+    private StreamSource.Prepared prepared;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        prepared = source.prepare(size);
+        if (parallelism > 0) {
+            pool = new ForkJoinPool(parallelism);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        prepared.close();
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public long sum() throws ExecutionException, InterruptedException {
+        if (pool == null) {
+            return sum(prepared.stream(), cost);
+        }
+        return pool.submit(() -> sum(prepared.stream()
+          .parallel(), cost))
+          .get();
+    }
+
+    static long sum(IntStream numbers, int cost) {
+        try (IntStream stream = numbers) {
+            return stream.mapToLong(number -> work(number, cost))
+              .sum();
+        }
+    }
+
+    /**
+     * Stands in for the work done per element, {@code cost} rounds of a xorshift the JIT can't fold away.
+     */
+    static long work(int number, int cost) {
+        long x = number + 1;
+        for (int i = 0; i < cost; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,88 @@
+package com.baeldung.streams.parallel;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.BaseStream;
+
+/**
+ * Decides at runtime whether a stream should run in parallel, from the crossovers measured by
+ * {@link CrossoverTable}.
+ * <p>
+ * A stream is made parallel once its element count reaches the crossover measured for its source at
+ * the largest measured cost not above its own, since more work per element only lowers the crossover.
+ * Without a measurement it falls back to the rule of thumb that parallelism pays off from about
+ * 10 000 units of work, for sources that split well.
+ */
+public class ParallelStreamAdvisor {
+
+    static final long DEFAULT_MIN_WORK = 10_000;
+
+    private final Map<StreamSource, NavigableMap<Integer, Long>> crossovers = new EnumMap<>(StreamSource.class);
+
+    /**
+     * Reads the crossovers measured with the pool size closest to, and not above, the parallelism of the
+     * common pool, or with the smallest pool if all were larger.
+     */
+    public static ParallelStreamAdvisor load(Path crossoverFile) throws IOException {
+        return load(crossoverFile, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    public static ParallelStreamAdvisor load(Path crossoverFile, int parallelism) throws IOException {
+        List<String> lines = Files.readAllLines(crossoverFile);
+        TreeMap<Integer, ParallelStreamAdvisor> advisorsByParallelism = new TreeMap<>();
+        for (String line : lines) {
+            if (line.trim()
+              .isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            advisorsByParallelism.computeIfAbsent(Integer.parseInt(fields[2].trim()), p -> new ParallelStreamAdvisor())
+              .withCrossover(StreamSource.valueOf(fields[0].trim()), Integer.parseInt(fields[1].trim()), Long.parseLong(fields[3].trim()));
+        }
+        if (advisorsByParallelism.isEmpty()) {
+            return new ParallelStreamAdvisor();
+        }
+        Map.Entry<Integer, ParallelStreamAdvisor> closest = advisorsByParallelism.floorEntry(parallelism);
+        return closest != null ? closest.getValue() : advisorsByParallelism.firstEntry()
+          .getValue();
+    }
+
+    /**
+     * @param crossoverSize the element count from which the parallel stream is faster, or {@link CrossoverTable#NEVER}
+     */
+    ParallelStreamAdvisor withCrossover(StreamSource source, int cost, long crossoverSize) {
+        crossovers.computeIfAbsent(source, s -> new TreeMap<>())
+          .put(cost, crossoverSize);
+        return this;
+    }
+
+    /**
+     * @param costPerElement the work per element in the units of {@link ParallelCostModel#cost}
+     */
+    public boolean shouldParallelize(StreamSource source, long size, int costPerElement) {
+        NavigableMap<Integer, Long> crossoversByCost = crossovers.get(source);
+        if (crossoversByCost == null) {
+            return source.splitsWell() && size * Math.max(costPerElement, 1) >= DEFAULT_MIN_WORK;
+        }
+        Map.Entry<Integer, Long> measured = crossoversByCost.floorEntry(costPerElement);
+        if (measured == null) {
+            measured = crossoversByCost.firstEntry();
+        }
+        long crossoverSize = measured.getValue();
+        return crossoverSize != CrossoverTable.NEVER && size >= crossoverSize;
+    }
+
+    /**
+     * Returns the stream switched to parallel or sequential execution as advised.
+     */
+    public <T, S extends BaseStream<T, S>> S configure(S stream, StreamSource source, long size, int costPerElement) {
+        return shouldParallelize(source, size, costPerElement) ? stream.parallel() : stream.sequential();
+    }
+}
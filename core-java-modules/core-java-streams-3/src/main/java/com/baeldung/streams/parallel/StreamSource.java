@@ -0,0 +1,122 @@
+package com.baeldung.streams.parallel;
+
+import com.baeldung.streams.conversion.EnumerationSpliterator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The kinds of stream sources measured by {@link ParallelCostModel}, which split very differently.
+ */
+public enum StreamSource {
+
+    /** Splits evenly in constant time. */
+    ARRAY_LIST(true) {
+        @Override
+        Prepared prepare(int size) {
+            List<Integer> list = IntStream.range(0, size)
+              .boxed()
+              .collect(Collectors.toCollection(ArrayList::new));
+            return () -> list.stream()
+              .mapToInt(Integer::intValue);
+        }
+    },
+    /** Has to walk the list to split it, and splits unevenly. */
+    LINKED_LIST(false) {
+        @Override
+        Prepared prepare(int size) {
+            List<Integer> list = IntStream.range(0, size)
+              .boxed()
+              .collect(Collectors.toCollection(LinkedList::new));
+            return () -> list.stream()
+              .mapToInt(Integer::intValue);
+        }
+    },
+    /** Splits evenly and keeps the primitive values next to each other in memory. */
+    INT_ARRAY(true) {
+        @Override
+        Prepared prepare(int size) {
+            int[] array = IntStream.range(0, size)
+              .toArray();
+            return () -> IntStream.of(array);
+        }
+    },
+    /** Lines of a file, split by position since JDK 9 and by copying batches before. */
+    FILE_LINES(false) {
+        @Override
+        Prepared prepare(int size) throws IOException {
+            Path file = Files.createTempFile("stream-source", ".txt");
+            Files.write(file, (Iterable<String>) IntStream.range(0, size)
+              .mapToObj(Integer::toString)::iterator);
+            return new Prepared() {
+                @Override
+                public IntStream stream() {
+                    try {
+                        Stream<String> lines = Files.lines(file);
+                        return lines.mapToInt(Integer::parseInt)
+                          .onClose(lines::close);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public void close() throws IOException {
+                    Files.delete(file);
+                }
+            };
+        }
+    },
+    /** An iterator based spliterator of unknown size, which can only split by copying batches of elements. */
+    CUSTOM_SPLITERATOR(false) {
+        @Override
+        Prepared prepare(int size) {
+            List<Integer> list = IntStream.range(0, size)
+              .boxed()
+              .collect(Collectors.toList());
+            return () -> StreamSupport.stream(new EnumerationSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED, Collections.enumeration(list)), false)
+              .mapToInt(Integer::intValue);
+        }
+    };
+
+    private final boolean splitsWell;
+
+    StreamSource(boolean splitsWell) {
+        this.splitsWell = splitsWell;
+    }
+
+    /**
+     * Whether the source splits into balanced halves cheaply, which is what parallel streams rely on.
+     */
+    public boolean splitsWell() {
+        return splitsWell;
+    }
+
+    /**
+     * Builds a source of the numbers from 0 to {@code size - 1}, which can be streamed many times.
+     */
+    abstract Prepared prepare(int size) throws IOException;
+
+    interface Prepared extends AutoCloseable {
+
+        /**
+         * A new sequential stream over the source, which must be closed after use.
+         */
+        IntStream stream();
+
+        @Override
+        default void close() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.baeldung.streams.parallel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelStreamAdvisorUnitTest {
+
+    @Test
+    void givenMeasurements_whenComputingCrossovers_thenSmallestSizeFromWhichParallelAlwaysWins() {
+        List<CrossoverTable.Measurement> measurements = Arrays.asList(
+          new CrossoverTable.Measurement(StreamSource.ARRAY_LIST, 10, 0, 100, 1),
+          new CrossoverTable.Measurement(StreamSource.ARRAY_LIST, 10, 0, 1000, 10),
+          new CrossoverTable.Measurement(StreamSource.ARRAY_LIST, 10, 0, 10000, 100),
+          new CrossoverTable.Measurement(StreamSource.ARRAY_LIST, 10, 4, 100, 0.5),
+          new CrossoverTable.Measurement(StreamSource.ARRAY_LIST, 10, 4, 1000, 20),
+          new CrossoverTable.Measurement(StreamSource.ARRAY_LIST, 10, 4, 10000, 40),
+          new CrossoverTable.Measurement(StreamSource.LINKED_LIST, 10, 0, 10000, 100),
+          new CrossoverTable.Measurement(StreamSource.LINKED_LIST, 10, 4, 10000, 150));
+
+        List<String> crossovers = CrossoverTable.crossovers(measurements);
+
+        assertThat(crossovers).containsExactly("ARRAY_LIST,10,4,10000", "LINKED_LIST,10,4,-1");
+        assertThat(CrossoverTable.format(crossovers)).contains("never");
+    }
+
+    @Test
+    void givenCrossovers_whenAdvising_thenUsesLargestMeasuredCostNotAboveTheRequestedOne() {
+        ParallelStreamAdvisor advisor = new ParallelStreamAdvisor().withCrossover(StreamSource.ARRAY_LIST, 1, 100_000)
+          .withCrossover(StreamSource.ARRAY_LIST, 100, 1_000)
+          .withCrossover(StreamSource.LINKED_LIST, 1, CrossoverTable.NEVER);
+
+        assertThat(advisor.shouldParallelize(StreamSource.ARRAY_LIST, 50_000, 1)).isFalse();
+        assertThat(advisor.shouldParallelize(StreamSource.ARRAY_LIST, 50_000, 99)).isFalse();
+        assertThat(advisor.shouldParallelize(StreamSource.ARRAY_LIST, 50_000, 500)).isTrue();
+        assertThat(advisor.shouldParallelize(StreamSource.ARRAY_LIST, 100_000, 0)).isTrue();
+        assertThat(advisor.shouldParallelize(StreamSource.LINKED_LIST, 10_000_000, 1000)).isFalse();
+    }
+
+    @Test
+    void givenNoMeasurements_whenAdvising_thenParallelizesEnoughWorkOnSourcesThatSplitWell() {
+        ParallelStreamAdvisor advisor = new ParallelStreamAdvisor();
+
+        assertThat(advisor.shouldParallelize(StreamSource.INT_ARRAY, 100, 100)).isTrue();
+        assertThat(advisor.shouldParallelize(StreamSource.INT_ARRAY, 100, 1)).isFalse();
+        assertThat(advisor.shouldParallelize(StreamSource.CUSTOM_SPLITERATOR, 1_000_000, 100)).isFalse();
+    }
+
+    @Test
+    void givenCrossoverFile_whenLoading_thenUsesClosestPoolSizeNotAboveParallelism(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("crossovers.csv");
+        Files.write(file, Arrays.asList("INT_ARRAY,1,2,100000", "INT_ARRAY,1,4,10000", "INT_ARRAY,1,8,1000"));
+
+        assertThat(ParallelStreamAdvisor.load(file, 6)
+          .shouldParallelize(StreamSource.INT_ARRAY, 10_000, 1)).isTrue();
+        assertThat(ParallelStreamAdvisor.load(file, 6)
+          .shouldParallelize(StreamSource.INT_ARRAY, 5_000, 1)).isFalse();
+        assertThat(ParallelStreamAdvisor.load(file, 1)
+          .shouldParallelize(StreamSource.INT_ARRAY, 10_000, 1)).isFalse();
+    }
+
+    @Test
+    void givenAdvice_whenConfiguringStream_thenSwitchesExecutionMode() {
+        ParallelStreamAdvisor advisor = new ParallelStreamAdvisor().withCrossover(StreamSource.INT_ARRAY, 1, 1_000);
+
+        assertThat(advisor.configure(IntStream.range(0, 10), StreamSource.INT_ARRAY, 10, 1)
+          .isParallel()).isFalse();
+        assertThat(advisor.configure(IntStream.range(0, 10_000), StreamSource.INT_ARRAY, 10_000, 1)
+          .isParallel()).isTrue();
+    }
+
+    @Test
+    void givenEverySource_whenSummingInParallel_thenMatchesSequentialSum() throws Exception {
+        for (StreamSource source : StreamSource.values()) {
+            try (StreamSource.Prepared prepared = source.prepare(10_000)) {
+                assertThat(ParallelCostModel.sum(prepared.stream()
+                  .parallel(), 3)).isEqualTo(ParallelCostModel.sum(prepared.stream(), 3));
+            }
+        }
+    }
+}
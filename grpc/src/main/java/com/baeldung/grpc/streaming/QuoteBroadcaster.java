@@ -0,0 +1,212 @@
+package com.baeldung.grpc.streaming;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+
+/**
+ * Fans out published quotes to every stream subscribed to their ticker.
+ * <p>
+ * Each subscriber has its own bounded queue holding at most one pending quote per ticker, a newer
+ * quote replaces the stale one still waiting. Quotes are written to a stream only while it is ready,
+ * so a slow subscriber receives the latest prices once it catches up instead of an ever growing
+ * backlog, and never holds up the publisher or the other subscribers.
+ */
+public class QuoteBroadcaster {
+
+    private final Map<String, Set<Subscriber>> subscribersByTicker = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Executor drainExecutor;
+    private final int maxPendingQuotes;
+
+    private final LongAdder conflatedQuotes = new LongAdder();
+    private final LongAdder droppedQuotes = new LongAdder();
+
+    /**
+     * @param drainExecutor runs the writes to the subscriber streams, writes to one stream never run concurrently
+     * @param maxPendingQuotes the per subscriber queue bound, the oldest pending quote is dropped beyond it
+     */
+    public QuoteBroadcaster(Executor drainExecutor, int maxPendingQuotes) {
+        this.drainExecutor = drainExecutor;
+        this.maxPendingQuotes = maxPendingQuotes;
+    }
+
+    /**
+     * Must be called from the service method of the call, before it returns, so that the handlers
+     * are registered in time.
+     */
+    public void subscribe(Collection<String> tickerSymbols, ServerCallStreamObserver<StockQuote> observer) {
+        Subscriber subscriber = new Subscriber(tickerSymbols, observer);
+        observer.setOnReadyHandler(subscriber::scheduleDrain);
+        observer.setOnCancelHandler(() -> unsubscribe(subscriber));
+        subscribers.add(subscriber);
+        for (String tickerSymbol : subscriber.tickerSymbols) {
+            subscribersByTicker.computeIfAbsent(tickerSymbol, t -> ConcurrentHashMap.newKeySet())
+                .add(subscriber);
+        }
+    }
+
+    public void publish(StockQuote quote) {
+        Set<Subscriber> tickerSubscribers = subscribersByTicker.get(quote.getTickerSymbol());
+        if (tickerSubscribers != null) {
+            for (Subscriber subscriber : tickerSubscribers) {
+                subscriber.offer(quote);
+            }
+        }
+    }
+
+    /**
+     * Completes every stream once its pending quotes are written.
+     */
+    public void completeAll() {
+        for (Subscriber subscriber : subscribers) {
+            unsubscribe(subscriber);
+            subscriber.complete();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * The number of pending quotes replaced by a newer quote of the same ticker.
+     */
+    public long conflatedQuotes() {
+        return conflatedQuotes.sum();
+    }
+
+    /**
+     * The number of pending quotes dropped because a subscriber queue was full.
+     */
+    public long droppedQuotes() {
+        return droppedQuotes.sum();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            for (String tickerSymbol : subscriber.tickerSymbols) {
+                Set<Subscriber> tickerSubscribers = subscribersByTicker.get(tickerSymbol);
+                if (tickerSubscribers != null) {
+                    tickerSubscribers.remove(subscriber);
+                }
+            }
+        }
+    }
+
+    private class Subscriber {
+
+        private final Set<String> tickerSymbols;
+        private final ServerCallStreamObserver<StockQuote> observer;
+        private final LinkedHashMap<String, StockQuote> pending = new LinkedHashMap<>();
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private volatile boolean completing;
+        private boolean completed;
+
+        Subscriber(Collection<String> tickerSymbols, ServerCallStreamObserver<StockQuote> observer) {
+            this.tickerSymbols = new HashSet<>(tickerSymbols);
+            this.observer = observer;
+        }
+
+        void offer(StockQuote quote) {
+            synchronized (pending) {
+                if (pending.put(quote.getTickerSymbol(), quote) != null) {
+                    conflatedQuotes.increment();
+                } else if (pending.size() > maxPendingQuotes) {
+                    Iterator<StockQuote> oldest = pending.values()
+                        .iterator();
+                    oldest.next();
+                    oldest.remove();
+                    droppedQuotes.increment();
+                }
+            }
+            scheduleDrain();
+        }
+
+        void complete() {
+            completing = true;
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            if (drainRequests.getAndIncrement() == 0) {
+                drainExecutor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Only one thread drains at a time, requests arriving meanwhile make it loop once more.
+         */
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!completed && !observer.isCancelled()) {
+                    try {
+                        writeReadyQuotes();
+                    } catch (RuntimeException e) {
+                        fail(e);
+                    }
+                }
+                missed = drainRequests.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Closes a stream that could not take a quote and stops publishing to it.
+         */
+        private void fail(RuntimeException e) {
+            completed = true;
+            unsubscribe(this);
+            try {
+                observer.onError(Status.INTERNAL.withDescription("Could not send quote")
+                    .withCause(e)
+                    .asRuntimeException());
+            } catch (RuntimeException alreadyClosed) {
+                // nothing left to tell the client
+            }
+        }
+
+        private void writeReadyQuotes() {
+            while (observer.isReady()) {
+                StockQuote next = poll();
+                if (next == null) {
+                    break;
+                }
+                observer.onNext(next);
+            }
+            if (completing && isDrained()) {
+                completed = true;
+                observer.onCompleted();
+            }
+        }
+
+        private boolean isDrained() {
+            synchronized (pending) {
+                return pending.isEmpty();
+            }
+        }
+
+        private StockQuote poll() {
+            synchronized (pending) {
+                Iterator<StockQuote> oldest = pending.values()
+                    .iterator();
+                if (!oldest.hasNext()) {
+                    return null;
+                }
+                StockQuote quote = oldest.next();
+                oldest.remove();
+                return quote;
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@ import com.baeldung.grpc.streaming.StockQuoteProviderGrpc.StockQuoteProviderBloc
 import com.baeldung.grpc.streaming.StockQuoteProviderGrpc.StockQuoteProviderStub;
 
 import io.grpc.Channel;
+import io.grpc.Context;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.Status;
@@ -54,6 +55,30 @@ public class StockClient {
         }
     }
 
+    public void serverSideStreamingSubscribeStockQuotes(int quotes) {
+
+        logger.info("######START EXAMPLE######: ServerSideStreaming - subscribe to the quotes of all stocks");
+        StockSubscription.Builder subscription = StockSubscription.newBuilder();
+        for (Stock stock : stocks) {
+            subscription.addTickerSymbols(stock.getTickerSymbol());
+        }
+        Context.CancellableContext context = Context.current()
+            .withCancellation();
+        try {
+            context.run(() -> {
+                Iterator<StockQuote> stockQuotes = blockingStub.serverSideStreamingSubscribeStockQuotes(subscription.build());
+                for (int i = 1; i <= quotes && stockQuotes.hasNext(); i++) {
+                    StockQuote stockQuote = stockQuotes.next();
+                    logger.info("RESPONSE - {}: {}", stockQuote.getTickerSymbol(), stockQuote.getPrice());
+                }
+            });
+        } catch (StatusRuntimeException e) {
+            logger.info("RPC failed: {}", e.getStatus());
+        } finally {
+            context.cancel(null);
+        }
+    }
+
     public void clientSideStreamingGetStatisticsOfStocks() throws InterruptedException {
         
         logger.info("######START EXAMPLE######: ClientSideStreaming - getStatisticsOfStocks from a list of stocks");
@@ -159,6 +184,8 @@ public class StockClient {
 
             client.bidirectionalStreamingGetListsStockQuotes();
 
+            client.serverSideStreamingSubscribeStockQuotes(20);
+
         } finally {
             channel.shutdownNow()
                 .awaitTermination(5, TimeUnit.SECONDS);
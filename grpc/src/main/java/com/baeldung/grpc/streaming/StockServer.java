@@ -1,6 +1,9 @@
 package com.baeldung.grpc.streaming;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
@@ -9,21 +12,80 @@ import org.slf4j.LoggerFactory;
 
 import io.grpc.Server;
 import io.grpc.ServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 
 public class StockServer {
 
     private static final Logger logger = LoggerFactory.getLogger(StockClient.class.getName());
+    private static final int MAX_PENDING_QUOTES = 1_000;
+    private static final String[] FEED_TICKER_SYMBOLS = { "AU", "BAS", "COR", "DIA", "EUS" };
+
     private final int port;
     private final Server server;
+    private final ExecutorService executor;
+    private final ExecutorService drainExecutor;
+    private final QuoteBroadcaster broadcaster;
+
+    /**
+     * Where the service methods, and the writes of quotes to the subscriber streams, run. The writes
+     * never run on the thread publishing the quotes.
+     */
+    public enum ExecutorMode {
+        /** A cached thread pool, like the gRPC default. */
+        CACHED,
+        /**
+         * The transport threads themselves, the fastest option as long as no handler blocks. The quotes
+         * are written by a pool with one thread per processor instead.
+         */
+        DIRECT,
+        /** A new virtual thread per task, requires Java 21 or later. */
+        VIRTUAL_THREADS;
+
+        ExecutorService createExecutor() {
+            switch (this) {
+            case DIRECT:
+                return null;
+            case VIRTUAL_THREADS:
+                try {
+                    return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+                }
+            default:
+                return Executors.newCachedThreadPool();
+            }
+        }
+    }
 
     public StockServer(int port) throws IOException {
+        this(port, ExecutorMode.CACHED);
+    }
+
+    public StockServer(int port, ExecutorMode executorMode) throws IOException {
+        this(ServerBuilder.forPort(port), port, executorMode);
+    }
+
+    StockServer(ServerBuilder<?> serverBuilder, int port, ExecutorMode executorMode) {
         this.port = port;
-        server = ServerBuilder.forPort(port)
-            .addService(new StockService())
+        this.executor = executorMode.createExecutor();
+        this.drainExecutor = executor == null ? Executors.newFixedThreadPool(Runtime.getRuntime()
+            .availableProcessors()) : executor;
+        this.broadcaster = new QuoteBroadcaster(drainExecutor, MAX_PENDING_QUOTES);
+        if (executor == null) {
+            serverBuilder.directExecutor();
+        } else {
+            serverBuilder.executor(executor);
+        }
+        server = serverBuilder.addService(new StockService(broadcaster))
             .build();
     }
 
+    public QuoteBroadcaster getBroadcaster() {
+        return broadcaster;
+    }
+
     public void start() throws IOException {
         server.start();
         logger.info("Server started, listening on " + port);
@@ -44,37 +106,73 @@ public class StockServer {
 
     public void stop() throws InterruptedException {
         if (server != null) {
+            broadcaster.completeAll();
             server.shutdown()
                 .awaitTermination(30, TimeUnit.SECONDS);
         }
+        drainExecutor.shutdown();
     }
 
     public static void main(String[] args) throws Exception {
-        StockServer stockServer = new StockServer(8980);
+        ExecutorMode executorMode = args.length > 0 ? ExecutorMode.valueOf(args[0]) : ExecutorMode.CACHED;
+        StockServer stockServer = new StockServer(8980, executorMode);
         stockServer.start();
+
+        ScheduledExecutorService feed = Executors.newSingleThreadScheduledExecutor();
+        feed.scheduleAtFixedRate(() -> {
+            for (String tickerSymbol : FEED_TICKER_SYMBOLS) {
+                stockServer.broadcaster.publish(newQuote(tickerSymbol, 0));
+            }
+        }, 0, 10, TimeUnit.MILLISECONDS);
+
         if (stockServer.server != null) {
             stockServer.server.awaitTermination();
         }
+        feed.shutdown();
     }
 
-    private static class StockService extends StockQuoteProviderGrpc.StockQuoteProviderImplBase {
+    static StockQuote newQuote(String tickerSymbol, int offerNumber) {
+        return StockQuote.newBuilder()
+            .setTickerSymbol(tickerSymbol)
+            .setPrice(fetchStockPriceBid(tickerSymbol))
+            .setOfferNumber(offerNumber)
+            .setDescription("Price for stock:" + tickerSymbol)
+            .setPublishedNanos(System.nanoTime())
+            .build();
+    }
 
-        StockService() {
+    static class StockService extends StockQuoteProviderGrpc.StockQuoteProviderImplBase {
+
+        private final QuoteBroadcaster broadcaster;
+
+        StockService(QuoteBroadcaster broadcaster) {
+            this.broadcaster = broadcaster;
         }
 
+        /**
+         * Sends the offers only while the stream is ready and continues once it is ready again.
+         */
         @Override
         public void serverSideStreamingGetListStockQuotes(Stock request, StreamObserver<StockQuote> responseObserver) {
+            ServerCallStreamObserver<StockQuote> serverObserver = (ServerCallStreamObserver<StockQuote>) responseObserver;
+            serverObserver.setOnReadyHandler(new Runnable() {
+                int offerNumber = 1;
 
-            for (int i = 1; i <= 5; i++) {
-
-                StockQuote stockQuote = StockQuote.newBuilder()
-                    .setPrice(fetchStockPriceBid(request))
-                    .setOfferNumber(i)
-                    .setDescription("Price for stock:" + request.getTickerSymbol())
-                    .build();
-                responseObserver.onNext(stockQuote);
-            }
-            responseObserver.onCompleted();
+                @Override
+                public void run() {
+                    while (offerNumber <= 5 && serverObserver.isReady()) {
+                        StockQuote stockQuote = StockQuote.newBuilder()
+                            .setPrice(fetchStockPriceBid(request))
+                            .setOfferNumber(offerNumber++)
+                            .setDescription("Price for stock:" + request.getTickerSymbol())
+                            .build();
+                        serverObserver.onNext(stockQuote);
+                        if (offerNumber > 5) {
+                            serverObserver.onCompleted();
+                        }
+                    }
+                }
+            });
         }
 
         @Override
@@ -82,12 +180,12 @@ public class StockServer {
             return new StreamObserver<Stock>() {
                 int count;
                 double price = 0.0;
-                StringBuffer sb = new StringBuffer();
+                StringBuilder sb = new StringBuilder();
 
                 @Override
                 public void onNext(Stock stock) {
                     count++;
-                    price = +fetchStockPriceBid(stock);
+                    price += fetchStockPriceBid(stock);
                     sb.append(":")
                         .append(stock.getTickerSymbol());
                 }
@@ -136,12 +234,24 @@ public class StockServer {
                 }
             };
         }
+
+        /**
+         * Streams the quotes published for the requested tickers until the client cancels, with
+         * flow control and conflation handled by the {@link QuoteBroadcaster}.
+         */
+        @Override
+        public void serverSideStreamingSubscribeStockQuotes(StockSubscription request, StreamObserver<StockQuote> responseObserver) {
+            broadcaster.subscribe(request.getTickerSymbolsList(), (ServerCallStreamObserver<StockQuote>) responseObserver);
+        }
     }
 
     private static double fetchStockPriceBid(Stock stock) {
+        return fetchStockPriceBid(stock.getTickerSymbol());
+    }
+
+    private static double fetchStockPriceBid(String tickerSymbol) {
 
-        return stock.getTickerSymbol()
-            .length()
+        return tickerSymbol.length()
             + ThreadLocalRandom.current()
                 .nextDouble(-0.1d, 0.1d);
     }
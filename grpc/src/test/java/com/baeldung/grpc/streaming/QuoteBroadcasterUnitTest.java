@@ -0,0 +1,110 @@
+package com.baeldung.grpc.streaming;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.grpc.stub.ServerCallStreamObserver;
+
+public class QuoteBroadcasterUnitTest {
+
+    @Test
+    public void givenStreamFailingToTakeAQuote_whenQuotesArePublished_thenOnlyThatStreamIsClosed() {
+        QuoteBroadcaster broadcaster = new QuoteBroadcaster(Runnable::run, 10);
+        RecordingObserver failing = new RecordingObserver(true);
+        RecordingObserver healthy = new RecordingObserver(false);
+        broadcaster.subscribe(Collections.singletonList("AU"), failing);
+        broadcaster.subscribe(Collections.singletonList("AU"), healthy);
+
+        broadcaster.publish(StockServer.newQuote("AU", 1));
+        broadcaster.publish(StockServer.newQuote("AU", 2));
+
+        assertNotNull(failing.error);
+        assertEquals(1, failing.onNextCalls);
+        assertEquals(1, broadcaster.subscriberCount());
+        assertEquals(2, healthy.quotes.size());
+    }
+
+    @Test
+    public void givenStreamThatFailedOnce_whenItBecomesReadyAgain_thenNothingMoreIsWritten() {
+        QuoteBroadcaster broadcaster = new QuoteBroadcaster(Runnable::run, 10);
+        RecordingObserver failing = new RecordingObserver(true);
+        broadcaster.subscribe(Collections.singletonList("AU"), failing);
+
+        broadcaster.publish(StockServer.newQuote("AU", 1));
+        failing.onReadyHandler.run();
+
+        assertEquals(1, failing.onNextCalls);
+    }
+
+    private static class RecordingObserver extends ServerCallStreamObserver<StockQuote> {
+
+        private final boolean failOnNext;
+        private final List<StockQuote> quotes = new ArrayList<>();
+        private int onNextCalls;
+        private Throwable error;
+        private Runnable onReadyHandler;
+
+        RecordingObserver(boolean failOnNext) {
+            this.failOnNext = failOnNext;
+        }
+
+        @Override
+        public void onNext(StockQuote quote) {
+            onNextCalls++;
+            if (failOnNext) {
+                throw new IllegalStateException("call is closed");
+            }
+            quotes.add(quote);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+            this.onReadyHandler = onReadyHandler;
+        }
+
+        @Override
+        public void setOnCancelHandler(Runnable onCancelHandler) {
+        }
+
+        @Override
+        public void setCompression(String compression) {
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+        }
+
+        @Override
+        public void request(int count) {
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.baeldung.grpc.streaming;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+
+import com.baeldung.grpc.streaming.StockServer.ExecutorMode;
+
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+
+/**
+ * Fans out quotes of -Dtickers tickers to -Dstreams concurrent subscriber streams (default 10,000) over the
+ * in-process transport for -Dseconds, publishing -Drate quotes per second, and reports the delivered
+ * quotes per second and the publish to receive latency percentiles. -Dexecutor selects the
+ * {@link ExecutorMode} of the server, VIRTUAL_THREADS needs a Java 21 runtime.
+ */
+public class StockServerLoadManualTest {
+
+    private static final int STREAMS = Integer.getInteger("streams", 10_000);
+    private static final int TICKERS = Integer.getInteger("tickers", 100);
+    private static final int TICKERS_PER_STREAM = 5;
+    private static final int SECONDS = Integer.getInteger("seconds", 10);
+    private static final int RATE = Integer.getInteger("rate", 20_000);
+    private static final ExecutorMode EXECUTOR_MODE = ExecutorMode.valueOf(System.getProperty("executor", "CACHED"));
+
+    private static final int MAX_TRACKED_MICROS = 1_000_000;
+    private static final int CLIENT_WINDOW = 64;
+
+    private final LongAdder received = new LongAdder();
+    private final AtomicLongArray latencyMicros = new AtomicLongArray(MAX_TRACKED_MICROS + 1);
+
+    @Test
+    public void givenManyConcurrentStreams_whenPublishingQuotes_thenReportThroughputAndLatency() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        StockServer stockServer = new StockServer(InProcessServerBuilder.forName(serverName), -1, EXECUTOR_MODE);
+        stockServer.start();
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime()
+            .availableProcessors());
+        ManagedChannel channel = InProcessChannelBuilder.forName(serverName)
+            .executor(clientExecutor)
+            .build();
+        StockQuoteProviderGrpc.StockQuoteProviderStub stub = StockQuoteProviderGrpc.newStub(channel);
+
+        List<String> tickerSymbols = new ArrayList<>(TICKERS);
+        for (int i = 0; i < TICKERS; i++) {
+            tickerSymbols.add("T" + i);
+        }
+        Random random = new Random(42);
+        List<ClientCallStreamObserver<StockSubscription>> streams = new ArrayList<>(STREAMS);
+        for (int i = 0; i < STREAMS; i++) {
+            StockSubscription.Builder subscription = StockSubscription.newBuilder();
+            for (int t = 0; t < TICKERS_PER_STREAM; t++) {
+                subscription.addTickerSymbols(tickerSymbols.get(random.nextInt(TICKERS)));
+            }
+            stub.serverSideStreamingSubscribeStockQuotes(subscription.build(), new LatencyRecorder(streams));
+        }
+        while (stockServer.getBroadcaster()
+            .subscriberCount() < STREAMS) {
+            Thread.sleep(10);
+        }
+
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(SECONDS);
+        long published = 0;
+        while (System.nanoTime() < end) {
+            long due = (System.nanoTime() - start) * RATE / 1_000_000_000L;
+            for (; published < due; published++) {
+                stockServer.getBroadcaster()
+                    .publish(StockServer.newQuote(tickerSymbols.get((int) (published % TICKERS)), (int) published));
+            }
+            Thread.yield();
+        }
+        long elapsed = System.nanoTime() - start;
+        long delivered = received.sum();
+
+        System.out.printf("%s executor, %,d streams: published %,d quotes, delivered %,.0f quotes/s, conflated %,d, dropped %,d%n", EXECUTOR_MODE, STREAMS, published,
+            delivered * 1e9 / elapsed, stockServer.getBroadcaster()
+                .conflatedQuotes(),
+            stockServer.getBroadcaster()
+                .droppedQuotes());
+        System.out.printf("latency p50 %d us, p99 %d us, p99.9 %d us, max tracked %d us%n", percentile(0.5), percentile(0.99), percentile(0.999), percentile(1.0));
+
+        streams.forEach(stream -> stream.cancel("done", null));
+        channel.shutdownNow()
+            .awaitTermination(10, TimeUnit.SECONDS);
+        stockServer.stop();
+        clientExecutor.shutdown();
+    }
+
+    private long percentile(double fraction) {
+        long total = 0;
+        for (int i = 0; i < latencyMicros.length(); i++) {
+            total += latencyMicros.get(i);
+        }
+        long target = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < latencyMicros.length(); i++) {
+            seen += latencyMicros.get(i);
+            if (seen >= target && seen > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private class LatencyRecorder implements ClientResponseObserver<StockSubscription, StockQuote> {
+
+        private final List<ClientCallStreamObserver<StockSubscription>> streams;
+        private ClientCallStreamObserver<StockSubscription> requestStream;
+        private int receivedSinceRequest;
+
+        LatencyRecorder(List<ClientCallStreamObserver<StockSubscription>> streams) {
+            this.streams = streams;
+        }
+
+        /**
+         * Requests quotes in batches, like the flow control window of a network transport,
+         * instead of one request per message.
+         */
+        @Override
+        public void beforeStart(ClientCallStreamObserver<StockSubscription> requestStream) {
+            this.requestStream = requestStream;
+            requestStream.disableAutoRequestWithInitial(CLIENT_WINDOW);
+            streams.add(requestStream);
+        }
+
+        @Override
+        public void onNext(StockQuote quote) {
+            long micros = (System.nanoTime() - quote.getPublishedNanos()) / 1_000;
+            latencyMicros.incrementAndGet((int) Math.min(micros, MAX_TRACKED_MICROS));
+            received.increment();
+            if (++receivedSinceRequest == CLIENT_WINDOW / 2) {
+                receivedSinceRequest = 0;
+                requestStream.request(CLIENT_WINDOW / 2);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+}
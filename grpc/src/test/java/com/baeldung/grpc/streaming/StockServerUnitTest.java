@@ -0,0 +1,168 @@
+package com.baeldung.grpc.streaming;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.baeldung.grpc.streaming.StockServer.ExecutorMode;
+
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+
+public class StockServerUnitTest {
+
+    private StockServer stockServer;
+    private ManagedChannel channel;
+    private StockQuoteProviderGrpc.StockQuoteProviderStub stub;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        String serverName = InProcessServerBuilder.generateName();
+        stockServer = new StockServer(InProcessServerBuilder.forName(serverName), -1, ExecutorMode.DIRECT);
+        stockServer.start();
+
+        channel = InProcessChannelBuilder.forName(serverName)
+            .directExecutor()
+            .build();
+        stub = StockQuoteProviderGrpc.newStub(channel);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        channel.shutdownNow()
+            .awaitTermination(5, TimeUnit.SECONDS);
+        stockServer.stop();
+    }
+
+    @Test
+    public void givenSubscriberNotRequestingQuotes_whenQuotesArePublished_thenOnlyTheLatestQuotePerTickerIsDelivered() throws Exception {
+        QuoteRecorder<StockSubscription> subscriber = subscribe(0, "AU", "BAS");
+
+        for (int i = 1; i <= 100; i++) {
+            stockServer.getBroadcaster()
+                .publish(StockServer.newQuote("AU", i));
+            stockServer.getBroadcaster()
+                .publish(StockServer.newQuote("BAS", i));
+        }
+        assertNull(subscriber.quotes.poll(100, TimeUnit.MILLISECONDS));
+
+        subscriber.requestStream.request(10);
+
+        StockQuote first = subscriber.quotes.poll(5, TimeUnit.SECONDS);
+        StockQuote second = subscriber.quotes.poll(5, TimeUnit.SECONDS);
+        assertEquals("AU", first.getTickerSymbol());
+        assertEquals(100, first.getOfferNumber());
+        assertEquals("BAS", second.getTickerSymbol());
+        assertEquals(100, second.getOfferNumber());
+        assertNull(subscriber.quotes.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(198, stockServer.getBroadcaster()
+            .conflatedQuotes());
+    }
+
+    @Test
+    public void givenSlowAndFastSubscribers_whenQuotesArePublished_thenTheFastSubscriberReceivesEveryQuote() throws Exception {
+        QuoteRecorder<StockSubscription> slow = subscribe(0, "AU");
+        QuoteRecorder<StockSubscription> fast = subscribe(Integer.MAX_VALUE, "AU");
+
+        // the next quote is only published once the fast subscriber has the previous one, so none is conflated
+        for (int i = 1; i <= 1_000; i++) {
+            stockServer.getBroadcaster()
+                .publish(StockServer.newQuote("AU", i));
+            assertEquals(i, fast.quotes.poll(5, TimeUnit.SECONDS)
+                .getOfferNumber());
+        }
+        slow.requestStream.request(1);
+        assertEquals(1_000, slow.quotes.poll(5, TimeUnit.SECONDS)
+            .getOfferNumber());
+    }
+
+    @Test
+    public void givenDirectExecutor_whenQuotesArePublished_thenThePublisherDoesNotWriteThem() throws Exception {
+        QuoteRecorder<StockSubscription> subscriber = subscribe(Integer.MAX_VALUE, "AU");
+
+        stockServer.getBroadcaster()
+            .publish(StockServer.newQuote("AU", 1));
+
+        assertEquals(1, subscriber.quotes.poll(5, TimeUnit.SECONDS)
+            .getOfferNumber());
+        assertNotEquals(Thread.currentThread(), subscriber.writingThread);
+    }
+
+    @Test
+    public void givenListRequest_whenClientRequestsOneQuoteAtATime_thenEveryOfferArrivesInOrder() throws Exception {
+        QuoteRecorder<Stock> recorder = new QuoteRecorder<>(1);
+        stub.serverSideStreamingGetListStockQuotes(Stock.newBuilder()
+            .setTickerSymbol("AU")
+            .build(), recorder);
+
+        for (int i = 1; i <= 5; i++) {
+            assertEquals(i, recorder.quotes.poll(5, TimeUnit.SECONDS)
+                .getOfferNumber());
+            recorder.requestStream.request(1);
+        }
+        assertTrue(recorder.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    private QuoteRecorder<StockSubscription> subscribe(int initialRequest, String... tickerSymbols) throws InterruptedException {
+        int subscribers = stockServer.getBroadcaster()
+            .subscriberCount();
+        QuoteRecorder<StockSubscription> recorder = new QuoteRecorder<>(initialRequest);
+        StockSubscription subscription = StockSubscription.newBuilder()
+            .addAllTickerSymbols(Arrays.asList(tickerSymbols))
+            .build();
+        stub.serverSideStreamingSubscribeStockQuotes(subscription, recorder);
+        while (stockServer.getBroadcaster()
+            .subscriberCount() == subscribers) {
+            Thread.sleep(1);
+        }
+        return recorder;
+    }
+
+    private static class QuoteRecorder<R> implements ClientResponseObserver<R, StockQuote> {
+
+        private final int initialRequest;
+        private final BlockingQueue<StockQuote> quotes = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private ClientCallStreamObserver<R> requestStream;
+        private volatile Thread writingThread;
+
+        QuoteRecorder(int initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<R> requestStream) {
+            this.requestStream = requestStream;
+            requestStream.disableAutoRequestWithInitial(initialRequest);
+        }
+
+        @Override
+        public void onNext(StockQuote quote) {
+            writingThread = Thread.currentThread();
+            quotes.add(quote);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onCompleted() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.baeldung.hazelcast.jet;
+
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.flakeidgen.FlakeIdGenerator;
+import com.hazelcast.jet.Jet;
+import com.hazelcast.jet.JetInstance;
+import com.hazelcast.jet.Job;
+import com.hazelcast.jet.config.JetConfig;
+import com.hazelcast.jet.pipeline.JournalInitialPosition;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.Sinks;
+import com.hazelcast.jet.pipeline.Sources;
+import com.hazelcast.map.IMap;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.function.Functions.wholeItem;
+import static com.hazelcast.jet.Traversers.traverseArray;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+
+/**
+ * Long-lived alternative to {@link WordCounter}. A single streaming job reads new sentences from the
+ * event journal of a map and keeps the counts map up to date, so lookups are plain reads
+ * of that map. Counts are eventually consistent with the sentences added so far.
+ * <p>
+ * The default constructor starts an isolated single member cluster, which {@link #close()} shuts down
+ * again. Pass a {@link JetInstance} created from {@link #createConfig()} to run the counter on an
+ * existing cluster instead, that instance is left running on close.
+ * <p>
+ * The job reads the sentences from the event journal, so the sentences map only has to keep them
+ * until then and they expire after {@value #SENTENCE_TIME_TO_LIVE_SECONDS} seconds. The journal keeps
+ * the last {@value #EVENT_JOURNAL_CAPACITY} events, split evenly across the partitions. If the job falls
+ * behind by more events than a partition holds, e.g. while it restarts, the overwritten sentences are
+ * not counted and Jet only logs a warning, so the capacity has to cover the sentences added while the
+ * job may be behind.
+ */
+public class StreamingWordCounter implements AutoCloseable {
+
+    private static final String LOCAL_CLUSTER_NAME = "streaming-word-count";
+    private static final String SENTENCE_MAP_NAME = "sentenceMap";
+    private static final String COUNT_MAP_NAME = "streamingCountMap";
+    private static final String SENTENCE_ID_GENERATOR = "sentenceId";
+    private static final int EVENT_JOURNAL_CAPACITY = 1_000_000;
+    private static final int SENTENCE_TIME_TO_LIVE_SECONDS = 600;
+
+    private final JetInstance jet;
+    private final IMap<Long, String> sentences;
+    private final IMap<String, Long> counts;
+    private final FlakeIdGenerator idGenerator;
+    private final boolean ownsJet;
+    private final Job job;
+
+    public StreamingWordCounter() {
+        this(Jet.newJetInstance(createLocalConfig()), true);
+    }
+
+    public StreamingWordCounter(JetInstance jet) {
+        this(jet, false);
+    }
+
+    private StreamingWordCounter(JetInstance jet, boolean ownsJet) {
+        this.jet = jet;
+        this.ownsJet = ownsJet;
+        this.sentences = jet.getMap(SENTENCE_MAP_NAME);
+        this.counts = jet.getMap(COUNT_MAP_NAME);
+        this.idGenerator = jet.getHazelcastInstance()
+            .getFlakeIdGenerator(SENTENCE_ID_GENERATOR);
+        this.job = jet.newJob(createPipeLine());
+    }
+
+    public static JetConfig createConfig() {
+        JetConfig config = JetConfig.loadDefault();
+        MapConfig sentenceMapConfig = config.getHazelcastConfig()
+            .getMapConfig(SENTENCE_MAP_NAME)
+            .setTimeToLiveSeconds(SENTENCE_TIME_TO_LIVE_SECONDS);
+        sentenceMapConfig.getEventJournalConfig()
+            .setEnabled(true)
+            .setCapacity(EVENT_JOURNAL_CAPACITY);
+        return config;
+    }
+
+    static JetConfig createLocalConfig() {
+        JetConfig config = createConfig();
+        config.getHazelcastConfig()
+            .setClusterName(LOCAL_CLUSTER_NAME);
+        JoinConfig join = config.getHazelcastConfig()
+            .getNetworkConfig()
+            .getJoin();
+        join.getMulticastConfig()
+            .setEnabled(false);
+        join.getTcpIpConfig()
+            .setEnabled(false);
+        return config;
+    }
+
+    private Pipeline createPipeLine() {
+        Pipeline p = Pipeline.create();
+        // the source only emits added and updated entries, so expiring sentences don't reach the counts
+        p.readFrom(Sources.<Long, String> mapJournal(SENTENCE_MAP_NAME, JournalInitialPosition.START_FROM_OLDEST))
+            .withoutTimestamps()
+            .flatMap(entry -> traverseArray(entry.getValue()
+                .toLowerCase()
+                .split("\\W+")))
+            .filter(word -> !word.isEmpty())
+            .groupingKey(wholeItem())
+            .rollingAggregate(counting())
+            .writeTo(Sinks.map(COUNT_MAP_NAME));
+        return p;
+    }
+
+    public void addSentence(String sentence) {
+        sentences.set(idGenerator.newId(), sentence);
+    }
+
+    public void addSentences(List<String> newSentences) {
+        Map<Long, String> batch = new HashMap<>();
+        for (String sentence : newSentences) {
+            batch.put(idGenerator.newId(), sentence);
+        }
+        sentences.putAll(batch);
+    }
+
+    public long countWord(String word) {
+        Long count = counts.get(word);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public void close() {
+        try {
+            job.cancel();
+        } finally {
+            if (ownsJet) {
+                jet.shutdown();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.baeldung.hazelcast.jet;
+
+import com.hazelcast.jet.Jet;
+import com.hazelcast.jet.JetInstance;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingWordCounterUnitTest {
+
+    private static StreamingWordCounter wordCounter;
+
+    @BeforeClass
+    public static void setUp() {
+        wordCounter = new StreamingWordCounter();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        wordCounter.close();
+    }
+
+    @Test
+    public void whenSentencesAreAddedOverTime_ThenCountOfWordIsUpdatedIncrementally() throws InterruptedException {
+        wordCounter.addSentence("The first second was alright, but the second second was tough.");
+        assertEquals(3, awaitCount(() -> wordCounter.countWord("second"), 3));
+
+        wordCounter.addSentences(Arrays.asList("Another second passed.", "And one more SECOND."));
+        assertEquals(5, awaitCount(() -> wordCounter.countWord("second"), 5));
+        assertEquals(0, wordCounter.countWord("missing"));
+    }
+
+    @Test
+    public void givenCallersJetInstance_whenCounterIsClosed_ThenInstanceKeepsRunning() {
+        JetInstance jet = Jet.newJetInstance(StreamingWordCounter.createLocalConfig()
+            .configureHazelcast(config -> config.setClusterName("caller-owned")));
+        try {
+            new StreamingWordCounter(jet).close();
+
+            assertTrue(jet.getHazelcastInstance()
+                .getLifecycleService()
+                .isRunning());
+            assertEquals(600, jet.getHazelcastInstance()
+                .getConfig()
+                .getMapConfig("sentenceMap")
+                .getTimeToLiveSeconds());
+        } finally {
+            jet.shutdown();
+        }
+    }
+
+    private static long awaitCount(LongSupplier count, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (count.getAsLong() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return count.getAsLong();
+    }
+
+}
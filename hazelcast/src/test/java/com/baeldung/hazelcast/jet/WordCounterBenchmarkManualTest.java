@@ -0,0 +1,51 @@
+package com.baeldung.hazelcast.jet;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the per call batch job of {@link WordCounter} with lookups against the long-lived
+ * {@link StreamingWordCounter}.
+ */
+public class WordCounterBenchmarkManualTest {
+
+    private static final int SENTENCES = 10_000;
+    private static final int BATCH_CALLS = 3;
+    private static final int LOOKUPS = 100_000;
+
+    @Test
+    public void whenCountingWords_ThenReportLatencyOfBothCounters() throws InterruptedException {
+        List<String> sentences = new ArrayList<>();
+        for (int i = 0; i < SENTENCES; i++) {
+            sentences.add("The first second was alright, but the second second was tough " + i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < BATCH_CALLS; i++) {
+            assertEquals(3L * SENTENCES, (long) new WordCounter().countWord(sentences, "second"));
+        }
+        System.out.printf("WordCounter: %d us per countWord%n", (System.nanoTime() - start) / BATCH_CALLS / 1_000);
+
+        try (StreamingWordCounter streamingWordCounter = new StreamingWordCounter()) {
+            streamingWordCounter.addSentences(sentences);
+            while (streamingWordCounter.countWord("second") < 3L * SENTENCES) {
+                Thread.sleep(10);
+            }
+
+            for (int round = 0; round < 2; round++) {
+                start = System.nanoTime();
+                long total = 0;
+                for (int i = 0; i < LOOKUPS; i++) {
+                    total += streamingWordCounter.countWord("second");
+                }
+                System.out.printf("StreamingWordCounter, round %d: %.2f us per countWord%n", round + 1, (System.nanoTime() - start) / 1_000.0 / LOOKUPS);
+                assertEquals(3L * SENTENCES * LOOKUPS, total);
+            }
+        }
+    }
+
+}
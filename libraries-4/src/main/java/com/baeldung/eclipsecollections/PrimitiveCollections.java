@@ -0,0 +1,85 @@
+package com.baeldung.eclipsecollections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import org.eclipse.collections.api.list.primitive.DoubleList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.list.primitive.MutableDoubleList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.primitive.LongIntMap;
+import org.eclipse.collections.api.map.primitive.MutableLongIntMap;
+import org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
+
+/**
+ * Replaces the boxed {@code Map<Long, Integer>}, {@code List<Integer>} and {@code List<Double>} with
+ * the primitive collections of Eclipse Collections, which store the values in arrays instead of one
+ * object per element, and converts them back for APIs that expect the {@code java.util} types.
+ * <p>
+ * Primitive collections can't hold null, so a null key or element is rejected with a
+ * {@link NullPointerException} instead of being silently turned into 0.
+ */
+public final class PrimitiveCollections {
+
+    private PrimitiveCollections() {
+    }
+
+    public static MutableLongIntMap toLongIntMap(Map<Long, Integer> map) {
+        LongIntHashMap result = new LongIntHashMap(map.size());
+        map.forEach((key, value) -> result.put(requireNonNull(key, "key"), requireNonNull(value, "value")));
+        return result;
+    }
+
+    /**
+     * Builds a map from e.g. a list of entities, without boxing the keys and values in between.
+     */
+    public static <T> MutableLongIntMap toLongIntMap(Collection<T> items, ToLongFunction<? super T> key, ToIntFunction<? super T> value) {
+        LongIntHashMap result = new LongIntHashMap(items.size());
+        for (T item : items) {
+            result.put(key.applyAsLong(item), value.applyAsInt(item));
+        }
+        return result;
+    }
+
+    public static MutableIntList toIntList(Collection<Integer> values) {
+        IntArrayList result = new IntArrayList(values.size());
+        values.forEach(value -> result.add(requireNonNull(value, "element")));
+        return result;
+    }
+
+    public static MutableDoubleList toDoubleList(Collection<Double> values) {
+        DoubleArrayList result = new DoubleArrayList(values.size());
+        values.forEach(value -> result.add(requireNonNull(value, "element")));
+        return result;
+    }
+
+    public static Map<Long, Integer> toMap(LongIntMap map) {
+        Map<Long, Integer> result = new HashMap<>(Math.max(16, (int) (map.size() / 0.75f) + 1));
+        map.forEachKeyValue(result::put);
+        return result;
+    }
+
+    public static List<Integer> toList(IntList values) {
+        List<Integer> result = new ArrayList<>(values.size());
+        values.forEach(result::add);
+        return result;
+    }
+
+    public static List<Double> toList(DoubleList values) {
+        List<Double> result = new ArrayList<>(values.size());
+        values.forEach(result::add);
+        return result;
+    }
+
+    private static <T> T requireNonNull(T value, String name) {
+        return Objects.requireNonNull(value, () -> "A primitive collection can't hold a null " + name);
+    }
+}
@@ -0,0 +1,226 @@
+package com.baeldung.eclipsecollections;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.primitive.MutableDoubleList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableLongIntMap;
+import org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Builds and reads a {@code Map<Long, Integer>}, a {@code List<Integer>} and a {@code List<Double>}
+ * with {@code java.util} and with the primitive collections {@link PrimitiveCollections} converts to.
+ * The memory both need is compared by {@link PrimitiveCollectionsFootprint}.
+ * <p>
+ * The default sizes run with the default heap. Larger sizes need the heap passed along, the boxed
+ * map with 10^8 entries alone takes around 7 GB, e.g.
+ * {@code -p size=10000000,100000000 -jvmArgsAppend -Xmx16g} on the command line of the benchmarks jar
+ * or of {@link #main}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PrimitiveCollectionsBenchmark {
+
+    /**
+     * The random keys and values, the collections are built from them by the states below, so only the
+     * collections a benchmark reads are kept in the heap.
+     */
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({ "1000", "100000", "1000000" })
+        public int size;
+
+        long[] keys;
+        int[] values;
+        int[] ints;
+        double[] doubles;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i * 0x9E3779B97F4A7C15L;
+            }
+            SplittableRandom random = new SplittableRandom(42);
+            values = random.ints(size)
+                .toArray();
+            ints = random.ints(size)
+                .toArray();
+            doubles = random.doubles(size)
+                .toArray();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BoxedMap {
+        Map<Long, Integer> map;
+
+        @Setup(Level.Trial)
+        public void setUp(Input input) {
+            map = boxedMap(input.keys, input.values);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PrimitiveMap {
+        MutableLongIntMap map;
+
+        @Setup(Level.Trial)
+        public void setUp(Input input) {
+            map = primitiveMap(input.keys, input.values);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BoxedLists {
+        List<Integer> ints;
+        List<Double> doubles;
+
+        @Setup(Level.Trial)
+        public void setUp(Input input) {
+            ints = boxedInts(input.ints);
+            doubles = boxedDoubles(input.doubles);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PrimitiveLists {
+        MutableIntList ints;
+        MutableDoubleList doubles;
+
+        @Setup(Level.Trial)
+        public void setUp(Input input) {
+            ints = IntArrayList.newListWith(input.ints);
+            doubles = DoubleArrayList.newListWith(input.doubles);
+        }
+    }
+
+    @Benchmark
+    public Map<Long, Integer> boxedMapBuild(Input input) {
+        return boxedMap(input.keys, input.values);
+    }
+
+    @Benchmark
+    public MutableLongIntMap primitiveMapBuild(Input input) {
+        return primitiveMap(input.keys, input.values);
+    }
+
+    @Benchmark
+    public long boxedMapLookup(Input input, BoxedMap boxed) {
+        long sum = 0;
+        for (long key : input.keys) {
+            sum += boxed.map.get(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long primitiveMapLookup(Input input, PrimitiveMap primitive) {
+        long sum = 0;
+        for (long key : input.keys) {
+            sum += primitive.map.get(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public List<Integer> boxedIntListBuild(Input input) {
+        return boxedInts(input.ints);
+    }
+
+    @Benchmark
+    public MutableIntList primitiveIntListBuild(Input input) {
+        IntArrayList list = new IntArrayList();
+        for (int value : input.ints) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long boxedIntListSum(BoxedLists boxed) {
+        long sum = 0;
+        for (int i = 0; i < boxed.ints.size(); i++) {
+            sum += boxed.ints.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long primitiveIntListSum(PrimitiveLists primitive) {
+        return primitive.ints.sum();
+    }
+
+    @Benchmark
+    public double boxedDoubleListSum(BoxedLists boxed) {
+        double sum = 0;
+        for (int i = 0; i < boxed.doubles.size(); i++) {
+            sum += boxed.doubles.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double primitiveDoubleListSum(PrimitiveLists primitive) {
+        double sum = 0;
+        for (int i = 0; i < primitive.doubles.size(); i++) {
+            sum += primitive.doubles.get(i);
+        }
+        return sum;
+    }
+
+    static Map<Long, Integer> boxedMap(long[] keys, int[] values) {
+        Map<Long, Integer> map = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    static MutableLongIntMap primitiveMap(long[] keys, int[] values) {
+        LongIntHashMap map = new LongIntHashMap();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    static List<Integer> boxedInts(int[] values) {
+        List<Integer> list = new ArrayList<>();
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    static List<Double> boxedDoubles(double[] values) {
+        List<Double> list = new ArrayList<>();
+        for (double value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder().parent(new CommandLineOptions(args))
+            .include(PrimitiveCollectionsBenchmark.class.getSimpleName())
+            .shouldDoGC(true)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,68 @@
+package com.baeldung.eclipsecollections;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the retained size JOL measures for the boxed {@code java.util} collections and their
+ * primitive replacements from {@link PrimitiveCollections}, with 10^3 to 10^8 elements by default or
+ * the sizes given as arguments.
+ * <p>
+ * JOL walks every object of a collection, so the boxed collections with 10^8 elements need a heap of
+ * around 24 GB, e.g. {@code -Xmx24g}. Sizes that don't fit into the heap are skipped.
+ */
+public class PrimitiveCollectionsFootprint {
+
+    private static final int[] DEFAULT_SIZES = { 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000 };
+
+    /**
+     * A generous estimate of the heap a boxed element and the JOL walk over it need.
+     */
+    private static final long BYTES_PER_BOXED_ELEMENT = 200;
+
+    public static void main(String[] args) {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.printf("%-22s %12s %16s %16s %8s%n", "collection", "elements", "java.util bytes", "primitive bytes", "ratio");
+        for (int size : sizes) {
+            if (size * BYTES_PER_BOXED_ELEMENT > Runtime.getRuntime()
+                .maxMemory()) {
+                System.out.printf("%-22s %,12d skipped, run with more than -Xmx%dm%n", "all", size, size * BYTES_PER_BOXED_ELEMENT / (1024 * 1024));
+                continue;
+            }
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i * 0x9E3779B97F4A7C15L;
+            }
+            SplittableRandom random = new SplittableRandom(42);
+            int[] values = random.ints(size)
+                .toArray();
+            print("Map<Long, Integer>", size, () -> PrimitiveCollectionsBenchmark.boxedMap(keys, values), () -> PrimitiveCollectionsBenchmark.primitiveMap(keys, values));
+            print("List<Integer>", size, () -> PrimitiveCollectionsBenchmark.boxedInts(values), () -> IntArrayList.newListWith(values));
+            double[] doubles = random.doubles(size)
+                .toArray();
+            print("List<Double>", size, () -> PrimitiveCollectionsBenchmark.boxedDoubles(doubles), () -> DoubleArrayList.newListWith(doubles));
+        }
+    }
+
+    /**
+     * Builds and measures one collection at a time, so the heap never holds both.
+     */
+    private static void print(String name, int size, Supplier<Object> boxed, Supplier<Object> primitive) {
+        long boxedBytes = GraphLayout.parseInstance(boxed.get())
+            .totalSize();
+        long primitiveBytes = GraphLayout.parseInstance(primitive.get())
+            .totalSize();
+        System.out.printf("%-22s %,12d %,16d %,16d %7.1fx%n", name, size, boxedBytes, primitiveBytes, (double) boxedBytes / primitiveBytes);
+    }
+}
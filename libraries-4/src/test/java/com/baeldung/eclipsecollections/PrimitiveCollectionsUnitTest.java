@@ -0,0 +1,71 @@
+package com.baeldung.eclipsecollections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.collections.api.list.primitive.MutableDoubleList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableLongIntMap;
+import org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.junit.Test;
+
+public class PrimitiveCollectionsUnitTest {
+
+    @Test
+    public void givenBoxedMap_whenConvertedAndBack_thenEntriesAreKept() {
+        Map<Long, Integer> boxed = new HashMap<>();
+        boxed.put(1L, 10);
+        boxed.put(Long.MAX_VALUE, -1);
+        boxed.put(-5L, 0);
+
+        MutableLongIntMap primitive = PrimitiveCollections.toLongIntMap(boxed);
+
+        assertThat(primitive.size()).isEqualTo(3);
+        assertThat(primitive.get(Long.MAX_VALUE)).isEqualTo(-1);
+        assertThat(primitive.containsKey(-5L)).isTrue();
+        assertThat(PrimitiveCollections.toMap(primitive)).isEqualTo(boxed);
+    }
+
+    @Test
+    public void givenItems_whenConvertedWithKeyAndValueFunctions_thenMapIsBuilt() {
+        List<Student> students = Arrays.asList(new Student("John", "Hopkins"), new Student("George", "Adams"));
+
+        MutableLongIntMap lengths = PrimitiveCollections.toLongIntMap(students, student -> student.getFirstName()
+            .hashCode(), student -> student.getLastName()
+                .length());
+
+        assertThat(lengths.get("John".hashCode())).isEqualTo(7);
+        assertThat(lengths.get("George".hashCode())).isEqualTo(5);
+    }
+
+    @Test
+    public void givenBoxedLists_whenConvertedAndBack_thenOrderIsKept() {
+        List<Integer> ints = Arrays.asList(3, 1, 2, 1);
+        List<Double> doubles = Arrays.asList(0.5, -1.0, 2.25);
+
+        MutableIntList primitiveInts = PrimitiveCollections.toIntList(ints);
+        MutableDoubleList primitiveDoubles = PrimitiveCollections.toDoubleList(doubles);
+
+        assertThat(primitiveInts).isEqualTo(IntArrayList.newListWith(3, 1, 2, 1));
+        assertThat(primitiveDoubles).isEqualTo(DoubleArrayList.newListWith(0.5, -1.0, 2.25));
+        assertThat(PrimitiveCollections.toList(primitiveInts)).containsExactlyElementsOf(ints);
+        assertThat(PrimitiveCollections.toList(primitiveDoubles)).containsExactlyElementsOf(doubles);
+    }
+
+    @Test
+    public void givenNullElement_whenConverted_thenNullPointerExceptionIsThrown() {
+        Map<Long, Integer> boxed = new HashMap<>();
+        boxed.put(1L, null);
+
+        assertThatThrownBy(() -> PrimitiveCollections.toIntList(Arrays.asList(1, null))).isInstanceOf(NullPointerException.class)
+            .hasMessageContaining("null element");
+        assertThatThrownBy(() -> PrimitiveCollections.toLongIntMap(boxed)).isInstanceOf(NullPointerException.class)
+            .hasMessageContaining("null value");
+    }
+}
@@ -0,0 +1,172 @@
+package com.baeldung.akka;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.Props;
+import akka.actor.Status;
+import akka.event.Logging;
+import akka.event.LoggingAdapter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the words of a file with a pool of {@link WordCounterActor}s: the file is read in batches of
+ * lines, each batch is counted by one of the counters and the partial counts are summed up here.
+ * <p>
+ * At most {@code maxBatchesInFlight} batches are sent to the counters at a time and the next batch is
+ * only read once a count comes back, so the counters' mailbox stays bounded and a file of any size is
+ * counted in a fixed amount of memory.
+ */
+public class WordCountAggregator extends AbstractActor {
+
+    private final LoggingAdapter log = Logging.getLogger(getContext().getSystem(), this);
+
+    private final int numberOfCounters;
+    private final int batchSize;
+    private final int maxBatchesInFlight;
+
+    private ActorRef counters;
+    private ActorRef requester;
+    private BufferedReader reader;
+    private int batchesInFlight;
+    private long numberOfWords;
+    private long numberOfLines;
+
+    public WordCountAggregator(int numberOfCounters, int batchSize, int maxBatchesInFlight) {
+        this.numberOfCounters = numberOfCounters;
+        this.batchSize = batchSize;
+        this.maxBatchesInFlight = maxBatchesInFlight;
+    }
+
+    public static Props props(int numberOfCounters, int batchSize, int maxBatchesInFlight) {
+        return Props.create(WordCountAggregator.class, numberOfCounters, batchSize, maxBatchesInFlight);
+    }
+
+    public static final class CountFile {
+        final String path;
+
+        public CountFile(String path) {
+            this.path = path;
+        }
+    }
+
+    public static final class FileCounted {
+        final long numberOfWords;
+        final long numberOfLines;
+
+        public FileCounted(long numberOfWords, long numberOfLines) {
+            this.numberOfWords = numberOfWords;
+            this.numberOfLines = numberOfLines;
+        }
+
+        public long getNumberOfWords() {
+            return numberOfWords;
+        }
+
+        public long getNumberOfLines() {
+            return numberOfLines;
+        }
+    }
+
+    @Override
+    public void preStart() {
+        counters = getContext().actorOf(WordCounterActor.pool(numberOfCounters), "word-counters");
+    }
+
+    @Override
+    public void postStop() {
+        closeReader();
+    }
+
+    @Override
+    public Receive createReceive() {
+        return receiveBuilder()
+                .match(CountFile.class, r -> {
+                    if (requester != null) {
+                        getSender().tell(new Status.Failure(new IllegalStateException("Already counting a file")), getSelf());
+                        return;
+                    }
+                    log.info("Counting the words of {}", r.path);
+                    requester = getSender();
+                    numberOfWords = 0;
+                    numberOfLines = 0;
+                    try {
+                        reader = Files.newBufferedReader(Paths.get(r.path), StandardCharsets.UTF_8);
+                        sendBatches();
+                        completeIfDone();
+                    } catch (IOException e) {
+                        fail(e);
+                    }
+                })
+                .match(WordCounterActor.BatchCounted.class, r -> {
+                    batchesInFlight--;
+                    numberOfWords += r.numberOfWords;
+                    numberOfLines += r.numberOfLines;
+                    try {
+                        sendBatches();
+                        completeIfDone();
+                    } catch (IOException e) {
+                        fail(e);
+                    }
+                })
+                .match(Status.Failure.class, r -> fail(r.cause()))
+                .build();
+    }
+
+    /**
+     * Reads and sends batches until the limit of batches in flight or the end of the file is reached.
+     */
+    private void sendBatches() throws IOException {
+        while (reader != null && batchesInFlight < maxBatchesInFlight) {
+            sendNextBatch();
+        }
+    }
+
+    private void sendNextBatch() throws IOException {
+        List<String> lines = new ArrayList<>(batchSize);
+        String line;
+        while (lines.size() < batchSize && (line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        if (lines.isEmpty()) {
+            closeReader();
+            return;
+        }
+        counters.tell(new WordCounterActor.CountWordsBatch(lines), getSelf());
+        batchesInFlight++;
+    }
+
+    private void completeIfDone() {
+        if (reader == null && batchesInFlight == 0 && requester != null) {
+            requester.tell(new FileCounted(numberOfWords, numberOfLines), getSelf());
+            requester = null;
+        }
+    }
+
+    private void fail(Throwable cause) {
+        log.error(cause, "Failed to count the words");
+        closeReader();
+        if (requester != null) {
+            requester.tell(new Status.Failure(cause), getSelf());
+            requester = null;
+        }
+        getContext().stop(getSelf());
+    }
+
+    private void closeReader() {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                log.warning("Failed to close the file: {}", e.getMessage());
+            }
+            reader = null;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.baeldung.akka;
 
 import akka.actor.AbstractActor;
+import akka.actor.Props;
 import akka.event.Logging;
 import akka.event.LoggingAdapter;
+import akka.routing.BalancingPool;
+
+import java.util.List;
 
 public class WordCounterActor extends AbstractActor {
 
@@ -16,6 +20,35 @@ public class WordCounterActor extends AbstractActor {
         }
     }
 
+    /**
+     * Several lines counted with one message, answered with a {@link BatchCounted}.
+     */
+    public static final class CountWordsBatch {
+        final List<String> lines;
+
+        public CountWordsBatch(List<String> lines) {
+            this.lines = lines;
+        }
+    }
+
+    public static final class BatchCounted {
+        final long numberOfWords;
+        final int numberOfLines;
+
+        public BatchCounted(long numberOfWords, int numberOfLines) {
+            this.numberOfWords = numberOfWords;
+            this.numberOfLines = numberOfLines;
+        }
+    }
+
+    /**
+     * Returns the props of a pool of counters sharing one mailbox, so an idle counter takes the next
+     * message whichever counter it was sent to.
+     */
+    public static Props pool(int numberOfCounters) {
+        return new BalancingPool(numberOfCounters).props(Props.create(WordCounterActor.class));
+    }
+
     @Override
     public void preStart() {
         log.info("Starting WordCounterActor {}", this);
@@ -26,7 +59,7 @@ public class WordCounterActor extends AbstractActor {
         return receiveBuilder()
                 .match(CountWords.class, r -> {
                     try {
-                        log.info("Received CountWords message from " + getSender());
+                        log.debug("Received CountWords message from {}", getSender());
                         int numberOfWords = countWordsFromLine(r.line);
                         getSender().tell(numberOfWords, getSelf());
                     } catch (Exception ex) {
@@ -34,6 +67,18 @@ public class WordCounterActor extends AbstractActor {
                         throw ex;
                     }
                 })
+                .match(CountWordsBatch.class, r -> {
+                    try {
+                        long numberOfWords = 0;
+                        for (String line : r.lines) {
+                            numberOfWords += countWordsFromLine(line);
+                        }
+                        getSender().tell(new BatchCounted(numberOfWords, r.lines.size()), getSelf());
+                    } catch (Exception ex) {
+                        getSender().tell(new akka.actor.Status.Failure(ex), getSelf());
+                        throw ex;
+                    }
+                })
                 .build();
     }
 
@@ -43,10 +88,15 @@ public class WordCounterActor extends AbstractActor {
             throw new IllegalArgumentException("The text to process can't be null!");
         }
 
+        // counts the space separated parts which aren't blank, like splitting and trimming would, without copying the line
         int numberOfWords = 0;
-        String[] words = line.split(" ");
-        for (String possibleWord : words) {
-            if (possibleWord.trim().length() > 0) {
+        boolean inWord = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == ' ') {
+                inWord = false;
+            } else if (c > ' ' && !inWord) {
+                inWord = true;
                 numberOfWords++;
             }
         }
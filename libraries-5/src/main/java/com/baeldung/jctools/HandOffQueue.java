@@ -0,0 +1,202 @@
+package com.baeldung.jctools;
+
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+import org.jctools.queues.MpmcArrayQueue;
+import org.jctools.queues.MpscArrayQueue;
+import org.jctools.queues.SpmcArrayQueue;
+import org.jctools.queues.SpscArrayQueue;
+import org.jctools.queues.atomic.MpmcAtomicArrayQueue;
+import org.jctools.queues.atomic.MpscAtomicArrayQueue;
+import org.jctools.queues.atomic.SpmcAtomicArrayQueue;
+import org.jctools.queues.atomic.SpscAtomicArrayQueue;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded, non-blocking queue of timestamps, so the benchmarks treat the JDK and JCTools queues and
+ * a Disruptor ring alike.
+ */
+interface HandOffQueue {
+
+    String JCTOOLS = "JCToolsArrayQueue";
+    String JCTOOLS_ATOMIC = "JCToolsAtomicArrayQueue";
+    String ARRAY_BLOCKING = "ArrayBlockingQueue";
+    String CONCURRENT_LINKED = "ConcurrentLinkedQueue";
+    String LINKED_TRANSFER = "LinkedTransferQueue";
+    String DISRUPTOR = "Disruptor";
+
+    long EMPTY = Long.MIN_VALUE;
+
+    /**
+     * Returns false if the queue is full.
+     */
+    boolean offer(long value);
+
+    /**
+     * Returns {@link #EMPTY} if the queue is empty.
+     */
+    long poll();
+
+    /**
+     * Creates the implementation for the number of producers and consumers. The JCTools queues are the
+     * ones specialised for the shape, e.g. {@link SpscArrayQueue} for one producer and one consumer.
+     */
+    static HandOffQueue create(String implementation, int capacity, int producers, int consumers) {
+        boolean singleProducer = producers == 1;
+        boolean singleConsumer = consumers == 1;
+        switch (implementation) {
+        case JCTOOLS:
+            if (singleProducer) {
+                return new QueueAdapter(singleConsumer ? new SpscArrayQueue<>(capacity) : new SpmcArrayQueue<>(capacity));
+            }
+            return new QueueAdapter(singleConsumer ? new MpscArrayQueue<>(capacity) : new MpmcArrayQueue<>(capacity));
+        case JCTOOLS_ATOMIC:
+            if (singleProducer) {
+                return new QueueAdapter(singleConsumer ? new SpscAtomicArrayQueue<>(capacity) : new SpmcAtomicArrayQueue<>(capacity));
+            }
+            return new QueueAdapter(singleConsumer ? new MpscAtomicArrayQueue<>(capacity) : new MpmcAtomicArrayQueue<>(capacity));
+        case ARRAY_BLOCKING:
+            return new QueueAdapter(new ArrayBlockingQueue<>(capacity));
+        case CONCURRENT_LINKED:
+            return new BoundedQueueAdapter(new ConcurrentLinkedQueue<>(), capacity);
+        case LINKED_TRANSFER:
+            return new BoundedQueueAdapter(new LinkedTransferQueue<>(), capacity);
+        case DISRUPTOR:
+            return new RingBufferAdapter(capacity, singleProducer, consumers);
+        default:
+            throw new UnsupportedOperationException("Unsupported implementation " + implementation);
+        }
+    }
+
+    class QueueAdapter implements HandOffQueue {
+        private final Queue<Long> queue;
+
+        QueueAdapter(Queue<Long> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean offer(long value) {
+            return queue.offer(value);
+        }
+
+        @Override
+        public long poll() {
+            Long value = queue.poll();
+            return value == null ? EMPTY : value;
+        }
+    }
+
+    /**
+     * Bounds an unbounded queue by counting its elements, so fast producers can't fill the heap. The
+     * bound is approximate, concurrent producers may exceed it by one element each.
+     */
+    class BoundedQueueAdapter implements HandOffQueue {
+        private final Queue<Long> queue;
+        private final int capacity;
+        private final AtomicInteger size = new AtomicInteger();
+
+        BoundedQueueAdapter(Queue<Long> queue, int capacity) {
+            this.queue = queue;
+            this.capacity = capacity;
+        }
+
+        @Override
+        public boolean offer(long value) {
+            if (size.get() >= capacity) {
+                return false;
+            }
+            size.incrementAndGet();
+            return queue.offer(value);
+        }
+
+        @Override
+        public long poll() {
+            Long value = queue.poll();
+            if (value == null) {
+                return EMPTY;
+            }
+            size.decrementAndGet();
+            return value;
+        }
+    }
+
+    /**
+     * Uses a ring buffer as a work queue, each value is taken by one consumer like in a
+     * {@link com.lmax.disruptor.WorkerPool}: a consumer claims the next sequence from a shared work
+     * sequence and takes it once it is published. The values are stored in preallocated events, so
+     * unlike the queues nothing is boxed.
+     */
+    class RingBufferAdapter implements HandOffQueue {
+        private static final long NONE = -1;
+
+        private final RingBuffer<long[]> ringBuffer;
+        private final Sequence workSequence = new Sequence(-1);
+        private final Sequence[] consumerSequences;
+        private final AtomicInteger nextConsumer = new AtomicInteger();
+        private final ThreadLocal<Consumer> consumer;
+
+        RingBufferAdapter(int capacity, boolean singleProducer, int consumers) {
+            int size = Integer.highestOneBit(capacity - 1) << 1;
+            ringBuffer = RingBuffer.create(singleProducer ? ProducerType.SINGLE : ProducerType.MULTI, () -> new long[1], Math.max(size, 1), new YieldingWaitStrategy());
+            consumerSequences = new Sequence[consumers];
+            for (int i = 0; i < consumers; i++) {
+                consumerSequences[i] = new Sequence(-1);
+            }
+            ringBuffer.addGatingSequences(consumerSequences);
+            consumer = ThreadLocal.withInitial(() -> new Consumer(consumerSequences[nextConsumer.getAndIncrement()]));
+        }
+
+        @Override
+        public boolean offer(long value) {
+            try {
+                long sequence = ringBuffer.tryNext();
+                ringBuffer.get(sequence)[0] = value;
+                ringBuffer.publish(sequence);
+                return true;
+            } catch (InsufficientCapacityException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public long poll() {
+            Consumer current = consumer.get();
+            if (current.claimed == NONE) {
+                long next;
+                do {
+                    next = workSequence.get() + 1;
+                    current.sequence.set(next - 1);
+                } while (!workSequence.compareAndSet(next - 1, next));
+                current.claimed = next;
+            }
+            if (!ringBuffer.isPublished(current.claimed)) {
+                return EMPTY;
+            }
+            long value = ringBuffer.get(current.claimed)[0];
+            current.claimed = NONE;
+            return value;
+        }
+
+        /**
+         * The sequence a consumer has claimed and its gating sequence, which keeps producers from
+         * overwriting the event before it is read.
+         */
+        private static class Consumer {
+            final Sequence sequence;
+            long claimed = NONE;
+
+            Consumer(Sequence sequence) {
+                this.sequence = sequence;
+            }
+        }
+    }
+}
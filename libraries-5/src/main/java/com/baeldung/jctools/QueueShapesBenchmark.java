@@ -0,0 +1,187 @@
+package com.baeldung.jctools;
+
+import org.HdrHistogram.Histogram;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Control;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the queues of {@link HandOffQueue} for the shapes SPSC, MPSC, SPMC and MPMC and several
+ * capacities. Producers offer the current {@link System#nanoTime()} and consumers record the time
+ * since then, so besides the throughput the p99 and p99.99 hand-off latency of the measurement
+ * iterations is reported. As the producers offer as fast as they can, the latency includes the time
+ * spent waiting in a mostly full queue.
+ * <p>
+ * The shape follows from the thread groups, {@link #main} runs every shape, a single one is run with
+ * e.g. {@code java -jar target/benchmarks.jar QueueShapesBenchmark -tg 4,1}. Every trial appends its
+ * latencies as a JSON line to {@code -Dqueue.benchmark.latencies}, by default
+ * {@code target/queue-latencies.jsonl} below the working directory, which is created if missing.
+ * {@link #main} merges them with the throughput into {@code target/queue-benchmark-summary.json}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@State(Scope.Group)
+public class QueueShapesBenchmark {
+
+    public static final String GROUP_NAME = "handOff";
+
+    static final String LATENCIES_PROPERTY = "queue.benchmark.latencies";
+    static final int[][] SHAPES = { { 1, 1 }, { 2, 1 }, { 4, 1 }, { 1, 2 }, { 1, 4 }, { 2, 2 }, { 4, 4 } };
+
+    @Param({ HandOffQueue.JCTOOLS, HandOffQueue.JCTOOLS_ATOMIC, HandOffQueue.ARRAY_BLOCKING, HandOffQueue.CONCURRENT_LINKED, HandOffQueue.LINKED_TRANSFER, HandOffQueue.DISRUPTOR })
+    public String implementation;
+
+    @Param({ "128", "8192" })
+    public int capacity;
+
+    private HandOffQueue queue;
+    private Histogram latencies;
+    private int producers;
+    private int consumers;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkParams params) {
+        producers = params.getThreadGroups()[0];
+        consumers = params.getThreadGroups()[1];
+        queue = HandOffQueue.create(implementation, capacity, producers, consumers);
+        latencies = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        String line = String.format("{\"implementation\":\"%s\",\"capacity\":%d,\"producers\":%d,\"consumers\":%d,\"p50Nanos\":%d,\"p99Nanos\":%d,\"p9999Nanos\":%d,\"maxNanos\":%d}%n", implementation,
+            capacity, producers, consumers, latencies.getValueAtPercentile(50), latencies.getValueAtPercentile(99), latencies.getValueAtPercentile(99.99), latencies.getMaxValue());
+        Path path = Paths.get(System.getProperty(LATENCIES_PROPERTY, "target/queue-latencies.jsonl"))
+            .toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Files.write(path, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * The latencies one consumer records in an iteration, added to the group's once the iteration ends.
+     */
+    @State(Scope.Thread)
+    public static class ConsumerLatencies {
+        final Histogram histogram = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            histogram.reset();
+        }
+
+        @TearDown(Level.Iteration)
+        public void collect(QueueShapesBenchmark benchmark, IterationParams params) {
+            if (params.getType() == IterationType.MEASUREMENT) {
+                synchronized (benchmark.latencies) {
+                    benchmark.latencies.add(histogram);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @Group(GROUP_NAME)
+    @GroupThreads(1)
+    public boolean offer(Control control) {
+        while (!control.stopMeasurement) {
+            if (queue.offer(System.nanoTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    @Group(GROUP_NAME)
+    @GroupThreads(1)
+    public long poll(Control control, ConsumerLatencies consumerLatencies) {
+        while (!control.stopMeasurement) {
+            long offered = queue.poll();
+            if (offered != HandOffQueue.EMPTY) {
+                consumerLatencies.histogram.recordValue(Math.min(System.nanoTime() - offered, consumerLatencies.histogram.getHighestTrackableValue()));
+                return offered;
+            }
+        }
+        return HandOffQueue.EMPTY;
+    }
+
+    /**
+     * Runs every shape and writes the hand-offs per microsecond and the latency percentiles of every
+     * implementation, capacity and shape to {@code target/queue-benchmark-summary.json}.
+     */
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path latenciesFile = Paths.get("target", "queue-latencies.jsonl")
+            .toAbsolutePath();
+        Files.createDirectories(latenciesFile.getParent());
+        Files.deleteIfExists(latenciesFile);
+
+        Map<String, Double> handOffsPerMicrosecond = new HashMap<>();
+        for (int[] shape : SHAPES) {
+            Options options = new OptionsBuilder().include(QueueShapesBenchmark.class.getSimpleName())
+                .threadGroups(shape)
+                .jvmArgsAppend("-D" + LATENCIES_PROPERTY + "=" + latenciesFile)
+                .build();
+            Collection<RunResult> results = new Runner(options).run();
+            for (RunResult result : results) {
+                String key = key(result.getParams()
+                    .getParam("implementation"),
+                    Integer.parseInt(result.getParams()
+                        .getParam("capacity")),
+                    shape[0], shape[1]);
+                handOffsPerMicrosecond.put(key, result.getSecondaryResults()
+                    .get("poll")
+                    .getScore());
+            }
+        }
+
+        List<String> summary = new ArrayList<>();
+        for (String line : Files.readAllLines(latenciesFile, StandardCharsets.UTF_8)) {
+            String key = key(field(line, "implementation"), Integer.parseInt(field(line, "capacity")), Integer.parseInt(field(line, "producers")), Integer.parseInt(field(line, "consumers")));
+            summary.add(line.substring(0, line.length() - 1) + ",\"handOffsPerMicrosecond\":" + handOffsPerMicrosecond.get(key) + "}");
+        }
+        Path summaryFile = Paths.get("target", "queue-benchmark-summary.json");
+        Files.write(summaryFile, Collections.singletonList("[\n  " + String.join(",\n  ", summary) + "\n]"), StandardCharsets.UTF_8);
+        System.out.println("Summary written to " + summaryFile.toAbsolutePath());
+    }
+
+    private static String key(String implementation, int capacity, int producers, int consumers) {
+        return implementation + "/" + capacity + "/" + producers + "/" + consumers;
+    }
+
+    /**
+     * Reads a field of the flat JSON lines written by {@link #tearDown()}.
+     */
+    private static String field(String line, String name) {
+        int start = line.indexOf("\"" + name + "\":") + name.length() + 3;
+        int end = start;
+        while (line.charAt(end) != ',' && line.charAt(end) != '}') {
+            end++;
+        }
+        return line.substring(start, end)
+            .replace("\"", "");
+    }
+}
@@ -4,18 +4,27 @@ import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.actor.Props;
 import akka.testkit.TestKit;
+import akka.actor.Status;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import scala.concurrent.duration.Duration;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import static akka.pattern.PatternsCS.ask;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -23,6 +32,9 @@ public class AkkaActorsUnitTest {
 
     private static ActorSystem system = null;
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @BeforeClass
     public static void setup() {
         system = ActorSystem.create("test-system");
@@ -89,6 +101,46 @@ public class AkkaActorsUnitTest {
 //        Future<Terminated> terminateResponse = system.terminate();
     }
     
+    @Test
+    public void givenAnActor_whenSentABatchOfLines_respondWithTheWordsOfAllLines() {
+        final TestKit probe = new TestKit(system);
+        ActorRef wordCounterActorRef = probe.childActorOf(Props.create(WordCounterActor.class));
+
+        wordCounterActorRef.tell(new WordCounterActor.CountWordsBatch(Arrays.asList("this is a text", "  with\tspaces  ", "")), probe.testActor());
+
+        WordCounterActor.BatchCounted counted = probe.expectMsgClass(WordCounterActor.BatchCounted.class);
+        assertEquals(5, counted.numberOfWords);
+        assertEquals(3, counted.numberOfLines);
+    }
+
+    @Test
+    public void givenAnAggregator_whenCountingAFile_respondWithTheSumOfAllBatches() throws IOException {
+        File file = folder.newFile("text.txt");
+        Files.write(file.toPath(), TEXT.getBytes(StandardCharsets.UTF_8));
+
+        final TestKit probe = new TestKit(system);
+        ActorRef aggregatorRef = probe.childActorOf(WordCountAggregator.props(3, 2, 2));
+        aggregatorRef.tell(new WordCountAggregator.CountFile(file.getPath()), probe.testActor());
+
+        WordCountAggregator.FileCounted counted = probe.expectMsgClass(WordCountAggregator.FileCounted.class);
+        assertEquals(91, counted.getNumberOfWords());
+        assertEquals(11, counted.getNumberOfLines());
+
+        aggregatorRef.tell(new WordCountAggregator.CountFile(file.getPath()), probe.testActor());
+        assertEquals(91, probe.expectMsgClass(WordCountAggregator.FileCounted.class)
+                .getNumberOfWords());
+    }
+
+    @Test
+    public void givenAnAggregator_whenTheFileIsMissing_respondWithFailure() {
+        final TestKit probe = new TestKit(system);
+        ActorRef aggregatorRef = probe.childActorOf(WordCountAggregator.props(2, 10, 2));
+
+        aggregatorRef.tell(new WordCountAggregator.CountFile(new File(folder.getRoot(), "missing.txt").getPath()), probe.testActor());
+
+        probe.expectMsgClass(Status.Failure.class);
+    }
+
     private static String TEXT = "Lorem Ipsum is simply dummy text\n" +
             "of the printing and typesetting industry.\n" +
             "Lorem Ipsum has been the industry's standard dummy text\n" +
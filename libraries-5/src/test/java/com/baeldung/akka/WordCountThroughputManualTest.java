@@ -0,0 +1,85 @@
+package com.baeldung.akka;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.testkit.TestKit;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import scala.concurrent.duration.Duration;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Counts the words of a generated file of {@code -Dakka.wordcount.megabytes} megabytes, 2 GB by
+ * default, with 1 up to as many counters as there are cores and reports the lines and megabytes per
+ * second of each run.
+ */
+public class WordCountThroughputManualTest {
+
+    private static final long MEGABYTES = Long.getLong("akka.wordcount.megabytes", 2048);
+    private static final int BATCH_SIZE = 1000;
+    private static final String LINE = "Lorem Ipsum is simply dummy text of the printing and typesetting industry";
+    private static final int WORDS_PER_LINE = 12;
+
+    private static ActorSystem system = null;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setup() {
+        system = ActorSystem.create("word-count-throughput");
+    }
+
+    @AfterClass
+    public static void teardown() {
+        TestKit.shutdownActorSystem(system, Duration.apply(10, TimeUnit.SECONDS), true);
+        system = null;
+    }
+
+    @Test
+    public void givenALargeFile_whenCountedWithMoreCounters_thenReportThroughput() throws IOException {
+        File file = folder.newFile("words.txt");
+        long lines = generate(file, MEGABYTES * 1024 * 1024);
+
+        int cores = Runtime.getRuntime()
+                .availableProcessors();
+        for (int counters = 1; counters <= cores; counters++) {
+            final TestKit probe = new TestKit(system);
+            ActorRef aggregatorRef = probe.childActorOf(WordCountAggregator.props(counters, BATCH_SIZE, 4 * counters));
+
+            long start = System.nanoTime();
+            aggregatorRef.tell(new WordCountAggregator.CountFile(file.getPath()), probe.testActor());
+            WordCountAggregator.FileCounted counted = probe.expectMsgClass(Duration.apply(1, TimeUnit.HOURS), WordCountAggregator.FileCounted.class);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            assertEquals(lines, counted.getNumberOfLines());
+            assertEquals(lines * WORDS_PER_LINE, counted.getNumberOfWords());
+            System.out.printf("%2d counters %,14.0f lines/s %,8.1f MB/s%n", counters, lines / seconds, file.length() / seconds / (1024 * 1024));
+            system.stop(aggregatorRef);
+        }
+    }
+
+    private static long generate(File file, long size) throws IOException {
+        long lines = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (long written = 0; written < size; written += LINE.length() + 1) {
+                writer.write(LINE);
+                writer.write('\n');
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,85 @@
+package com.baeldung.jctools;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HandOffQueueUnitTest {
+
+    private static final String[] IMPLEMENTATIONS = { HandOffQueue.JCTOOLS, HandOffQueue.JCTOOLS_ATOMIC, HandOffQueue.ARRAY_BLOCKING, HandOffQueue.CONCURRENT_LINKED, HandOffQueue.LINKED_TRANSFER,
+        HandOffQueue.DISRUPTOR };
+    private static final int VALUES_PER_PRODUCER = 20_000;
+
+    @Test
+    public void givenEmptyQueue_whenPolled_thenEmptyIsReturned() {
+        for (String implementation : IMPLEMENTATIONS) {
+            HandOffQueue queue = HandOffQueue.create(implementation, 4, 1, 1);
+
+            assertThat(queue.poll()).as(implementation)
+                .isEqualTo(HandOffQueue.EMPTY);
+            assertThat(queue.offer(42)).as(implementation)
+                .isTrue();
+            assertThat(queue.poll()).as(implementation)
+                .isEqualTo(42);
+        }
+    }
+
+    @Test
+    public void givenEveryShape_whenValuesHandedOff_thenEachIsTakenExactlyOnce() throws InterruptedException {
+        for (String implementation : IMPLEMENTATIONS) {
+            for (int[] shape : QueueShapesBenchmark.SHAPES) {
+                handOff(implementation, shape[0], shape[1]);
+            }
+        }
+    }
+
+    private static void handOff(String implementation, int producers, int consumers) throws InterruptedException {
+        HandOffQueue queue = HandOffQueue.create(implementation, 128, producers, consumers);
+        int total = producers * VALUES_PER_PRODUCER;
+        AtomicInteger taken = new AtomicInteger();
+        ConcurrentLinkedQueue<Long> received = new ConcurrentLinkedQueue<>();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long first = (long) p * VALUES_PER_PRODUCER;
+            threads.add(new Thread(() -> {
+                for (long value = first; value < first + VALUES_PER_PRODUCER; value++) {
+                    while (!queue.offer(value)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads.add(new Thread(() -> {
+                while (taken.get() < total) {
+                    long value = queue.poll();
+                    if (value == HandOffQueue.EMPTY) {
+                        Thread.yield();
+                    } else {
+                        received.add(value);
+                        taken.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        BitSet seen = new BitSet(total);
+        received.forEach(value -> seen.set(value.intValue()));
+        String shape = implementation + " " + producers + "," + consumers;
+        assertThat(received).as(shape)
+            .hasSize(total);
+        assertThat(seen.cardinality()).as(shape)
+            .isEqualTo(total);
+    }
+}
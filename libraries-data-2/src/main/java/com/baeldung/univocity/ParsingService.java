@@ -3,19 +3,40 @@ package com.baeldung.univocity;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.baeldung.univocity.model.Product;
+import com.univocity.parsers.common.IterableResult;
+import com.univocity.parsers.common.ParsingContext;
+import com.univocity.parsers.common.ResultIterator;
+import com.univocity.parsers.common.processor.AbstractRowProcessor;
 import com.univocity.parsers.common.processor.BatchedColumnProcessor;
 import com.univocity.parsers.common.processor.BeanListProcessor;
 import com.univocity.parsers.csv.CsvParser;
 import com.univocity.parsers.csv.CsvParserSettings;
+import com.univocity.parsers.csv.CsvRoutines;
 import com.univocity.parsers.fixed.FixedWidthFields;
 import com.univocity.parsers.fixed.FixedWidthParser;
 import com.univocity.parsers.fixed.FixedWidthParserSettings;
@@ -25,10 +46,7 @@ public class ParsingService {
 
     public List<String[]> parseCsvFile(String relativePath) {
         try (Reader inputReader = new InputStreamReader(new FileInputStream(new File(relativePath)), "UTF-8")) {
-            CsvParserSettings settings = new CsvParserSettings();
-            settings.setMaxCharsPerColumn(100);
-            settings.setMaxColumns(50);
-            CsvParser parser = new CsvParser(settings);
+            CsvParser parser = new CsvParser(csvSettings());
             List<String[]> parsedRows = parser.parseAll(inputReader);
             return parsedRows;
         } catch (IOException e) {
@@ -39,10 +57,7 @@ public class ParsingService {
 
     public List<String[]> parseFixedWidthFile(String relativePath) {
         try (Reader inputReader = new InputStreamReader(new FileInputStream(new File(relativePath)), "UTF-8")) {
-            FixedWidthFields fieldLengths = new FixedWidthFields(8, 30, 10);
-            FixedWidthParserSettings settings = new FixedWidthParserSettings(fieldLengths);
-
-            FixedWidthParser parser = new FixedWidthParser(settings);
+            FixedWidthParser parser = new FixedWidthParser(fixedWidthSettings());
             List<String[]> parsedRows = parser.parseAll(inputReader);
             return parsedRows;
         } catch (IOException e) {
@@ -82,4 +97,196 @@ public class ParsingService {
             return new ArrayList<String[]>();
         }
     }
+
+    /**
+     * Streams the rows of a CSV file as they are parsed instead of collecting them, so the file may be
+     * larger than the heap. The stream must be closed, which closes the file if it wasn't read to the end.
+     */
+    public Stream<String[]> streamCsvFile(String relativePath) {
+        return stream(relativePath, inputReader -> new CsvParser(csvSettings()).iterate(inputReader));
+    }
+
+    public Stream<String[]> streamFixedWidthFile(String relativePath) {
+        return stream(relativePath, inputReader -> new FixedWidthParser(fixedWidthSettings()).iterate(inputReader));
+    }
+
+    public Stream<Product> streamCsvFileIntoBeans(String relativePath) {
+        return stream(relativePath, inputReader -> {
+            CsvParserSettings settings = new CsvParserSettings();
+            settings.setHeaderExtractionEnabled(true);
+            return new CsvRoutines(settings).iterate(Product.class, inputReader);
+        });
+    }
+
+    /**
+     * Hands every row of a CSV file to the consumer as soon as it is parsed and returns the number of
+     * rows. Only the selected columns are kept, by default all of them, so the parser doesn't create
+     * strings for columns that are never read.
+     */
+    public long parseCsvFile(String relativePath, Consumer<String[]> rowConsumer, Integer... selectedColumns) {
+        try (Reader inputReader = new InputStreamReader(new FileInputStream(new File(relativePath)), "UTF-8")) {
+            return parse(inputReader, rowConsumer, selectedColumns);
+        } catch (IOException e) {
+            logger.error("IOException opening file: " + relativePath + " " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Splits a CSV file at line breaks into one part per worker and parses the parts concurrently, each
+     * with its own parser. The rows of different parts reach the consumer in no particular order and
+     * from several threads, so the consumer must be thread safe.
+     * <p>
+     * Quoted values must not contain line breaks, as a part may start in the middle of such a value.
+     */
+    public long parseCsvFileInParallel(String relativePath, int workers, Consumer<String[]> rowConsumer, Integer... selectedColumns) {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try (FileChannel channel = FileChannel.open(Paths.get(relativePath), StandardOpenOption.READ)) {
+            List<Future<Long>> parts = new ArrayList<>();
+            for (long[] range : splitAtLineBreaks(channel, workers)) {
+                parts.add(executor.submit(() -> {
+                    try (Reader inputReader = new InputStreamReader(new RangeInputStream(channel, range[0], range[1]), StandardCharsets.UTF_8)) {
+                        return parse(inputReader, rowConsumer, selectedColumns);
+                    }
+                }));
+            }
+            long rows = 0;
+            for (Future<Long> part : parts) {
+                rows += part.get();
+            }
+            return rows;
+        } catch (IOException e) {
+            logger.error("IOException opening file: " + relativePath + " " + e.getMessage());
+            return 0;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw new UncheckedIOException((IOException) e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+            throw new IllegalStateException("Interrupted while parsing " + relativePath, e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long parse(Reader inputReader, Consumer<String[]> rowConsumer, Integer... selectedColumns) {
+        long[] rows = new long[1];
+        CsvParserSettings settings = csvSettings();
+        if (selectedColumns.length > 0) {
+            settings.selectIndexes(selectedColumns);
+        }
+        settings.setProcessor(new AbstractRowProcessor() {
+            @Override
+            public void rowProcessed(String[] row, ParsingContext context) {
+                rowConsumer.accept(row);
+                rows[0]++;
+            }
+        });
+        new CsvParser(settings).parse(inputReader);
+        return rows[0];
+    }
+
+    private <T> Stream<T> stream(String relativePath, ParserFactory<T> parserFactory) {
+        Reader inputReader;
+        try {
+            inputReader = new InputStreamReader(new FileInputStream(new File(relativePath)), "UTF-8");
+        } catch (IOException e) {
+            logger.error("IOException opening file: " + relativePath + " " + e.getMessage());
+            return Stream.empty();
+        }
+        ResultIterator<T, ParsingContext> rows = parserFactory.iterate(inputReader)
+            .iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> rows.getContext()
+                .stop());
+    }
+
+    private static CsvParserSettings csvSettings() {
+        CsvParserSettings settings = new CsvParserSettings();
+        settings.setMaxCharsPerColumn(100);
+        settings.setMaxColumns(50);
+        return settings;
+    }
+
+    private static FixedWidthParserSettings fixedWidthSettings() {
+        FixedWidthFields fieldLengths = new FixedWidthFields(8, 30, 10);
+        return new FixedWidthParserSettings(fieldLengths);
+    }
+
+    /**
+     * Returns the byte ranges of up to {@code parts} parts of roughly the same size, each ending after a line break or at the end of the file.
+     */
+    static List<long[]> splitAtLineBreaks(FileChannel channel, int parts) throws IOException {
+        long size = channel.size();
+        List<long[]> ranges = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+        long start = 0;
+        for (int part = 1; part <= parts && start < size; part++) {
+            long end = part == parts ? size : nextLineStart(channel, Math.max(start, size / parts * part), buffer);
+            if (end > start) {
+                ranges.add(new long[] { start, end });
+            }
+            start = end;
+        }
+        return ranges;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private interface ParserFactory<T> {
+        IterableResult<T, ParsingContext> iterate(Reader inputReader);
+    }
+
+    /**
+     * Reads one byte range of a file with positional reads, so several of them can share a channel.
+     */
+    private static class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(bytes, offset, (int) Math.min(length, end - position)), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
 }
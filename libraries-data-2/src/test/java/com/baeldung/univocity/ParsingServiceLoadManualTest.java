@@ -0,0 +1,99 @@
+package com.baeldung.univocity;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Generates a CSV file of {@code -Dunivocity.load.megabytes} megabytes, 2 GB by default, and reports the
+ * rows per second and the peak heap usage of each way of parsing it. With a heap smaller than the file
+ * {@code parseAll} is expected to fail with an {@link OutOfMemoryError}, which is reported as well.
+ */
+public class ParsingServiceLoadManualTest {
+
+    private static final long MEGABYTES = Long.getLong("univocity.load.megabytes", 2048);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void whenParsingLargeFile_thenReportThroughputAndPeakHeap() throws IOException {
+        String path = generate(folder.newFile("products.csv"), MEGABYTES * 1024 * 1024);
+        ParsingService parsingService = new ParsingService();
+        int workers = Runtime.getRuntime()
+            .availableProcessors();
+
+        run("parseAll", () -> {
+            List<String[]> rows = parsingService.parseCsvFile(path);
+            return rows.size();
+        });
+        run("stream", () -> {
+            try (Stream<String[]> rows = parsingService.streamCsvFile(path)) {
+                return rows.count();
+            }
+        });
+        run("callback", () -> parsingService.parseCsvFile(path, ParsingServiceLoadManualTest::consume));
+        run("callback, 2 of 3 columns", () -> parsingService.parseCsvFile(path, ParsingServiceLoadManualTest::consume, 0, 2));
+        LongAdder characters = new LongAdder();
+        run("parallel, " + workers + " workers", () -> parsingService.parseCsvFileInParallel(path, workers, row -> characters.add(row[0].length())));
+    }
+
+    private static void run(String name, ParsingRun parsingRun) {
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = heapPools();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long start = System.nanoTime();
+        try {
+            long rows = parsingRun.parse();
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-28s %,14.0f rows/s %,10d MB peak heap%n", name, rows * 1e9 / elapsed, peakHeapUsage(heapPools) / (1024 * 1024));
+        } catch (OutOfMemoryError e) {
+            System.out.printf("%-28s %14s %,10d MB peak heap%n", name, "out of memory", peakHeapUsage(heapPools) / (1024 * 1024));
+        }
+    }
+
+    private static long consume(String[] row) {
+        return row[0].length();
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+        pools.removeIf(pool -> pool.getType() != MemoryType.HEAP);
+        return pools;
+    }
+
+    private static long peakHeapUsage(List<MemoryPoolMXBean> heapPools) {
+        return heapPools.stream()
+            .mapToLong(pool -> pool.getPeakUsage()
+                .getUsed())
+            .sum();
+    }
+
+    private static String generate(File file, long size) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            long written = 0;
+            for (int i = 0; written < size; i++) {
+                String line = String.format("P%08d,\"Widget, model %d\",%d.%02d%n", i, i % 1000, i % 500, i % 100);
+                writer.write(line);
+                written += line.length();
+            }
+        }
+        return file.getPath();
+    }
+
+    private interface ParsingRun {
+        long parse();
+    }
+}
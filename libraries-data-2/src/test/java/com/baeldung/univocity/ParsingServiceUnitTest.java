@@ -1,10 +1,17 @@
 package com.baeldung.univocity;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.After;
 import org.junit.Test;
@@ -120,4 +127,85 @@ public class ParsingServiceUnitTest {
         List<String[]> productData = parsingService.parseCsvFileInBatches("src/test/resources/largeProductList.csv");
         assertEquals(36, productData.size());
     }
+
+    @Test
+    public void givenCsvFile_whenStreamed_thenSameRowsAsParseAllAreReturned() {
+        ParsingService parsingService = new ParsingService();
+        List<String[]> parsedRows = parsingService.parseCsvFile("src/test/resources/largeProductList.csv");
+        try (Stream<String[]> rows = parsingService.streamCsvFile("src/test/resources/largeProductList.csv")) {
+            assertArrayEquals(parsedRows.toArray(), rows.toArray());
+        }
+    }
+
+    @Test
+    public void givenFixedWidthFile_whenStreamed_thenSameRowsAsParseAllAreReturned() {
+        ParsingService parsingService = new ParsingService();
+        List<String[]> parsedRows = parsingService.parseFixedWidthFile("src/test/resources/productList.txt");
+        try (Stream<String[]> rows = parsingService.streamFixedWidthFile("src/test/resources/productList.txt")) {
+            assertArrayEquals(parsedRows.toArray(), rows.toArray());
+        }
+    }
+
+    @Test
+    public void givenCsvFile_whenStreamedIntoBeans_thenBeansAreReturned() {
+        ParsingService parsingService = new ParsingService();
+        try (Stream<Product> products = parsingService.streamCsvFileIntoBeans("src/test/resources/productListWithHeaders.csv")) {
+            assertEquals(Arrays.asList("99-378AG", "TB-333-0"), products.map(Product::getProductNumber)
+                .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void givenCsvFile_whenStreamClosedEarly_thenRemainingRowsAreNotRead() {
+        ParsingService parsingService = new ParsingService();
+        try (Stream<String[]> rows = parsingService.streamCsvFile("src/test/resources/largeProductList.csv")) {
+            assertEquals("A8993-10", rows.findFirst()
+                .get()[0]);
+        }
+    }
+
+    @Test
+    public void givenMissingFile_whenStreamed_thenStreamIsEmpty() {
+        ParsingService parsingService = new ParsingService();
+        try (Stream<String[]> rows = parsingService.streamCsvFile("src/test/resources/missing.csv")) {
+            assertEquals(0, rows.count());
+        }
+    }
+
+    @Test
+    public void givenCsvFileAndSelectedColumns_whenParsedWithCallback_thenOnlySelectedColumnsAreHandedOver() {
+        ParsingService parsingService = new ParsingService();
+        List<String[]> rows = new ArrayList<>();
+        long count = parsingService.parseCsvFile("src/test/resources/productList.csv", rows::add, 0, 2);
+        assertEquals(3, count);
+        assertArrayEquals(new String[] { "A8993-10", "35.42" }, rows.get(0));
+        assertArrayEquals(new String[] { "D-2938-1", "245.99" }, rows.get(1));
+    }
+
+    @Test
+    public void givenLargeCsvFile_whenParsedInParallel_thenEveryRowIsHandedOverOnce() {
+        ParsingService parsingService = new ParsingService();
+        List<String[]> rows = Collections.synchronizedList(new ArrayList<>());
+        long count = parsingService.parseCsvFileInParallel("src/test/resources/largeProductList.csv", 4, rows::add);
+
+        List<String[]> parsedRows = parsingService.parseCsvFile("src/test/resources/largeProductList.csv");
+        assertEquals(parsedRows.size(), count);
+        assertEquals(sorted(parsedRows), sorted(rows));
+    }
+
+    @Test
+    public void givenMoreWorkersThanLines_whenParsedInParallel_thenEveryRowIsHandedOverOnce() {
+        ParsingService parsingService = new ParsingService();
+        List<String[]> rows = Collections.synchronizedList(new ArrayList<>());
+        long count = parsingService.parseCsvFileInParallel("src/test/resources/productList.csv", 16, rows::add);
+        assertEquals(3, count);
+        assertTrue(sorted(rows).contains("R3212-32,Standard widget,2.34"));
+    }
+
+    private static List<String> sorted(List<String[]> rows) {
+        return rows.stream()
+            .map(row -> String.join(",", row))
+            .sorted(Comparator.naturalOrder())
+            .collect(Collectors.toList());
+    }
 }
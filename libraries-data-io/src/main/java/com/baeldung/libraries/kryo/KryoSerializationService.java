@@ -0,0 +1,388 @@
+package com.baeldung.libraries.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.ByteBufferInput;
+import com.esotericsoftware.kryo.io.ByteBufferOutput;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.pool.KryoPool;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe facade over Kryo, which itself is not.
+ * <p>
+ * Every call borrows a {@link Kryo} from a pool and a set of direct buffers from a second pool, so
+ * instances and buffers are created once per concurrent caller instead of once per call. Registration
+ * is required and every class gets a fixed id, which is written instead of the class name and must be
+ * the same on the writing and the reading side.
+ * <p>
+ * Sequences of objects are streamed over channels as records prefixed by their length as a big endian
+ * int, so a reader can frame them without parsing them.
+ */
+public class KryoSerializationService {
+
+    private static final int LENGTH_PREFIX_SIZE = 4;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final KryoPool kryoPool;
+    private final Queue<Buffers> buffersPool = new ConcurrentLinkedQueue<>();
+    private final int bufferSize;
+    private final int maxRecordSize;
+
+    private KryoSerializationService(Builder builder) {
+        List<Registration> registrations = new ArrayList<>(builder.registrations);
+        boolean references = builder.references;
+        this.kryoPool = new KryoPool.Builder(() -> {
+            Kryo kryo = new Kryo();
+            kryo.setRegistrationRequired(true);
+            kryo.setReferences(references);
+            for (Registration registration : registrations) {
+                if (registration.serializer == null) {
+                    kryo.register(registration.type, registration.id);
+                } else {
+                    kryo.register(registration.type, registration.serializer, registration.id);
+                }
+            }
+            return kryo;
+        }).softReferences()
+            .build();
+        this.bufferSize = builder.bufferSize;
+        this.maxRecordSize = builder.maxRecordSize;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public byte[] serialize(Object object) {
+        Buffers buffers = borrowBuffers();
+        Kryo kryo = kryoPool.borrow();
+        try {
+            buffers.output.clear();
+            kryo.writeClassAndObject(buffers.output, object);
+            return buffers.output.toBytes();
+        } finally {
+            kryoPool.release(kryo);
+            releaseBuffers(buffers);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(byte[] bytes) {
+        Buffers buffers = borrowBuffers();
+        Kryo kryo = kryoPool.borrow();
+        try {
+            buffers.heapInput.setBuffer(bytes);
+            return (T) kryo.readClassAndObject(buffers.heapInput);
+        } finally {
+            buffers.heapInput.setBuffer(EMPTY);
+            kryoPool.release(kryo);
+            releaseBuffers(buffers);
+        }
+    }
+
+    /**
+     * Writes the object as one length-prefixed record, straight from a pooled direct buffer.
+     */
+    public void write(WritableByteChannel channel, Object object) throws IOException {
+        writeAll(channel, Collections.singletonList(object));
+    }
+
+    /**
+     * Writes every object as a length-prefixed record. Records are gathered in the pooled direct buffer
+     * and written to the channel whenever it fills up, and once more at the end.
+     */
+    public void writeAll(WritableByteChannel channel, Iterable<?> objects) throws IOException {
+        Buffers buffers = borrowBuffers();
+        Kryo kryo = kryoPool.borrow();
+        ByteBufferOutput output = buffers.output;
+        try {
+            output.clear();
+            for (Object object : objects) {
+                int start = output.position();
+                output.writeInt(0);
+                kryo.writeClassAndObject(output, object);
+                int length = output.position() - start - LENGTH_PREFIX_SIZE;
+                if (length > maxRecordSize) {
+                    throw new KryoException("Record of " + length + " bytes exceeds the maximum of " + maxRecordSize);
+                }
+                putLength(output.getByteBuffer(), start, length);
+                if (output.position() >= bufferSize) {
+                    flush(output, channel);
+                }
+            }
+            flush(output, channel);
+        } finally {
+            output.clear();
+            kryoPool.release(kryo);
+            releaseBuffers(buffers);
+        }
+    }
+
+    /**
+     * Reads the next record, or returns null at the end of the channel. Reads exactly one record from
+     * the channel, use {@link #readAll} to read a whole channel with fewer, larger reads.
+     *
+     * @throws EOFException if the channel ends within a record
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(ReadableByteChannel channel) throws IOException {
+        Buffers buffers = borrowBuffers();
+        Kryo kryo = kryoPool.borrow();
+        try {
+            ByteBuffer buffer = buffers.readBuffer;
+            buffer.clear();
+            buffer.limit(LENGTH_PREFIX_SIZE);
+            if (!readFully(channel, buffer)) {
+                if (buffer.position() == 0) {
+                    return null;
+                }
+                throw new EOFException("Channel ended within a record");
+            }
+            buffer.flip();
+            int length = getLength(buffer);
+
+            buffer = buffers.readBuffer(length);
+            buffer.clear();
+            buffer.limit(length);
+            if (!readFully(channel, buffer)) {
+                throw new EOFException("Channel ended within a record");
+            }
+            buffer.flip();
+            return (T) readRecord(kryo, buffers.input, buffer, length);
+        } finally {
+            kryoPool.release(kryo);
+            releaseBuffers(buffers);
+        }
+    }
+
+    /**
+     * Reads records until the end of the channel and passes them to the consumer in order.
+     *
+     * @return the number of records read
+     * @throws EOFException if the channel ends within a record
+     */
+    @SuppressWarnings("unchecked")
+    public <T> long readAll(ReadableByteChannel channel, Consumer<? super T> consumer) throws IOException {
+        Buffers buffers = borrowBuffers();
+        Kryo kryo = kryoPool.borrow();
+        try {
+            ByteBuffer buffer = buffers.readBuffer;
+            buffer.clear();
+            buffer.flip();
+            long count = 0;
+            while (true) {
+                buffer = fill(channel, buffers, LENGTH_PREFIX_SIZE);
+                if (buffer.remaining() < LENGTH_PREFIX_SIZE) {
+                    if (buffer.hasRemaining()) {
+                        throw new EOFException("Channel ended within a record");
+                    }
+                    return count;
+                }
+                int length = getLength(buffer);
+                buffer = fill(channel, buffers, length);
+                if (buffer.remaining() < length) {
+                    throw new EOFException("Channel ended within a record");
+                }
+                consumer.accept((T) readRecord(kryo, buffers.input, buffer, length));
+                count++;
+            }
+        } finally {
+            kryoPool.release(kryo);
+            releaseBuffers(buffers);
+        }
+    }
+
+    /**
+     * Deserializes the record at the position of the buffer and moves the position past it.
+     */
+    private static Object readRecord(Kryo kryo, ByteBufferInput input, ByteBuffer buffer, int length) throws IOException {
+        int limit = buffer.limit();
+        int end = buffer.position() + length;
+        buffer.limit(end);
+        input.setBuffer(buffer);
+        try {
+            return kryo.readClassAndObject(input);
+        } catch (KryoException e) {
+            throw new IOException("Could not read record of " + length + " bytes", e);
+        } finally {
+            buffer.limit(limit);
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Reads from the channel until the read buffer holds at least the required bytes or the channel ends,
+     * growing the buffer if needed, and returns the buffer ready for reading.
+     */
+    private static ByteBuffer fill(ReadableByteChannel channel, Buffers buffers, int required) throws IOException {
+        ByteBuffer buffer = buffers.readBuffer;
+        if (buffer.remaining() >= required) {
+            return buffer;
+        }
+        if (buffer.capacity() < required) {
+            ByteBuffer larger = buffers.readBuffer(required);
+            larger.clear();
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < required) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return false if the channel ended before the buffer was full
+     */
+    private static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void flush(ByteBufferOutput output, WritableByteChannel channel) throws IOException {
+        ByteBuffer records = output.getByteBuffer();
+        records.flip();
+        while (records.hasRemaining()) {
+            channel.write(records);
+        }
+        output.clear();
+    }
+
+    /**
+     * Writes the length byte by byte, since Kryo switches the byte order of the buffer while writing varints.
+     */
+    private static void putLength(ByteBuffer buffer, int index, int length) {
+        buffer.put(index, (byte) (length >>> 24));
+        buffer.put(index + 1, (byte) (length >>> 16));
+        buffer.put(index + 2, (byte) (length >>> 8));
+        buffer.put(index + 3, (byte) length);
+    }
+
+    private int getLength(ByteBuffer buffer) throws IOException {
+        int length = (buffer.get() & 0xFF) << 24 | (buffer.get() & 0xFF) << 16 | (buffer.get() & 0xFF) << 8 | buffer.get() & 0xFF;
+        if (length < 0 || length > maxRecordSize) {
+            throw new IOException("Invalid record length " + length);
+        }
+        return length;
+    }
+
+    private Buffers borrowBuffers() {
+        Buffers buffers = buffersPool.poll();
+        return buffers != null ? buffers : new Buffers(bufferSize, maxRecordSize);
+    }
+
+    private void releaseBuffers(Buffers buffers) {
+        buffersPool.offer(buffers);
+    }
+
+    private static class Buffers {
+
+        private final ByteBufferOutput output;
+        private final ByteBufferInput input = new ByteBufferInput();
+        private final Input heapInput = new Input();
+        private ByteBuffer readBuffer;
+
+        Buffers(int bufferSize, int maxRecordSize) {
+            this.output = new ByteBufferOutput(bufferSize, bufferSize + maxRecordSize + LENGTH_PREFIX_SIZE);
+            this.readBuffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        /**
+         * Returns the read buffer, replaced by a larger one if it can't hold the given number of bytes.
+         */
+        ByteBuffer readBuffer(int capacity) {
+            if (readBuffer.capacity() < capacity) {
+                readBuffer = ByteBuffer.allocateDirect(Math.max(capacity, readBuffer.capacity() * 2));
+            }
+            return readBuffer;
+        }
+    }
+
+    private static class Registration {
+
+        private final Class<?> type;
+        private final Serializer<?> serializer;
+        private final int id;
+
+        Registration(Class<?> type, Serializer<?> serializer, int id) {
+            this.type = type;
+            this.serializer = serializer;
+            this.id = id;
+        }
+    }
+
+    public static class Builder {
+
+        private final List<Registration> registrations = new ArrayList<>();
+        private boolean references;
+        private int bufferSize = 4 * 1024;
+        private int maxRecordSize = 16 * 1024 * 1024;
+
+        private Builder() {
+        }
+
+        /**
+         * Registers the class with its default serializer. Ids below 10 are taken by Kryo's primitive
+         * and String registrations.
+         */
+        public Builder register(Class<?> type, int id) {
+            registrations.add(new Registration(type, null, id));
+            return this;
+        }
+
+        /**
+         * Registers the class with a serializer, which is shared by the pooled Kryo instances and so must be stateless.
+         */
+        public <T> Builder register(Class<T> type, Serializer<T> serializer, int id) {
+            registrations.add(new Registration(type, serializer, id));
+            return this;
+        }
+
+        /**
+         * Tracks shared and cyclic references, off by default since trees of values don't need it.
+         */
+        public Builder references(boolean references) {
+            this.references = references;
+            return this;
+        }
+
+        /**
+         * The initial size of the pooled direct buffers, which grow up to the maximum record size.
+         */
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public Builder maxRecordSize(int maxRecordSize) {
+            this.maxRecordSize = maxRecordSize;
+            return this;
+        }
+
+        public KryoSerializationService build() {
+            return new KryoSerializationService(this);
+        }
+    }
+}
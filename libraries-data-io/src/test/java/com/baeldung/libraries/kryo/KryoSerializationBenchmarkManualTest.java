@@ -0,0 +1,167 @@
+package com.baeldung.libraries.kryo;
+
+import com.baeldung.serialization.protocols.User;
+import com.baeldung.serialization.protocols.UserProtos;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and reads back a batch of 1000 users with Java serialization, protobuf's {@link UserProtos},
+ * Kryo instances created per call as in {@link KryoUnitTest}, and the pooled {@link KryoSerializationService},
+ * from two threads. The encoded batch sizes are printed before the benchmarks run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(2)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KryoSerializationBenchmarkManualTest {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private List<User> users;
+    private List<UserProtos.User> protoUsers;
+    private KryoSerializationService service;
+
+    @Setup
+    public void setUp() {
+        users = new ArrayList<>();
+        protoUsers = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setName("User number " + i);
+            users.add(user);
+            protoUsers.add(UserProtos.User.newBuilder()
+                .setId(i)
+                .setName(user.getName())
+                .build());
+        }
+        service = KryoSerializationService.builder()
+            .register(User.class, 10)
+            .build();
+    }
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        setUp();
+        System.out.printf("Batch of %d users: java %d bytes, protobuf %d bytes, kryo %d bytes, pooled kryo %d bytes%n", BATCH_SIZE, javaSerialization().length, protobufWrite().length,
+            kryoPerCallWrite().length, kryoPooledWrite().length);
+
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .build();
+        new Runner(options).run();
+    }
+
+    @Benchmark
+    public int javaSerializationRoundTrip() throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(javaSerialization()))) {
+            int read = 0;
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                read += ((User) in.readObject()).getId();
+            }
+            return read;
+        }
+    }
+
+    @Benchmark
+    public int protobufRoundTrip() throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(protobufWrite());
+        int read = 0;
+        UserProtos.User user;
+        while ((user = UserProtos.User.parseDelimitedFrom(in)) != null) {
+            read += user.getId();
+        }
+        return read;
+    }
+
+    @Benchmark
+    public int kryoPerCallRoundTrip() {
+        byte[] bytes = kryoPerCallWrite();
+        Kryo kryo = newKryo();
+        int read = 0;
+        try (Input input = new Input(bytes)) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                read += kryo.readObject(input, User.class)
+                    .getId();
+            }
+        }
+        return read;
+    }
+
+    @Benchmark
+    public int kryoPooledRoundTrip() throws IOException {
+        int[] read = new int[1];
+        service.<User> readAll(Channels.newChannel(new ByteArrayInputStream(kryoPooledWrite())), user -> read[0] += user.getId());
+        return read[0];
+    }
+
+    private byte[] javaSerialization() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            for (User user : users) {
+                out.writeObject(user);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] protobufWrite() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (UserProtos.User user : protoUsers) {
+            user.writeDelimitedTo(bytes);
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] kryoPerCallWrite() {
+        Kryo kryo = newKryo();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Output output = new Output(bytes)) {
+            for (User user : users) {
+                kryo.writeObject(output, user);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] kryoPooledWrite() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        service.writeAll(Channels.newChannel(bytes), users);
+        return bytes.toByteArray();
+    }
+
+    private static Kryo newKryo() {
+        Kryo kryo = new Kryo();
+        kryo.register(User.class);
+        return kryo;
+    }
+}
@@ -0,0 +1,134 @@
+package com.baeldung.libraries.kryo;
+
+import com.esotericsoftware.kryo.KryoException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class KryoSerializationServiceUnitTest {
+
+    private final KryoSerializationService service = KryoSerializationService.builder()
+        .register(Person.class, new PersonSerializer(), 10)
+        .register(ComplexClass.class, 11)
+        .register(int[].class, 12)
+        .build();
+
+    @Test
+    public void givenRegisteredClass_whenSerializing_thenReadCorrectly() {
+        Person person = new Person();
+        person.setName("Jane Doe");
+
+        Person readPerson = service.deserialize(service.serialize(person));
+
+        assertEquals("Jane Doe", readPerson.getName());
+        assertEquals(person.getBirthDate(), readPerson.getBirthDate());
+    }
+
+    @Test
+    public void givenRegisteredClass_whenSerializing_thenClassIsWrittenAsId() {
+        byte[] bytes = service.serialize(new ComplexClass());
+
+        assertEquals("Bael", service.<ComplexClass> deserialize(bytes)
+            .getName());
+        assertEquals(-1, new String(bytes).indexOf("ComplexClass"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenUnregisteredClass_whenSerializing_thenRejected() {
+        service.serialize(new Date());
+    }
+
+    @Test
+    public void givenSequenceOfObjects_whenStreaming_thenReadInOrder() throws Exception {
+        List<Object> objects = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Person person = new Person();
+            person.setName("Person " + i);
+            objects.add(person);
+            objects.add(new int[] { i, i * 2 });
+        }
+        int[] large = new int[100_000];
+        Arrays.fill(large, 7);
+        objects.add(large);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        service.writeAll(Channels.newChannel(bytes), objects);
+        service.write(Channels.newChannel(bytes), "last");
+
+        List<Object> readObjects = new ArrayList<>();
+        long count = service.readAll(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), readObjects::add);
+
+        assertEquals(objects.size() + 1, count);
+        assertEquals("Person 999", ((Person) readObjects.get(1998)).getName());
+        assertArrayEquals(new int[] { 999, 1998 }, (int[]) readObjects.get(1999));
+        assertArrayEquals(large, (int[]) readObjects.get(2000));
+        assertEquals("last", readObjects.get(2001));
+    }
+
+    @Test
+    public void givenEndOfChannel_whenReading_thenReturnsNull() throws Exception {
+        assertNull(service.read(Channels.newChannel(new ByteArrayInputStream(new byte[0]))));
+    }
+
+    @Test(expected = EOFException.class)
+    public void givenTruncatedRecord_whenReading_thenFails() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        service.write(Channels.newChannel(bytes), new ComplexClass());
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+
+        service.read(Channels.newChannel(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test(expected = KryoException.class)
+    public void givenRecordAboveMaximumSize_whenWriting_thenFails() throws Exception {
+        KryoSerializationService small = KryoSerializationService.builder()
+            .register(int[].class, 10)
+            .bufferSize(64)
+            .maxRecordSize(1024)
+            .build();
+
+        small.write(Channels.newChannel(new ByteArrayOutputStream()), new int[1024]);
+    }
+
+    @Test
+    public void givenManyThreads_whenSharingService_thenEveryObjectRoundTrips() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        Person person = new Person();
+                        person.setName(thread + "-" + i);
+                        Person readPerson = service.deserialize(service.serialize(person));
+                        if (!person.getName()
+                            .equals(readPerson.getName())) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertEquals(true, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.baeldung.ignite.cache;
+
+import com.baeldung.ignite.model.Employee;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.eviction.lru.LruEvictionPolicyFactory;
+import org.apache.ignite.configuration.NearCacheConfiguration;
+import org.apache.ignite.lang.IgniteCallable;
+import org.apache.ignite.resources.IgniteInstanceResource;
+
+import javax.cache.Cache;
+
+public class EmployeeCaches {
+
+    /**
+     * Returns the cache with a near cache on this client node, which keeps up to {@code maxEntries} of
+     * the most recently read employees locally, so reading a hot key again doesn't go to the server
+     * node owning it. The servers keep the near cache up to date when an employee changes.
+     */
+    public static IgniteCache<Integer, Employee> nearCache(Ignite client, String cacheName, int maxEntries) {
+
+        NearCacheConfiguration<Integer, Employee> nearConfig = new NearCacheConfiguration<>();
+        nearConfig.setNearEvictionPolicyFactory(new LruEvictionPolicyFactory<>(maxEntries));
+
+        return client.getOrCreateNearCache(cacheName, nearConfig);
+    }
+
+    /**
+     * Counts the employed employees where they are stored: every server node counts its primary
+     * entries and only the counts are sent back, instead of every employee being sent to the caller.
+     * The nodes need {@link CountEmployed} on their classpath or peer class loading enabled.
+     */
+    public static long countEmployed(Ignite ignite, String cacheName) {
+
+        long employed = 0;
+        for (long count : ignite.compute(ignite.cluster()
+            .forDataNodes(cacheName))
+            .broadcast(new CountEmployed(cacheName))) {
+            employed += count;
+        }
+        return employed;
+    }
+
+    private static class CountEmployed implements IgniteCallable<Long> {
+
+        @IgniteInstanceResource
+        private transient Ignite ignite;
+
+        private final String cacheName;
+
+        CountEmployed(String cacheName) {
+            this.cacheName = cacheName;
+        }
+
+        @Override
+        public Long call() {
+
+            IgniteCache<Integer, Employee> cache = ignite.cache(cacheName);
+
+            long employed = 0;
+            for (Cache.Entry<Integer, Employee> entry : cache.localEntries(CachePeekMode.PRIMARY)) {
+                if (entry.getValue()
+                    .isEmployed()) {
+                    employed++;
+                }
+            }
+            return employed;
+        }
+    }
+}
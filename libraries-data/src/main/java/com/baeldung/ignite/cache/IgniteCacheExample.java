@@ -8,7 +8,11 @@ import org.apache.ignite.cache.query.QueryCursor;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.configuration.IgniteConfiguration;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 public class IgniteCacheExample {
 
@@ -34,6 +38,31 @@ public class IgniteCacheExample {
         Employee employee = cache.get(1);
     }
 
+    private static void getObjectsFromCacheInBatch(Ignite ignite) {
+
+        IgniteCache<Integer, Employee> cache = ignite.getOrCreateCache("baeldungCache");
+
+        Map<Integer, Employee> employees = new HashMap<>();
+        employees.put(1, new Employee(1, "John", true));
+        employees.put(2, new Employee(2, "Anna", false));
+        employees.put(3, new Employee(3, "George", true));
+        cache.putAll(employees);
+
+        Map<Integer, Employee> employed = cache.getAll(new HashSet<>(Arrays.asList(1, 3)));
+    }
+
+    private static void getHotObjectFromNearCache(Ignite client) {
+
+        IgniteCache<Integer, Employee> cache = EmployeeCaches.nearCache(client, "baeldungCache", 10_000);
+
+        Employee employee = cache.get(1);
+    }
+
+    private static void countEmployedWhereStored(Ignite ignite) {
+
+        long employed = EmployeeCaches.countEmployed(ignite, "baeldungCache");
+    }
+
     private static void getFromCacheWithSQl(Ignite ignite) {
 
         IgniteCache<Integer, Employee> cache = ignite.cache("baeldungCache");
@@ -8,9 +8,11 @@ import org.apache.ignite.IgniteDataStreamer;
 import org.apache.ignite.Ignition;
 import org.apache.ignite.stream.StreamTransformer;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.stream.Stream;
 
 public class IgniteStream {
 
@@ -22,25 +24,37 @@ public class IgniteStream {
         Ignite ignite = Ignition.start();
 
         IgniteCache<Integer, Employee> cache = ignite.getOrCreateCache(CacheConfig.employeeCache());
-        IgniteDataStreamer<Integer, Employee> streamer = ignite.dataStreamer(cache.getName());
-        streamer.allowOverwrite(true);
+        Path path = Paths.get(IgniteStream.class.getResource("employees.txt").toURI());
 
-        streamer.receiver(StreamTransformer.from((e, arg) -> {
+        stream(ignite, cache.getName(), path);
+    }
 
-            Employee employee = e.getValue();
-            employee.setEmployed(true);
-            e.setValue(employee);
+    /**
+     * Parses the lines one after the other and marks every employee as employed in the cache. Closing
+     * the streamer sends the remaining buffered entries, see {@link ParallelEmployeeLoader} for a
+     * loader parsing on several threads.
+     */
+    public static void stream(Ignite ignite, String cacheName, Path path) throws IOException {
 
-            return employee;
-        }));
+        try (IgniteDataStreamer<Integer, Employee> streamer = ignite.dataStreamer(cacheName);
+             Stream<String> lines = Files.lines(path)) {
 
-        Path path = Paths.get(IgniteStream.class.getResource("employees.txt").toURI());
+            streamer.allowOverwrite(true);
+
+            streamer.receiver(StreamTransformer.from((e, arg) -> {
+
+                Employee employee = (Employee) arg[0];
+                employee.setEmployed(true);
+                e.setValue(employee);
+
+                return employee;
+            }));
+
+            lines.forEach(line -> {
+                Employee employee = GSON.fromJson(line, Employee.class);
+                streamer.addData(employee.getId(), employee);
+            });
+        }
+    }
 
-        Files.lines(path)
-          .forEach(line -> {
-              Employee employee = GSON.fromJson(line, Employee.class);
-              streamer.addData(employee.getId(), employee);
-          });
-    }    
-    
 }
@@ -0,0 +1,154 @@
+package com.baeldung.ignite.stream;
+
+import com.baeldung.ignite.model.Employee;
+import com.google.gson.Gson;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteDataStreamer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads a file of JSON employees, one per line, into a cache and marks them as employed like
+ * {@link IgniteStream} does. The file is read in batches of lines, which a pool of threads parses and
+ * adds to one shared {@link IgniteDataStreamer}. As the employees are marked while parsing, the
+ * streamer's default receiver can write whole batches instead of invoking a transformer per entry.
+ * <p>
+ * When {@link #load} returns, the streamer has been flushed and closed, so all employees are in the
+ * cache. A load that fails discards the entries still buffered in the streamer, but the batches it
+ * had already sent stay in the cache, so the cache may then hold part of the file.
+ */
+public class ParallelEmployeeLoader {
+
+    private static final Gson GSON = new Gson();
+
+    private final Ignite ignite;
+    private final int parsers;
+    private int linesPerBatch = 1024;
+    private int perNodeBufferSize = 2048;
+    private int perNodeParallelOperations;
+    private boolean allowOverwrite = true;
+
+    public ParallelEmployeeLoader(Ignite ignite, int parsers) {
+        if (parsers < 1) {
+            throw new IllegalArgumentException("At least one parser is required");
+        }
+        this.ignite = ignite;
+        this.parsers = parsers;
+        this.perNodeParallelOperations = 2 * parsers;
+    }
+
+    public ParallelEmployeeLoader withLinesPerBatch(int linesPerBatch) {
+        this.linesPerBatch = linesPerBatch;
+        return this;
+    }
+
+    /**
+     * The number of entries the streamer collects for a node before sending them, larger buffers mean
+     * fewer but bigger messages. Ignite's default is 512.
+     */
+    public ParallelEmployeeLoader withPerNodeBufferSize(int perNodeBufferSize) {
+        this.perNodeBufferSize = perNodeBufferSize;
+        return this;
+    }
+
+    /**
+     * The number of buffers that may be sent to a node without being acknowledged, which bounds the
+     * memory the load takes when the nodes are slower than the parsers.
+     */
+    public ParallelEmployeeLoader withPerNodeParallelOperations(int perNodeParallelOperations) {
+        this.perNodeParallelOperations = perNodeParallelOperations;
+        return this;
+    }
+
+    /**
+     * Whether employees already in the cache are replaced, by default they are, like with
+     * {@link IgniteStream}, so a reload updates the cache. Without overwriting, the streamer doesn't
+     * have to lock the entries, which is faster for a first load into an empty cache, but existing
+     * employees keep their old values.
+     */
+    public ParallelEmployeeLoader withAllowOverwrite(boolean allowOverwrite) {
+        this.allowOverwrite = allowOverwrite;
+        return this;
+    }
+
+    /**
+     * Returns the number of employees read from the file.
+     */
+    public long load(String cacheName, Path path) throws IOException {
+        // the caller runs a batch itself once every parser is busy and the queue is full, so reading
+        // never gets far ahead of parsing
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(parsers, parsers, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(2 * parsers), new ThreadPoolExecutor.CallerRunsPolicy());
+        IgniteDataStreamer<Integer, Employee> streamer = ignite.dataStreamer(cacheName);
+        boolean loaded = false;
+        try {
+            streamer.allowOverwrite(allowOverwrite);
+            streamer.perNodeBufferSize(perNodeBufferSize);
+            streamer.perNodeParallelOperations(perNodeParallelOperations);
+
+            List<Future<Integer>> batches = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(path)) {
+                List<String> lines = new ArrayList<>(linesPerBatch);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    lines.add(line);
+                    if (lines.size() == linesPerBatch) {
+                        batches.add(submit(pool, streamer, lines));
+                        lines = new ArrayList<>(linesPerBatch);
+                    }
+                }
+                if (!lines.isEmpty()) {
+                    batches.add(submit(pool, streamer, lines));
+                }
+            }
+
+            long employees = 0;
+            for (Future<Integer> batch : batches) {
+                employees += batch.get();
+            }
+            streamer.flush();
+            loaded = true;
+            return employees;
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+            throw new IllegalStateException("Interrupted while loading " + path, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to load " + path, e.getCause());
+        } finally {
+            pool.shutdownNow();
+            // a failed load drops the buffered entries instead of sending them, earlier batches stay
+            streamer.close(!loaded);
+        }
+    }
+
+    private static Future<Integer> submit(ThreadPoolExecutor pool, IgniteDataStreamer<Integer, Employee> streamer, List<String> lines) {
+        return pool.submit(() -> {
+            Map<Integer, Employee> employees = new HashMap<>();
+            for (String line : lines) {
+                Employee employee = GSON.fromJson(line, Employee.class);
+                employee.setEmployed(true);
+                employees.put(employee.getId(), employee);
+            }
+            streamer.addData(employees);
+            return lines.size();
+        });
+    }
+}
@@ -1,7 +1,7 @@
 package com.baeldung.storm;
 
 import com.baeldung.storm.bolt.AggregatingBolt;
-import com.baeldung.storm.bolt.FileWritingBolt;
+import com.baeldung.storm.bolt.BatchingFileWritingBolt;
 import com.baeldung.storm.bolt.FilteringBolt;
 import com.baeldung.storm.bolt.PrintingBolt;
 import com.baeldung.storm.spout.RandomNumberSpout;
@@ -24,7 +24,7 @@ public class TopologyRunner {
           .withTimestampField("timestamp")
           .withLag(BaseWindowedBolt.Duration.seconds(1))
           .withWindow(BaseWindowedBolt.Duration.seconds(5))).shuffleGrouping("filteringBolt");
-        builder.setBolt("fileBolt", new FileWritingBolt(filePath)).shuffleGrouping("aggregatingBolt");
+        builder.setBolt("fileBolt", new BatchingFileWritingBolt(filePath).withTickTuples(true)).shuffleGrouping("aggregatingBolt");
 
         Config config = new Config();
         config.setDebug(false);
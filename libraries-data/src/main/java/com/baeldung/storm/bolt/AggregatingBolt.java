@@ -34,6 +34,7 @@ public class AggregatingBolt extends BaseWindowedBolt {
         Long endTimestamp = tuples.get(tuples.size() - 1).getLongByField("timestamp");
         int sumOfOperations = tuples.stream().mapToInt(tuple -> tuple.getIntegerByField("operation")).sum();
         Values values = new Values(sumOfOperations, beginningTimestamp, endTimestamp);
-        outputCollector.emit(values);
+        //Anchored only to the tuples new in this window, the sliding window would otherwise tie every tuple to all later windows
+        outputCollector.emit(tupleWindow.getNew(), values);
     }
 }
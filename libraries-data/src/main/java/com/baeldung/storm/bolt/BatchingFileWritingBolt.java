@@ -0,0 +1,335 @@
+package com.baeldung.storm.bolt;
+
+import com.baeldung.storm.model.AggregatedWindow;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.storm.Config;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.topology.base.BaseRichBolt;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the same lines as {@link FileWritingBolt}, but in batches: tuples are buffered until the batch
+ * is full or the flush interval has passed, then the batch is written and forced to disk with one
+ * write and one fsync, and only then are its tuples acked. Tuples whose batch fails to be written are
+ * failed, so a reliable spout replays them.
+ * <p>
+ * Records are serialized into one reusable buffer, and every task writes to its own files
+ * {@code <filePath>.<task id>.<sequence>}, starting a new file once the current one reaches the
+ * rotation size.
+ * <p>
+ * If a file can't be opened, the tuples are failed and the file is opened again with the next tuple
+ * once the retry delay has passed. The delay starts at the open retry interval and doubles with every
+ * failed attempt up to a minute, so a missing directory or a full disk doesn't fail the bolt for good.
+ * <p>
+ * Without tick tuples the flush interval is only checked when a tuple arrives, so the last batch
+ * waits for the next tuple. Either way the interval must stay well below the topology's message
+ * timeout, otherwise buffered tuples are replayed although they are written.
+ */
+public class BatchingFileWritingBolt extends BaseRichBolt {
+    private static final Logger logger = LoggerFactory.getLogger(BatchingFileWritingBolt.class);
+    private static final long MAX_OPEN_RETRY_MILLIS = 60_000;
+
+    private final String filePath;
+    private int batchSize = 1000;
+    private int flushIntervalSeconds = 1;
+    private long rotationSizeBytes = 64 * 1024 * 1024;
+    private int bufferSizeBytes = 64 * 1024;
+    private boolean tickTuples;
+    private long openRetryMillis = 1000;
+
+    private transient OutputCollector collector;
+    private transient ObjectMapper objectMapper;
+    private transient int taskId;
+    private transient int fileSequence;
+    private transient FileChannel channel;
+    private transient ByteBuffer buffer;
+    private transient JsonGenerator generator;
+    private transient List<Tuple> pending;
+    private transient long lastFlushMillis;
+    private transient long openRetryDelayMillis;
+    private transient long nextOpenMillis;
+
+    public BatchingFileWritingBolt(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * The number of tuples which triggers a flush, 1000 by default.
+     */
+    public BatchingFileWritingBolt withBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * The longest time a tuple is buffered, 1 second by default.
+     *
+     * @throws IllegalArgumentException if the interval is less than 1 second, tick tuples can't be more frequent
+     */
+    public BatchingFileWritingBolt withFlushInterval(int flushIntervalSeconds) {
+        if (flushIntervalSeconds < 1) {
+            throw new IllegalArgumentException("The flush interval must be at least 1 second but was " + flushIntervalSeconds);
+        }
+        this.flushIntervalSeconds = flushIntervalSeconds;
+        return this;
+    }
+
+    /**
+     * The file size after which the next batch starts a new file, 64 MB by default.
+     */
+    public BatchingFileWritingBolt withRotationSize(long rotationSizeBytes) {
+        this.rotationSizeBytes = rotationSizeBytes;
+        return this;
+    }
+
+    /**
+     * The size of the serialization buffer, 64 KB by default. A batch which doesn't fit is written in several parts.
+     */
+    public BatchingFileWritingBolt withBufferSize(int bufferSizeBytes) {
+        this.bufferSizeBytes = bufferSizeBytes;
+        return this;
+    }
+
+    /**
+     * Requests a tick tuple every flush interval, so batches are also flushed while no tuples arrive.
+     */
+    public BatchingFileWritingBolt withTickTuples(boolean tickTuples) {
+        this.tickTuples = tickTuples;
+        return this;
+    }
+
+    /**
+     * The time to wait before opening a file again after the first failed attempt, 1 second by default.
+     */
+    public BatchingFileWritingBolt withOpenRetryInterval(long openRetryMillis) {
+        this.openRetryMillis = openRetryMillis;
+        return this;
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        if (!tickTuples) {
+            return null;
+        }
+        Map<String, Object> config = new HashMap<>();
+        config.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, flushIntervalSeconds);
+        return config;
+    }
+
+    @Override
+    public void prepare(Map map, TopologyContext topologyContext, OutputCollector outputCollector) {
+        collector = outputCollector;
+        objectMapper = new ObjectMapper();
+        objectMapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        objectMapper.getFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .setRootValueSeparator(null);
+        taskId = topologyContext.getThisTaskId();
+        buffer = ByteBuffer.allocateDirect(bufferSizeBytes);
+        pending = new ArrayList<>(batchSize);
+        lastFlushMillis = System.currentTimeMillis();
+        openRetryDelayMillis = openRetryMillis;
+        nextOpenMillis = 0;
+        ensureOpen();
+    }
+
+    @Override
+    public void execute(Tuple tuple) {
+        if (TupleUtils.isTick(tuple)) {
+            flush();
+            return;
+        }
+
+        int sumOfOperations = tuple.getIntegerByField("sumOfOperations");
+        long beginningTimestamp = tuple.getLongByField("beginningTimestamp");
+        long endTimestamp = tuple.getLongByField("endTimestamp");
+
+        if (sumOfOperations > 200) {
+            if (!write(new AggregatedWindow(sumOfOperations, beginningTimestamp, endTimestamp))) {
+                collector.fail(tuple);
+                return;
+            }
+            pending.add(tuple);
+        } else {
+            collector.ack(tuple);
+        }
+
+        if (pending.size() >= batchSize || System.currentTimeMillis() - lastFlushMillis >= flushIntervalSeconds * 1000L) {
+            flush();
+        }
+    }
+
+    private boolean write(AggregatedWindow aggregatedWindow) {
+        if (!ensureOpen()) {
+            return false;
+        }
+        try {
+            objectMapper.writeValue(generator, aggregatedWindow);
+            generator.writeRaw('\n');
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to write data to file.", e);
+            failPending();
+            reopen();
+            return false;
+        }
+    }
+
+    /**
+     * Writes the buffered records, forces them to disk and acks their tuples.
+     */
+    private void flush() {
+        lastFlushMillis = System.currentTimeMillis();
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            generator.flush();
+            drainBuffer();
+            channel.force(false);
+            for (Tuple tuple : pending) {
+                collector.ack(tuple);
+            }
+            pending.clear();
+            if (channel.size() >= rotationSizeBytes) {
+                closeFile();
+                ensureOpen();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to flush data to file.", e);
+            failPending();
+            reopen();
+        }
+    }
+
+    private void failPending() {
+        for (Tuple tuple : pending) {
+            collector.fail(tuple);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Continues in a new file after a failed write, the records of the failed batch may be partly in the old one.
+     */
+    private void reopen() {
+        buffer.clear();
+        try {
+            closeFile();
+        } catch (IOException e) {
+            logger.warn("Failed to close the file.", e);
+        }
+        ensureOpen();
+    }
+
+    /**
+     * Opens the next file unless one is open or the retry delay after a failed attempt hasn't passed yet.
+     *
+     * @return whether a file is open
+     */
+    private boolean ensureOpen() {
+        if (generator != null) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now < nextOpenMillis) {
+            return false;
+        }
+        try {
+            openNextFile();
+            openRetryDelayMillis = openRetryMillis;
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to open a file for writing, retrying in {} ms.", openRetryDelayMillis, e);
+            nextOpenMillis = now + openRetryDelayMillis;
+            openRetryDelayMillis = Math.min(openRetryDelayMillis * 2, MAX_OPEN_RETRY_MILLIS);
+            return false;
+        }
+    }
+
+    private void openNextFile() throws IOException {
+        String path = filePath + "." + taskId + "." + fileSequence;
+        channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        generator = objectMapper.getFactory()
+            .createGenerator(new BufferOutputStream());
+        fileSequence++;
+    }
+
+    private void closeFile() throws IOException {
+        generator = null;
+        if (channel != null) {
+            FileChannel current = channel;
+            channel = null;
+            current.close();
+        }
+    }
+
+    private void drainBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void cleanup() {
+        flush();
+        try {
+            closeFile();
+        } catch (IOException e) {
+            logger.error("Failed to close the writer!");
+        }
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
+
+    }
+
+    /**
+     * Collects the generator's output in the reusable buffer, writing it to the file only when it is full.
+     */
+    private class BufferOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                drainBuffer();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (!buffer.hasRemaining()) {
+                    drainBuffer();
+                }
+                int chunk = Math.min(length, buffer.remaining());
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+    }
+}
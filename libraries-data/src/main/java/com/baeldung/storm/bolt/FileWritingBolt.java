@@ -22,9 +22,11 @@ public class FileWritingBolt extends BaseRichBolt {
     private BufferedWriter writer;
     private String filePath;
     private ObjectMapper objectMapper;
+    private OutputCollector collector;
 
     @Override
     public void prepare(Map map, TopologyContext topologyContext, OutputCollector outputCollector) {
+        collector = outputCollector;
         objectMapper = new ObjectMapper();
         objectMapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
         try {
@@ -48,8 +50,11 @@ public class FileWritingBolt extends BaseRichBolt {
                 writer.flush();
             } catch (IOException e) {
                 logger.error("Failed to write data to file.", e);
+                collector.fail(tuple);
+                return;
             }
         }
+        collector.ack(tuple);
     }
 
     public FileWritingBolt(String filePath) {
@@ -9,28 +9,79 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Values;
 import org.apache.storm.utils.Utils;
 
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Random;
 
+/**
+ * Emits every tuple with a message id and keeps it until it is acked, failed tuples are emitted again.
+ * <p>
+ * A replayed tuple gets the current time as its timestamp. With its original timestamp a windowed bolt
+ * downstream would see it as late, once the watermark passed it, and drop it instead of counting it.
+ */
 public class RandomNumberSpout extends BaseRichSpout {
+    private final long emitIntervalMillis;
     private Random random;
     private SpoutOutputCollector collector;
+    private long nextMessageId;
+    private Map<Long, Values> pending;
+    private Queue<Long> failed;
+
+    public RandomNumberSpout() {
+        this(1000);
+    }
+
+    /**
+     * @param emitIntervalMillis the pause before every new tuple, 0 to emit as fast as the topology accepts them
+     */
+    public RandomNumberSpout(long emitIntervalMillis) {
+        this.emitIntervalMillis = emitIntervalMillis;
+    }
 
     @Override
     public void open(Map map, TopologyContext topologyContext, SpoutOutputCollector spoutOutputCollector) {
         random = new Random();
         collector = spoutOutputCollector;
+        pending = new HashMap<>();
+        failed = new ArrayDeque<>();
     }
 
     @Override
     public void nextTuple() {
-        Utils.sleep(1000);
+        Long failedMessageId = failed.poll();
+        if (failedMessageId != null) {
+            Values replayed = new Values(pending.get(failedMessageId)
+                .get(0), System.currentTimeMillis());
+            pending.put(failedMessageId, replayed);
+            collector.emit(replayed, failedMessageId);
+            return;
+        }
+
+        if (emitIntervalMillis > 0) {
+            Utils.sleep(emitIntervalMillis);
+        }
         //This will select random int from the range (0, 100)
         int operation = random.nextInt(101);
         long timestamp = System.currentTimeMillis();
 
         Values values = new Values(operation, timestamp);
-        collector.emit(values);
+        long messageId = nextMessageId++;
+        pending.put(messageId, values);
+        collector.emit(values, messageId);
+    }
+
+    @Override
+    public void ack(Object messageId) {
+        pending.remove(messageId);
+    }
+
+    @Override
+    public void fail(Object messageId) {
+        if (pending.containsKey(messageId)) {
+            failed.add((Long) messageId);
+        }
     }
 
     @Override
@@ -0,0 +1,55 @@
+package com.baeldung.ignite;
+
+import com.baeldung.ignite.model.Employee;
+import com.google.gson.Gson;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+/**
+ * Starts the server and client nodes of the Ignite tests in this JVM, discovering each other on
+ * localhost only.
+ */
+class EmbeddedNodes {
+
+    static Ignite startServer() {
+        return Ignition.start(configuration("server", false));
+    }
+
+    static Ignite startClient(String name) {
+        return Ignition.start(configuration(name, true));
+    }
+
+    /**
+     * Writes the employees with the ids 0 to count - 1 as JSON lines, every third of them unemployed.
+     */
+    static void writeEmployees(Path file, int count) throws IOException {
+        Gson gson = new Gson();
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int id = 0; id < count; id++) {
+                writer.write(gson.toJson(new Employee(id, "Employee " + id, id % 3 != 0)));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static IgniteConfiguration configuration(String name, boolean client) {
+        TcpDiscoveryVmIpFinder ipFinder = new TcpDiscoveryVmIpFinder();
+        ipFinder.setAddresses(Collections.singletonList("127.0.0.1:47500..47509"));
+
+        IgniteConfiguration configuration = new IgniteConfiguration();
+        configuration.setIgniteInstanceName(name);
+        configuration.setClientMode(client);
+        configuration.setLocalHost("127.0.0.1");
+        configuration.setDiscoverySpi(new TcpDiscoverySpi().setIpFinder(ipFinder));
+        return configuration;
+    }
+}
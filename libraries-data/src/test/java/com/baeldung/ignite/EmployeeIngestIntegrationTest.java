@@ -0,0 +1,122 @@
+package com.baeldung.ignite;
+
+import com.baeldung.ignite.cache.EmployeeCaches;
+import com.baeldung.ignite.model.Employee;
+import com.baeldung.ignite.stream.IgniteStream;
+import com.baeldung.ignite.stream.ParallelEmployeeLoader;
+import com.google.gson.JsonSyntaxException;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmployeeIngestIntegrationTest {
+
+    private static final String CACHE_NAME = "employees";
+    private static final int EMPLOYEES = 10_000;
+
+    private static Ignite server;
+    private static Ignite client;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void startNodes() {
+        server = EmbeddedNodes.startServer();
+        client = EmbeddedNodes.startClient("client");
+    }
+
+    @AfterClass
+    public static void stopNodes() {
+        client.close();
+        server.close();
+    }
+
+    @After
+    public void destroyCache() {
+        client.destroyCache(CACHE_NAME);
+    }
+
+    @Test
+    public void givenEmployeesFile_whenLoadedInParallel_thenAllAreCachedAsEmployed() throws Exception {
+        IgniteCache<Integer, Employee> cache = client.getOrCreateCache(new CacheConfiguration<Integer, Employee>(CACHE_NAME));
+        Path file = folder.newFile("employees.txt")
+            .toPath();
+        EmbeddedNodes.writeEmployees(file, EMPLOYEES);
+
+        long loaded = new ParallelEmployeeLoader(client, 4).withLinesPerBatch(100)
+            .load(CACHE_NAME, file);
+
+        assertThat(loaded).isEqualTo(EMPLOYEES);
+        assertThat(cache.size()).isEqualTo(EMPLOYEES);
+        assertThat(cache.get(3)
+            .isEmployed()).isTrue();
+        assertThat(EmployeeCaches.countEmployed(client, CACHE_NAME)).isEqualTo(EMPLOYEES);
+    }
+
+    @Test
+    public void givenCachedEmployee_whenReloadedInParallel_thenItIsReplaced() throws Exception {
+        IgniteCache<Integer, Employee> cache = client.getOrCreateCache(new CacheConfiguration<Integer, Employee>(CACHE_NAME));
+        cache.put(1, new Employee(1, "Old name", false));
+        Path file = folder.newFile("employees.txt")
+            .toPath();
+        EmbeddedNodes.writeEmployees(file, EMPLOYEES);
+
+        new ParallelEmployeeLoader(client, 2).load(CACHE_NAME, file);
+
+        assertThat(cache.get(1)
+            .getName()).isEqualTo("Employee 1");
+        assertThat(cache.get(1)
+            .isEmployed()).isTrue();
+    }
+
+    @Test
+    public void givenEmployeesFile_whenStreamed_thenAllAreCachedAsEmployed() throws Exception {
+        IgniteCache<Integer, Employee> cache = client.getOrCreateCache(new CacheConfiguration<Integer, Employee>(CACHE_NAME));
+        Path file = folder.newFile("employees.txt")
+            .toPath();
+        EmbeddedNodes.writeEmployees(file, EMPLOYEES);
+
+        IgniteStream.stream(client, CACHE_NAME, file);
+
+        assertThat(cache.size()).isEqualTo(EMPLOYEES);
+        assertThat(EmployeeCaches.countEmployed(client, CACHE_NAME)).isEqualTo(EMPLOYEES);
+    }
+
+    @Test
+    public void givenMalformedLine_whenLoadedInParallel_thenLoadFails() throws Exception {
+        client.getOrCreateCache(new CacheConfiguration<Integer, Employee>(CACHE_NAME));
+        Path file = folder.newFile("employees.txt")
+            .toPath();
+        Files.write(file, Arrays.asList("{\"id\":1,\"name\":\"John\",\"isEmployed\":true}", "{\"id\":"));
+
+        assertThatThrownBy(() -> new ParallelEmployeeLoader(client, 2).withLinesPerBatch(1)
+            .load(CACHE_NAME, file)).isInstanceOf(JsonSyntaxException.class);
+    }
+
+    @Test
+    public void givenNearCache_whenKeyIsRead_thenItIsKeptOnClient() {
+        server.getOrCreateCache(new CacheConfiguration<Integer, Employee>(CACHE_NAME))
+            .put(1, new Employee(1, "John", true));
+        IgniteCache<Integer, Employee> nearCache = EmployeeCaches.nearCache(client, CACHE_NAME, 100);
+
+        assertThat(nearCache.localPeek(1, CachePeekMode.NEAR)).isNull();
+        assertThat(nearCache.get(1)
+            .getName()).isEqualTo("John");
+        assertThat(nearCache.localPeek(1, CachePeekMode.NEAR)).isNotNull();
+    }
+}
@@ -0,0 +1,109 @@
+package com.baeldung.ignite;
+
+import com.baeldung.ignite.cache.EmployeeCaches;
+import com.baeldung.ignite.model.Employee;
+import com.baeldung.ignite.stream.IgniteStream;
+import com.baeldung.ignite.stream.ParallelEmployeeLoader;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.cache.Cache;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+/**
+ * Compares on a server node and client nodes in this JVM, for {@code -Dignite.load.employees} employees,
+ * 1,000,000 by default:
+ * <ul>
+ * <li>loading a JSON lines file with {@link IgniteStream} and with the {@link ParallelEmployeeLoader},
+ * once with Ignite's default streamer settings and once with the loader's</li>
+ * <li>reading {@value #HOT_KEYS} hot keys from the client through the plain cache and through a near
+ * cache</li>
+ * <li>counting the employed employees with a scan query on the client and with
+ * {@link EmployeeCaches#countEmployed}</li>
+ * </ul>
+ */
+public class EmployeeIngestLoadManualTest {
+
+    private static final int EMPLOYEES = Integer.getInteger("ignite.load.employees", 1_000_000);
+    private static final int PARSERS = Runtime.getRuntime()
+        .availableProcessors();
+    private static final int HOT_KEYS = 1_000;
+    private static final int READS = 200_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void whenLoadingReadingAndAggregatingEmployees_thenReportThroughput() throws Exception {
+        Path file = folder.newFile("employees.txt")
+            .toPath();
+        EmbeddedNodes.writeEmployees(file, EMPLOYEES);
+
+        try (Ignite server = EmbeddedNodes.startServer(); Ignite client = EmbeddedNodes.startClient("client"); Ignite nearClient = EmbeddedNodes.startClient("nearClient")) {
+            load("IgniteStream", client, "sequential", () -> {
+                IgniteStream.stream(client, "sequential", file);
+                return (long) EMPLOYEES;
+            });
+            load("parallel, defaults", client, "parallelDefaults", () -> new ParallelEmployeeLoader(client, PARSERS).withPerNodeBufferSize(IgniteDataStreamer.DFLT_PER_NODE_BUFFER_SIZE)
+                .withPerNodeParallelOperations(IgniteDataStreamer.DFLT_MAX_PARALLEL_OPS)
+                .load("parallelDefaults", file));
+            load("parallel, tuned", client, "parallelTuned", () -> new ParallelEmployeeLoader(client, PARSERS).load("parallelTuned", file));
+
+            read("plain cache", client.cache("parallelTuned"));
+            // a node can't use a cache both with and without a near cache
+            read("near cache", EmployeeCaches.nearCache(nearClient, "parallelTuned", HOT_KEYS));
+
+            IgniteCache<Integer, Employee> cache = client.cache("parallelTuned");
+            time("scan query count", () -> {
+                long employed = 0;
+                try (QueryCursor<Cache.Entry<Integer, Employee>> cursor = cache.query(new ScanQuery<Integer, Employee>())) {
+                    for (Cache.Entry<Integer, Employee> entry : cursor) {
+                        if (entry.getValue()
+                            .isEmployed()) {
+                            employed++;
+                        }
+                    }
+                }
+                return employed;
+            });
+            time("collocated count", () -> EmployeeCaches.countEmployed(client, "parallelTuned"));
+        }
+    }
+
+    private static void load(String name, Ignite client, String cacheName, Callable<Long> load) throws Exception {
+        client.getOrCreateCache(new CacheConfiguration<Integer, Employee>(cacheName));
+        long start = System.nanoTime();
+        long employees = load.call();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("load  %-20s %,12.0f employees/s%n", name, employees / seconds);
+    }
+
+    private static void read(String name, IgniteCache<Integer, Employee> cache) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < READS / 10; i++) {
+            cache.get(random.nextInt(HOT_KEYS));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            cache.get(random.nextInt(HOT_KEYS));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("read  %-20s %,12.0f gets/s%n", name, READS / seconds);
+    }
+
+    private static void time(String name, Callable<Long> aggregation) throws Exception {
+        aggregation.call();
+        long start = System.nanoTime();
+        long employed = aggregation.call();
+        System.out.printf("count %-20s %,12d ms (%,d employed)%n", name, (System.nanoTime() - start) / 1_000_000, employed);
+    }
+}
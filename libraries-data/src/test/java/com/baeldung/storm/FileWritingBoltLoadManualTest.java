@@ -0,0 +1,97 @@
+package com.baeldung.storm;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.apache.storm.Config;
+import org.apache.storm.LocalCluster;
+import org.apache.storm.topology.BasicOutputCollector;
+import org.apache.storm.topology.IRichBolt;
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.topology.TopologyBuilder;
+import org.apache.storm.topology.base.BaseBasicBolt;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.Utils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.baeldung.storm.bolt.BatchingFileWritingBolt;
+import com.baeldung.storm.bolt.FileWritingBolt;
+import com.baeldung.storm.spout.RandomNumberSpout;
+
+/**
+ * Runs the reliable {@link RandomNumberSpout} without pauses on a {@link LocalCluster}, with every
+ * number turned into a window record, and reports the records per second each file bolt writes.
+ */
+public class FileWritingBoltLoadManualTest {
+
+    private static final int RUN_SECONDS = 30;
+    private static final int MAX_SPOUT_PENDING = 5000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void whenRunningBothFileBolts_thenReportWrittenRecordsPerSecond() throws Exception {
+        File perTuple = folder.newFolder("perTuple");
+        File batching = folder.newFolder("batching");
+
+        run("flush per tuple", new FileWritingBolt(new File(perTuple, "operations.txt").getPath()), perTuple);
+        run("batching", new BatchingFileWritingBolt(new File(batching, "operations.txt").getPath()).withBatchSize(1000)
+            .withTickTuples(true), batching);
+    }
+
+    private static void run(String name, IRichBolt fileBolt, File directory) throws Exception {
+        TopologyBuilder builder = new TopologyBuilder();
+        builder.setSpout("randomNumberSpout", new RandomNumberSpout(0));
+        builder.setBolt("windowBolt", new WindowBolt()).shuffleGrouping("randomNumberSpout");
+        builder.setBolt("fileBolt", fileBolt).shuffleGrouping("windowBolt");
+
+        Config config = new Config();
+        config.setMaxSpoutPending(MAX_SPOUT_PENDING);
+        LocalCluster cluster = new LocalCluster();
+        try {
+            cluster.submitTopology(name.replace(' ', '-'), config, builder.createTopology());
+            Utils.sleep(RUN_SECONDS * 1000);
+            long lines = countLines(directory);
+            System.out.printf("%-16s %,10.0f records/s%n", name, lines / (double) RUN_SECONDS);
+        } finally {
+            cluster.shutdown();
+        }
+    }
+
+    private static long countLines(File directory) throws IOException {
+        long lines = 0;
+        try (Stream<Path> files = Files.list(directory.toPath())) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                try (Stream<String> fileLines = Files.lines(file)) {
+                    lines += fileLines.count();
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Turns every number into a window of one, tripled so that about a third of them is written.
+     */
+    public static class WindowBolt extends BaseBasicBolt {
+
+        @Override
+        public void execute(Tuple tuple, BasicOutputCollector collector) {
+            long timestamp = tuple.getLongByField("timestamp");
+            collector.emit(new Values(tuple.getIntegerByField("operation") * 3, timestamp, timestamp));
+        }
+
+        @Override
+        public void declareOutputFields(OutputFieldsDeclarer declarer) {
+            declarer.declare(new Fields("sumOfOperations", "beginningTimestamp", "endTimestamp"));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.baeldung.storm.bolt;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+import org.apache.storm.windowing.TupleWindow;
+import org.junit.Test;
+
+public class AggregatingBoltUnitTest {
+
+    @Test
+    public void givenSlidingWindow_whenAggregated_thenOutputIsAnchoredToTheNewTuplesOnly() {
+        OutputCollector collector = mock(OutputCollector.class);
+        AggregatingBolt bolt = new AggregatingBolt();
+        bolt.prepare(new HashMap<>(), mock(TopologyContext.class), collector);
+        Tuple older = operation(40, 1L);
+        Tuple newer = operation(60, 2L);
+        TupleWindow window = mock(TupleWindow.class);
+        when(window.get()).thenReturn(new ArrayList<>(Arrays.asList(newer, older)));
+        List<Tuple> newTuples = Collections.singletonList(newer);
+        when(window.getNew()).thenReturn(newTuples);
+
+        bolt.execute(window);
+
+        verify(collector).emit(eq(newTuples), eq(new Values(100, 1L, 2L)));
+    }
+
+    private static Tuple operation(int operation, long timestamp) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getIntegerByField("operation")).thenReturn(operation);
+        when(tuple.getLongByField("timestamp")).thenReturn(timestamp);
+        return tuple;
+    }
+}
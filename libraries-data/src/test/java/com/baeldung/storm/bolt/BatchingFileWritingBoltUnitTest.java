@@ -0,0 +1,183 @@
+package com.baeldung.storm.bolt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.storm.Config;
+import org.apache.storm.Constants;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BatchingFileWritingBoltUnitTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private OutputCollector collector;
+    private TopologyContext context;
+    private String filePath;
+
+    @Before
+    public void setup() {
+        collector = mock(OutputCollector.class);
+        context = mock(TopologyContext.class);
+        when(context.getThisTaskId()).thenReturn(7);
+        filePath = new File(folder.getRoot(), "operations.txt").getPath();
+    }
+
+    @Test
+    public void givenBatchSize_whenBatchIsFull_thenTuplesAreWrittenAndAcked() throws IOException {
+        BatchingFileWritingBolt bolt = prepare(new BatchingFileWritingBolt(filePath).withBatchSize(3)
+            .withFlushInterval(60));
+        Tuple first = window(201, 1L, 2L);
+        Tuple second = window(202, 3L, 4L);
+        Tuple third = window(203, 5L, 6L);
+
+        bolt.execute(first);
+        bolt.execute(second);
+        verify(collector, never()).ack(any(Tuple.class));
+        assertEquals(0, lines(0).size());
+
+        bolt.execute(third);
+        verify(collector).ack(first);
+        verify(collector).ack(second);
+        verify(collector).ack(third);
+        assertEquals(Arrays.asList("{\"sumOfOperations\":201,\"beginningTimestamp\":1,\"endTimestamp\":2}", "{\"sumOfOperations\":202,\"beginningTimestamp\":3,\"endTimestamp\":4}",
+            "{\"sumOfOperations\":203,\"beginningTimestamp\":5,\"endTimestamp\":6}"), lines(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenZeroFlushInterval_whenConfigured_thenItIsRejected() {
+        new BatchingFileWritingBolt(filePath).withFlushInterval(0);
+    }
+
+    @Test
+    public void givenPendingTuples_whenTickTupleArrives_thenTheyAreFlushed() throws IOException {
+        BatchingFileWritingBolt bolt = prepare(new BatchingFileWritingBolt(filePath).withBatchSize(100)
+            .withFlushInterval(60)
+            .withTickTuples(true));
+        Tuple tuple = window(250, 1L, 2L);
+
+        bolt.execute(tuple);
+        verify(collector, never()).ack(tuple);
+
+        bolt.execute(tick());
+        verify(collector).ack(tuple);
+        assertEquals(1, lines(0).size());
+    }
+
+    @Test
+    public void givenSmallSum_whenExecuted_thenAckedWithoutWriting() throws IOException {
+        BatchingFileWritingBolt bolt = prepare(new BatchingFileWritingBolt(filePath).withBatchSize(100));
+        Tuple tuple = window(200, 1L, 2L);
+
+        bolt.execute(tuple);
+
+        verify(collector).ack(tuple);
+        bolt.cleanup();
+        assertEquals(0, lines(0).size());
+    }
+
+    @Test
+    public void givenRotationSize_whenFileIsFull_thenNextBatchStartsNewFile() throws IOException {
+        BatchingFileWritingBolt bolt = prepare(new BatchingFileWritingBolt(filePath).withBatchSize(2)
+            .withRotationSize(200)
+            .withBufferSize(16));
+        for (int i = 0; i < 6; i++) {
+            bolt.execute(window(300 + i, i, i));
+        }
+        bolt.cleanup();
+
+        assertEquals(4, lines(0).size());
+        assertEquals(2, lines(1).size());
+        assertEquals("{\"sumOfOperations\":305,\"beginningTimestamp\":5,\"endTimestamp\":5}", lines(1).get(1));
+    }
+
+    @Test
+    public void givenFirstOpenFails_whenDirectoryAppears_thenFileIsOpenedAgain() throws IOException {
+        File directory = new File(folder.getRoot(), "missing");
+        filePath = new File(directory, "operations.txt").getPath();
+        BatchingFileWritingBolt bolt = prepare(new BatchingFileWritingBolt(filePath).withBatchSize(1)
+            .withOpenRetryInterval(0));
+        Tuple failed = window(201, 1L, 2L);
+        Tuple written = window(202, 3L, 4L);
+
+        bolt.execute(failed);
+        verify(collector).fail(failed);
+
+        assertTrue(directory.mkdir());
+        bolt.execute(written);
+        verify(collector).ack(written);
+        assertEquals(Collections.singletonList("{\"sumOfOperations\":202,\"beginningTimestamp\":3,\"endTimestamp\":4}"), lines(0));
+    }
+
+    @Test
+    public void givenFailedOpen_whenRetryDelayHasNotPassed_thenTuplesFailWithoutOpening() {
+        File directory = new File(folder.getRoot(), "missing");
+        filePath = new File(directory, "operations.txt").getPath();
+        BatchingFileWritingBolt bolt = prepare(new BatchingFileWritingBolt(filePath).withBatchSize(1)
+            .withOpenRetryInterval(60_000));
+        Tuple tuple = window(201, 1L, 2L);
+
+        assertTrue(directory.mkdir());
+        bolt.execute(tuple);
+
+        verify(collector).fail(tuple);
+        assertFalse(new File(filePath + ".7.0").exists());
+    }
+
+    @Test
+    public void givenTickTuples_whenConfigured_thenTickFrequencyIsFlushInterval() {
+        assertNull(new BatchingFileWritingBolt(filePath).getComponentConfiguration());
+        assertEquals(5, new BatchingFileWritingBolt(filePath).withFlushInterval(5)
+            .withTickTuples(true)
+            .getComponentConfiguration()
+            .get(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS));
+    }
+
+    private BatchingFileWritingBolt prepare(BatchingFileWritingBolt bolt) {
+        bolt.prepare(new HashMap<>(), context, collector);
+        return bolt;
+    }
+
+    private List<String> lines(int sequence) throws IOException {
+        return Files.readAllLines(new File(filePath + ".7." + sequence).toPath());
+    }
+
+    private static Tuple window(int sumOfOperations, long beginningTimestamp, long endTimestamp) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceComponent()).thenReturn("aggregatingBolt");
+        when(tuple.getSourceStreamId()).thenReturn("default");
+        when(tuple.getIntegerByField("sumOfOperations")).thenReturn(sumOfOperations);
+        when(tuple.getLongByField("beginningTimestamp")).thenReturn(beginningTimestamp);
+        when(tuple.getLongByField("endTimestamp")).thenReturn(endTimestamp);
+        return tuple;
+    }
+
+    private static Tuple tick() {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceComponent()).thenReturn(Constants.SYSTEM_COMPONENT_ID);
+        when(tuple.getSourceStreamId()).thenReturn(Constants.SYSTEM_TICK_STREAM_ID);
+        return tuple;
+    }
+}
@@ -0,0 +1,41 @@
+package com.baeldung.storm.spout;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.storm.spout.SpoutOutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class RandomNumberSpoutUnitTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void givenFailedTuple_whenReplayed_thenItKeepsItsOperationAndGetsANewTimestamp() throws InterruptedException {
+        SpoutOutputCollector collector = mock(SpoutOutputCollector.class);
+        RandomNumberSpout spout = new RandomNumberSpout(0);
+        spout.open(new HashMap<>(), mock(TopologyContext.class), collector);
+
+        spout.nextTuple();
+        Thread.sleep(5);
+        spout.fail(0L);
+        spout.nextTuple();
+
+        ArgumentCaptor<List<Object>> values = ArgumentCaptor.forClass(List.class);
+        verify(collector, times(2)).emit(values.capture(), eq(0L));
+        List<Object> original = values.getAllValues()
+            .get(0);
+        List<Object> replayed = values.getAllValues()
+            .get(1);
+        assertEquals(original.get(0), replayed.get(0));
+        assertTrue((Long) replayed.get(1) > (Long) original.get(1));
+    }
+}
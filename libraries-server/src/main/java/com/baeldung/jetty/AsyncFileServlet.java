@@ -0,0 +1,211 @@
+package com.baeldung.jetty;
+
+import org.eclipse.jetty.io.ArrayByteBufferPool;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.server.HttpOutput;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams the files below the {@code baseDirectory} init parameter without blocking a thread while
+ * the client reads: every time the output is ready the next chunk is read from the file into a
+ * pooled direct buffer and handed to Jetty, which writes it to the socket without copying it.
+ * <p>
+ * Single byte ranges ({@code bytes=0-99}, {@code bytes=100-}, {@code bytes=-100}) are answered with a
+ * partial response, requests for several ranges get the whole file.
+ */
+public class AsyncFileServlet extends HttpServlet {
+
+    public static final String BASE_DIRECTORY_PARAMETER = "baseDirectory";
+
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private final ByteBufferPool bufferPool = new ArrayByteBufferPool(0, 1024, CHUNK_SIZE);
+    private Path baseDirectory;
+
+    @Override
+    public void init() throws ServletException {
+        String directory = getInitParameter(BASE_DIRECTORY_PARAMETER);
+        if (directory == null) {
+            throw new ServletException("The init parameter " + BASE_DIRECTORY_PARAMETER + " is required");
+        }
+        baseDirectory = Paths.get(directory)
+            .toAbsolutePath()
+            .normalize();
+    }
+
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        Path file = resolve(request.getPathInfo());
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long size = Files.size(file);
+        long[] range = parseRange(request.getHeader("Range"), size);
+        if (range == null) {
+            response.setHeader("Content-Range", "bytes */" + size);
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        long start = range[0];
+        long length = range[1] - range[0] + 1;
+
+        response.setHeader("Accept-Ranges", "bytes");
+        String contentType = getServletContext().getMimeType(file.getFileName()
+            .toString());
+        response.setContentType(contentType != null ? contentType : "application/octet-stream");
+        response.setContentLengthLong(length);
+        if (length != size) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader("Content-Range", "bytes " + range[0] + "-" + range[1] + "/" + size);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        AsyncContext async = request.startAsync();
+        async.setTimeout(0);
+        ServletOutputStream out = response.getOutputStream();
+        out.setWriteListener(new FileWriteListener(channel, start, length, async, out));
+    }
+
+    /**
+     * Returns the regular file for the path below the base directory, or null if there is none.
+     */
+    private Path resolve(String pathInfo) {
+        if (pathInfo == null) {
+            return null;
+        }
+        Path file = baseDirectory.resolve(pathInfo.substring(1))
+            .normalize();
+        if (!file.startsWith(baseDirectory) || !Files.isRegularFile(file)) {
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * Returns the first and last byte to send, the whole file if there is no single byte range, or null
+     * if the range is outside of the file.
+     */
+    static long[] parseRange(String header, long size) {
+        long[] whole = { 0, size - 1 };
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return whole;
+        }
+        String spec = header.substring("bytes=".length())
+            .trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return whole;
+        }
+        try {
+            long first;
+            long last;
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix == 0) {
+                    return null;
+                }
+                first = Math.max(0, size - suffix);
+                last = size - 1;
+            } else {
+                first = Long.parseLong(spec.substring(0, dash));
+                last = dash == spec.length() - 1 ? size - 1 : Math.min(size - 1, Long.parseLong(spec.substring(dash + 1)));
+            }
+            if (first >= size || first > last) {
+                return null;
+            }
+            return new long[] { first, last };
+        } catch (NumberFormatException e) {
+            return whole;
+        }
+    }
+
+    /**
+     * Writes one chunk whenever the output is ready, the buffer is reused once the output reports that
+     * the previous write completed.
+     */
+    private class FileWriteListener implements WriteListener {
+        private final FileChannel channel;
+        private final AsyncContext async;
+        private final ServletOutputStream out;
+        private final ByteBuffer buffer;
+        private long position;
+        private long remaining;
+        private boolean completed;
+
+        FileWriteListener(FileChannel channel, long start, long length, AsyncContext async, ServletOutputStream out) {
+            this.channel = channel;
+            this.async = async;
+            this.out = out;
+            this.buffer = bufferPool.acquire(CHUNK_SIZE, true);
+            this.position = start;
+            this.remaining = length;
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            while (out.isReady()) {
+                if (remaining == 0) {
+                    complete();
+                    return;
+                }
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), remaining));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("The file ended " + remaining + " bytes early");
+                }
+                buffer.flip();
+                position += read;
+                remaining -= read;
+                write(buffer);
+            }
+        }
+
+        private void write(ByteBuffer chunk) throws IOException {
+            if (out instanceof HttpOutput) {
+                ((HttpOutput) out).write(chunk);
+            } else {
+                byte[] bytes = new byte[chunk.remaining()];
+                chunk.get(bytes);
+                out.write(bytes);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            getServletContext().log("Async Error", t);
+            complete();
+        }
+
+        private void complete() {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                getServletContext().log("Failed to close the file", e);
+            }
+            bufferPool.release(buffer);
+            async.complete();
+        }
+    }
+}
@@ -28,7 +28,8 @@ public class AsyncServlet extends HttpServlet {
                         async.complete();
                         return;
                     }
-                    out.write(content.get());
+                    out.write(content.array(), content.position(), content.remaining());
+                    content.position(content.limit());
                 }
             }
 
@@ -4,6 +4,9 @@ import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.handler.HandlerCollection;
+import org.eclipse.jetty.servlet.ServletHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.webapp.WebAppContext;
 
 /**
@@ -19,6 +22,16 @@ public class JettyServerFactory {
      */
     public final static String APP_PATH = "/myApp";
 
+    /**
+     * Path below which the file server streams files.
+     */
+    public final static String FILES_PATH = "/files";
+
+    /**
+     * Path of the {@link BlockingServlet} on the file server.
+     */
+    public final static String STATUS_PATH = "/status";
+
     /**
      * The server port.
      */
@@ -89,4 +102,43 @@ public class JettyServerFactory {
         return server;
     }
 
+    /**
+     * Creates a server which streams the files of a directory with an
+     * {@link AsyncFileServlet} below {@link #FILES_PATH} and answers
+     * {@link #STATUS_PATH} with a {@link BlockingServlet}.
+     * 
+     * @param baseDirectory
+     *            the directory of the files
+     * @param maxThreads
+     *            the maximum number of threads of the server, including the
+     *            acceptor and selector threads
+     * @param selectors
+     *            the number of selector threads of the connector, 0 for the
+     *            default
+     * @param acceptQueueSize
+     *            the number of connections the operating system queues before
+     *            they are accepted, 0 for the default
+     * @return a server
+     */
+    public static Server createFileServer(String baseDirectory, int maxThreads, int selectors, int acceptQueueSize) {
+        Server server = new Server(new QueuedThreadPool(maxThreads, Math.min(8, maxThreads)));
+
+        ServerConnector connector = new ServerConnector(server, 1, selectors);
+        connector.setPort(SERVER_PORT);
+        connector.setHost("127.0.0.1");
+        connector.setIdleTimeout(30000);
+        connector.setAcceptQueueSize(acceptQueueSize);
+        server.addConnector(connector);
+
+        ServletHandler servletHandler = new ServletHandler();
+        ServletHolder fileServlet = new ServletHolder(AsyncFileServlet.class);
+        fileServlet.setInitParameter(AsyncFileServlet.BASE_DIRECTORY_PARAMETER, baseDirectory);
+        fileServlet.setAsyncSupported(true);
+        servletHandler.addServletWithMapping(fileServlet, FILES_PATH + "/*");
+        servletHandler.addServletWithMapping(BlockingServlet.class, STATUS_PATH);
+        server.setHandler(servletHandler);
+
+        return server;
+    }
+
 }
\ No newline at end of file
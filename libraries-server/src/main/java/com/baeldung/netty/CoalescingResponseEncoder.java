@@ -0,0 +1,72 @@
+package com.baeldung.netty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Encodes {@link ResponseData} like {@link ResponseDataEncoder}, but gathers the responses written
+ * between two flushes in one buffer, so a flush writes a single buffer instead of one per response.
+ * The promises of the gathered writes complete together when the buffer is written.
+ */
+public class CoalescingResponseEncoder extends ChannelOutboundHandlerAdapter {
+
+    private ByteBuf pending;
+    private final List<ChannelPromise> promises = new ArrayList<>();
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (!(msg instanceof ResponseData)) {
+            ctx.write(msg, promise);
+            return;
+        }
+        if (pending == null) {
+            pending = ctx.alloc().ioBuffer();
+        }
+        pending.writeInt(((ResponseData) msg).getIntValue());
+        if (!promise.isVoid()) {
+            promises.add(promise);
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        if (pending != null) {
+            ByteBuf responses = pending;
+            pending = null;
+            if (promises.isEmpty()) {
+                ctx.write(responses, ctx.voidPromise());
+            } else {
+                ChannelPromise[] gathered = promises.toArray(new ChannelPromise[0]);
+                promises.clear();
+                ctx.write(responses).addListener((ChannelFuture future) -> {
+                    for (ChannelPromise promise : gathered) {
+                        if (future.isSuccess()) {
+                            promise.trySuccess();
+                        } else {
+                            promise.tryFailure(future.cause());
+                        }
+                    }
+                });
+            }
+        }
+        ctx.flush();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        if (pending != null) {
+            pending.release();
+            pending = null;
+        }
+        for (ChannelPromise promise : promises) {
+            promise.tryFailure(new IllegalStateException("Encoder removed before the response was flushed"));
+        }
+        promises.clear();
+    }
+}
@@ -0,0 +1,51 @@
+package com.baeldung.netty;
+
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
+
+/**
+ * Decodes the frames written by {@link RequestDataEncoder}, an int value followed by the length of the
+ * UTF-8 string as an int and the string, into pooled {@link RequestData} instances.
+ * <p>
+ * Unlike {@link RequestDecoder}, which is a {@link io.netty.handler.codec.ReplayingDecoder} and so starts
+ * decoding over whenever a frame is incomplete, this decoder only peeks at the length field and leaves
+ * the bytes in the buffer until the whole frame has arrived.
+ */
+public class FramedRequestDecoder extends ByteToMessageDecoder {
+
+    private static final int HEADER_LENGTH = 8;
+    private static final int LENGTH_FIELD_OFFSET = 4;
+
+    private final int maxStringLength;
+
+    public FramedRequestDecoder(int maxStringLength) {
+        this.maxStringLength = maxStringLength;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        if (in.readableBytes() < HEADER_LENGTH) {
+            return;
+        }
+        int stringLength = in.getInt(in.readerIndex() + LENGTH_FIELD_OFFSET);
+        if (stringLength < 0) {
+            throw new CorruptedFrameException("Negative string length " + stringLength);
+        }
+        if (stringLength > maxStringLength) {
+            throw new TooLongFrameException("String length " + stringLength + " exceeds the maximum of " + maxStringLength);
+        }
+        if (in.readableBytes() < HEADER_LENGTH + stringLength) {
+            return;
+        }
+        RequestData data = RequestData.newInstance();
+        data.setIntValue(in.readInt());
+        in.skipBytes(HEADER_LENGTH - LENGTH_FIELD_OFFSET);
+        data.readStringValue(in, stringLength);
+        out.add(data);
+    }
+}
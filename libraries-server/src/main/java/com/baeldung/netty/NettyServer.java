@@ -1,22 +1,32 @@
 package com.baeldung.netty;
 
 import io.netty.bootstrap.ServerBootstrap;
-import io.netty.channel.ChannelFuture;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
 
 public class NettyServer {
 
+    static final String WORKER_THREAD_PREFIX = "netty-server-worker";
+    static final int MAX_STRING_LENGTH = 64 * 1024;
+
     private int port;
+    private final Transport transport;
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
 
-    private NettyServer(int port) {
+    NettyServer(int port, Transport transport) {
         this.port = port;
+        this.transport = transport;
     }
 
+    /**
+     * Usage: {@code NettyServer [port] [nio|epoll]}, epoll is used by default where it is available.
+     */
     public static void main(String[] args) throws Exception {
         int port;
         if (args.length > 0) {
@@ -24,24 +34,42 @@ public class NettyServer {
         } else {
             port = 8080;
         }
-        new NettyServer(port).run();
+        Transport transport = args.length > 1 ? Transport.valueOf(args[1].toUpperCase()) : Transport.best();
+        new NettyServer(port, transport).run();
     }
 
     private void run() throws Exception {
-        EventLoopGroup bossGroup = new NioEventLoopGroup();
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
         try {
-            ServerBootstrap b = new ServerBootstrap();
-            b.group(bossGroup, workerGroup).channel(NioServerSocketChannel.class).childHandler(new ChannelInitializer<SocketChannel>() {
-                @Override
-                public void initChannel(SocketChannel ch) throws Exception {
-                    ch.pipeline().addLast(new RequestDecoder(), new ResponseDataEncoder(), new ProcessingHandler());
-                }
-            }).option(ChannelOption.SO_BACKLOG, 128).childOption(ChannelOption.SO_KEEPALIVE, true);
-
-            ChannelFuture f = b.bind(port).sync();
-            f.channel().closeFuture().sync();
+            start().closeFuture().sync();
         } finally {
+            stop();
+        }
+    }
+
+    /**
+     * Binds the server with the pooled, non-replaying codec and returns its channel.
+     */
+    Channel start() throws InterruptedException {
+        return start(new ChannelInitializer<SocketChannel>() {
+            @Override
+            public void initChannel(SocketChannel ch) throws Exception {
+                ch.pipeline().addLast(new FramedRequestDecoder(MAX_STRING_LENGTH), new CoalescingResponseEncoder(), new PipelinedProcessingHandler());
+            }
+        });
+    }
+
+    Channel start(ChannelHandler childHandler) throws InterruptedException {
+        bossGroup = transport.newEventLoopGroup(1, new DefaultThreadFactory("netty-server-boss"));
+        workerGroup = transport.newEventLoopGroup(0, new DefaultThreadFactory(WORKER_THREAD_PREFIX));
+        ServerBootstrap b = new ServerBootstrap();
+        b.group(bossGroup, workerGroup).channel(transport.serverChannelClass()).childHandler(childHandler).option(ChannelOption.SO_BACKLOG, 128).childOption(ChannelOption.SO_KEEPALIVE, true)
+            .childOption(ChannelOption.TCP_NODELAY, true);
+
+        return b.bind(port).sync().channel();
+    }
+
+    void stop() {
+        if (workerGroup != null) {
             workerGroup.shutdownGracefully();
             bossGroup.shutdownGracefully();
         }
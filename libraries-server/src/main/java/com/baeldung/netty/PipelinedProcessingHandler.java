@@ -0,0 +1,32 @@
+package com.baeldung.netty;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+/**
+ * Answers like {@link ProcessingHandler}, but keeps the connection open for further requests and
+ * flushes only once all requests of a read have been answered. The pooled requests are recycled as
+ * soon as they are processed.
+ */
+public class PipelinedProcessingHandler extends ChannelInboundHandlerAdapter {
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        RequestData requestData = (RequestData) msg;
+        ResponseData responseData = new ResponseData();
+        responseData.setIntValue(requestData.getIntValue() * 2);
+        requestData.recycle();
+        ctx.write(responseData, ctx.voidPromise());
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        ctx.flush();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        cause.printStackTrace();
+        ctx.close();
+    }
+}
@@ -1,8 +1,39 @@
 package com.baeldung.netty;
 
+import java.nio.charset.StandardCharsets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.Recycler;
+
 public class RequestData {
+
+    private static final Recycler<RequestData> RECYCLER = new Recycler<RequestData>() {
+        @Override
+        protected RequestData newObject(Handle<RequestData> handle) {
+            return new RequestData(handle);
+        }
+    };
+
+    private final Recycler.Handle<RequestData> handle;
     private int intValue;
     private String stringValue;
+    private byte[] stringBytes = new byte[0];
+    private int stringLength = -1;
+
+    public RequestData() {
+        this(null);
+    }
+
+    private RequestData(Recycler.Handle<RequestData> handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Returns a pooled instance, which must be handed back with {@link #recycle()} once it is processed.
+     */
+    static RequestData newInstance() {
+        return RECYCLER.get();
+    }
 
     int getIntValue() {
         return intValue;
@@ -12,16 +43,48 @@ public class RequestData {
         this.intValue = intValue;
     }
 
+    /**
+     * Decodes the string on the first call if it was read as bytes, so requests whose string is never
+     * used don't allocate one.
+     */
     String getStringValue() {
+        if (stringValue == null && stringLength >= 0) {
+            stringValue = new String(stringBytes, 0, stringLength, StandardCharsets.UTF_8);
+        }
         return stringValue;
     }
 
     void setStringValue(String stringValue) {
         this.stringValue = stringValue;
+        this.stringLength = -1;
+    }
+
+    /**
+     * Copies the UTF-8 bytes of the string into a byte array kept across recycling.
+     */
+    void readStringValue(ByteBuf in, int length) {
+        if (stringBytes.length < length) {
+            stringBytes = new byte[length];
+        }
+        in.readBytes(stringBytes, 0, length);
+        stringLength = length;
+        stringValue = null;
+    }
+
+    /**
+     * Hands a pooled instance back to the pool, does nothing for an instance created with the constructor.
+     */
+    void recycle() {
+        if (handle != null) {
+            intValue = 0;
+            stringValue = null;
+            stringLength = -1;
+            handle.recycle(this);
+        }
     }
 
     @Override
     public String toString() {
-        return "RequestData{" + "intValue=" + intValue + ", stringValue='" + stringValue + '\'' + '}';
+        return "RequestData{" + "intValue=" + intValue + ", stringValue='" + getStringValue() + '\'' + '}';
     }
 }
@@ -13,7 +13,9 @@ public class RequestDataEncoder extends MessageToByteEncoder<RequestData> {
     @Override
     protected void encode(ChannelHandlerContext ctx, RequestData msg, ByteBuf out) throws Exception {
         out.writeInt(msg.getIntValue());
-        out.writeInt(msg.getStringValue().length());
-        out.writeCharSequence(msg.getStringValue(), charset);
+        int lengthIndex = out.writerIndex();
+        out.writeInt(0);
+        int length = out.writeCharSequence(msg.getStringValue(), charset);
+        out.setInt(lengthIndex, length);
     }
 }
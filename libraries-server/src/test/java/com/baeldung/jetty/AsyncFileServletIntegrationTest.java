@@ -0,0 +1,108 @@
+package com.baeldung.jetty;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.eclipse.jetty.server.Server;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncFileServletIntegrationTest {
+    private static final String BASE_URL = "http://localhost:" + JettyServerFactory.SERVER_PORT + JettyServerFactory.FILES_PATH;
+
+    private static File directory;
+    private static byte[] content;
+    private static Server server;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        directory = Files.createTempDirectory("async-file-servlet")
+            .toFile();
+        content = new byte[5 * AsyncFileServlet.CHUNK_SIZE + 123];
+        new Random(42).nextBytes(content);
+        Files.write(new File(directory, "large.bin").toPath(), content);
+
+        server = JettyServerFactory.createFileServer(directory.getPath(), 16, 1, 0);
+        server.start();
+    }
+
+    @AfterClass
+    public static void cleanup() throws Exception {
+        server.stop();
+        Files.delete(new File(directory, "large.bin").toPath());
+        Files.delete(directory.toPath());
+    }
+
+    @Test
+    public void givenFile_whenRequested_thenWholeFileIsStreamed() throws Exception {
+        try (CloseableHttpClient client = HttpClientBuilder.create().build()) {
+            HttpResponse response = client.execute(new HttpGet(BASE_URL + "/large.bin"));
+
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(200);
+            assertThat(response.getFirstHeader("Accept-Ranges").getValue()).isEqualTo("bytes");
+            assertThat(IOUtils.toByteArray(response.getEntity().getContent())).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void givenRange_whenRequested_thenOnlyRangeIsStreamed() throws Exception {
+        int first = AsyncFileServlet.CHUNK_SIZE - 10;
+        int last = 3 * AsyncFileServlet.CHUNK_SIZE + 9;
+
+        try (CloseableHttpClient client = HttpClientBuilder.create().build()) {
+            HttpGet request = new HttpGet(BASE_URL + "/large.bin");
+            request.setHeader("Range", "bytes=" + first + "-" + last);
+            HttpResponse response = client.execute(request);
+
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(206);
+            assertThat(response.getFirstHeader("Content-Range").getValue()).isEqualTo("bytes " + first + "-" + last + "/" + content.length);
+            assertThat(IOUtils.toByteArray(response.getEntity().getContent())).isEqualTo(Arrays.copyOfRange(content, first, last + 1));
+        }
+    }
+
+    @Test
+    public void givenSuffixRange_whenRequested_thenEndOfFileIsStreamed() throws Exception {
+        try (CloseableHttpClient client = HttpClientBuilder.create().build()) {
+            HttpGet request = new HttpGet(BASE_URL + "/large.bin");
+            request.setHeader("Range", "bytes=-100");
+            HttpResponse response = client.execute(request);
+
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(206);
+            assertThat(IOUtils.toByteArray(response.getEntity().getContent())).isEqualTo(Arrays.copyOfRange(content, content.length - 100, content.length));
+        }
+    }
+
+    @Test
+    public void givenRangeAfterEndOfFile_whenRequested_thenRangeNotSatisfiable() throws Exception {
+        try (CloseableHttpClient client = HttpClientBuilder.create().build()) {
+            HttpGet request = new HttpGet(BASE_URL + "/large.bin");
+            request.setHeader("Range", "bytes=" + content.length + "-");
+            HttpResponse response = client.execute(request);
+
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(416);
+            assertThat(response.getFirstHeader("Content-Range").getValue()).isEqualTo("bytes */" + content.length);
+        }
+    }
+
+    @Test
+    public void givenPathOutsideOfDirectory_whenRequested_thenNotFound() throws Exception {
+        try (CloseableHttpClient client = HttpClientBuilder.create().build()) {
+            HttpResponse missing = client.execute(new HttpGet(BASE_URL + "/missing.bin"));
+            assertThat(missing.getStatusLine().getStatusCode()).isEqualTo(404);
+            IOUtils.toByteArray(missing.getEntity().getContent());
+
+            HttpResponse outside = client.execute(new HttpGet(BASE_URL + "/..%2F" + directory.getName() + "%2Flarge.bin"));
+            assertThat(outside.getStatusLine().getStatusCode()).isIn(400, 404);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.baeldung.jetty;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.servlet.ServletHandler;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lets {@code -Djetty.load.clients} slow clients, 2000 by default, download a file from the
+ * {@link AsyncFileServlet} and then from a servlet copying the file with blocking writes, while another
+ * client keeps requesting the {@link BlockingServlet}. Reports the bytes per second the slow clients
+ * receive, how many of them are served at all and the latency of the status requests.
+ */
+public class AsyncFileServletLoadManualTest {
+
+    private static final int CLIENTS = Integer.getInteger("jetty.load.clients", 2000);
+    private static final int MAX_THREADS = 200;
+    private static final int FILE_SIZE = 1024 * 1024;
+    private static final int READ_PER_TICK = 4 * 1024;
+    private static final long TICK_MILLIS = 50;
+    private static final long DURATION_MILLIS = 15_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void givenSlowClients_whenDownloading_thenReportThroughputAndStatusLatency() throws Exception {
+        File directory = folder.newFolder("files");
+        Files.write(new File(directory, "large.bin").toPath(), new byte[FILE_SIZE]);
+
+        Server server = JettyServerFactory.createFileServer(directory.getPath(), MAX_THREADS, 0, CLIENTS);
+        ((ServletHandler) server.getHandler()).addServletWithMapping(BlockingFileServlet.class, "/blocking/*");
+        server.start();
+        try {
+            run("async", JettyServerFactory.FILES_PATH + "/large.bin", directory);
+            run("blocking", "/blocking/" + new File(directory, "large.bin").getPath(), directory);
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static void run(String name, String path, File directory) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        int[] statusFailures = new int[1];
+        Thread statusClient = new Thread(() -> requestStatus(running, latencies, statusFailures), "status-client");
+        statusClient.start();
+
+        long[] received = new long[CLIENTS];
+        long start = System.nanoTime();
+        try (Selector selector = Selector.open()) {
+            byte[] request = ("GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+            for (int i = 0; i < CLIENTS; i++) {
+                SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", JettyServerFactory.SERVER_PORT));
+                channel.write(ByteBuffer.wrap(request));
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, i);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(READ_PER_TICK);
+            while (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS)) {
+                Thread.sleep(TICK_MILLIS);
+                selector.selectNow();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    buffer.clear();
+                    int read = ((SocketChannel) key.channel()).read(buffer);
+                    if (read > 0) {
+                        received[(Integer) key.attachment()] += read;
+                    } else if (read < 0) {
+                        key.cancel();
+                    }
+                }
+                selector.selectedKeys()
+                    .clear();
+            }
+            for (SelectionKey key : selector.keys()) {
+                key.channel()
+                    .close();
+            }
+        } finally {
+            running.set(false);
+            statusClient.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long total = 0;
+        int served = 0;
+        for (long bytes : received) {
+            total += bytes;
+            if (bytes > 0) {
+                served++;
+            }
+        }
+        Collections.sort(latencies);
+        System.out.printf("%-8s %,8.1f MB/s, %,5d of %,5d clients served, status p50 %,6d ms max %,6d ms, %d status timeouts%n", name, total / seconds / (1024 * 1024), served, CLIENTS,
+            latencies.isEmpty() ? -1 : latencies.get(latencies.size() / 2), latencies.isEmpty() ? -1 : latencies.get(latencies.size() - 1), statusFailures[0]);
+    }
+
+    private static void requestStatus(AtomicBoolean running, List<Long> latencies, int[] failures) {
+        RequestConfig config = RequestConfig.custom()
+            .setConnectTimeout(5000)
+            .setSocketTimeout(5000)
+            .build();
+        try (CloseableHttpClient client = HttpClientBuilder.create()
+            .setDefaultRequestConfig(config)
+            .build()) {
+            while (running.get()) {
+                long start = System.nanoTime();
+                try (CloseableHttpResponse response = client.execute(new HttpGet("http://127.0.0.1:" + JettyServerFactory.SERVER_PORT + JettyServerFactory.STATUS_PATH))) {
+                    EntityUtils.consume(response.getEntity());
+                    latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                } catch (IOException e) {
+                    failures[0]++;
+                }
+                Thread.sleep(100);
+            }
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Serves a file the way {@link BlockingServlet} answers, with blocking writes on the request thread.
+     */
+    public static class BlockingFileServlet extends HttpServlet {
+
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setContentType("application/octet-stream");
+            response.setStatus(HttpServletResponse.SC_OK);
+            Files.copy(Paths.get(request.getPathInfo()), response.getOutputStream());
+        }
+    }
+}
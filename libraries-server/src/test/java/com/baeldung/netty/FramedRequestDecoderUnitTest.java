@@ -0,0 +1,111 @@
+package com.baeldung.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.TooLongFrameException;
+
+public class FramedRequestDecoderUnitTest {
+
+    @Test
+    public void givenFrameArrivingByteByByte_whenDecoded_thenOneRequestIsRead() {
+        ByteBuf frames = encode(request(21, "Grüße aus Köln"));
+        EmbeddedChannel channel = new EmbeddedChannel(new FramedRequestDecoder(NettyServer.MAX_STRING_LENGTH));
+
+        while (frames.isReadable()) {
+            channel.writeInbound(frames.readRetainedSlice(1));
+        }
+        frames.release();
+
+        RequestData data = channel.readInbound();
+        assertThat(data.getIntValue()).isEqualTo(21);
+        assertThat(data.getStringValue()).isEqualTo("Grüße aus Köln");
+        assertThat((Object) channel.readInbound()).isNull();
+        assertThat(channel.finish()).isFalse();
+    }
+
+    @Test
+    public void givenSeveralFramesInOneBuffer_whenDecoded_thenEveryRequestIsRead() {
+        ByteBuf frames = Unpooled.wrappedBuffer(encode(request(1, "one")), encode(request(2, "")), encode(request(3, "three")));
+        EmbeddedChannel channel = new EmbeddedChannel(new FramedRequestDecoder(NettyServer.MAX_STRING_LENGTH));
+
+        channel.writeInbound(frames);
+
+        assertThat(channel.inboundMessages()).hasSize(3);
+        RequestData first = channel.readInbound();
+        RequestData second = channel.readInbound();
+        RequestData third = channel.readInbound();
+        assertThat(first.getStringValue()).isEqualTo("one");
+        assertThat(second.getStringValue()).isEmpty();
+        assertThat(third.getIntValue()).isEqualTo(3);
+        assertThat(third.getStringValue()).isEqualTo("three");
+    }
+
+    @Test
+    public void givenRecycledRequest_whenNextFrameIsDecoded_thenInstanceIsReused() {
+        EmbeddedChannel channel = new EmbeddedChannel(new FramedRequestDecoder(NettyServer.MAX_STRING_LENGTH));
+
+        channel.writeInbound(encode(request(1, "first")));
+        RequestData first = channel.readInbound();
+        first.recycle();
+        channel.writeInbound(encode(request(2, "second")));
+        RequestData second = channel.readInbound();
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getIntValue()).isEqualTo(2);
+        assertThat(second.getStringValue()).isEqualTo("second");
+    }
+
+    @Test
+    public void givenStringLongerThanMaximum_whenDecoded_thenFails() {
+        EmbeddedChannel channel = new EmbeddedChannel(new FramedRequestDecoder(4));
+
+        assertThatThrownBy(() -> channel.writeInbound(encode(request(1, "too long")))).isInstanceOf(TooLongFrameException.class);
+    }
+
+    @Test
+    public void givenResponsesWrittenBeforeFlush_whenFlushed_thenWrittenAsOneBuffer() {
+        EmbeddedChannel channel = new EmbeddedChannel(new CoalescingResponseEncoder());
+
+        ChannelFuture first = channel.write(response(1));
+        ChannelFuture second = channel.write(response(2));
+        channel.write(response(3));
+        assertThat(channel.outboundMessages()).isEmpty();
+        channel.flush();
+
+        assertThat(channel.outboundMessages()).hasSize(1);
+        ByteBuf responses = channel.readOutbound();
+        assertThat(responses.readInt()).isEqualTo(1);
+        assertThat(responses.readInt()).isEqualTo(2);
+        assertThat(responses.readInt()).isEqualTo(3);
+        assertThat(responses.isReadable()).isFalse();
+        responses.release();
+        assertThat(first.isSuccess()).isTrue();
+        assertThat(second.isSuccess()).isTrue();
+    }
+
+    private static RequestData request(int intValue, String stringValue) {
+        RequestData data = new RequestData();
+        data.setIntValue(intValue);
+        data.setStringValue(stringValue);
+        return data;
+    }
+
+    private static ResponseData response(int intValue) {
+        ResponseData data = new ResponseData();
+        data.setIntValue(intValue);
+        return data;
+    }
+
+    private static ByteBuf encode(RequestData data) {
+        EmbeddedChannel channel = new EmbeddedChannel(new RequestDataEncoder());
+        channel.writeOutbound(data);
+        return channel.readOutbound();
+    }
+}
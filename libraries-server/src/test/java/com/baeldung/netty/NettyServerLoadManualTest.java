@@ -0,0 +1,120 @@
+package com.baeldung.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.SocketChannel;
+
+/**
+ * Sends batches of pipelined requests over loopback and reports the requests per second and the bytes
+ * the server's worker threads allocated per request, for the replaying decoder with one buffer per
+ * response and for the framed decoder with pooled requests and coalesced responses.
+ */
+public class NettyServerLoadManualTest {
+
+    private static final int WARMUP_REQUESTS = 200_000;
+    private static final int REQUESTS = 1_000_000;
+    private static final int PIPELINE_DEPTH = 64;
+
+    @Test
+    public void whenLoadingBothCodecs_thenReportThroughputAndAllocation() throws Exception {
+        for (Transport transport : Transport.best() == Transport.EPOLL ? Transport.values() : new Transport[] { Transport.NIO }) {
+            run("replaying " + transport, new NettyServer(0, transport), true);
+            run("framed " + transport, new NettyServer(0, transport), false);
+        }
+    }
+
+    private static void run(String name, NettyServer server, boolean replaying) throws Exception {
+        Channel serverChannel = replaying ? server.start(new ChannelInitializer<SocketChannel>() {
+            @Override
+            public void initChannel(SocketChannel ch) throws Exception {
+                ch.pipeline().addLast(new RequestDecoder(), new ResponseDataEncoder(), new PipelinedProcessingHandler());
+            }
+        }) : server.start();
+        try (Socket socket = new Socket()) {
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress("127.0.0.1", ((InetSocketAddress) serverChannel.localAddress()).getPort()));
+            OutputStream out = socket.getOutputStream();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            byte[] batch = batch();
+
+            send(out, in, batch, WARMUP_REQUESTS);
+
+            Map<Long, Long> allocatedBefore = workerAllocatedBytes();
+            long start = System.nanoTime();
+            send(out, in, batch, REQUESTS);
+            long elapsed = System.nanoTime() - start;
+            long allocated = 0;
+            for (Map.Entry<Long, Long> worker : workerAllocatedBytes().entrySet()) {
+                allocated += worker.getValue() - allocatedBefore.getOrDefault(worker.getKey(), 0L);
+            }
+
+            System.out.printf("%-16s %,12.0f req/s %,8d bytes allocated/req%n", name, REQUESTS * 1e9 / elapsed, allocated / REQUESTS);
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static void send(OutputStream out, DataInputStream in, byte[] batch, int requests) throws IOException {
+        byte[] responses = new byte[PIPELINE_DEPTH * Integer.BYTES];
+        for (int sent = 0; sent < requests; sent += PIPELINE_DEPTH) {
+            out.write(batch);
+            in.readFully(responses);
+            assertThat(responses[responses.length - 1]).isEqualTo((byte) (2 * (PIPELINE_DEPTH - 1)));
+        }
+    }
+
+    private static byte[] batch() {
+        EmbeddedChannel channel = new EmbeddedChannel(new RequestDataEncoder());
+        for (int i = 0; i < PIPELINE_DEPTH; i++) {
+            RequestData data = new RequestData();
+            data.setIntValue(i);
+            data.setStringValue("all work and no play makes jack a dull boy");
+            channel.write(data);
+        }
+        channel.flush();
+        ByteBuf frames = Unpooled.buffer();
+        for (Object frame : channel.outboundMessages()) {
+            frames.writeBytes((ByteBuf) frame);
+            ((ByteBuf) frame).release();
+        }
+        byte[] bytes = new byte[frames.readableBytes()];
+        frames.readBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * The bytes allocated so far by each live worker thread, by thread id. Workers of servers stopped
+     * earlier may still be shutting down, so only the difference per thread is meaningful.
+     */
+    private static Map<Long, Long> workerAllocatedBytes() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Map<Long, Long> allocated = new HashMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith(NettyServer.WORKER_THREAD_PREFIX)) {
+                long bytes = threads.getThreadAllocatedBytes(thread.getId());
+                if (bytes >= 0) {
+                    allocated.put(thread.getId(), bytes);
+                }
+            }
+        }
+        return allocated;
+    }
+}
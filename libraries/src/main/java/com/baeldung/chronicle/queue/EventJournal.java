@@ -0,0 +1,119 @@
+package com.baeldung.chronicle.queue;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import net.openhft.chronicle.Chronicle;
+import net.openhft.chronicle.ChronicleQueueBuilder;
+import net.openhft.chronicle.ExcerptAppender;
+import net.openhft.chronicle.ExcerptMarshallable;
+
+/**
+ * A persisted journal of fixed-size records on a memory-mapped vanilla chronicle.
+ * <p>
+ * Every writing thread keeps its own appender for the lifetime of the journal, unlike
+ * {@link ChronicleQueue#writeToQueue}, which creates and closes one per message. An excerpt holds
+ * the number of records as an int followed by the records, so a batch of records costs one excerpt
+ * and one index entry, while a single record is written and visible to tailers right away.
+ * <p>
+ * Nothing is forced to disk on a write, the operating system flushes the mapped files. Closing the
+ * journal closes the appenders of all threads, the journal must not be written to afterwards.
+ */
+public class EventJournal<T extends ExcerptMarshallable> implements Closeable {
+
+    static final int COUNT_SIZE = 4;
+    static final String TAILER_INDEX_SUFFIX = ".tailer";
+    static final int MAX_RECORDS_PER_EXCERPT = 1024;
+
+    private final File directory;
+    private final Chronicle chronicle;
+    private final int recordSize;
+    private final ThreadLocal<ExcerptAppender> appenders;
+    private final Queue<ExcerptAppender> openAppenders = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param recordSize the number of bytes every record writes
+     */
+    public EventJournal(File directory, int recordSize) throws IOException {
+        this.directory = directory;
+        this.chronicle = ChronicleQueueBuilder.vanilla(directory)
+            .build();
+        this.recordSize = recordSize;
+        this.appenders = ThreadLocal.withInitial(() -> {
+            try {
+                ExcerptAppender appender = chronicle.createAppender();
+                openAppenders.add(appender);
+                return appender;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Writes one record as its own excerpt.
+     *
+     * @return the index of the excerpt
+     */
+    public long append(T record) {
+        ExcerptAppender appender = appenders.get();
+        appender.startExcerpt(COUNT_SIZE + recordSize);
+        appender.writeInt(1);
+        record.writeMarshallable(appender);
+        appender.finish();
+        return appender.lastWrittenIndex();
+    }
+
+    /**
+     * Writes the records as excerpts of up to {@value #MAX_RECORDS_PER_EXCERPT} records each.
+     *
+     * @return the index of the last excerpt, or -1 if there were no records
+     */
+    public long appendAll(List<? extends T> records) {
+        ExcerptAppender appender = appenders.get();
+        long index = -1;
+        for (int from = 0; from < records.size(); from += MAX_RECORDS_PER_EXCERPT) {
+            int to = Math.min(records.size(), from + MAX_RECORDS_PER_EXCERPT);
+            appender.startExcerpt(COUNT_SIZE + (long) (to - from) * recordSize);
+            appender.writeInt(to - from);
+            for (int i = from; i < to; i++) {
+                records.get(i)
+                    .writeMarshallable(appender);
+            }
+            appender.finish();
+            index = appender.lastWrittenIndex();
+        }
+        return index;
+    }
+
+    /**
+     * A tailer reading from the first record, which doesn't remember how far it read.
+     */
+    public JournalTailer<T> createTailer() throws IOException {
+        return new JournalTailer<>(chronicle.createTailer(), null);
+    }
+
+    /**
+     * A tailer which stores the index of the excerpts it read under its name, and resumes after the
+     * stored index when it is created again, also after a restart.
+     */
+    public JournalTailer<T> createTailer(String name) throws IOException {
+        return new JournalTailer<>(chronicle.createTailer(), new File(directory, name + TAILER_INDEX_SUFFIX));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            for (ExcerptAppender appender = openAppenders.poll(); appender != null; appender = openAppenders.poll()) {
+                appender.close();
+            }
+        } finally {
+            chronicle.close();
+        }
+    }
+}
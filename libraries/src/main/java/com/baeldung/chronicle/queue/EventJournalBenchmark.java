@@ -0,0 +1,121 @@
+package com.baeldung.chronicle.queue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import net.openhft.chronicle.Chronicle;
+import net.openhft.chronicle.ChronicleQueueBuilder;
+import net.openhft.chronicle.tools.ChronicleTools;
+
+/**
+ * Compares writing an excerpt per call through a new appender, as {@link ChronicleQueue#writeToQueue}
+ * does, with single and batched writes to an {@link EventJournal}. The throughput results are messages
+ * per second, the sample time results include the p99.9 write latency.
+ * <p>
+ * {@code vanillaAppenderPerWrite} writes to a vanilla chronicle like the journal, so it differs from
+ * {@code singleWrite} only in the appender handling. {@code indexedAppenderPerWrite} writes to an
+ * indexed chronicle, the layout of the existing {@link ChronicleQueue} example, and shows the cost of
+ * that layout on top.
+ * <p>
+ * The journals are created below {@code java.io.tmpdir}, which should be on local disk rather than tmpfs
+ * to measure the disk.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EventJournalBenchmark {
+
+    private static final int BATCH_SIZE = 64;
+
+    private File directory;
+    private Chronicle indexedChronicle;
+    private Chronicle vanillaChronicle;
+    private EventJournal<PriceEvent> journal;
+    private PriceEvent event;
+    private List<PriceEvent> batch;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("chronicle-journal-benchmark")
+            .toFile();
+        indexedChronicle = ChronicleQueueBuilder.indexed(new File(directory, "indexed"))
+            .build();
+        vanillaChronicle = ChronicleQueueBuilder.vanilla(new File(directory, "vanilla"))
+            .build();
+        journal = new EventJournal<>(new File(directory, "journal"), PriceEvent.SIZE);
+        event = new PriceEvent();
+        batch = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new PriceEvent());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        indexedChronicle.close();
+        vanillaChronicle.close();
+        journal.close();
+        ChronicleTools.deleteDirOnExit(directory.getPath());
+    }
+
+    @Benchmark
+    public void indexedAppenderPerWrite() throws IOException {
+        ChronicleQueue.writeToQueue(indexedChronicle, "AAPL", 100, ++sequence, 101.25);
+    }
+
+    @Benchmark
+    public void vanillaAppenderPerWrite() throws IOException {
+        ChronicleQueue.writeToQueue(vanillaChronicle, "AAPL", 100, ++sequence, 101.25);
+    }
+
+    @Benchmark
+    public long singleWrite() {
+        return journal.append(event.set("AAPL", ++sequence, 101.25, 100));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long batchedWrite() {
+        for (PriceEvent batched : batch) {
+            batched.set("AAPL", ++sequence, 101.25, 100);
+        }
+        return journal.appendAll(batch);
+    }
+
+    /**
+     * Runs the benchmarks for the messages per second, then for the latency percentiles in microseconds.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(options(Mode.Throughput, TimeUnit.SECONDS)).run();
+        new Runner(options(Mode.SampleTime, TimeUnit.MICROSECONDS)).run();
+    }
+
+    private static Options options(Mode mode, TimeUnit timeUnit) {
+        return new OptionsBuilder().include(EventJournalBenchmark.class.getSimpleName())
+            .mode(mode)
+            .timeUnit(timeUnit)
+            .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.baeldung.chronicle.queue;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import net.openhft.chronicle.ExcerptMarshallable;
+import net.openhft.chronicle.ExcerptTailer;
+
+/**
+ * Reads the records of an {@link EventJournal} in order into a caller-supplied record, so reading
+ * allocates nothing per record.
+ * <p>
+ * A named tailer keeps the index of the last excerpt it read completely in a small memory-mapped
+ * file. The index moves once the last record of an excerpt has been read, so after a restart a
+ * tailer which stopped within a batch reads the rest of the batch again.
+ */
+public class JournalTailer<T extends ExcerptMarshallable> implements Closeable {
+
+    private static final long NONE = -1;
+
+    private final ExcerptTailer tailer;
+    private final MappedByteBuffer storedIndex;
+    private int remaining;
+
+    JournalTailer(ExcerptTailer tailer, File indexFile) throws IOException {
+        this.tailer = tailer;
+        this.storedIndex = indexFile == null ? null : mapIndex(indexFile);
+        long index = index();
+        if (index != NONE && !tailer.index(index)) {
+            throw new IOException("Stored index " + index + " is not in the journal");
+        }
+    }
+
+    private static MappedByteBuffer mapIndex(File indexFile) throws IOException {
+        boolean exists = indexFile.exists();
+        try (RandomAccessFile file = new RandomAccessFile(indexFile, "rw"); FileChannel channel = file.getChannel()) {
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+            if (!exists) {
+                index.putLong(0, NONE);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Reads the next record into the given one.
+     *
+     * @return false if all records written so far have been read
+     */
+    public boolean readNext(T record) {
+        if (remaining == 0) {
+            if (!tailer.nextIndex()) {
+                return false;
+            }
+            remaining = tailer.readInt();
+        }
+        record.readMarshallable(tailer);
+        if (--remaining == 0) {
+            tailer.finish();
+            if (storedIndex != null) {
+                storedIndex.putLong(0, tailer.index());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The index of the last excerpt read completely, or -1 if there is none or the tailer isn't named.
+     */
+    public long index() {
+        return storedIndex == null ? NONE : storedIndex.getLong(0);
+    }
+
+    @Override
+    public void close() {
+        tailer.close();
+        if (storedIndex != null) {
+            storedIndex.force();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.baeldung.chronicle.queue;
+
+import java.nio.charset.StandardCharsets;
+
+import net.openhft.chronicle.ExcerptCommon;
+import net.openhft.chronicle.ExcerptMarshallable;
+
+/**
+ * A mutable record with a fixed layout of {@value #SIZE} bytes, so one instance can be reused for
+ * every write and read instead of allocating an object per message:
+ *
+ * <pre>
+ * symbol    8 bytes, ASCII, padded with zeros
+ * timestamp 8 bytes
+ * price     8 bytes
+ * quantity  4 bytes
+ * </pre>
+ */
+public class PriceEvent implements ExcerptMarshallable {
+
+    public static final int SIZE = 28;
+    private static final int SYMBOL_LENGTH = 8;
+
+    private final byte[] symbol = new byte[SYMBOL_LENGTH];
+    private int symbolLength;
+    private long timestamp;
+    private double price;
+    private int quantity;
+
+    public PriceEvent set(String symbol, long timestamp, double price, int quantity) {
+        if (symbol.length() > SYMBOL_LENGTH) {
+            throw new IllegalArgumentException("Symbol longer than " + SYMBOL_LENGTH + " characters: " + symbol);
+        }
+        for (int i = 0; i < SYMBOL_LENGTH; i++) {
+            this.symbol[i] = i < symbol.length() ? (byte) symbol.charAt(i) : 0;
+        }
+        this.symbolLength = symbol.length();
+        this.timestamp = timestamp;
+        this.price = price;
+        this.quantity = quantity;
+        return this;
+    }
+
+    public String getSymbol() {
+        return new String(symbol, 0, symbolLength, StandardCharsets.US_ASCII);
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    @Override
+    public void writeMarshallable(ExcerptCommon out) {
+        out.write(symbol);
+        out.writeLong(timestamp);
+        out.writeDouble(price);
+        out.writeInt(quantity);
+    }
+
+    @Override
+    public void readMarshallable(ExcerptCommon in) {
+        in.readFully(symbol);
+        symbolLength = 0;
+        while (symbolLength < SYMBOL_LENGTH && symbol[symbolLength] != 0) {
+            symbolLength++;
+        }
+        timestamp = in.readLong();
+        price = in.readDouble();
+        quantity = in.readInt();
+    }
+}
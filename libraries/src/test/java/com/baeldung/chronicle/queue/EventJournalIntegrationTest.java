@@ -0,0 +1,131 @@
+package com.baeldung.chronicle.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EventJournalIntegrationTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+    private EventJournal<PriceEvent> journal;
+
+    @Before
+    public void setup() throws IOException {
+        directory = folder.newFolder("journal");
+        journal = new EventJournal<>(directory, PriceEvent.SIZE);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        journal.close();
+    }
+
+    @Test
+    public void givenSingleAndBatchedWrites_whenTailed_thenAllRecordsAreReadInOrder() throws IOException {
+        journal.append(new PriceEvent().set("AAPL", 1L, 101.25, 10));
+        List<PriceEvent> batch = new ArrayList<>();
+        for (int i = 2; i <= EventJournal.MAX_RECORDS_PER_EXCERPT + 10; i++) {
+            batch.add(new PriceEvent().set("MSFT", i, i / 4d, i));
+        }
+        journal.appendAll(batch);
+
+        PriceEvent event = new PriceEvent();
+        try (JournalTailer<PriceEvent> tailer = journal.createTailer()) {
+            assertTrue(tailer.readNext(event));
+            assertEquals("AAPL", event.getSymbol());
+            assertEquals(1L, event.getTimestamp());
+            assertEquals(101.25, event.getPrice(), 0);
+            assertEquals(10, event.getQuantity());
+
+            for (int i = 2; i <= EventJournal.MAX_RECORDS_PER_EXCERPT + 10; i++) {
+                assertTrue(tailer.readNext(event));
+                assertEquals("MSFT", event.getSymbol());
+                assertEquals(i, event.getTimestamp());
+                assertEquals(i / 4d, event.getPrice(), 0);
+            }
+            assertFalse(tailer.readNext(event));
+        }
+    }
+
+    @Test
+    public void givenNamedTailer_whenReopened_thenResumesAfterLastReadExcerpt() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            journal.append(new PriceEvent().set("IBM", i, i, i));
+        }
+
+        PriceEvent event = new PriceEvent();
+        try (JournalTailer<PriceEvent> tailer = journal.createTailer("audit")) {
+            assertTrue(tailer.readNext(event));
+            assertTrue(tailer.readNext(event));
+            assertEquals(1L, event.getTimestamp());
+        }
+
+        journal.close();
+        journal = new EventJournal<>(directory, PriceEvent.SIZE);
+        journal.append(new PriceEvent().set("IBM", 5, 5, 5));
+
+        List<Long> timestamps = new ArrayList<>();
+        try (JournalTailer<PriceEvent> tailer = journal.createTailer("audit")) {
+            while (tailer.readNext(event)) {
+                timestamps.add(event.getTimestamp());
+            }
+        }
+        assertEquals(Arrays.asList(2L, 3L, 4L, 5L), timestamps);
+
+        try (JournalTailer<PriceEvent> tailer = journal.createTailer("other")) {
+            assertTrue(tailer.readNext(event));
+            assertEquals(0L, event.getTimestamp());
+        }
+    }
+
+    @Test
+    public void givenSeveralWritingThreads_whenTailed_thenEveryRecordIsRead() throws Exception {
+        int threads = 4;
+        int perThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            writers.add(executor.submit(() -> {
+                PriceEvent event = new PriceEvent();
+                for (int i = 0; i < perThread; i++) {
+                    journal.append(event.set("T" + thread, thread * perThread + i, i, thread));
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        executor.shutdown();
+
+        Set<Long> timestamps = new HashSet<>();
+        PriceEvent event = new PriceEvent();
+        try (JournalTailer<PriceEvent> tailer = journal.createTailer()) {
+            while (tailer.readNext(event)) {
+                assertEquals("T" + event.getQuantity(), event.getSymbol());
+                timestamps.add(event.getTimestamp());
+            }
+        }
+        assertEquals(threads * perThread, timestamps.size());
+    }
+}
@@ -0,0 +1,44 @@
+package com.baeldung.lucene;
+
+import java.nio.ByteBuffer;
+
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * Stores a dense float vector as binary doc values, so it is kept with the document while the
+ * nearest neighbour lookups are answered by an {@link HnswGraph}. The graph only lives on the heap,
+ * {@link InMemoryLuceneIndex} rebuilds it from these doc values when it opens an existing index.
+ */
+public class DenseVectorField extends Field {
+
+    /* Not indexed, not stored, binary doc values. */
+    public static final FieldType TYPE = new FieldType();
+
+    static {
+        TYPE.setDocValuesType(DocValuesType.BINARY);
+        TYPE.freeze();
+    }
+
+    /** Creates a new DenseVectorField with the encoded vector as value. */
+    public DenseVectorField(String name, float[] vector) {
+        super(name, encode(vector), TYPE);
+    }
+
+    public static BytesRef encode(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES);
+        buffer.asFloatBuffer()
+            .put(vector);
+        return new BytesRef(buffer.array());
+    }
+
+    public static float[] decode(BytesRef bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes.bytes, bytes.offset, bytes.length)
+            .asFloatBuffer()
+            .get(vector);
+        return vector;
+    }
+}
@@ -0,0 +1,365 @@
+package com.baeldung.lucene;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Hierarchical navigable small world graph for approximate nearest neighbour search over dense vectors,
+ * using cosine similarity. Vectors are normalized on insertion and scored as {@code (1 + cosine) / 2}.
+ * <p>
+ * The graph is not thread-safe, additions and searches must not run concurrently.
+ */
+public class HnswGraph {
+
+    public static final int DEFAULT_MAX_CONNECTIONS = 16;
+    public static final int DEFAULT_BEAM_WIDTH = 100;
+
+    private static final Comparator<Candidate> BY_SIMILARITY = Comparator.comparingDouble(candidate -> candidate.similarity);
+
+    private final int maxConnections;
+    private final int beamWidth;
+    private final double levelMultiplier;
+    private final Random random;
+
+    private float[][] vectors = new float[16][];
+    private int[][][] links = new int[16][][];
+    private int[][] linkCounts = new int[16][];
+    private int[] ids = new int[16];
+    private final Map<Integer, Integer> nodesById = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    private int size;
+    private int dimension = -1;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswGraph() {
+        this(DEFAULT_MAX_CONNECTIONS, DEFAULT_BEAM_WIDTH, 42L);
+    }
+
+    /**
+     * @param maxConnections the number of neighbours kept per node on the upper levels, twice as many on level 0
+     * @param beamWidth the number of candidates explored while inserting a node
+     * @param seed seed of the random level assignment
+     */
+    public HnswGraph(int maxConnections, int beamWidth, long seed) {
+        if (maxConnections < 2 || beamWidth < 1) {
+            throw new IllegalArgumentException("maxConnections must be at least 2 and beamWidth at least 1");
+        }
+        this.maxConnections = maxConnections;
+        this.beamWidth = beamWidth;
+        this.levelMultiplier = 1 / Math.log(maxConnections);
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the id is already indexed, the vector is a zero vector or
+     *         its dimension differs from the vectors added before, the graph is left unchanged then
+     */
+    public void add(int id, float[] vector) {
+        if (nodesById.containsKey(id)) {
+            throw new IllegalArgumentException("Vector with id " + id + " is already indexed");
+        }
+        if (dimension >= 0 && vector.length != dimension) {
+            throw new IllegalArgumentException("Expected vector of dimension " + dimension + " but got " + vector.length);
+        }
+        float[] normalized = normalize(vector);
+        dimension = vector.length;
+
+        int node = size;
+        int level = randomLevel();
+        ensureCapacity(node + 1);
+        vectors[node] = normalized;
+        ids[node] = id;
+        links[node] = new int[level + 1][];
+        linkCounts[node] = new int[level + 1];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[maxConnections(l) + 1];
+        }
+        nodesById.put(id, node);
+        size++;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        float[] target = vectors[node];
+        Candidate entry = new Candidate(entryPoint, dot(target, vectors[entryPoint]));
+        for (int l = maxLevel; l > level; l--) {
+            entry = greedySearch(target, entry, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> candidates = sortedDescending(searchLayer(target, entry, beamWidth, l, false));
+            for (Candidate neighbour : selectNeighbours(candidates, maxConnections(l))) {
+                addLink(node, neighbour.node, l);
+                addLink(neighbour.node, node, l);
+            }
+            entry = candidates.get(0);
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * Returns up to {@code k} nearest neighbours of the query, best first. A larger {@code ef} explores
+     * more of the graph, trading latency for recall. Deleted vectors are traversed but don't take up
+     * any of the {@code ef} result slots.
+     */
+    public List<Neighbour> search(float[] query, int k, int ef) {
+        if (entryPoint < 0) {
+            return Collections.emptyList();
+        }
+        float[] target = normalize(query);
+        Candidate entry = new Candidate(entryPoint, dot(target, vectors[entryPoint]));
+        for (int l = maxLevel; l > 0; l--) {
+            entry = greedySearch(target, entry, l);
+        }
+
+        List<Neighbour> results = new ArrayList<>(k);
+        for (Candidate candidate : sortedDescending(searchLayer(target, entry, Math.max(ef, k), 0, true))) {
+            results.add(new Neighbour(ids[candidate.node], score(candidate.similarity)));
+            if (results.size() == k) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the similarity scores of the query and the vectors with the given ids, ids without a
+     * vector are left out.
+     */
+    public Map<Integer, Float> scores(Collection<Integer> ids, float[] query) {
+        float[] target = normalize(query);
+        Map<Integer, Float> scores = new HashMap<>();
+        for (Integer id : ids) {
+            Integer node = nodesById.get(id);
+            if (node != null && !deleted.get(node)) {
+                scores.put(id, score(dot(target, vectors[node])));
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Excludes the vector from results. It stays in the graph to keep the neighbourhoods connected.
+     */
+    public void markDeleted(int id) {
+        Integer node = nodesById.get(id);
+        if (node != null) {
+            deleted.set(node);
+        }
+    }
+
+    public int size() {
+        return size - deleted.cardinality();
+    }
+
+    private Candidate greedySearch(float[] target, Candidate entry, int level) {
+        Candidate best = entry;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] neighbours = links[best.node][level];
+            int count = linkCounts[best.node][level];
+            for (int i = 0; i < count; i++) {
+                float similarity = dot(target, vectors[neighbours[i]]);
+                if (similarity > best.similarity) {
+                    best = new Candidate(neighbours[i], similarity);
+                    improved = true;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param skipDeleted whether deleted nodes are left out of the results, they are still used to
+     *        reach their neighbours
+     */
+    private PriorityQueue<Candidate> searchLayer(float[] target, Candidate entry, int ef, int level, boolean skipDeleted) {
+        BitSet visited = new BitSet(size);
+        visited.set(entry.node);
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(BY_SIMILARITY.reversed());
+        PriorityQueue<Candidate> results = new PriorityQueue<>(BY_SIMILARITY);
+        candidates.add(entry);
+        if (!skipDeleted || !deleted.get(entry.node)) {
+            results.add(entry);
+        }
+
+        while (!candidates.isEmpty()) {
+            Candidate candidate = candidates.poll();
+            if (results.size() >= ef && candidate.similarity < results.peek().similarity) {
+                break;
+            }
+            int[] neighbours = links[candidate.node][level];
+            int count = linkCounts[candidate.node][level];
+            for (int i = 0; i < count; i++) {
+                int node = neighbours[i];
+                if (visited.get(node)) {
+                    continue;
+                }
+                visited.set(node);
+                float similarity = dot(target, vectors[node]);
+                if (results.size() < ef || similarity > results.peek().similarity) {
+                    Candidate neighbour = new Candidate(node, similarity);
+                    candidates.add(neighbour);
+                    if (skipDeleted && deleted.get(node)) {
+                        continue;
+                    }
+                    results.add(neighbour);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Keeps a candidate only if it is closer to the target than to every neighbour selected before it,
+     * which spreads the links in different directions instead of clustering them.
+     */
+    private List<Candidate> selectNeighbours(List<Candidate> candidatesDescending, int max) {
+        List<Candidate> selected = new ArrayList<>(max);
+        for (Candidate candidate : candidatesDescending) {
+            if (selected.size() == max) {
+                break;
+            }
+            boolean diverse = true;
+            for (Candidate other : selected) {
+                if (dot(vectors[candidate.node], vectors[other.node]) > candidate.similarity) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            }
+        }
+        return selected;
+    }
+
+    private void addLink(int node, int neighbour, int level) {
+        int[] neighbours = links[node][level];
+        int count = linkCounts[node][level];
+        neighbours[count++] = neighbour;
+        if (count <= maxConnections(level)) {
+            linkCounts[node][level] = count;
+            return;
+        }
+
+        List<Candidate> candidates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            candidates.add(new Candidate(neighbours[i], dot(vectors[node], vectors[neighbours[i]])));
+        }
+        candidates.sort(BY_SIMILARITY.reversed());
+        List<Candidate> selected = selectNeighbours(candidates, maxConnections(level));
+        for (int i = 0; i < selected.size(); i++) {
+            neighbours[i] = selected.get(i).node;
+        }
+        linkCounts[node][level] = selected.size();
+    }
+
+    private int maxConnections(int level) {
+        return level == 0 ? maxConnections * 2 : maxConnections;
+    }
+
+    private int randomLevel() {
+        return (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > vectors.length) {
+            int newCapacity = Math.max(capacity, vectors.length * 2);
+            vectors = Arrays.copyOf(vectors, newCapacity);
+            links = Arrays.copyOf(links, newCapacity);
+            linkCounts = Arrays.copyOf(linkCounts, newCapacity);
+            ids = Arrays.copyOf(ids, newCapacity);
+        }
+    }
+
+    private static List<Candidate> sortedDescending(PriorityQueue<Candidate> queue) {
+        List<Candidate> sorted = new ArrayList<>(queue);
+        sorted.sort(BY_SIMILARITY.reversed());
+        return sorted;
+    }
+
+    private static float score(float similarity) {
+        return (1 + similarity) / 2;
+    }
+
+    static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            throw new IllegalArgumentException("Cannot index a zero vector");
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * scale;
+        }
+        return normalized;
+    }
+
+    static float dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    /**
+     * A node of the graph and its similarity to the vector searched for.
+     */
+    private static class Candidate {
+
+        private final int node;
+        private final float similarity;
+
+        Candidate(int node, float similarity) {
+            this.node = node;
+            this.similarity = similarity;
+        }
+    }
+
+    public static class Neighbour {
+
+        private final int id;
+        private final float score;
+
+        Neighbour(int id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        /**
+         * The id the vector was added with.
+         */
+        public int getId() {
+            return id;
+        }
+
+        public float getScore() {
+            return score;
+        }
+    }
+}
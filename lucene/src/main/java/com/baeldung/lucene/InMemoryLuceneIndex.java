@@ -2,39 +2,88 @@ package com.baeldung.lucene;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.BinaryDocValues;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.BytesRef;
 
 public class InMemoryLuceneIndex {
 
+    private static final String VECTOR_FIELD = "vector";
+    private static final int HYBRID_CANDIDATES_PER_RESULT = 4;
+
     private Directory memoryIndex;
     private Analyzer analyzer;
+    private HnswGraph vectorGraph;
     
     private int docId = 1;
 
     public InMemoryLuceneIndex(Directory memoryIndex, Analyzer analyzer) {
+        this(memoryIndex, analyzer, new HnswGraph());
+    }
+
+    /**
+     * If the directory already holds an index, the vectors of its documents are added to the graph,
+     * which must not contain them yet, and new documents continue after the highest id.
+     */
+    public InMemoryLuceneIndex(Directory memoryIndex, Analyzer analyzer, HnswGraph vectorGraph) {
         super();
         this.memoryIndex = memoryIndex;
         this.analyzer = analyzer;
+        this.vectorGraph = vectorGraph;
+        loadVectors();
+    }
+
+    private void loadVectors() {
+        try {
+            if (!DirectoryReader.indexExists(memoryIndex)) {
+                return;
+            }
+            try (IndexReader indexReader = DirectoryReader.open(memoryIndex)) {
+                for (LeafReaderContext leaf : indexReader.leaves()) {
+                    LeafReader reader = leaf.reader();
+                    Bits liveDocs = reader.getLiveDocs();
+                    BinaryDocValues vectors = reader.getBinaryDocValues(VECTOR_FIELD);
+                    for (int doc = 0; doc < reader.maxDoc(); doc++) {
+                        int id = Integer.parseInt(reader.document(doc)
+                            .get("id"));
+                        docId = Math.max(docId, id + 1);
+                        if ((liveDocs == null || liveDocs.get(doc)) && vectors != null && vectors.advanceExact(doc)) {
+                            vectorGraph.add(id, DenseVectorField.decode(vectors.binaryValue()));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
     /**
@@ -43,23 +92,146 @@ public class InMemoryLuceneIndex {
      * @param body
      */
     public void indexDocument(String title, String body) {
+        indexDocument(title, body, null);
+    }
+
+    /**
+     * Indexes the document together with a precomputed embedding, which makes it reachable by
+     * {@link #searchNearest(float[], int, int)} and {@link #searchHybrid(String, String, float[], float, int)}.
+     * 
+     * @param title
+     * @param body
+     * @param vector the embedding of the document, or null
+     * @throws IllegalArgumentException if the vector is a zero vector or its dimension differs from the
+     *         vectors indexed before, nothing is indexed then
+     */
+    public void indexDocument(String title, String body, float[] vector) {
 
+        int id = docId++;
+        if (vector != null) {
+            vectorGraph.add(id, vector);
+        }
         IndexWriterConfig indexWriterConfig = new IndexWriterConfig(analyzer);
         try {
             IndexWriter writter = new IndexWriter(memoryIndex, indexWriterConfig);
             Document document = new Document();
 
-            document.add(new TextField("id", ""+docId++, Field.Store.YES));
+            document.add(new TextField("id", ""+id, Field.Store.YES));
             document.add(new TextField("title", title, Field.Store.YES));
             document.add(new TextField("body", body, Field.Store.YES));
             document.add(new SortedDocValuesField("title", new BytesRef(title)));
+            if (vector != null) {
+                document.add(new DenseVectorField(VECTOR_FIELD, vector));
+            }
 
             writter.addDocument(document);
             writter.close();
         } catch (IOException e) {
+            vectorGraph.markDeleted(id);
             e.printStackTrace();
         }
     }    
+
+    /**
+     * Returns the documents whose embeddings are approximately the closest to the given vector, best first.
+     * 
+     * @param vector
+     * @param k the number of documents to return
+     * @param ef the size of the candidate list explored in the graph, at least k
+     */
+    public List<Document> searchNearest(float[] vector, int k, int ef) {
+        Map<Integer, Float> scoresById = new LinkedHashMap<>();
+        for (HnswGraph.Neighbour neighbour : vectorGraph.search(vector, k, ef)) {
+            scoresById.put(neighbour.getId(), neighbour.getScore());
+        }
+        return documentsById(scoresById);
+    }
+
+    /**
+     * Combines lexical and vector similarity. The lexical scores are divided by the best lexical score, so both
+     * parts range from 0 to 1 before they are weighted.
+     * 
+     * @param inField
+     * @param queryString
+     * @param vector
+     * @param lexicalWeight weight of the lexical score between 0 and 1, the vector score gets the rest
+     * @param k the number of documents to return
+     */
+    public List<Document> searchHybrid(String inField, String queryString, float[] vector, float lexicalWeight, int k) {
+        int candidates = k * HYBRID_CANDIDATES_PER_RESULT;
+        Map<Integer, Float> lexicalScores = new HashMap<>();
+        try {
+            Query query = new QueryParser(inField, analyzer).parse(queryString);
+            IndexReader indexReader = DirectoryReader.open(memoryIndex);
+            IndexSearcher searcher = new IndexSearcher(indexReader);
+            TopDocs topDocs = searcher.search(query, candidates);
+            float maxScore = topDocs.getMaxScore();
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                int id = Integer.parseInt(searcher.doc(scoreDoc.doc)
+                    .get("id"));
+                lexicalScores.put(id, maxScore > 0 ? scoreDoc.score / maxScore : 0);
+            }
+        } catch (IOException | ParseException e) {
+            e.printStackTrace();
+            return null;
+        }
+
+        Map<Integer, Float> vectorScores = new HashMap<>();
+        for (HnswGraph.Neighbour neighbour : vectorGraph.search(vector, candidates, candidates)) {
+            vectorScores.put(neighbour.getId(), neighbour.getScore());
+        }
+        // the lexical matches the graph search didn't return are scored against the vector directly
+        vectorScores.putAll(vectorGraph.scores(lexicalScores.keySet(), vector));
+
+        Map<Integer, Float> combinedScores = new HashMap<>();
+        for (Integer id : vectorScores.keySet()) {
+            combinedScores.put(id, 0f);
+        }
+        combinedScores.putAll(lexicalScores);
+        for (Map.Entry<Integer, Float> entry : combinedScores.entrySet()) {
+            float vectorScore = vectorScores.getOrDefault(entry.getKey(), 0f);
+            entry.setValue(lexicalWeight * lexicalScores.getOrDefault(entry.getKey(), 0f) + (1 - lexicalWeight) * vectorScore);
+        }
+
+        Map<Integer, Float> bestScores = new LinkedHashMap<>();
+        combinedScores.entrySet()
+            .stream()
+            .sorted(Map.Entry.<Integer, Float> comparingByValue()
+                .reversed())
+            .limit(k)
+            .forEach(entry -> bestScores.put(entry.getKey(), entry.getValue()));
+        return documentsById(bestScores);
+    }
+
+    private List<Document> documentsById(Map<Integer, Float> scoresById) {
+        List<Document> documents = new ArrayList<>();
+        if (scoresById.isEmpty()) {
+            return documents;
+        }
+        try {
+            BooleanQuery.Builder idQuery = new BooleanQuery.Builder();
+            for (Integer id : scoresById.keySet()) {
+                idQuery.add(new TermQuery(new Term("id", "" + id)), BooleanClause.Occur.SHOULD);
+            }
+
+            IndexReader indexReader = DirectoryReader.open(memoryIndex);
+            IndexSearcher searcher = new IndexSearcher(indexReader);
+            Map<Integer, Document> documentsById = new HashMap<>();
+            for (ScoreDoc scoreDoc : searcher.search(idQuery.build(), scoresById.size()).scoreDocs) {
+                Document document = searcher.doc(scoreDoc.doc);
+                documentsById.put(Integer.parseInt(document.get("id")), document);
+            }
+            for (Integer id : scoresById.keySet()) {
+                Document document = documentsById.get(id);
+                if (document != null) {
+                    documents.add(document);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return documents;
+    }
     
 
 
@@ -87,8 +259,19 @@ public class InMemoryLuceneIndex {
         try {
             IndexWriterConfig indexWriterConfig = new IndexWriterConfig(analyzer);
             IndexWriter writter = new IndexWriter(memoryIndex, indexWriterConfig);
+            List<Integer> deletedIds = new ArrayList<>();
+            try (IndexReader indexReader = DirectoryReader.open(writter)) {
+                IndexSearcher searcher = new IndexSearcher(indexReader);
+                for (ScoreDoc scoreDoc : searcher.search(new TermQuery(term), Math.max(indexReader.maxDoc(), 1)).scoreDocs) {
+                    deletedIds.add(Integer.parseInt(searcher.doc(scoreDoc.doc)
+                        .get("id")));
+                }
+            }
             writter.deleteDocuments(term);
             writter.close();
+            for (Integer id : deletedIds) {
+                vectorGraph.markDeleted(id);
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -104,6 +287,7 @@ public class InMemoryLuceneIndex {
         	long cnt = indexWriter.deleteDocuments(term);
         	indexWriter.flush();
         	indexWriter.close();
+        	vectorGraph.markDeleted(id);
             return cnt;
         } catch (IOException e) {
             e.printStackTrace();
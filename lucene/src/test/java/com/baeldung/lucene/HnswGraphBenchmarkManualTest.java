@@ -0,0 +1,56 @@
+package com.baeldung.lucene;
+
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Recall versus latency of {@link HnswGraph} on a synthetic dataset, compared with an exact brute force scan.
+ * The dataset size defaults to a million vectors and can be changed with -Dvectors=n.
+ */
+public class HnswGraphBenchmarkManualTest {
+
+    private static final int DIMENSION = 32;
+    private static final int QUERIES = 100;
+    private static final int K = 10;
+    private static final int[] EF_VALUES = { 10, 20, 40, 80, 160, 320 };
+
+    @Test
+    public void givenSyntheticVectorsWhenSearchingWithIncreasingEfThenReportRecallAndLatency() {
+        int count = Integer.getInteger("vectors", 1_000_000);
+        Random random = new Random(11);
+        float[][] vectors = new float[count][];
+        HnswGraph graph = new HnswGraph();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            vectors[i] = LuceneVectorSearchIntegrationTest.randomVector(random, DIMENSION);
+            graph.add(i, vectors[i]);
+        }
+        System.out.printf("Indexed %d vectors in %d ms%n", count, (System.nanoTime() - start) / 1_000_000);
+
+        float[][] queries = new float[QUERIES][];
+        @SuppressWarnings("unchecked")
+        Set<Integer>[] expected = new Set[QUERIES];
+        start = System.nanoTime();
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = LuceneVectorSearchIntegrationTest.randomVector(random, DIMENSION);
+            expected[q] = LuceneVectorSearchIntegrationTest.exactNearest(vectors, queries[q], K);
+        }
+        System.out.printf("brute force: recall 1.000, %.3f ms per query%n", (System.nanoTime() - start) / 1e6 / QUERIES);
+
+        for (int ef : EF_VALUES) {
+            int found = 0;
+            start = System.nanoTime();
+            for (int q = 0; q < QUERIES; q++) {
+                for (HnswGraph.Neighbour neighbour : graph.search(queries[q], K, ef)) {
+                    if (expected[q].contains(neighbour.getId())) {
+                        found++;
+                    }
+                }
+            }
+            System.out.printf("ef=%d: recall %.3f, %.3f ms per query%n", ef, (double) found / (QUERIES * K), (System.nanoTime() - start) / 1e6 / QUERIES);
+        }
+    }
+}
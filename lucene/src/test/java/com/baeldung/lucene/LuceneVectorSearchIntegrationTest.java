@@ -0,0 +1,179 @@
+package com.baeldung.lucene;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LuceneVectorSearchIntegrationTest {
+
+    @Test
+    public void givenVectorQueryWhenFetchedNearestDocumentsThenCorrect() {
+        InMemoryLuceneIndex inMemoryLuceneIndex = new InMemoryLuceneIndex(new RAMDirectory(), new StandardAnalyzer());
+        inMemoryLuceneIndex.indexDocument("cats", "Cats purr", new float[] { 1f, 0.1f, 0f });
+        inMemoryLuceneIndex.indexDocument("kittens", "Kittens purr too", new float[] { 0.9f, 0.2f, 0f });
+        inMemoryLuceneIndex.indexDocument("cars", "Cars have engines", new float[] { 0f, 0.1f, 1f });
+        inMemoryLuceneIndex.indexDocument("no vector", "Cats without embeddings");
+
+        List<Document> documents = inMemoryLuceneIndex.searchNearest(new float[] { 1f, 0f, 0f }, 2, 10);
+
+        Assert.assertEquals(Arrays.asList("cats", "kittens"), titles(documents));
+    }
+
+    @Test
+    public void givenHybridQueryWhenFetchedDocumentsThenLexicalAndVectorScoresAreCombined() {
+        InMemoryLuceneIndex inMemoryLuceneIndex = new InMemoryLuceneIndex(new RAMDirectory(), new StandardAnalyzer());
+        inMemoryLuceneIndex.indexDocument("cats", "Cats purr", new float[] { 1f, 0f, 0f });
+        inMemoryLuceneIndex.indexDocument("lions", "Lions roar", new float[] { 0.95f, 0.05f, 0f });
+        inMemoryLuceneIndex.indexDocument("cars", "Cars have engines", new float[] { 0f, 0f, 1f });
+
+        float[] catLikeVector = { 1f, 0.02f, 0f };
+        List<Document> vectorOnly = inMemoryLuceneIndex.searchHybrid("body", "engines", catLikeVector, 0f, 1);
+        List<Document> lexicalOnly = inMemoryLuceneIndex.searchHybrid("body", "engines", catLikeVector, 1f, 1);
+        List<Document> combined = inMemoryLuceneIndex.searchHybrid("body", "engines", catLikeVector, 0.5f, 3);
+
+        Assert.assertEquals(Arrays.asList("cats"), titles(vectorOnly));
+        Assert.assertEquals(Arrays.asList("cars"), titles(lexicalOnly));
+        Assert.assertEquals(3, combined.size());
+        Assert.assertEquals("cars", combined.get(0).get("title"));
+    }
+
+    @Test
+    public void givenDeletedDocumentWhenFetchedNearestDocumentsThenItIsSkipped() {
+        InMemoryLuceneIndex inMemoryLuceneIndex = new InMemoryLuceneIndex(new RAMDirectory(), new StandardAnalyzer());
+        inMemoryLuceneIndex.indexDocument("first", "first", new float[] { 1f, 0f });
+        inMemoryLuceneIndex.indexDocument("second", "second", new float[] { 0.9f, 0.1f });
+
+        inMemoryLuceneIndex.deleteIndex(1);
+        List<Document> documents = inMemoryLuceneIndex.searchNearest(new float[] { 1f, 0f }, 1, 10);
+
+        Assert.assertEquals(Arrays.asList("second"), titles(documents));
+    }
+
+    @Test
+    public void givenDocumentDeletedByTermWhenFetchedNearestDocumentsThenItIsSkipped() {
+        InMemoryLuceneIndex inMemoryLuceneIndex = new InMemoryLuceneIndex(new RAMDirectory(), new StandardAnalyzer());
+        inMemoryLuceneIndex.indexDocument("first", "first", new float[] { 1f, 0f });
+        inMemoryLuceneIndex.indexDocument("second", "second", new float[] { 0.9f, 0.1f });
+
+        inMemoryLuceneIndex.deleteDocument(new Term("title", "first"));
+        List<Document> documents = inMemoryLuceneIndex.searchNearest(new float[] { 1f, 0f }, 1, 10);
+
+        Assert.assertEquals(Arrays.asList("second"), titles(documents));
+    }
+
+    @Test
+    public void givenExistingIndexWhenReopenedThenVectorsAreSearchable() {
+        RAMDirectory directory = new RAMDirectory();
+        InMemoryLuceneIndex inMemoryLuceneIndex = new InMemoryLuceneIndex(directory, new StandardAnalyzer());
+        inMemoryLuceneIndex.indexDocument("cats", "Cats purr", new float[] { 1f, 0.1f, 0f });
+        inMemoryLuceneIndex.indexDocument("lions", "Lions roar", new float[] { 0.95f, 0.05f, 0f });
+        inMemoryLuceneIndex.indexDocument("cars", "Cars have engines", new float[] { 0f, 0.1f, 1f });
+        inMemoryLuceneIndex.deleteDocument(new Term("title", "cats"));
+
+        InMemoryLuceneIndex reopened = new InMemoryLuceneIndex(directory, new StandardAnalyzer());
+        reopened.indexDocument("kittens", "Kittens purr too", new float[] { 0.9f, 0.2f, 0f });
+
+        Assert.assertEquals(Arrays.asList("lions", "kittens", "cars"), titles(reopened.searchNearest(new float[] { 1f, 0f, 0f }, 3, 10)));
+    }
+
+    @Test
+    public void givenInvalidVectorWhenIndexingDocumentThenNothingIsIndexed() {
+        InMemoryLuceneIndex inMemoryLuceneIndex = new InMemoryLuceneIndex(new RAMDirectory(), new StandardAnalyzer());
+        inMemoryLuceneIndex.indexDocument("first", "first", new float[] { 1f, 0f });
+
+        for (float[] vector : Arrays.asList(new float[] { 0f, 0f }, new float[] { 1f, 0f, 0f })) {
+            try {
+                inMemoryLuceneIndex.indexDocument("invalid", "invalid", vector);
+                Assert.fail("Expected the vector to be rejected");
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+
+        Assert.assertEquals(1, inMemoryLuceneIndex.numDocs());
+    }
+
+    @Test
+    public void givenDeletedNearestVectorsWhenSearchingGraphThenKLiveNeighboursAreReturned() {
+        Random random = new Random(11);
+        float[][] vectors = new float[1_000][];
+        HnswGraph graph = new HnswGraph();
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = randomVector(random, 8);
+            graph.add(i, vectors[i]);
+        }
+        float[] query = randomVector(random, 8);
+        for (int id : exactNearest(vectors, query, 20)) {
+            graph.markDeleted(id);
+        }
+
+        List<HnswGraph.Neighbour> neighbours = graph.search(query, 10, 10);
+
+        Assert.assertEquals(10, neighbours.size());
+        Set<Integer> deleted = exactNearest(vectors, query, 20);
+        Assert.assertTrue(neighbours.stream()
+            .noneMatch(neighbour -> deleted.contains(neighbour.getId())));
+    }
+
+    @Test
+    public void givenRandomVectorsWhenSearchingGraphThenRecallIsHigh() {
+        Random random = new Random(7);
+        int dimension = 16;
+        float[][] vectors = new float[5_000][];
+        HnswGraph graph = new HnswGraph();
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = randomVector(random, dimension);
+            graph.add(i, vectors[i]);
+        }
+
+        int k = 10;
+        int found = 0;
+        int queries = 50;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector(random, dimension);
+            Set<Integer> expected = exactNearest(vectors, query, k);
+            for (HnswGraph.Neighbour neighbour : graph.search(query, k, 100)) {
+                if (expected.contains(neighbour.getId())) {
+                    found++;
+                }
+            }
+        }
+
+        Assert.assertTrue("recall was " + (double) found / (queries * k), found >= 0.9 * queries * k);
+    }
+
+    static Set<Integer> exactNearest(float[][] vectors, float[] query, int k) {
+        float[] normalizedQuery = HnswGraph.normalize(query);
+        Integer[] order = new Integer[vectors.length];
+        float[] similarities = new float[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            order[i] = i;
+            similarities[i] = HnswGraph.dot(normalizedQuery, HnswGraph.normalize(vectors[i]));
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(similarities[b], similarities[a]));
+        return new HashSet<>(Arrays.asList(order).subList(0, k));
+    }
+
+    static float[] randomVector(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static List<String> titles(List<Document> documents) {
+        return documents.stream()
+            .map(document -> document.get("title"))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,196 @@
+package com.baeldung.http.server;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.CONTINUE;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.QueryStringDecoder;
+
+/**
+ * Answers like {@link CustomHttpServerHandler}, but writes the response straight into a buffer of the
+ * channel's allocator instead of building a String and copying it.
+ * <p>
+ * GET requests below {@value #STATIC_PREFIX} are served from the static directory, if there is one,
+ * as {@link DefaultFileRegion}s, which the transport sends with sendfile without copying the file through
+ * user space. This only works without SSL or compression handlers in the pipeline.
+ * <p>
+ * Responses are only written, the flush happens once all requests of a read have been handled, so
+ * pipelined keep-alive requests are answered with one flush.
+ */
+public class HighThroughputHttpServerHandler extends SimpleChannelInboundHandler<HttpObject> {
+
+    static final String STATIC_PREFIX = "/static/";
+
+    private final Path staticDirectory;
+
+    private HttpRequest request;
+    private ByteBuf responseData;
+    private boolean servingFile;
+
+    /**
+     * @param staticDirectory the directory of the static files, or null to serve none
+     */
+    public HighThroughputHttpServerHandler(Path staticDirectory) {
+        this.staticDirectory = staticDirectory == null ? null
+            : staticDirectory.toAbsolutePath()
+                .normalize();
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        ctx.flush();
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) throws IOException {
+        if (msg instanceof HttpRequest) {
+            HttpRequest request = this.request = (HttpRequest) msg;
+
+            if (HttpUtil.is100ContinueExpected(request)) {
+                ctx.write(new DefaultFullHttpResponse(HTTP_1_1, CONTINUE, Unpooled.EMPTY_BUFFER));
+            }
+
+            servingFile = staticDirectory != null && HttpMethod.GET.equals(request.method()) && request.uri()
+                .startsWith(STATIC_PREFIX);
+            if (!servingFile) {
+                releaseResponseData();
+                responseData = ctx.alloc()
+                    .buffer();
+                RequestUtils.formatParams(request, responseData);
+            }
+        }
+
+        if (servingFile) {
+            if (msg instanceof LastHttpContent) {
+                writeFile(ctx);
+            }
+            return;
+        }
+
+        RequestUtils.evaluateDecoderResult(request, responseData);
+
+        if (msg instanceof HttpContent) {
+            HttpContent httpContent = (HttpContent) msg;
+
+            RequestUtils.formatBody(httpContent, responseData);
+            RequestUtils.evaluateDecoderResult(request, responseData);
+
+            if (msg instanceof LastHttpContent) {
+                LastHttpContent trailer = (LastHttpContent) msg;
+                RequestUtils.prepareLastResponse(request, trailer, responseData);
+                writeResponse(ctx, trailer);
+            }
+        }
+    }
+
+    private void writeResponse(ChannelHandlerContext ctx, LastHttpContent trailer) {
+        boolean keepAlive = HttpUtil.isKeepAlive(request);
+
+        FullHttpResponse httpResponse = new DefaultFullHttpResponse(HTTP_1_1, trailer.decoderResult()
+            .isSuccess() ? OK : BAD_REQUEST, responseData);
+        responseData = null;
+
+        httpResponse.headers()
+            .set(HttpHeaderNames.CONTENT_TYPE, "text/plain; charset=UTF-8");
+        HttpUtil.setContentLength(httpResponse, httpResponse.content()
+            .readableBytes());
+
+        write(ctx, httpResponse, keepAlive);
+    }
+
+    private void writeFile(ChannelHandlerContext ctx) throws IOException {
+        boolean keepAlive = HttpUtil.isKeepAlive(request);
+
+        Path file = resolveStaticFile(new QueryStringDecoder(request.uri()).path());
+        if (file == null) {
+            FullHttpResponse notFound = new DefaultFullHttpResponse(HTTP_1_1, NOT_FOUND, Unpooled.EMPTY_BUFFER);
+            HttpUtil.setContentLength(notFound, 0);
+            write(ctx, notFound, keepAlive);
+            return;
+        }
+
+        long length = Files.size(file);
+        HttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+        response.headers()
+            .set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_OCTET_STREAM);
+        HttpUtil.setContentLength(response, length);
+        if (keepAlive) {
+            response.headers()
+                .set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+        }
+
+        ctx.write(response);
+        ctx.write(new DefaultFileRegion(file.toFile(), 0, length));
+        if (keepAlive) {
+            ctx.write(LastHttpContent.EMPTY_LAST_CONTENT);
+        } else {
+            ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT)
+                .addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    /**
+     * Returns the regular file the path points to within the static directory, or null.
+     */
+    private Path resolveStaticFile(String path) {
+        Path file = staticDirectory.resolve(path.substring(STATIC_PREFIX.length()))
+            .normalize();
+        if (!file.startsWith(staticDirectory) || !Files.isRegularFile(file)) {
+            return null;
+        }
+        return file;
+    }
+
+    private static void write(ChannelHandlerContext ctx, FullHttpResponse response, boolean keepAlive) {
+        if (keepAlive) {
+            response.headers()
+                .set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+            ctx.write(response);
+        } else {
+            ctx.writeAndFlush(response)
+                .addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    private void releaseResponseData() {
+        if (responseData != null) {
+            responseData.release();
+            responseData = null;
+        }
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        releaseResponseData();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        cause.printStackTrace();
+        ctx.close();
+    }
+}
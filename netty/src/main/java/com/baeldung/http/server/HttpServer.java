@@ -1,11 +1,16 @@
 package com.baeldung.http.server;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.netty.bootstrap.ServerBootstrap;
-import io.netty.channel.ChannelFuture;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
@@ -13,52 +18,109 @@ import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
 
 public class HttpServer {
 
+    static final String WORKER_THREAD_PREFIX = "http-server-worker";
+
+    /**
+     * Flushes of pipelined responses are held back until this many have been requested, or the read ends.
+     */
+    private static final int EXPLICIT_FLUSH_AFTER_FLUSHES = 256;
+
     private int port;
+    private final boolean highThroughput;
+    private final Path staticDirectory;
     static Logger logger = LoggerFactory.getLogger(HttpServer.class);
 
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+
     public HttpServer(int port) {
+        this(port, false, null);
+    }
+
+    private HttpServer(int port, boolean highThroughput, Path staticDirectory) {
         this.port = port;
+        this.highThroughput = highThroughput;
+        this.staticDirectory = staticDirectory;
     }
 
+    /**
+     * A server which answers like the default one, but writes its responses into pooled direct buffers,
+     * consolidates the flushes of pipelined requests and serves the files of the static directory, if not
+     * null, below {@code /static/} without copying them.
+     */
+    public static HttpServer highThroughput(int port, Path staticDirectory) {
+        return new HttpServer(port, true, staticDirectory);
+    }
+
+    /**
+     * Usage: {@code HttpServer [port] [--high-throughput [static directory]]}
+     */
     public static void main(String[] args) throws Exception {
 
         int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
 
-        new HttpServer(port).run();
+        if (args.length > 1 && "--high-throughput".equals(args[1])) {
+            highThroughput(port, args.length > 2 ? Paths.get(args[2]) : null).run();
+        } else {
+            new HttpServer(port).run();
+        }
     }
 
     public void run() throws Exception {
-        EventLoopGroup bossGroup = new NioEventLoopGroup(1);
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
         try {
-            ServerBootstrap b = new ServerBootstrap();
-            b.group(bossGroup, workerGroup)
-                .channel(NioServerSocketChannel.class)
-                .handler(new LoggingHandler(LogLevel.INFO))
-                .childHandler(new ChannelInitializer<SocketChannel>() {
-                    @Override
-                    protected void initChannel(SocketChannel ch) throws Exception {
-                        ChannelPipeline p = ch.pipeline();
-                        p.addLast(new HttpRequestDecoder());
-                        p.addLast(new HttpResponseEncoder());
-                        p.addLast(new CustomHttpServerHandler());
-                    }
-                });
-
-            ChannelFuture f = b.bind(port)
+            start().closeFuture()
                 .sync();
-            f.channel()
-                .closeFuture()
-                .sync();
-
         } finally {
+            stop();
+        }
+    }
+
+    /**
+     * Binds the server and returns its channel, without waiting for it to close.
+     */
+    public Channel start() throws InterruptedException {
+        bossGroup = new NioEventLoopGroup(1);
+        workerGroup = new NioEventLoopGroup(0, new DefaultThreadFactory(WORKER_THREAD_PREFIX));
+        ServerBootstrap b = new ServerBootstrap();
+        b.group(bossGroup, workerGroup)
+            .channel(NioServerSocketChannel.class)
+            .handler(new LoggingHandler(LogLevel.INFO))
+            .childHandler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel ch) throws Exception {
+                    initPipeline(ch.pipeline());
+                }
+            });
+        if (highThroughput) {
+            b.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .childOption(ChannelOption.TCP_NODELAY, true);
+        }
+
+        return b.bind(port)
+            .sync()
+            .channel();
+    }
+
+    public void stop() {
+        if (bossGroup != null) {
             bossGroup.shutdownGracefully();
             workerGroup.shutdownGracefully();
         }
     }
+
+    void initPipeline(ChannelPipeline p) {
+        if (highThroughput) {
+            p.addLast(new FlushConsolidationHandler(EXPLICIT_FLUSH_AFTER_FLUSHES, true));
+        }
+        p.addLast(new HttpRequestDecoder());
+        p.addLast(new HttpResponseEncoder());
+        p.addLast(highThroughput ? new HighThroughputHttpServerHandler(staticDirectory) : new CustomHttpServerHandler());
+    }
 }
@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.handler.codec.DecoderResult;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpObject;
@@ -83,4 +84,75 @@ class RequestUtils {
         return responseData;
     }
 
+    static void formatParams(HttpRequest request, ByteBuf out) {
+        QueryStringDecoder queryStringDecoder = new QueryStringDecoder(request.uri());
+        Map<String, List<String>> params = queryStringDecoder.parameters();
+        if (!params.isEmpty()) {
+            for (Entry<String, List<String>> p : params.entrySet()) {
+                String key = p.getKey()
+                    .toUpperCase();
+                for (String val : p.getValue()) {
+                    ByteBufUtil.writeAscii(out, "Parameter: ");
+                    ByteBufUtil.writeUtf8(out, key);
+                    ByteBufUtil.writeAscii(out, " = ");
+                    ByteBufUtil.writeUtf8(out, val.toUpperCase());
+                    ByteBufUtil.writeAscii(out, "\r\n");
+                }
+            }
+            ByteBufUtil.writeAscii(out, "\r\n");
+        }
+    }
+
+    /**
+     * Upper-cases ASCII bodies byte by byte, without decoding them to a String.
+     */
+    static void formatBody(HttpContent httpContent, ByteBuf out) {
+        ByteBuf content = httpContent.content();
+        if (content.isReadable()) {
+            if (content.forEachByte(b -> b >= 0) == -1) {
+                int end = content.writerIndex();
+                out.ensureWritable(content.readableBytes());
+                for (int i = content.readerIndex(); i < end; i++) {
+                    byte b = content.getByte(i);
+                    out.writeByte(b >= 'a' && b <= 'z' ? b - ('a' - 'A') : b);
+                }
+            } else {
+                ByteBufUtil.writeUtf8(out, content.toString(CharsetUtil.UTF_8)
+                    .toUpperCase());
+            }
+            ByteBufUtil.writeAscii(out, "\r\n");
+        }
+    }
+
+    static void evaluateDecoderResult(HttpObject o, ByteBuf out) {
+        DecoderResult result = o.decoderResult();
+
+        if (!result.isSuccess()) {
+            ByteBufUtil.writeAscii(out, "..Decoder Failure: ");
+            ByteBufUtil.writeUtf8(out, String.valueOf(result.cause()));
+            ByteBufUtil.writeAscii(out, "\r\n");
+        }
+    }
+
+    static void prepareLastResponse(HttpRequest request, LastHttpContent trailer, ByteBuf out) {
+        ByteBufUtil.writeAscii(out, "Good Bye!\r\n");
+
+        if (!trailer.trailingHeaders()
+            .isEmpty()) {
+            ByteBufUtil.writeAscii(out, "\r\n");
+            for (CharSequence name : trailer.trailingHeaders()
+                .names()) {
+                for (CharSequence value : trailer.trailingHeaders()
+                    .getAll(name)) {
+                    ByteBufUtil.writeAscii(out, "P.S. Trailing Header: ");
+                    ByteBufUtil.writeUtf8(out, name);
+                    ByteBufUtil.writeAscii(out, " = ");
+                    ByteBufUtil.writeUtf8(out, value);
+                    ByteBufUtil.writeAscii(out, "\r\n");
+                }
+            }
+            ByteBufUtil.writeAscii(out, "\r\n");
+        }
+    }
+
 }
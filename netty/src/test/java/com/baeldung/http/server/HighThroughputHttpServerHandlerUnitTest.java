@@ -0,0 +1,170 @@
+package com.baeldung.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.FileRegion;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.CharsetUtil;
+
+public class HighThroughputHttpServerHandlerUnitTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void givenAsciiRequest_whenHandled_thenSameBodyAsCustomHandler() {
+        assertSameBody(request("/?name=john&city=london&city=paris", "Hello World!"));
+    }
+
+    @Test
+    public void givenNonAsciiRequest_whenHandled_thenSameBodyAsCustomHandler() {
+        assertSameBody(request("/?name=j%C3%B6rg", "Grüße aus Köln"));
+    }
+
+    @Test
+    public void givenRequestWithoutBody_whenHandled_thenSameBodyAsCustomHandler() {
+        assertSameBody(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/"));
+    }
+
+    @Test
+    public void givenPipelinedRequests_whenReadAtOnce_thenEveryRequestIsAnsweredInOrder() {
+        EmbeddedChannel channel = highThroughputChannel(null);
+
+        channel.writeInbound(Unpooled.copiedBuffer("POST / HTTP/1.1\r\nContent-Length: 5\r\n\r\nfirst" + "POST / HTTP/1.1\r\nContent-Length: 6\r\n\r\nsecond", CharsetUtil.US_ASCII));
+        channel.runPendingTasks();
+
+        String responses = readOutbound(channel, new ArrayList<>());
+        assertEquals(2, count(responses, "HTTP/1.1 200 OK"));
+        assertTrue(responses.indexOf("FIRST") < responses.indexOf("SECOND"));
+        assertTrue(channel.isOpen());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void givenStaticFile_whenRequested_thenSentAsFileRegion() throws Exception {
+        File root = folder.newFolder("static");
+        Files.write(root.toPath()
+            .resolve("hello.txt"), "Hello World!".getBytes(StandardCharsets.US_ASCII));
+        EmbeddedChannel channel = highThroughputChannel(root);
+
+        channel.writeInbound(Unpooled.copiedBuffer("GET /static/hello.txt HTTP/1.1\r\n\r\n", CharsetUtil.US_ASCII));
+        channel.runPendingTasks();
+
+        List<FileRegion> regions = new ArrayList<>();
+        String response = readOutbound(channel, regions);
+        assertTrue(response.startsWith("HTTP/1.1 200 OK"));
+        assertTrue(response.contains("content-length: 12"));
+        assertEquals(1, regions.size());
+        assertEquals(12, regions.get(0)
+            .count());
+        regions.forEach(FileRegion::release);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void givenPathOutsideStaticDirectory_whenRequested_thenNotFound() throws Exception {
+        File root = folder.newFolder("static");
+        Files.write(folder.getRoot()
+            .toPath()
+            .resolve("secret.txt"), "secret".getBytes(StandardCharsets.US_ASCII));
+        EmbeddedChannel channel = highThroughputChannel(root);
+
+        channel.writeInbound(Unpooled.copiedBuffer("GET /static/../secret.txt HTTP/1.1\r\n\r\n" + "GET /static/%2e%2e/secret.txt HTTP/1.1\r\n\r\n", CharsetUtil.US_ASCII));
+        channel.runPendingTasks();
+
+        List<FileRegion> regions = new ArrayList<>();
+        String responses = readOutbound(channel, regions);
+        assertEquals(2, count(responses, "HTTP/1.1 404 Not Found"));
+        assertTrue(regions.isEmpty());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void givenRequestWithoutKeepAlive_whenAnswered_thenChannelIsClosed() {
+        EmbeddedChannel channel = highThroughputChannel(null);
+
+        channel.writeInbound(Unpooled.copiedBuffer("GET / HTTP/1.1\r\nConnection: close\r\n\r\n", CharsetUtil.US_ASCII));
+        channel.runPendingTasks();
+
+        assertTrue(readOutbound(channel, new ArrayList<>()).startsWith("HTTP/1.1 200 OK"));
+        assertFalse(channel.isOpen());
+    }
+
+    private static void assertSameBody(DefaultFullHttpRequest request) {
+        String expected = handle(new CustomHttpServerHandler(), request.copy());
+        String actual = handle(new HighThroughputHttpServerHandler(null), request);
+        assertEquals(expected, actual);
+    }
+
+    private static String handle(ChannelHandler handler, FullHttpRequest request) {
+        EmbeddedChannel channel = new EmbeddedChannel(handler);
+        channel.writeInbound(request);
+        FullHttpResponse response = channel.readOutbound();
+        assertNotNull(response);
+        try {
+            return response.content()
+                .toString(CharsetUtil.UTF_8);
+        } finally {
+            response.release();
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private static DefaultFullHttpRequest request(String uri, String body) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, uri, Unpooled.copiedBuffer(body, CharsetUtil.UTF_8));
+    }
+
+    private static EmbeddedChannel highThroughputChannel(File staticDirectory) {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        HttpServer.highThroughput(0, staticDirectory == null ? null : staticDirectory.toPath())
+            .initPipeline(channel.pipeline());
+        return channel;
+    }
+
+    /**
+     * Concatenates the outbound buffers and collects the file regions, which are written without copying.
+     */
+    private static String readOutbound(EmbeddedChannel channel, List<FileRegion> regions) {
+        StringBuilder out = new StringBuilder();
+        Object msg;
+        while ((msg = channel.readOutbound()) != null) {
+            if (msg instanceof FileRegion) {
+                regions.add((FileRegion) msg);
+            } else {
+                ByteBuf buf = (ByteBuf) msg;
+                out.append(buf.toString(CharsetUtil.UTF_8));
+                buf.release();
+            }
+        }
+        return out.toString();
+    }
+
+    private static int count(String text, String token) {
+        int count = 0;
+        for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
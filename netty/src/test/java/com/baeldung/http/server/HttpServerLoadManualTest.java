@@ -0,0 +1,154 @@
+package com.baeldung.http.server;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.management.ThreadMXBean;
+
+import io.netty.channel.Channel;
+
+/**
+ * Sends batches of pipelined keep-alive requests over loopback and reports the requests per second
+ * and the bytes the server's worker threads allocated per request, for both modes of the server.
+ */
+public class HttpServerLoadManualTest {
+
+    private static final int WARMUP_REQUESTS = 50_000;
+    private static final int REQUESTS = 200_000;
+    private static final int PIPELINE_DEPTH = 16;
+
+    private static final String ECHO_REQUEST = "POST /?name=john&city=london HTTP/1.1\r\nHost: localhost\r\nContent-Length: 12\r\n\r\nHello World!";
+    private static final String STATIC_REQUEST = "GET /static/index.html HTTP/1.1\r\nHost: localhost\r\n\r\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void whenLoadingBothModes_thenReportThroughputAndAllocation() throws Exception {
+        Path staticDirectory = folder.newFolder("static")
+            .toPath();
+        Files.write(staticDirectory.resolve("index.html"), new byte[16 * 1024]);
+
+        run("default echo", new HttpServer(0), ECHO_REQUEST);
+        run("high-throughput echo", HttpServer.highThroughput(0, staticDirectory), ECHO_REQUEST);
+        run("high-throughput static", HttpServer.highThroughput(0, staticDirectory), STATIC_REQUEST);
+    }
+
+    private static void run(String name, HttpServer server, String request) throws Exception {
+        Channel serverChannel = server.start();
+        try (Socket socket = new Socket()) {
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress("127.0.0.1", ((InetSocketAddress) serverChannel.localAddress()).getPort()));
+            OutputStream out = socket.getOutputStream();
+            InputStream in = new BufferedInputStream(socket.getInputStream(), 64 * 1024);
+            byte[] batch = repeat(request, PIPELINE_DEPTH);
+
+            send(out, in, batch, WARMUP_REQUESTS);
+
+            Map<Long, Long> allocatedBefore = workerAllocatedBytes();
+            long start = System.nanoTime();
+            send(out, in, batch, REQUESTS);
+            long elapsed = System.nanoTime() - start;
+            long allocated = 0;
+            for (Map.Entry<Long, Long> worker : workerAllocatedBytes().entrySet()) {
+                allocated += worker.getValue() - allocatedBefore.getOrDefault(worker.getKey(), 0L);
+            }
+
+            System.out.printf("%-24s %,10.0f req/s %,8d bytes allocated/req%n", name, REQUESTS * 1e9 / elapsed, allocated / REQUESTS);
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static void send(OutputStream out, InputStream in, byte[] batch, int requests) throws IOException {
+        for (int sent = 0; sent < requests; sent += PIPELINE_DEPTH) {
+            out.write(batch);
+            out.flush();
+            for (int i = 0; i < PIPELINE_DEPTH; i++) {
+                assertEquals(200, readResponse(in));
+            }
+        }
+    }
+
+    /**
+     * Reads one response with a content length and returns its status code.
+     */
+    private static int readResponse(InputStream in) throws IOException {
+        String statusLine = readLine(in);
+        int status = Integer.parseInt(statusLine.substring(9, 12));
+        long contentLength = 0;
+        for (String header = readLine(in); !header.isEmpty(); header = readLine(in)) {
+            if (header.regionMatches(true, 0, "content-length:", 0, 15)) {
+                contentLength = Long.parseLong(header.substring(15)
+                    .trim());
+            }
+        }
+        while (contentLength > 0) {
+            long skipped = in.skip(contentLength);
+            if (skipped <= 0 && in.read() < 0) {
+                throw new IOException("Connection closed within a response");
+            }
+            contentLength -= Math.max(skipped, 1);
+        }
+        return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c < 0) {
+                throw new IOException("Connection closed within a response");
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    private static byte[] repeat(String request, int times) {
+        StringBuilder batch = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            batch.append(request);
+        }
+        return batch.toString()
+            .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * The bytes allocated so far by each live worker thread, by thread id. Workers of servers stopped
+     * earlier may still be shutting down, so only the difference per thread is meaningful.
+     */
+    private static Map<Long, Long> workerAllocatedBytes() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Map<Long, Long> allocated = new HashMap<>();
+        for (Thread thread : Thread.getAllStackTraces()
+            .keySet()) {
+            if (thread.getName()
+                .startsWith(HttpServer.WORKER_THREAD_PREFIX)) {
+                long bytes = threads.getThreadAllocatedBytes(thread.getId());
+                if (bytes >= 0) {
+                    allocated.put(thread.getId(), bytes);
+                }
+            }
+        }
+        return allocated;
+    }
+}
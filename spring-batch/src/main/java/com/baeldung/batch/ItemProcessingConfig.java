@@ -0,0 +1,23 @@
+package com.baeldung.batch;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * The thread pool the asynchronous steps of {@link SpringBatchConfig} and {@link SpringBatchRetryConfig}
+ * process their items on, shared by both when they run in one context.
+ */
+@Configuration
+public class ItemProcessingConfig {
+
+    @Bean
+    public TaskExecutor itemProcessingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Runtime.getRuntime().availableProcessors());
+        executor.setMaxPoolSize(Runtime.getRuntime().availableProcessors());
+        executor.setThreadNamePrefix("item-processing-");
+        return executor;
+    }
+}
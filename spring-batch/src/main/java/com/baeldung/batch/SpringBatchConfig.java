@@ -1,16 +1,20 @@
 package com.baeldung.batch;
 
 import com.baeldung.batch.model.Transaction;
+import com.baeldung.batch.service.AdaptiveChunkSizePolicy;
 import com.baeldung.batch.service.CustomItemProcessor;
 import com.baeldung.batch.service.CustomSkipPolicy;
 import com.baeldung.batch.service.MissingUsernameException;
 import com.baeldung.batch.service.NegativeAmountException;
 import com.baeldung.batch.service.RecordFieldSetMapper;
 import com.baeldung.batch.service.SkippingItemProcessor;
+import com.baeldung.batch.service.StepMetricsListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemWriter;
@@ -23,12 +27,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.oxm.Marshaller;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
 
 import java.text.ParseException;
+import java.util.concurrent.Future;
 
+@Import(ItemProcessingConfig.class)
 public class SpringBatchConfig {
     @Autowired
     private JobBuilderFactory jobBuilderFactory;
@@ -85,14 +93,28 @@ public class SpringBatchConfig {
         return marshaller;
     }
 
+    /**
+     * Items are processed on the item processing executor while the reader moves on, the writer waits
+     * for the results of the chunk and writes them in reading order.
+     */
     @Bean
-    protected Step step1(@Qualifier("itemProcessor") ItemProcessor<Transaction, Transaction> processor, ItemWriter<Transaction> writer) throws ParseException {
+    protected Step step1(@Qualifier("itemProcessor") ItemProcessor<Transaction, Transaction> processor, ItemWriter<Transaction> writer,
+                         @Qualifier("itemProcessingExecutor") TaskExecutor executor) throws ParseException {
+        AsyncItemProcessor<Transaction, Transaction> asyncProcessor = new AsyncItemProcessor<>();
+        asyncProcessor.setDelegate(processor);
+        asyncProcessor.setTaskExecutor(executor);
+        AsyncItemWriter<Transaction> asyncWriter = new AsyncItemWriter<>();
+        asyncWriter.setDelegate(writer);
+
+        AdaptiveChunkSizePolicy chunkSizePolicy = new AdaptiveChunkSizePolicy();
         return stepBuilderFactory
                 .get("step1")
-                .<Transaction, Transaction> chunk(10)
+                .<Transaction, Future<Transaction>> chunk(chunkSizePolicy)
                 .reader(itemReader(inputCsv))
-                .processor(processor)
-                .writer(writer)
+                .processor(asyncProcessor)
+                .writer(asyncWriter)
+                .listener(chunkSizePolicy)
+                .listener(new StepMetricsListener())
                 .build();
     }
 
@@ -104,12 +126,15 @@ public class SpringBatchConfig {
     @Bean
     public Step skippingStep(@Qualifier("skippingItemProcessor") ItemProcessor<Transaction, Transaction> processor,
                              ItemWriter<Transaction> writer) throws ParseException {
+        AdaptiveChunkSizePolicy chunkSizePolicy = new AdaptiveChunkSizePolicy();
         return stepBuilderFactory
                 .get("skippingStep")
-                .<Transaction, Transaction>chunk(10)
+                .<Transaction, Transaction>chunk(chunkSizePolicy)
                 .reader(itemReader(invalidInputCsv))
                 .processor(processor)
                 .writer(writer)
+                .listener(chunkSizePolicy)
+                .listener(new StepMetricsListener())
                 .faultTolerant()
                 .skipLimit(2)
                 .skip(MissingUsernameException.class)
@@ -128,12 +153,15 @@ public class SpringBatchConfig {
     @Bean
     public Step skipPolicyStep(@Qualifier("skippingItemProcessor") ItemProcessor<Transaction, Transaction> processor,
                                ItemWriter<Transaction> writer) throws ParseException {
+        AdaptiveChunkSizePolicy chunkSizePolicy = new AdaptiveChunkSizePolicy();
         return stepBuilderFactory
                 .get("skipPolicyStep")
-                .<Transaction, Transaction>chunk(10)
+                .<Transaction, Transaction>chunk(chunkSizePolicy)
                 .reader(itemReader(invalidInputCsv))
                 .processor(processor)
                 .writer(writer)
+                .listener(chunkSizePolicy)
+                .listener(new StepMetricsListener())
                 .faultTolerant()
                 .skipPolicy(new CustomSkipPolicy())
                 .build();
@@ -5,13 +5,17 @@ import org.apache.http.conn.ConnectTimeoutException;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import com.baeldung.batch.model.Transaction;
+import com.baeldung.batch.service.AdaptiveChunkSizePolicy;
 import com.baeldung.batch.service.RecordFieldSetMapper;
 import com.baeldung.batch.service.RetryItemProcessor;
+import com.baeldung.batch.service.StepMetricsListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemWriter;
@@ -24,19 +28,27 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.dao.DeadlockLoserDataAccessException;
 import org.springframework.oxm.Marshaller;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
 
 import java.text.ParseException;
+import java.util.Collections;
+import java.util.concurrent.Future;
 
 @Configuration
+@Import(ItemProcessingConfig.class)
 @EnableBatchProcessing
 public class SpringBatchRetryConfig {
     
     private static final String[] tokens = { "username", "userid", "transactiondate", "amount" };
     private static final int TWO_SECONDS = 2000;
+    private static final int MAX_ATTEMPTS = 3;
 
     @Autowired
     private JobBuilderFactory jobBuilderFactory;
@@ -92,17 +104,32 @@ public class SpringBatchRetryConfig {
         return marshaller;
     }
 
+    /**
+     * The calls to the user endpoint run on the item processing executor. A fault tolerant step can't
+     * retry work that already left the chunk thread, so the timeouts are retried inside the task instead.
+     */
     @Bean
     public Step retryStep(@Qualifier("retryItemProcessor") ItemProcessor<Transaction, Transaction> processor,
-      ItemWriter<Transaction> writer) throws ParseException {
+      ItemWriter<Transaction> writer, @Qualifier("itemProcessingExecutor") TaskExecutor executor) throws ParseException {
+        RetryTemplate retryTemplate = new RetryTemplate();
+        retryTemplate.setRetryPolicy(new SimpleRetryPolicy(MAX_ATTEMPTS, Collections.singletonMap(ConnectTimeoutException.class, true)));
+
+        AsyncItemProcessor<Transaction, Transaction> asyncProcessor = new AsyncItemProcessor<>();
+        asyncProcessor.setDelegate(transaction -> retryTemplate.execute(context -> processor.process(transaction)));
+        asyncProcessor.setTaskExecutor(executor);
+        AsyncItemWriter<Transaction> asyncWriter = new AsyncItemWriter<>();
+        asyncWriter.setDelegate(writer);
+
+        AdaptiveChunkSizePolicy chunkSizePolicy = new AdaptiveChunkSizePolicy();
         return stepBuilderFactory.get("retryStep")
-          .<Transaction, Transaction>chunk(10)
+          .<Transaction, Future<Transaction>>chunk(chunkSizePolicy)
           .reader(itemReader(inputCsv))
-          .processor(processor)
-          .writer(writer)
+          .processor(asyncProcessor)
+          .writer(asyncWriter)
+          .listener(chunkSizePolicy)
+          .listener(new StepMetricsListener())
           .faultTolerant()
-          .retryLimit(3)
-          .retry(ConnectTimeoutException.class)
+          .retryLimit(MAX_ATTEMPTS)
           .retry(DeadlockLoserDataAccessException.class)
           .build();
     }
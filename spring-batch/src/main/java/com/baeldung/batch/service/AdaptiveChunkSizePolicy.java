@@ -0,0 +1,102 @@
+package com.baeldung.batch.service;
+
+import org.springframework.batch.core.annotation.AfterChunk;
+import org.springframework.batch.core.annotation.AfterWrite;
+import org.springframework.batch.core.annotation.BeforeChunk;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completion policy that tunes the commit interval of a step between chunks.
+ * <p>
+ * From the durations of the chunks so far it estimates the fixed cost of a commit and the cost per item,
+ * then picks the smallest chunk size whose commit takes at most the target share of the chunk time, so
+ * a failed chunk rolls back as little work as possible. The size never makes a chunk take longer than
+ * the maximum chunk duration and stays within the given bounds.
+ * <p>
+ * The policy must also be registered as a listener of the step, and an instance must not be shared
+ * between steps or used by multi-threaded steps.
+ */
+public class AdaptiveChunkSizePolicy extends SimpleCompletionPolicy {
+
+    private static final double SMOOTHING = 0.3;
+
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final double targetCommitShare;
+    private final long maxChunkNanos;
+
+    private long chunkStartNanos;
+    private long writeEndNanos;
+    private int chunkItems;
+    private double commitNanosEstimate = -1;
+    private double itemNanosEstimate = -1;
+
+    public AdaptiveChunkSizePolicy() {
+        this(10, 10, 10_000, 0.05, 1_000);
+    }
+
+    /**
+     * @param initialChunkSize the commit interval of the first chunk
+     * @param minChunkSize the smallest commit interval
+     * @param maxChunkSize the largest commit interval
+     * @param targetCommitShare the share of the chunk time, between 0 and 1, the commit should take at most
+     * @param maxChunkMillis the longest a chunk should take
+     */
+    public AdaptiveChunkSizePolicy(int initialChunkSize, int minChunkSize, int maxChunkSize, double targetCommitShare, long maxChunkMillis) {
+        super(initialChunkSize);
+        if (minChunkSize < 1 || maxChunkSize < minChunkSize || targetCommitShare <= 0 || targetCommitShare >= 1) {
+            throw new IllegalArgumentException("Invalid chunk size bounds or commit share");
+        }
+        this.minChunkSize = minChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.targetCommitShare = targetCommitShare;
+        this.maxChunkNanos = TimeUnit.MILLISECONDS.toNanos(maxChunkMillis);
+    }
+
+    @BeforeChunk
+    public void beforeChunk(ChunkContext context) {
+        chunkStartNanos = System.nanoTime();
+        writeEndNanos = 0;
+        chunkItems = 0;
+    }
+
+    @AfterWrite
+    public void afterWrite(List<?> items) {
+        writeEndNanos = System.nanoTime();
+        chunkItems += items.size();
+    }
+
+    @AfterChunk
+    public void afterChunk(ChunkContext context) {
+        if (writeEndNanos > 0) {
+            long now = System.nanoTime();
+            recordChunk(chunkItems, writeEndNanos - chunkStartNanos, now - writeEndNanos);
+        }
+    }
+
+    /**
+     * Updates the estimates with a completed chunk and resizes the next chunks.
+     *
+     * @param items the number of items written
+     * @param workNanos the time spent reading, processing and writing the items
+     * @param commitNanos the time spent committing the chunk
+     */
+    void recordChunk(int items, long workNanos, long commitNanos) {
+        if (items == 0) {
+            return;
+        }
+        double itemNanos = (double) workNanos / items;
+        itemNanosEstimate = itemNanosEstimate < 0 ? itemNanos : SMOOTHING * itemNanos + (1 - SMOOTHING) * itemNanosEstimate;
+        commitNanosEstimate = commitNanosEstimate < 0 ? commitNanos : SMOOTHING * commitNanos + (1 - SMOOTHING) * commitNanosEstimate;
+
+        // commit / (commit + size * item) <= share  <=>  size >= commit * (1 - share) / (share * item)
+        double perItem = Math.max(itemNanosEstimate, 1);
+        double size = commitNanosEstimate * (1 - targetCommitShare) / (targetCommitShare * perItem);
+        size = Math.min(size, maxChunkNanos / perItem);
+        setChunkSize((int) Math.max(minChunkSize, Math.min(maxChunkSize, Math.ceil(size))));
+    }
+}
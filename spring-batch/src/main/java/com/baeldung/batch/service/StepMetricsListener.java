@@ -0,0 +1,77 @@
+package com.baeldung.batch.service;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.annotation.AfterChunk;
+import org.springframework.batch.core.annotation.AfterStep;
+import org.springframework.batch.core.annotation.AfterWrite;
+import org.springframework.batch.core.annotation.BeforeStep;
+import org.springframework.batch.core.scope.context.ChunkContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the commit time of every chunk as the {@code batch.step.commit} timer and the throughput of
+ * the step as the {@code batch.step.throughput} summary, both tagged with the step name, in the global
+ * Micrometer registry. The throughput and the average commit time are also stored in the step
+ * execution context under {@link #ITEMS_PER_SECOND_KEY} and {@link #AVERAGE_COMMIT_MILLIS_KEY}.
+ */
+public class StepMetricsListener {
+
+    public static final String ITEMS_PER_SECOND_KEY = "metrics.itemsPerSecond";
+    public static final String AVERAGE_COMMIT_MILLIS_KEY = "metrics.averageCommitMillis";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StepMetricsListener.class);
+
+    private long stepStartNanos;
+    private long writeEndNanos;
+    private long commitNanos;
+    private int commits;
+    private Timer commitTimer;
+
+    @BeforeStep
+    public void beforeStep(StepExecution stepExecution) {
+        stepStartNanos = System.nanoTime();
+        commitNanos = 0;
+        commits = 0;
+        commitTimer = Metrics.timer("batch.step.commit", "step", stepExecution.getStepName());
+    }
+
+    @AfterWrite
+    public void afterWrite(List<?> items) {
+        writeEndNanos = System.nanoTime();
+    }
+
+    @AfterChunk
+    public void afterChunk(ChunkContext context) {
+        if (writeEndNanos > 0) {
+            long nanos = System.nanoTime() - writeEndNanos;
+            commitTimer.record(nanos, TimeUnit.NANOSECONDS);
+            commitNanos += nanos;
+            commits++;
+            writeEndNanos = 0;
+        }
+    }
+
+    @AfterStep
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        double seconds = (System.nanoTime() - stepStartNanos) / 1e9;
+        double itemsPerSecond = stepExecution.getWriteCount() / seconds;
+        double averageCommitMillis = commits == 0 ? 0 : commitNanos / 1e6 / commits;
+
+        Metrics.summary("batch.step.throughput", "step", stepExecution.getStepName())
+            .record(itemsPerSecond);
+        stepExecution.getExecutionContext()
+            .putDouble(ITEMS_PER_SECOND_KEY, itemsPerSecond);
+        stepExecution.getExecutionContext()
+            .putDouble(AVERAGE_COMMIT_MILLIS_KEY, averageCommitMillis);
+        LOGGER.info("Step {} wrote {} items at {} items/s in {} commits, {} ms per commit", stepExecution.getStepName(), stepExecution.getWriteCount(), Math.round(itemsPerSecond), commits,
+            averageCommitMillis);
+        return null;
+    }
+}
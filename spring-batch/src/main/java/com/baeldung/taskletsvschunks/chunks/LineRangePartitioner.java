@@ -0,0 +1,44 @@
+package com.baeldung.taskletsvschunks.chunks;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Splits a file into byte ranges of about the same size, one per partition, to be read by
+ * {@link LineRangeReader}s in parallel.
+ */
+public class LineRangePartitioner implements Partitioner {
+
+    public static final String FILE_NAME_KEY = "fileName";
+    public static final String START_BYTE_KEY = "startByte";
+    public static final String END_BYTE_KEY = "endByte";
+    public static final String PARTITION_NAME_KEY = "partitionName";
+
+    private final File file;
+
+    public LineRangePartitioner(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        long size = file.length();
+        long rangeSize = Math.max(1, (size + gridSize - 1) / gridSize);
+
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        for (int i = 0; i < gridSize && i * rangeSize < size; i++) {
+            String partitionName = "partition" + i;
+            ExecutionContext context = new ExecutionContext();
+            context.putString(FILE_NAME_KEY, file.getAbsolutePath());
+            context.putLong(START_BYTE_KEY, i * rangeSize);
+            context.putLong(END_BYTE_KEY, Math.min(size, (i + 1) * rangeSize));
+            context.putString(PARTITION_NAME_KEY, partitionName);
+            partitions.put(partitionName, context);
+        }
+        return partitions;
+    }
+}
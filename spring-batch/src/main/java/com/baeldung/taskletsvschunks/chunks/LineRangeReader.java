@@ -0,0 +1,153 @@
+package com.baeldung.taskletsvschunks.chunks;
+
+import com.baeldung.taskletsvschunks.model.Line;
+import com.baeldung.taskletsvschunks.utils.FileUtils;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * Reads the {@code name,MM/dd/yyyy} lines that start within a byte range of a CSV file. A line
+ * belongs to the range its first byte falls into, so the ranges of a {@link LineRangePartitioner}
+ * together read every line exactly once.
+ * <p>
+ * The byte offset of the next line is saved in the step execution context, so a restarted
+ * partition continues after the last committed chunk. Each partition gets its own instance,
+ * an instance must not be shared between threads.
+ */
+public class LineRangeReader implements ItemStreamReader<Line> {
+
+    static final String POSITION_KEY = "lineRange.position";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+    private final long startByte;
+    private final long endByte;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private byte[] lineBytes = new byte[256];
+    private FileChannel channel;
+    private long position;
+    private int lineNumber;
+
+    public LineRangeReader(File file, long startByte, long endByte) {
+        this.file = file;
+        this.startByte = startByte;
+        this.endByte = endByte;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            if (executionContext.containsKey(POSITION_KEY)) {
+                seek(executionContext.getLong(POSITION_KEY));
+            } else if (startByte > 0) {
+                // the line crossing the start of the range belongs to the previous range
+                seek(startByte - 1);
+                readLineBytes();
+            } else {
+                seek(0);
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Could not open " + file, e);
+        }
+    }
+
+    @Override
+    public Line read() throws IOException {
+        while (position < endByte) {
+            int length = readLineBytes();
+            if (length < 0) {
+                return null;
+            }
+            lineNumber++;
+            if (length > 0) {
+                return parse(new String(lineBytes, 0, length, StandardCharsets.UTF_8));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        executionContext.putLong(POSITION_KEY, position);
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Could not close " + file, e);
+        }
+    }
+
+    private Line parse(String text) {
+        int comma = text.lastIndexOf(',');
+        if (comma < 0) {
+            throw new FlatFileParseException("Expected name,date but got: " + text, text, lineNumber);
+        }
+        String name = text.substring(0, comma);
+        if (name.length() > 1 && name.charAt(0) == '"' && name.charAt(name.length() - 1) == '"') {
+            name = name.substring(1, name.length() - 1);
+        }
+        try {
+            return new Line(name, LocalDate.parse(text.substring(comma + 1)
+                .trim(), FileUtils.DATE_FORMATTER));
+        } catch (DateTimeParseException e) {
+            throw new FlatFileParseException("Invalid date in: " + text, e, text, lineNumber);
+        }
+    }
+
+    /**
+     * Reads the next line into {@code lineBytes} without its line terminator.
+     *
+     * @return the length of the line, or -1 at the end of the file
+     */
+    private int readLineBytes() throws IOException {
+        int length = 0;
+        while (true) {
+            if (!buffer.hasRemaining() && !fill()) {
+                return length == 0 ? -1 : length;
+            }
+            byte b = buffer.get();
+            position++;
+            if (b == '\n') {
+                return length > 0 && lineBytes[length - 1] == '\r' ? length - 1 : length;
+            }
+            if (length == lineBytes.length) {
+                lineBytes = Arrays.copyOf(lineBytes, length * 2);
+            }
+            lineBytes[length++] = b;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read = channel.read(buffer);
+        buffer.flip();
+        return read > 0;
+    }
+
+    private void seek(long offset) throws IOException {
+        channel.position(offset);
+        position = offset;
+        buffer.clear();
+        buffer.flip();
+    }
+}
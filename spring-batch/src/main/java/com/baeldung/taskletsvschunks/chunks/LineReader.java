@@ -12,11 +12,20 @@ import org.springframework.batch.item.ItemReader;
 public class LineReader implements ItemReader<Line>, StepExecutionListener {
 
     private final Logger logger = LoggerFactory.getLogger(LineReader.class);
+    private final String fileName;
     private FileUtils fu;
 
+    public LineReader() {
+        this("taskletsvschunks/input/tasklets-vs-chunks.csv");
+    }
+
+    public LineReader(String fileName) {
+        this.fileName = fileName;
+    }
+
     @Override
     public void beforeStep(StepExecution stepExecution) {
-        fu = new FileUtils("taskletsvschunks/input/tasklets-vs-chunks.csv");
+        fu = new FileUtils(fileName);
         logger.debug("Line Reader initialized.");
     }
 
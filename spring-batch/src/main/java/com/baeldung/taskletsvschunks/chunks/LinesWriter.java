@@ -14,11 +14,20 @@ import java.util.List;
 public class LinesWriter implements ItemWriter<Line>, StepExecutionListener {
 
     private final Logger logger = LoggerFactory.getLogger(LinesWriter.class);
+    private final String fileName;
     private FileUtils fu;
 
+    public LinesWriter() {
+        this("output.csv");
+    }
+
+    public LinesWriter(String fileName) {
+        this.fileName = fileName;
+    }
+
     @Override
     public void beforeStep(StepExecution stepExecution) {
-        fu = new FileUtils("output.csv");
+        fu = new FileUtils(fileName);
         logger.debug("Line Writer initialized.");
     }
 
@@ -0,0 +1,161 @@
+package com.baeldung.taskletsvschunks.config;
+
+import com.baeldung.taskletsvschunks.chunks.LineProcessor;
+import com.baeldung.taskletsvschunks.chunks.LineRangePartitioner;
+import com.baeldung.taskletsvschunks.chunks.LineRangeReader;
+import com.baeldung.taskletsvschunks.model.Line;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.SimpleJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * Chunk oriented variant of {@link ChunksConfig} for large files. The manager step splits the input
+ * file into byte ranges, and one worker step per range reads, processes and writes its lines on a
+ * thread pool, each into its own output file.
+ * <p>
+ * The job takes the optional {@code inputFile} and {@code outputDirectory} parameters, by default it
+ * reads the sample file and writes to {@code output}.
+ */
+@Configuration
+@EnableBatchProcessing
+public class PartitionedChunksConfig {
+
+    public static final int CHUNK_SIZE = 1_000;
+
+    private static final String DEFAULT_INPUT_FILE = "taskletsvschunks/input/tasklets-vs-chunks.csv";
+    private static final int GRID_SIZE = Runtime.getRuntime()
+      .availableProcessors();
+
+    @Autowired private JobBuilderFactory jobs;
+
+    @Autowired private StepBuilderFactory steps;
+
+    @Bean
+    public JobLauncherTestUtils jobLauncherTestUtils() {
+        return new JobLauncherTestUtils();
+    }
+
+    @Bean
+    public JobRepository jobRepository() throws Exception {
+        JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(dataSource());
+        factory.setTransactionManager(transactionManager());
+        return factory.getObject();
+    }
+
+    /**
+     * The partitions update their step executions concurrently, SQLite allows only one writer at a time,
+     * so wait for the lock instead of failing.
+     */
+    @Bean
+    public DataSource dataSource() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource();
+        dataSource.setDriverClassName("org.sqlite.JDBC");
+        dataSource.setUrl("jdbc:sqlite:repository.sqlite");
+        Properties properties = new Properties();
+        properties.setProperty("journal_mode", "WAL");
+        properties.setProperty("busy_timeout", "30000");
+        dataSource.setConnectionProperties(properties);
+        return dataSource;
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new ResourcelessTransactionManager();
+    }
+
+    @Bean
+    public JobLauncher jobLauncher() throws Exception {
+        SimpleJobLauncher jobLauncher = new SimpleJobLauncher();
+        jobLauncher.setJobRepository(jobRepository());
+        return jobLauncher;
+    }
+
+    @Bean
+    public TaskExecutor partitionTaskExecutor() {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(GRID_SIZE);
+        taskExecutor.setMaxPoolSize(GRID_SIZE);
+        taskExecutor.setThreadNamePrefix("lines-partition-");
+        return taskExecutor;
+    }
+
+    @Bean
+    @StepScope
+    public LineRangePartitioner linePartitioner(@Value("#{jobParameters['inputFile']}") String inputFile) throws IOException {
+        File file = inputFile == null ? new ClassPathResource(DEFAULT_INPUT_FILE).getFile() : new File(inputFile);
+        return new LineRangePartitioner(file);
+    }
+
+    @Bean
+    @StepScope
+    public LineRangeReader lineRangeReader(@Value("#{stepExecutionContext['fileName']}") String fileName,
+      @Value("#{stepExecutionContext['startByte']}") long startByte, @Value("#{stepExecutionContext['endByte']}") long endByte) {
+        return new LineRangeReader(new File(fileName), startByte, endByte);
+    }
+
+    @Bean
+    @StepScope
+    public FlatFileItemWriter<Line> partitionLinesWriter(@Value("#{jobParameters['outputDirectory'] ?: 'output'}") String outputDirectory,
+      @Value("#{stepExecutionContext['partitionName']}") String partitionName) {
+        return new FlatFileItemWriterBuilder<Line>()
+          .name("partitionLinesWriter")
+          .resource(new FileSystemResource(new File(outputDirectory, partitionName + ".csv")))
+          .lineAggregator(line -> line.getName() + "," + line.getAge())
+          .build();
+    }
+
+    @Bean
+    protected Step processLinesPartition() {
+        return steps.get("processLinesPartition").<Line, Line> chunk(CHUNK_SIZE)
+          .reader(lineRangeReader(null, 0, 0))
+          .processor(new LineProcessor())
+          .writer(partitionLinesWriter(null, null))
+          .build();
+    }
+
+    @Bean
+    protected Step processLinesManager() throws IOException {
+        return steps.get("processLinesManager")
+          .partitioner("processLinesPartition", linePartitioner(null))
+          .step(processLinesPartition())
+          .gridSize(GRID_SIZE)
+          .taskExecutor(partitionTaskExecutor())
+          .build();
+    }
+
+    @Bean
+    public Job partitionedJob() throws IOException {
+        return jobs
+          .get("partitionedChunksJob")
+          .start(processLinesManager())
+          .build();
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.baeldung.taskletsvschunks.model;
 
+import com.baeldung.taskletsvschunks.utils.FileUtils;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
@@ -7,7 +8,6 @@ import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 
 import java.io.Serializable;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 public class Line implements Serializable {
 
@@ -51,7 +51,7 @@ public class Line implements Serializable {
         sb.append("[");
         sb.append(this.name);
         sb.append(",");
-        sb.append(this.dob.format(DateTimeFormatter.ofPattern("MM/dd/yyyy")));
+        sb.append(this.dob.format(FileUtils.DATE_FORMATTER));
         if (this.age != null) {
             sb.append(",");
             sb.append(this.age);
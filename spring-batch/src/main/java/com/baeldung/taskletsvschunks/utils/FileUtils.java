@@ -15,6 +15,8 @@ import java.time.format.DateTimeFormatter;
 
 public class FileUtils {
 
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+
     private final Logger logger = LoggerFactory.getLogger(FileUtils.class);
 
     private String fileName;
@@ -33,7 +35,7 @@ public class FileUtils {
             if (CSVReader == null) initReader();
             String[] line = CSVReader.readNext();
             if (line == null) return null;
-            return new Line(line[0], LocalDate.parse(line[1], DateTimeFormatter.ofPattern("MM/dd/yyyy")));
+            return new Line(line[0], LocalDate.parse(line[1], DATE_FORMATTER));
         } catch (Exception e) {
             logger.error("Error while reading line in file: " + this.fileName);
             return null;
@@ -58,7 +60,7 @@ public class FileUtils {
         ClassLoader classLoader = this
           .getClass()
           .getClassLoader();
-        if (file == null) file = new File(classLoader
+        if (file == null) file = classLoader.getResource(fileName) == null ? new File(fileName) : new File(classLoader
           .getResource(fileName)
           .getFile());
         if (fileReader == null) fileReader = new FileReader(file);
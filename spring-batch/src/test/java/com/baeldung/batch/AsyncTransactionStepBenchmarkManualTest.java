@@ -0,0 +1,141 @@
+package com.baeldung.batch;
+
+import com.baeldung.batch.model.Transaction;
+import com.baeldung.batch.service.AdaptiveChunkSizePolicy;
+import com.baeldung.batch.service.CustomItemProcessor;
+import com.baeldung.batch.service.StepMetricsListener;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.xml.StaxEventItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.oxm.Marshaller;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a synchronous step with a fixed commit interval of 10 with the asynchronous, adaptively
+ * chunked step of {@link SpringBatchConfig} on -Dtransactions generated transactions (default 5000).
+ * Processing an item waits -DlatencyMicros (default 500), standing in for a lookup like the one of
+ * {@code RetryItemProcessor}.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { SpringConfig.class, SpringBatchConfig.class })
+public class AsyncTransactionStepBenchmarkManualTest {
+
+    private static final int TRANSACTIONS = Integer.getInteger("transactions", 5_000);
+    private static final long LATENCY_MICROS = Long.getLong("latencyMicros", 500);
+
+    @ClassRule public static TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired private JobLauncher jobLauncher;
+
+    @Autowired private JobBuilderFactory jobs;
+
+    @Autowired private StepBuilderFactory steps;
+
+    @Autowired private SpringBatchConfig config;
+
+    @Autowired private Marshaller marshaller;
+
+    @Autowired @Qualifier("itemProcessingExecutor") private TaskExecutor executor;
+
+    @Test
+    public void givenGeneratedTransactions_WhenRunningBothSteps_ThenReportThroughput() throws Exception {
+        FileSystemResource input = new FileSystemResource(writeTransactions(folder.newFile("transactions.csv")));
+
+        Step fixedStep = steps.get("fixedChunkStep")
+          .<Transaction, Transaction> chunk(10)
+          .reader(config.itemReader(input))
+          .processor(slowProcessor())
+          .writer(writer("fixed.xml"))
+          .listener(new StepMetricsListener())
+          .build();
+        run("synchronous, chunk(10)", fixedStep);
+
+        AsyncItemProcessor<Transaction, Transaction> asyncProcessor = new AsyncItemProcessor<>();
+        asyncProcessor.setDelegate(slowProcessor());
+        asyncProcessor.setTaskExecutor(executor);
+        AsyncItemWriter<Transaction> asyncWriter = new AsyncItemWriter<>();
+        asyncWriter.setDelegate(writer("adaptive.xml"));
+        AdaptiveChunkSizePolicy chunkSizePolicy = new AdaptiveChunkSizePolicy();
+        Step adaptiveStep = steps.get("adaptiveChunkStep")
+          .<Transaction, Future<Transaction>> chunk(chunkSizePolicy)
+          .reader(config.itemReader(input))
+          .processor(asyncProcessor)
+          .writer(asyncWriter)
+          .listener(chunkSizePolicy)
+          .listener(new StepMetricsListener())
+          .build();
+        run("asynchronous, adaptive chunks", adaptiveStep);
+        System.out.printf("final chunk size: %d%n", chunkSizePolicy.getChunkSize());
+    }
+
+    private void run(String name, Step step) throws Exception {
+        Job job = jobs.get(step.getName() + "Job")
+          .start(step)
+          .build();
+        JobExecution execution = jobLauncher.run(job, new JobParametersBuilder().addLong("run", System.nanoTime())
+          .toJobParameters());
+        Assert.assertEquals(ExitStatus.COMPLETED, execution.getExitStatus());
+
+        StepExecution stepExecution = execution.getStepExecutions()
+          .iterator()
+          .next();
+        Assert.assertEquals(TRANSACTIONS, stepExecution.getWriteCount());
+        System.out.printf("%s: %,.0f transactions/s, %d commits, %.2f ms per commit%n", name, stepExecution.getExecutionContext()
+          .getDouble(StepMetricsListener.ITEMS_PER_SECOND_KEY), stepExecution.getCommitCount(), stepExecution.getExecutionContext()
+          .getDouble(StepMetricsListener.AVERAGE_COMMIT_MILLIS_KEY));
+    }
+
+    private ItemProcessor<Transaction, Transaction> slowProcessor() {
+        CustomItemProcessor delegate = new CustomItemProcessor();
+        return transaction -> {
+            TimeUnit.MICROSECONDS.sleep(LATENCY_MICROS);
+            return delegate.process(transaction);
+        };
+    }
+
+    private StaxEventItemWriter<Transaction> writer(String fileName) {
+        StaxEventItemWriter<Transaction> writer = new StaxEventItemWriter<>();
+        writer.setMarshaller(marshaller);
+        writer.setRootTagName("transactionRecord");
+        writer.setResource(new FileSystemResource(new File(folder.getRoot(), fileName)));
+        return writer;
+    }
+
+    private File writeTransactions(File file) throws Exception {
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath())) {
+            writer.write("username, user_id, transaction_date, transaction_amount\n");
+            for (int i = 0; i < TRANSACTIONS; i++) {
+                writer.write(String.format("user%d, %d, %d/%d/%d, %d%n", i, 1000 + i, 1 + random.nextInt(28), 1 + random.nextInt(12), 2010 + random.nextInt(10), random.nextInt(100_000)));
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,68 @@
+package com.baeldung.batch.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveChunkSizePolicyUnitTest {
+
+    private static final long MICROS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void givenExpensiveCommits_WhenChunkCompletes_ThenChunkSizeGrows() {
+        AdaptiveChunkSizePolicy policy = new AdaptiveChunkSizePolicy();
+
+        // 100 µs per item and a 5 ms commit, 950 items keep the commit at 5% of the chunk
+        policy.recordChunk(10, 10 * 100 * MICROS, 5 * MILLIS);
+
+        Assert.assertEquals(950, policy.getChunkSize(), 1);
+    }
+
+    @Test
+    public void givenCheapCommits_WhenChunkCompletes_ThenChunkSizeStaysAtMinimum() {
+        AdaptiveChunkSizePolicy policy = new AdaptiveChunkSizePolicy(100, 10, 10_000, 0.05, 1_000);
+
+        policy.recordChunk(100, 100 * MILLIS, 10 * MICROS);
+
+        Assert.assertEquals(10, policy.getChunkSize());
+    }
+
+    @Test
+    public void givenSlowItems_WhenChunkCompletes_ThenChunkStaysWithinMaximumDuration() {
+        AdaptiveChunkSizePolicy policy = new AdaptiveChunkSizePolicy();
+
+        // a 100 ms commit would need 1900 items, but 1 ms items allow 1000 per second
+        policy.recordChunk(10, 10 * MILLIS, 100 * MILLIS);
+
+        Assert.assertEquals(1_000, policy.getChunkSize());
+    }
+
+    @Test
+    public void givenChangingCommitLatency_WhenChunksComplete_ThenChunkSizeFollowsGradually() {
+        AdaptiveChunkSizePolicy policy = new AdaptiveChunkSizePolicy(10, 10, 10_000, 0.05, 10_000);
+        policy.recordChunk(100, 100 * 100 * MICROS, MILLIS);
+        int before = policy.getChunkSize();
+
+        policy.recordChunk(before, before * 100 * MICROS, 10 * MILLIS);
+        int after = policy.getChunkSize();
+
+        Assert.assertTrue(after > before);
+        Assert.assertTrue(after < 1_900);
+    }
+
+    @Test
+    public void givenEmptyChunk_WhenChunkCompletes_ThenChunkSizeIsUnchanged() {
+        AdaptiveChunkSizePolicy policy = new AdaptiveChunkSizePolicy(42, 10, 10_000, 0.05, 1_000);
+
+        policy.recordChunk(0, 0, 5 * MILLIS);
+
+        Assert.assertEquals(42, policy.getChunkSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenCommitShareOfOne_WhenCreated_ThenRejected() {
+        new AdaptiveChunkSizePolicy(10, 10, 100, 1, 1_000);
+    }
+}
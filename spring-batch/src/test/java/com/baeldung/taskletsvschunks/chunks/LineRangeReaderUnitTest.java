@@ -0,0 +1,95 @@
+package com.baeldung.taskletsvschunks.chunks;
+
+import com.baeldung.taskletsvschunks.model.Line;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class LineRangeReaderUnitTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void givenAnyGridSize_WhenReadingAllRanges_ThenEveryLineIsReadOnce() throws Exception {
+        File file = writeLines(200, "\n");
+
+        for (int gridSize = 1; gridSize <= 16; gridSize++) {
+            Assert.assertEquals(expectedNames(200), readAll(file, gridSize));
+        }
+    }
+
+    @Test
+    public void givenWindowsLineEndings_WhenReadingAllRanges_ThenEveryLineIsReadOnce() throws Exception {
+        File file = writeLines(50, "\r\n");
+
+        Assert.assertEquals(expectedNames(50), readAll(file, 7));
+    }
+
+    @Test
+    public void givenSavedPosition_WhenReopened_ThenContinuesAfterTheLastReadLine() throws Exception {
+        File file = writeLines(10, "\n");
+        ExecutionContext context = new ExecutionContext();
+
+        LineRangeReader reader = new LineRangeReader(file, 0, file.length());
+        reader.open(context);
+        reader.read();
+        reader.read();
+        reader.update(context);
+        reader.close();
+
+        LineRangeReader restarted = new LineRangeReader(file, 0, file.length());
+        restarted.open(context);
+        Line line = restarted.read();
+        restarted.close();
+
+        Assert.assertEquals("Name 2", line.getName());
+        Assert.assertEquals(LocalDate.of(1972, 10, 22), line.getDob());
+    }
+
+    private List<String> readAll(File file, int gridSize) throws Exception {
+        List<String> names = new ArrayList<>();
+        Map<String, ExecutionContext> partitions = new LineRangePartitioner(file).partition(gridSize);
+        for (int i = 0; i < partitions.size(); i++) {
+            ExecutionContext context = partitions.get("partition" + i);
+            LineRangeReader reader = new LineRangeReader(file, context.getLong(LineRangePartitioner.START_BYTE_KEY), context.getLong(LineRangePartitioner.END_BYTE_KEY));
+            reader.open(new ExecutionContext());
+            for (Line line = reader.read(); line != null; line = reader.read()) {
+                names.add(line.getName());
+            }
+            reader.close();
+        }
+        return names;
+    }
+
+    private File writeLines(int count, String separator) throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            content.append("Name ")
+              .append(i)
+              .append(",10/22/1972")
+              .append(separator);
+        }
+        File file = folder.newFile();
+        Files.write(file.toPath(), content.toString()
+          .getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private List<String> expectedNames(int count) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            names.add("Name " + i);
+        }
+        return names;
+    }
+}
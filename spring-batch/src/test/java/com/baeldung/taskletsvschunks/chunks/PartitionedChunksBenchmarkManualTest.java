@@ -0,0 +1,93 @@
+package com.baeldung.taskletsvschunks.chunks;
+
+import com.baeldung.taskletsvschunks.config.PartitionedChunksConfig;
+import com.baeldung.taskletsvschunks.model.Line;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * Compares the single threaded chunk step of {@code ChunksConfig} with the partitioned job of
+ * {@link PartitionedChunksConfig} on a generated CSV of -DsizeMb megabytes (default 2048). Both
+ * steps commit every {@link PartitionedChunksConfig#CHUNK_SIZE} lines, so only the partitioning
+ * and the threads differ.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = PartitionedChunksConfig.class)
+public class PartitionedChunksBenchmarkManualTest {
+
+    private static final long SIZE_BYTES = Long.getLong("sizeMb", 2048) * 1024 * 1024;
+
+    @ClassRule public static TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired private JobLauncher jobLauncher;
+
+    @Autowired private JobBuilderFactory jobs;
+
+    @Autowired private StepBuilderFactory steps;
+
+    @Autowired private Job partitionedJob;
+
+    @Test
+    public void givenLargeCsv_WhenRunningBothSteps_ThenReportThroughput() throws Exception {
+        File input = folder.newFile("lines.csv");
+        long lines = writeLines(input);
+
+        Job singleThreadedJob = jobs.get("chunksBenchmarkJob")
+          .start(steps.get("processLines").<Line, Line> chunk(PartitionedChunksConfig.CHUNK_SIZE)
+            .reader(new LineReader(input.getAbsolutePath()))
+            .processor(new LineProcessor())
+            .writer(new LinesWriter(new File(folder.getRoot(), "single-threaded.csv").getAbsolutePath()))
+            .build())
+          .build();
+        run("single threaded chunk step", singleThreadedJob, new JobParametersBuilder().addLong("run", System.nanoTime())
+          .toJobParameters(), lines);
+
+        run("partitioned chunk step", partitionedJob, new JobParametersBuilder().addString("inputFile", input.getAbsolutePath())
+          .addString("outputDirectory", folder.newFolder("partitioned")
+            .getAbsolutePath())
+          .addLong("run", System.nanoTime())
+          .toJobParameters(), lines);
+    }
+
+    private void run(String name, Job job, JobParameters parameters, long lines) throws Exception {
+        long start = System.nanoTime();
+        JobExecution execution = jobLauncher.run(job, parameters);
+        long nanos = System.nanoTime() - start;
+        Assert.assertEquals(ExitStatus.COMPLETED, execution.getExitStatus());
+        System.out.printf("%s: %,d lines in %d ms, %,.0f lines/s%n", name, lines, nanos / 1_000_000, lines * 1e9 / nanos);
+    }
+
+    private long writeLines(File file) throws Exception {
+        Random random = new Random(42);
+        long lines = 0;
+        long bytes = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath())) {
+            while (bytes < SIZE_BYTES) {
+                String line = "Name " + lines + "," + String.format("%02d/%02d/%04d", 1 + random.nextInt(12), 1 + random.nextInt(28), 1940 + random.nextInt(70)) + "\n";
+                writer.write(line);
+                bytes += line.length();
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,56 @@
+package com.baeldung.taskletsvschunks.chunks;
+
+import com.baeldung.taskletsvschunks.config.PartitionedChunksConfig;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = PartitionedChunksConfig.class)
+public class PartitionedChunksIntegrationTest {
+
+    @Autowired private JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void givenPartitionedChunksJob_WhenJobEnds_ThenEveryLineIsWrittenOnce() throws Exception {
+        File outputDirectory = folder.newFolder();
+
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(new JobParametersBuilder().addString("outputDirectory", outputDirectory.getAbsolutePath())
+          .addLong("run", System.nanoTime())
+          .toJobParameters());
+
+        Assert.assertEquals(ExitStatus.COMPLETED, jobExecution.getExitStatus());
+        List<String> expectedNames = new ArrayList<>();
+        for (String line : Files.readAllLines(new ClassPathResource("taskletsvschunks/input/tasklets-vs-chunks.csv").getFile()
+          .toPath())) {
+            expectedNames.add(line.substring(0, line.lastIndexOf(',')));
+        }
+        List<String> writtenNames = new ArrayList<>();
+        for (File output : outputDirectory.listFiles()) {
+            for (String line : Files.readAllLines(output.toPath())) {
+                writtenNames.add(line.substring(0, line.lastIndexOf(',')));
+            }
+        }
+        Collections.sort(expectedNames);
+        Collections.sort(writtenNames);
+        Assert.assertEquals(expectedNames, writtenNames);
+    }
+}
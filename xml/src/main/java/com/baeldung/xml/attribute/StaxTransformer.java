@@ -0,0 +1,138 @@
+package com.baeldung.xml.attribute;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Rewrites attributes while streaming the document from input to output, so unlike the DOM based
+ * transformers it never holds the document in memory and handles documents larger than the heap.
+ * <p>
+ * The factories are created once per thread and reused, DTDs and external entities are rejected.
+ * CDATA sections are copied as CDATA sections, as long as the StAX implementation reports them.
+ * The JDK's implementation does once {@value #REPORT_CDATA_EVENT} is set, other implementations
+ * like Woodstox report them unless they coalesce text.
+ */
+public class StaxTransformer {
+
+    private static final String REPORT_CDATA_EVENT = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY = ThreadLocal.withInitial(() -> {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        if (factory.isPropertySupported(REPORT_CDATA_EVENT)) {
+            factory.setProperty(REPORT_CDATA_EVENT, true);
+        }
+        return factory;
+    });
+    private static final ThreadLocal<XMLOutputFactory> OUTPUT_FACTORY = ThreadLocal.withInitial(XMLOutputFactory::newInstance);
+
+    /**
+     * Reads the document from the resource path and returns it with the attribute changed, like the other transformers.
+     */
+    public String modifyAttribute(String resourcePath, String attribute, String oldValue, String newValue) throws IOException, XMLStreamException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream input = new URL(resourcePath).openStream()) {
+            modifyAttribute(input, output, attribute, oldValue, newValue);
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies the document from input to output as UTF-8, replacing the value of every attribute named
+     * {@code attribute} which contains {@code oldValue} with {@code newValue}. Neither stream is closed.
+     *
+     * @return the number of replaced attribute values
+     */
+    public long modifyAttribute(InputStream input, OutputStream output, String attribute, String oldValue, String newValue) throws IOException, XMLStreamException {
+        BufferedOutputStream bufferedOutput = new BufferedOutputStream(output, 64 * 1024);
+        XMLStreamReader reader = INPUT_FACTORY.get()
+            .createXMLStreamReader(input);
+        XMLStreamWriter writer = OUTPUT_FACTORY.get()
+            .createXMLStreamWriter(bufferedOutput, "UTF-8");
+        long modified = 0;
+        try {
+            writer.writeStartDocument("UTF-8", reader.getVersion() != null ? reader.getVersion() : "1.0");
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    modified += copyStartElement(reader, writer, attribute, oldValue, newValue);
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    writer.writeEndElement();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    break;
+                case XMLStreamConstants.CDATA:
+                    writer.writeCData(reader.getText());
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    writer.writeComment(reader.getText());
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                    break;
+                case XMLStreamConstants.END_DOCUMENT:
+                    writer.writeEndDocument();
+                    break;
+                default:
+                    break;
+                }
+            }
+            writer.flush();
+            bufferedOutput.flush();
+        } finally {
+            writer.close();
+            reader.close();
+        }
+        return modified;
+    }
+
+    private static int copyStartElement(XMLStreamReader reader, XMLStreamWriter writer, String attribute, String oldValue, String newValue) throws XMLStreamException {
+        String prefix = reader.getPrefix();
+        String namespace = reader.getNamespaceURI();
+        if (namespace == null) {
+            writer.writeStartElement(reader.getLocalName());
+        } else {
+            writer.writeStartElement(prefix == null ? "" : prefix, reader.getLocalName(), namespace);
+        }
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String namespacePrefix = reader.getNamespacePrefix(i);
+            if (namespacePrefix == null || namespacePrefix.isEmpty()) {
+                writer.writeDefaultNamespace(reader.getNamespaceURI(i));
+            } else {
+                writer.writeNamespace(namespacePrefix, reader.getNamespaceURI(i));
+            }
+        }
+        int modified = 0;
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String localName = reader.getAttributeLocalName(i);
+            String value = reader.getAttributeValue(i);
+            if (localName.equals(attribute) && value.contains(oldValue)) {
+                value = newValue;
+                modified++;
+            }
+            String attributeNamespace = reader.getAttributeNamespace(i);
+            if (attributeNamespace == null || attributeNamespace.isEmpty()) {
+                writer.writeAttribute(localName, value);
+            } else {
+                writer.writeAttribute(reader.getAttributePrefix(i), attributeNamespace, localName, value);
+            }
+        }
+        return modified;
+    }
+}
@@ -1,19 +1,34 @@
 package com.baeldung.xml.attribute.jmh;
 
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 import javax.xml.xpath.XPathExpressionException;
 
+import org.apache.commons.io.output.NullOutputStream;
 import org.dom4j.DocumentException;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -23,55 +38,139 @@ import org.xml.sax.SAXException;
 import com.baeldung.xml.attribute.Dom4jTransformer;
 import com.baeldung.xml.attribute.JaxpTransformer;
 import com.baeldung.xml.attribute.JooxTransformer;
+import com.baeldung.xml.attribute.StaxTransformer;
+import com.baeldung.xml.stax.StaxParser;
 
+/**
+ * Measures the attribute rewrite of each transformer on generated documents of
+ * {@code documentKilobytes}. The document is generated and, for the {@code *Modify} benchmarks of the
+ * DOM based transformers, parsed during setup, so those measure only the rewrite and the
+ * serialization; the {@code *ParseAndModify} benchmarks include the parsing. Each invocation flips the
+ * values back, so every invocation has the same matches to rewrite.
+ * <p>
+ * The StAX transformer always parses as it rewrites, {@link StaxParser} reading the same document
+ * without writing anything is its baseline. Only these two run on the documents of hundreds of MB
+ * and more, which the DOM based transformers can't hold in the heap.
+ */
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
 @State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
 public class AttributeBenchMark {
 
+    private static final String ATTRIBUTE = "customer";
+    private static final int MAX_DOM_KILOBYTES = 16384;
+
+    @Param({ "1", "1024", "16384" })
+    private int documentKilobytes;
+
+    private Path document;
+    private String documentUri;
+    private Dom4jTransformer dom4jTransformer;
+    private JooxTransformer jooxTransformer;
+    private JaxpTransformer jaxpTransformer;
+    private StaxTransformer staxTransformer;
+    private boolean flipped;
+
     public static void main(String[] args) throws RunnerException {
-        Options opt = new OptionsBuilder().include(AttributeBenchMark.class.getSimpleName())
-            .forks(1)
+        new Runner(options(AttributeBenchMark.class.getSimpleName(), "1", "1024", "16384")).run();
+        new Runner(options(AttributeBenchMark.class.getSimpleName() + "\\.stax", "262144", "1048576")).run();
+    }
+
+    private static Options options(String include, String... documentKilobytes) {
+        return new OptionsBuilder().include(include)
+            .param("documentKilobytes", documentKilobytes)
             .build();
-        new Runner(opt).run();
     }
 
-    @Benchmark
-    public String dom4jBenchmark() throws DocumentException, TransformerException, SAXException {
-        String path = this.getClass()
-            .getResource("/xml/attribute.xml")
+    @Setup(Level.Trial)
+    public void setup() throws IOException, DocumentException, SAXException, ParserConfigurationException {
+        document = Files.createTempFile("attribute-benchmark", ".xml");
+        generate(document, documentKilobytes * 1024L);
+        documentUri = document.toUri()
             .toString();
-        Dom4jTransformer transformer = new Dom4jTransformer(path);
-        String attribute = "customer";
-        String oldValue = "true";
-        String newValue = "false";
+        if (documentKilobytes <= MAX_DOM_KILOBYTES) {
+            dom4jTransformer = new Dom4jTransformer(documentUri);
+            jooxTransformer = new JooxTransformer(documentUri);
+            jaxpTransformer = new JaxpTransformer(documentUri);
+        }
+        staxTransformer = new StaxTransformer();
+    }
 
-        return transformer.modifyAttribute(attribute, oldValue, newValue);
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(document);
     }
 
     @Benchmark
-    public String jooxBenchmark() throws IOException, SAXException {
-        String path = this.getClass()
-            .getResource("/xml/attribute.xml")
-            .toString();
-        JooxTransformer transformer = new JooxTransformer(path);
-        String attribute = "customer";
-        String oldValue = "true";
-        String newValue = "false";
+    public String dom4jModify() throws TransformerException {
+        return dom4jTransformer.modifyAttribute(ATTRIBUTE, oldValue(), newValue());
+    }
 
-        return transformer.modifyAttribute(attribute, oldValue, newValue);
+    @Benchmark
+    public String jooxModify() {
+        return jooxTransformer.modifyAttribute(ATTRIBUTE, oldValue(), newValue());
     }
 
     @Benchmark
-    public String jaxpBenchmark() throws TransformerException, ParserConfigurationException, SAXException, IOException, XPathExpressionException {
-        String path = this.getClass()
-            .getResource("/xml/attribute.xml")
-            .toString();
-        JaxpTransformer transformer = new JaxpTransformer(path);
-        String attribute = "customer";
-        String oldValue = "true";
-        String newValue = "false";
+    public String jaxpModify() throws TransformerException, XPathExpressionException {
+        return jaxpTransformer.modifyAttribute(ATTRIBUTE, oldValue(), newValue());
+    }
+
+    @Benchmark
+    public String dom4jParseAndModify() throws DocumentException, TransformerException, SAXException {
+        return new Dom4jTransformer(documentUri).modifyAttribute(ATTRIBUTE, "true", "false");
+    }
+
+    @Benchmark
+    public String jooxParseAndModify() throws IOException, SAXException {
+        return new JooxTransformer(documentUri).modifyAttribute(ATTRIBUTE, "true", "false");
+    }
+
+    @Benchmark
+    public String jaxpParseAndModify() throws TransformerException, ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+        return new JaxpTransformer(documentUri).modifyAttribute(ATTRIBUTE, "true", "false");
+    }
+
+    @Benchmark
+    public long staxModify() throws IOException, XMLStreamException {
+        try (InputStream input = new FileInputStream(document.toFile())) {
+            return staxTransformer.modifyAttribute(input, NullOutputStream.NULL_OUTPUT_STREAM, ATTRIBUTE, "true", "false");
+        }
+    }
+
+    @Benchmark
+    public int staxParserBaseline() throws IOException {
+        try (InputStream input = new FileInputStream(document.toFile())) {
+            return StaxParser.parse(input)
+                .size();
+        }
+    }
+
+    private String oldValue() {
+        flipped = !flipped;
+        return flipped ? "true" : "false";
+    }
+
+    private String newValue() {
+        return flipped ? "false" : "true";
+    }
 
-        return transformer.modifyAttribute(attribute, oldValue, newValue);
+    /**
+     * Writes notifications until the document has the given size, half of them with a matching attribute.
+     */
+    private static void generate(Path path, long size) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<notifications>\n");
+            long written = 0;
+            for (int i = 0; written < size; i++) {
+                String notification = "    <notification id=\"" + i + "\">\n        <to customer=\"" + (i % 2 == 0) + "\">john@email.com</to>\n        <from>mary@email.com</from>\n    </notification>\n";
+                writer.write(notification);
+                written += notification.length();
+            }
+            writer.write("</notifications>\n");
+        }
     }
 }
@@ -0,0 +1,78 @@
+package com.baeldung.xml.attribute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.Test;
+import org.xmlunit.assertj.XmlAssert;
+
+/**
+ * Unit test for {@link StaxTransformer}.
+ */
+public class StaxTransformerUnitTest {
+
+    @Test
+    public void givenXmlWithAttributes_whenModifyAttribute_thenGetXmlUpdated() throws IOException, XMLStreamException {
+        String path = getClass().getResource("/xml/attribute.xml")
+            .toString();
+        StaxTransformer transformer = new StaxTransformer();
+
+        String result = transformer.modifyAttribute(path, "customer", "true", "false");
+
+        XmlAssert.assertThat(result)
+            .hasXPath("//*[contains(@customer, 'false')]");
+        XmlAssert.assertThat(result)
+            .doesNotHaveXPath("//*[contains(@customer, 'true')]");
+        XmlAssert.assertThat(result)
+            .hasXPath("/notification[@id='5']");
+    }
+
+    @Test
+    public void givenXmlWithNamespacesAndComments_whenModifyAttribute_thenOnlyMatchingValuesChange() throws IOException, XMLStreamException {
+        String xml = "<?xml version=\"1.0\"?><n:list xmlns:n=\"urn:notes\" xmlns:a=\"urn:attrs\"><!-- notes -->"
+            + "<n:to customer=\"is true\" a:customer=\"true\">john</n:to><n:to customer=\"no\"><![CDATA[<mary>]]></n:to></n:list>";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long modified = new StaxTransformer().modifyAttribute(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), output, "customer", "true", "false");
+
+        assertThat(modified).isEqualTo(2);
+        String result = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        XmlAssert.assertThat(result)
+            .and("<?xml version=\"1.0\" encoding=\"UTF-8\"?><n:list xmlns:n=\"urn:notes\" xmlns:a=\"urn:attrs\"><!-- notes -->"
+                + "<n:to customer=\"false\" a:customer=\"false\">john</n:to><n:to customer=\"no\"><![CDATA[<mary>]]></n:to></n:list>")
+            .areIdentical();
+    }
+
+    @Test
+    public void givenLargeDocument_whenModifyAttribute_thenEveryMatchIsReplaced() throws IOException, XMLStreamException {
+        StringBuilder xml = new StringBuilder("<notifications>");
+        for (int i = 0; i < 100_000; i++) {
+            xml.append("<to customer=\"")
+                .append(i % 2 == 0)
+                .append("\">john@email.com</to>");
+        }
+        xml.append("</notifications>");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long modified = new StaxTransformer().modifyAttribute(new ByteArrayInputStream(xml.toString()
+            .getBytes(StandardCharsets.UTF_8)), output, "customer", "true", "false");
+
+        assertThat(modified).isEqualTo(50_000);
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).doesNotContain("\"true\"");
+    }
+
+    @Test
+    public void givenXmlXee_whenModifyAttribute_thenThrowException() {
+        String path = getClass().getResource("/xml/xee_attribute.xml")
+            .toString();
+
+        assertThatThrownBy(() -> new StaxTransformer().modifyAttribute(path, "customer", "true", "false")).isInstanceOf(XMLStreamException.class);
+    }
+}